@@ -0,0 +1,247 @@
+package ai;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Stack;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+
+import server.model.game.ServerGame;
+import shared.Configuration;
+import shared.enums.CapabilitiesType;
+import shared.enums.Reason;
+import shared.model.Card;
+import shared.model.LogicCardCreator;
+import shared.model.Placement;
+import shared.model.Player;
+
+/**
+ * Plays whole games between AIs in one process and reports the throughput.
+ * <p>
+ * There are no sockets and no TurnTimer: the moves go through
+ * {@link ServerGame#makeMove}, so the placement, merging and scoring of the
+ * server are used, and every AI gets the move like from a moveMade-message. The deck is the bundled
+ * gameCards.json, shuffled with the seed of the game. The games run in
+ * parallel on a fixed thread pool.
+ * <p>
+ * Usage: {@code SelfPlay [games] [threads] [players] [strength] [seed]}.
+ * The allocation is measured on the thread that plays the game, the workers
+ * of the AILogic are not counted.
+ *
+ * @see AI#choosePlacement(Card, long)
+ */
+public final class SelfPlay {
+
+	/**
+	 * time in milliseconds the tree search may take for a move, it is
+	 * limited by the playouts long before
+	 */
+	private static final long TIME_BUDGET = 60000;
+
+	/**
+	 * games that are played before the measurement starts
+	 */
+	private static final int WARMUP_GAMES = 4;
+
+	private SelfPlay() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int threads = args.length > 1 ? Integer.parseInt(args[1])
+				: Runtime.getRuntime().availableProcessors();
+		int players = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+		int strength = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+		long seed = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+		// every move is logged on INFO by the server, that would be measured
+		LoggerContext context = (LoggerContext) LogManager.getContext(false);
+		context.getConfiguration().getLoggerConfig(LogManager.ROOT_LOGGER_NAME)
+				.setLevel(Level.WARN);
+		context.updateLoggers();
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			run(pool, WARMUP_GAMES, players, strength, seed - WARMUP_GAMES);
+
+			long start = System.nanoTime();
+			List<Result> results = run(pool, games, players, strength, seed);
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			long moves = 0;
+			long allocated = 0;
+			// moves of the games whose allocation could be measured
+			long measuredMoves = 0;
+			boolean measured = false;
+			long[] scores = new long[players];
+			for (Result result : results) {
+				moves += result.moves;
+				if (result.allocated >= 0) {
+					allocated += result.allocated;
+					measuredMoves += result.moves;
+					measured = true;
+				}
+				for (int i = 0; i < players; i++) {
+					scores[i] += result.scores[i];
+				}
+			}
+			System.out.println("games: " + games + ", threads: " + threads
+					+ ", players: " + players + ", strength: " + strength);
+			System.out.println(String.format("games/sec: %.2f", games / seconds));
+			System.out.println(String.format("moves/sec: %.1f", moves / seconds));
+			System.out.println(!measured ? "bytes/move: n/a"
+					: String.format("bytes/move: %d", allocated / Math.max(1, measuredMoves)));
+			StringBuilder average = new StringBuilder("average score:");
+			for (int i = 0; i < players; i++) {
+				average.append(' ').append(scores[i] / Math.max(1, games));
+			}
+			System.out.println(average);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays the games with the seeds from {@code firstSeed} on.
+	 */
+	private static List<Result> run(ExecutorService pool, int games,
+			final int players, final int strength, long firstSeed)
+			throws Exception {
+		List<Future<Result>> futures = new ArrayList<>();
+		for (int i = 0; i < games; i++) {
+			final long seed = firstSeed + i;
+			futures.add(pool.submit(new Callable<Result>() {
+				@Override
+				public Result call() {
+					return play(seed, players, strength);
+				}
+			}));
+		}
+		List<Result> results = new ArrayList<>();
+		for (Future<Result> future : futures) {
+			results.add(future.get());
+		}
+		return results;
+	}
+
+	/**
+	 * Plays one game until the deck is empty and scores the end of the game.
+	 *
+	 * @param seed
+	 *            seed of the deck and of the AIs
+	 * @param players
+	 *            number of AIs
+	 * @param strength
+	 *            strength of every AI
+	 * @return number of moves, allocated bytes and scores
+	 */
+	static Result play(long seed, int players, int strength) {
+		Random random = new Random(seed);
+		Player[] seats = new Player[players];
+		for (int i = 0; i < players; i++) {
+			seats[i] = new Player("ai" + i, "color" + i);
+		}
+		ServerGame game = new ServerGame("selfPlay" + seed, seats[0], (int) seed,
+				null, 0, EnumSet.noneOf(CapabilitiesType.class));
+		for (int i = 1; i < players; i++) {
+			game.getPlayerList().put(seats[i].getNick(), seats[i]);
+		}
+		Stack<Card> deck = game.getCardDeck().getCardDeck();
+		deck.clear();
+		deck.addAll(LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH));
+		Collections.shuffle(deck, random);
+
+		// every AI has its own copy of the players, like from a gameUpdate
+		AI[] ais = new AI[players];
+		for (int i = 0; i < players; i++) {
+			Map<String, Player> view = new LinkedHashMap<>();
+			for (Player seat : seats) {
+				view.put(seat.getNick(), seat.deepCopy());
+			}
+			ais[i] = new AI(view.get(seats[i].getNick()), view, strength,
+					new Random(random.nextLong()));
+		}
+
+		long allocated = allocatedBytes();
+		int moves = 0;
+		while (game.getCardDeck().getRemainingSize() > 0) {
+			Card card = game.getPlayableCard();
+			Player player = seats[moves % players];
+			AI ai = ais[moves % players];
+			ai.setRemainingCards(game.getCardDeck().getRemainingSize());
+			PossiblePlacement move = ai.choosePlacement(card.deepCopy(), TIME_BUDGET);
+
+			Placement placement = new Placement(-1);
+			placement.setCommunicationPlacement(move.getMeeplePlacements());
+			String result = game.makeMove(move.getPos(), move.getRotation(),
+					placement, player);
+			if (Reason.MOVEISILLEGAL.toString().equals(result)) {
+				throw new IllegalStateException("illegal move in game " + seed
+						+ ": " + move);
+			}
+			int sent = "legalButMeeple".equals(result) ? -1 : move.getMeeplePlacements();
+			game.getCurrentCard(true);
+
+			for (AI receiver : ais) {
+				receiver.getAiLogic().getAIGame().checkCardPlacement(move.getPos(),
+						move.getRotation(), sent,
+						receiver.getPlayerList().get(player.getNick()), card.deepCopy());
+			}
+			moves++;
+		}
+		game.checkEndScore();
+		long after = allocatedBytes();
+
+		int[] scores = new int[players];
+		for (int i = 0; i < players; i++) {
+			scores[i] = seats[i].getScore();
+		}
+		return new Result(moves, allocated < 0 ? -1 : after - allocated, scores);
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread so far, -1 if the VM
+	 * can't tell.
+	 */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported()
+					&& sunBean.isThreadAllocatedMemoryEnabled()) {
+				return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * What one game did.
+	 */
+	static final class Result {
+
+		private final int moves;
+
+		private final long allocated;
+
+		private final int[] scores;
+
+		Result(int moves, long allocated, int[] scores) {
+			this.moves = moves;
+			this.allocated = allocated;
+			this.scores = scores;
+		}
+	}
+}
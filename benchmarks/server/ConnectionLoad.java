@@ -0,0 +1,149 @@
+package server;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+
+import server.model.serverCommunication.clientHandling.SelectorServer;
+import server.model.serverCommunication.execution.ServerControl;
+import server.model.serverCommunication.execution.ThreadMode;
+
+/**
+ * Opens many idle connections to a server in the same process and reports
+ * the memory every connection costs.
+ * <p>
+ * The connections don't log in, a login is sent to every other user and
+ * would measure the broadcast instead of the connection. Every connection has
+ * its ClientHandler waiting for a line, which is what an idle client costs.
+ * The resident memory is read from /proc/self/status, so it contains the
+ * stacks of the threads; the heap is measured after a garbage collection.
+ * Run every mode in its own process, ServerControl is a singleton.
+ * <p>
+ * Usage: {@code ConnectionLoad [connections] [platform|virtual|nio]}.
+ *
+ * @see ThreadMode
+ * @see SelectorServer
+ */
+public final class ConnectionLoad {
+
+	/**
+	 * time in milliseconds the server gets to start the handlers of the last
+	 * connections before the measurement
+	 */
+	private static final long SETTLE_TIME = 2000;
+
+	private ConnectionLoad() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int connections = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		String mode = args.length > 1 ? args[1] : "platform";
+
+		LoggerContext context = (LoggerContext) LogManager.getContext(false);
+		context.getConfiguration().getLoggerConfig(LogManager.ROOT_LOGGER_NAME)
+				.setLevel(Level.WARN);
+		context.updateLoggers();
+
+		if ("virtual".equals(mode) && !ThreadMode.hasVirtualThreads()) {
+			System.out.println("virtual: no virtual threads in this runtime (Java "
+					+ System.getProperty("java.specification.version")
+					+ "), nothing to measure");
+			return;
+		}
+		int port = startServer(mode);
+		List<Socket> clients = new ArrayList<>(connections);
+		// the server itself has to be started before the baseline is taken
+		clients.add(new Socket("localhost", port));
+		Thread.sleep(SETTLE_TIME);
+		long rss = residentMemory();
+		long heap = usedHeap();
+		int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+		for (int i = 1; i < connections; i++) {
+			clients.add(new Socket("localhost", port));
+		}
+		Thread.sleep(SETTLE_TIME);
+		long rssPerConnection = (residentMemory() - rss) / (connections - 1);
+		long heapPerConnection = (usedHeap() - heap) / (connections - 1);
+		int newThreads = ManagementFactory.getThreadMXBean().getThreadCount() - threads;
+
+		System.out.printf("%s: %d connections, %d new platform threads%n", mode,
+				connections, newThreads);
+		System.out.printf("  resident memory per connection: %.1f KB%n",
+				rssPerConnection / 1024.0);
+		System.out.printf("  heap per connection:            %.1f KB%n",
+				heapPerConnection / 1024.0);
+
+		// the logouts of closing clients are not part of the measurement
+		System.exit(0);
+	}
+
+	/**
+	 * Starts the server on a free port and returns the port.
+	 */
+	private static int startServer(String mode) throws IOException {
+		if ("nio".equals(mode)) {
+			ServerSocketChannel channel = ServerSocketChannel.open();
+			channel.bind(new InetSocketAddress(0), 1024);
+			final SelectorServer server = new SelectorServer(channel,
+					ServerControl.getInstance(channel.socket()));
+			startDaemon(new Runnable() {
+				@Override
+				public void run() {
+					server.getConnections();
+				}
+			});
+			return channel.socket().getLocalPort();
+		}
+		if ("virtual".equals(mode)) {
+			ThreadMode.setCurrent(ThreadMode.VIRTUAL);
+		}
+		ServerSocket listen = new ServerSocket(0, 1024);
+		final ServerControl control = ServerControl.getInstance(listen);
+		startDaemon(new Runnable() {
+			@Override
+			public void run() {
+				control.getConnections();
+			}
+		});
+		return listen.getLocalPort();
+	}
+
+	private static void startDaemon(Runnable task) {
+		Thread thread = new Thread(task, "ConnectionLoad");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Returns the resident memory of the process in bytes, 0 if it is unknown.
+	 */
+	private static long residentMemory() throws IOException {
+		if (!Files.exists(Paths.get("/proc/self/status"))) {
+			return 0;
+		}
+		for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+			if (line.startsWith("VmRSS:")) {
+				return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+			}
+		}
+		return 0;
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
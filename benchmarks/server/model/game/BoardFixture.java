@@ -0,0 +1,127 @@
+package server.model.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import shared.Configuration;
+import shared.enums.CapabilitiesType;
+import shared.model.Card;
+import shared.model.FrontierCell;
+import shared.model.LogicCardCreator;
+import shared.model.Placement;
+import shared.model.Player;
+import shared.model.Position;
+
+/**
+ * A ServerGame after a number of moves of a seeded game with the cards of
+ * gameCards.json.
+ * <p>
+ * Every move puts the next card on a random position where it fits, and on
+ * every second move on average a meeple on a random area of it. All random
+ * numbers come from the seed, so the board is the same in every run and the
+ * results of the benchmarks can be compared.
+ *
+ * @see ServerGameBenchmark
+ */
+final class BoardFixture {
+
+	/**
+	 * seed of the replayed game
+	 */
+	static final long SEED = 42;
+
+	private final ServerGame game;
+
+	private final Player[] players;
+
+	private final List<Position> placed = new ArrayList<>();
+
+	private BoardFixture(ServerGame game, Player[] players) {
+		this.game = game;
+		this.players = players;
+	}
+
+	/**
+	 * Replays the seeded game for two players.
+	 *
+	 * @param moves
+	 *            number of cards that are put on the gameField, at most the
+	 *            size of the deck
+	 * @return the game after the moves
+	 */
+	static BoardFixture replay(int moves) {
+		Random random = new Random(SEED);
+		Player[] players = { new Player("first", "red"), new Player("second", "blue") };
+		ServerGame game = new ServerGame("fixture", players[0], 1, null, 0,
+				EnumSet.noneOf(CapabilitiesType.class));
+		game.getPlayerList().put(players[1].getNick(), players[1]);
+		Stack<Card> deck = game.getCardDeck().getCardDeck();
+		deck.clear();
+		deck.addAll(LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH));
+		Collections.shuffle(deck, random);
+
+		BoardFixture fixture = new BoardFixture(game, players);
+		for (int move = 0; move < moves && !deck.isEmpty(); move++) {
+			Card card = game.getPlayableCard();
+			List<Position> positions = fixture.frontier();
+			List<Object[]> fits = new ArrayList<>();
+			for (Position pos : positions) {
+				for (int rotation = 0; rotation < 4; rotation++) {
+					Card rotated = card.deepCopy();
+					rotated.rotate(rotation);
+					if (game.matchingEdges(rotated, pos)) {
+						fits.add(new Object[] { pos, rotation });
+					}
+				}
+			}
+			Object[] fit = fits.get(random.nextInt(fits.size()));
+			Position pos = (Position) fit[0];
+			int area = random.nextBoolean() ? random.nextInt(card.getAreas().size()) : -1;
+			Placement placement = new Placement(-1);
+			placement.setCommunicationPlacement(area);
+			game.makeMove(pos, (Integer) fit[1], placement, players[move % 2]);
+			game.getCurrentCard(true);
+			fixture.placed.add(pos);
+		}
+		return fixture;
+	}
+
+	/**
+	 * Returns the free positions next to the cards, sorted by x and y.
+	 */
+	List<Position> frontier() {
+		List<Position> positions = new ArrayList<>();
+		for (FrontierCell cell : game.getGameField().getFrontier()) {
+			positions.add(cell.getPosition());
+		}
+		Collections.sort(positions, new Comparator<Position>() {
+			@Override
+			public int compare(Position a, Position b) {
+				return a.getX() != b.getX() ? Integer.compare(a.getX(), b.getX())
+						: Integer.compare(a.getY(), b.getY());
+			}
+		});
+		return positions;
+	}
+
+	ServerGame getGame() {
+		return game;
+	}
+
+	Player[] getPlayers() {
+		return players;
+	}
+
+	/**
+	 * Returns the positions of the cards in the order they were placed,
+	 * without the startCard.
+	 */
+	List<Position> getPlaced() {
+		return placed;
+	}
+}
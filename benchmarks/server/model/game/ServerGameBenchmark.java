@@ -0,0 +1,190 @@
+package server.model.game;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import shared.enums.CardAreaType;
+import shared.model.AbstractSingleArea;
+import shared.model.AreaTracker;
+import shared.model.Card;
+import shared.model.GameField;
+import shared.model.Meeple;
+import shared.model.Position;
+
+/**
+ * Measures the rules of the ServerGame on a board in the middle and at the
+ * end of a game.
+ * <p>
+ * The boards are replayed by {@link BoardFixture} with a fixed seed, 30 and
+ * 60 of the 71 cards of gameCards.json are placed. Every invocation works on
+ * the whole board: all free positions, all placed cards or all finished
+ * areas. Benchmarks that change the game put it back the way it was, so every
+ * invocation sees the same board. Run with {@code -prof gc} to see the
+ * allocation.
+ *
+ * @see BoardFixture
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerGameBenchmark {
+
+	/**
+	 * number of cards on the board besides the startCard
+	 */
+	@Param({ "30", "60" })
+	private int moves;
+
+	/**
+	 * number of cards of the deck that are tried by checkPossiblePlacement
+	 */
+	private static final int NEXT_CARDS = 8;
+
+	private ServerGame game;
+
+	private GameField gameField;
+
+	private List<Position> frontier;
+
+	private List<Position> placed;
+
+	/**
+	 * the next card of the deck in all four rotations
+	 */
+	private Card[] rotated;
+
+	/**
+	 * the positions and rotations where the next card fits
+	 */
+	private List<Position> fitPositions;
+
+	private List<Integer> fitRotations;
+
+	private List<Card> nextCards;
+
+	/**
+	 * the finished areas, each with one meeple that is put back before every
+	 * scoring
+	 */
+	private List<AbstractSingleArea> finished;
+
+	private List<Meeple> finishedMeeples;
+
+	@Setup
+	public void setUp() {
+		BoardFixture fixture = BoardFixture.replay(moves);
+		game = fixture.getGame();
+		gameField = game.getGameField();
+		frontier = fixture.frontier();
+		placed = fixture.getPlaced();
+
+		Card next = game.getPlayableCard();
+		rotated = new Card[4];
+		fitPositions = new ArrayList<>();
+		fitRotations = new ArrayList<>();
+		for (int rotation = 0; rotation < 4; rotation++) {
+			rotated[rotation] = next.deepCopy();
+			rotated[rotation].rotate(rotation);
+			for (Position pos : frontier) {
+				if (game.matchingEdges(rotated[rotation], pos)) {
+					fitPositions.add(pos);
+					fitRotations.add(rotation);
+				}
+			}
+		}
+
+		List<Card> deck = game.getCardDeck().getCardDeck();
+		nextCards = new ArrayList<>(deck.subList(Math.max(0, deck.size() - NEXT_CARDS), deck.size()));
+
+		Set<AbstractSingleArea> roots = new LinkedHashSet<>();
+		for (AbstractSingleArea area : game.getSingleAreas()) {
+			AbstractSingleArea root = AreaTracker.find(area);
+			if (root.isFinished() && !CardAreaType.MEADOW.equals(root.getCardAreaType())) {
+				roots.add(root);
+			}
+		}
+		finished = new ArrayList<>(roots);
+		finishedMeeples = new ArrayList<>();
+		for (int i = 0; i < finished.size(); i++) {
+			finishedMeeples.add(new Meeple(null, 0, fixture.getPlayers()[i % 2], null));
+		}
+	}
+
+	@Benchmark
+	public void matchingEdges(Blackhole bh) {
+		for (Position pos : frontier) {
+			for (Card card : rotated) {
+				bh.consume(game.matchingEdges(card, pos));
+			}
+		}
+	}
+
+	@Benchmark
+	public Set<Position> getPositionsFromSetCards() {
+		return gameField.getPositionsFromSetCards();
+	}
+
+	/**
+	 * Places the next card on every position where it fits and takes it back
+	 * with the journal of the AreaTracker. This covers the creation of the
+	 * areas and {@code mergeEdges}, which can only be called for a card whose
+	 * areas were created.
+	 */
+	@Benchmark
+	public void placeCard(Blackhole bh) {
+		AreaTracker tracker = game.getAreaTracker();
+		for (int i = 0; i < fitPositions.size(); i++) {
+			Position pos = fitPositions.get(i);
+			int mark = tracker.mark();
+			bh.consume(game.placeCard(pos, rotated[fitRotations.get(i)].deepCopy()));
+			tracker.rollback(mark);
+			gameField.deleteCard(pos);
+		}
+	}
+
+	@Benchmark
+	public void checkCompletion(Blackhole bh) {
+		for (Position pos : placed) {
+			bh.consume(game.checkCompletion(pos));
+		}
+	}
+
+	@Benchmark
+	public void checkScore() {
+		for (int i = 0; i < finished.size(); i++) {
+			finished.get(i).getMeeples().add(finishedMeeples.get(i));
+		}
+		game.checkScore(finished);
+	}
+
+	@Benchmark
+	public boolean checkEndScore() {
+		return game.checkEndScore();
+	}
+
+	@Benchmark
+	public void checkPossiblePlacement(Blackhole bh) {
+		for (Card card : nextCards) {
+			bh.consume(game.checkPossiblePlacement(card));
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package shared;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import client.model.game.CardReceiver;
+import server.model.serverCommunication.utility.ServerMessageBuilder;
+import shared.model.BuildCard;
+import shared.model.Card;
+import shared.model.LogicCardCreator;
+
+/**
+ * Measures how long it takes to turn the tile of a message into a card.
+ * <p>
+ * The tiles are the 71 cards of gameCards.json as the server sends them in
+ * the tileDrawn-message. Every invocation reads all of them, with
+ * {@link BuildCard#buildCard(JSONObject)} like the AI and the client do for
+ * the logic, and with {@link CardReceiver#receiveCard(JSONObject)} like the
+ * client does for the image.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardParsingBenchmark {
+
+	private List<JSONObject> tiles;
+
+	@Setup
+	public void setUp() {
+		tiles = new ArrayList<>();
+		for (Card card : LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH)) {
+			tiles.add(ServerMessageBuilder.tileDrawn(1, "nick", card, 0, 0)
+					.getJSONObject("tile"));
+		}
+	}
+
+	@Benchmark
+	public void buildCard(Blackhole bh) {
+		for (JSONObject tile : tiles) {
+			bh.consume(BuildCard.buildCard(tile));
+		}
+	}
+
+	@Benchmark
+	public void receiveCard(Blackhole bh) {
+		for (JSONObject tile : tiles) {
+			bh.consume(CardReceiver.receiveCard(tile));
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package shared;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import shared.model.Card;
+import shared.model.CardDeck;
+import shared.model.GameField;
+import shared.model.Position;
+
+/**
+ * Compares the neighbour lookups of the GameField with the HashMap it used
+ * before.
+ * <p>
+ * Both boards are filled with the same square of cards. Every invocation asks
+ * for the four neighbours and the surrounding cards of every position once.
+ * Run with {@code -prof gc} to see the allocation per lookup.
+ * 
+ * @see GameField
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameFieldBenchmark {
+
+	/**
+	 * edge length of the square of placed cards
+	 */
+	@Param({ "5", "9" })
+	private int size;
+
+	private GameField gameField;
+
+	private Map<Position, Card> hashMap;
+
+	private Position[] positions;
+
+	@Setup
+	public void setUp() {
+		gameField = new GameField();
+		hashMap = new HashMap<>();
+		positions = new Position[size * size];
+		Card card = CardDeck.createStartCard();
+		int i = 0;
+		for (int x = 0; x < size; x++) {
+			for (int y = 0; y < size; y++) {
+				Position pos = new Position(x - size / 2, y - size / 2);
+				gameField.addCard(pos, card);
+				hashMap.put(pos, card);
+				positions[i++] = pos;
+			}
+		}
+	}
+
+	@Benchmark
+	public void gameField(Blackhole bh) {
+		for (Position pos : positions) {
+			bh.consume(gameField.getCardNorth(pos));
+			bh.consume(gameField.getCardEast(pos));
+			bh.consume(gameField.getCardSouth(pos));
+			bh.consume(gameField.getCardWest(pos));
+			bh.consume(gameField.countSurroundingCards(pos));
+		}
+	}
+
+	@Benchmark
+	public void hashMap(Blackhole bh) {
+		for (Position pos : positions) {
+			bh.consume(lookup(pos.getX(), pos.getY() - 1));
+			bh.consume(lookup(pos.getX() + 1, pos.getY()));
+			bh.consume(lookup(pos.getX(), pos.getY() + 1));
+			bh.consume(lookup(pos.getX() - 1, pos.getY()));
+			int counter = 0;
+			for (int i = -1; i < 2; i++) {
+				for (int j = -1; j < 2; j++) {
+					if (!(i == 0 && j == 0)
+							&& hashMap.containsKey(new Position(pos.getX() + i, pos.getY() + j))) {
+						counter++;
+					}
+				}
+			}
+			bh.consume(counter);
+		}
+	}
+
+	/**
+	 * The lookup like it was done in the GameField before.
+	 */
+	private Card lookup(int x, int y) {
+		Position tmp = new Position(x, y);
+		if (hashMap.containsKey(tmp)) {
+			return hashMap.get(tmp);
+		}
+		return null;
+	}
+}
@@ -1,13 +1,13 @@
 package ai;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.net.Socket;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
@@ -34,6 +34,26 @@ import shared.model.Position;
 public final class AI {
 	
 	private Logger log = LogManager.getLogger("ERROR");
+
+	/**
+	 * number of playouts of the tree search for every point of strength
+	 */
+	private static final int PLAYOUTS_PER_STRENGTH = 4;
+
+	/**
+	 * share of the remaining turn time the tree search may use
+	 */
+	private static final double TIME_SHARE = 0.5;
+
+	/**
+	 * time in milliseconds that is kept back for sending the move
+	 */
+	private static final long TIME_RESERVE = 1000;
+
+	/**
+	 * time in milliseconds the tree search may use if the turn time is unknown
+	 */
+	private static final long DEFAULT_TIME_BUDGET = 2000;
 	
 	/**
 	 * Socket for the communication between AI and server
@@ -41,9 +61,9 @@ public final class AI {
 	private static Socket aiSocket;
 	
 	/**
-	 * BufferReader that reads the input that is sent from the server through the socket
+	 * Stream of the lines or binary frames that are sent from the server through the socket
 	 */
-	private static BufferedReader in;
+	private static BufferedInputStream in;
 	
 	/**
 	 * OutputStreamWriter for sending messages through the socket to the server
@@ -67,6 +87,12 @@ public final class AI {
 	 * behaviour of the ai
 	 */
 	private AILogic aiLogic;
+
+	/**
+	 * Represents the instance of the AITreeSearch-class that searches the placements
+	 * if the strength is higher than 0
+	 */
+	private AITreeSearch treeSearch;
 	
 	/**
 	 * This represents the ai in an player-object
@@ -106,6 +132,25 @@ public final class AI {
 	
 	private int moveFailedCounter;
 
+	/**
+	 * Creates an AI without a connection to a server, for games that are
+	 * played in the same process.
+	 * @param player		the ai in the playerList
+	 * @param playerList	the players of the game as the ai sees them
+	 * @param strength		the strength of the ai
+	 * @param random		source of the random decisions of the tree search
+	 */
+	AI(Player player, Map<String, Player> playerList, int strength, Random random) {
+		this.ai = player;
+		this.playerList = playerList;
+		this.playerListSet = true;
+		this.strength = strength;
+		this.remainingCards = 0;
+		extensions = EnumSet.of(CapabilitiesType.CHAT);
+		aiLogic = new AILogic(this);
+		treeSearch = new AITreeSearch(aiLogic, extensions, random);
+	}
+
 	/**
 	 * the main-method that is called when the ai is started. It should be
 	 * started with the following parameters:
@@ -148,7 +193,7 @@ public final class AI {
 
 		try {
 			aiSocket = new Socket(adress, port);
-			in = new BufferedReader(new InputStreamReader(aiSocket.getInputStream()));
+			in = new BufferedInputStream(aiSocket.getInputStream());
 			out = new OutputStreamWriter(aiSocket.getOutputStream(), "UTF-8");
 		} catch (IOException e) {
 			System.out.println("Ungueltige Serververbindung!");
@@ -165,7 +210,9 @@ public final class AI {
 		t.start();
 		JSONArray capa = new JSONArray();
 		capa.put(CapabilitiesType.CHAT);
+		capa.put(CapabilitiesType.BINARY);
 		extensions = EnumSet.of(CapabilitiesType.CHAT);
+		treeSearch = new AITreeSearch(aiLogic, extensions, new Random());
 		sender.sendLogin(name, capa);
 		this.ai = new Player(name, color);
 		this.gameName = gameName;
@@ -217,17 +264,9 @@ public final class AI {
 	public void tileDrawn(String nick, int timeout, Card card, int rotation, int remaining) {
 		currentCard = card;
 		if (nick.equals(ai.getNick())) {
-			Set<PossiblePlacement> placements = aiLogic.checkForMeeplePlacement(card.deepCopy(),
-					aiLogic.checkForLegalPlacements(card.deepCopy()));
 			try {
-				PossiblePlacement bestPlacement;
-				if(this.strength <= 1000 && this.strength >= 500){
-				bestPlacement = aiLogic.getBestPlacement(
-						card, placements);
-				}
-				else {
-					bestPlacement = aiLogic.getBestPlacementEasy(card, placements);
-				}
+				PossiblePlacement bestPlacement = choosePlacement(card,
+						timeBudget(timeout, System.currentTimeMillis()));
 				sender.sendMove(gameID, bestPlacement.getPos(),
 						bestPlacement.getRotation(),
 						bestPlacement.getMeeplePlacements());
@@ -239,6 +278,51 @@ public final class AI {
 		
 	}
 
+	/**
+	 * Chooses the placement for the current card: by the tree search if the
+	 * strength is higher than 0, by the heuristics of the AILogic if the search
+	 * found nothing.
+	 * @param card			the current card, not rotated
+	 * @param timeBudget	the time in milliseconds the tree search may take
+	 * @return the placement that should be sent
+	 */
+	PossiblePlacement choosePlacement(Card card, long timeBudget) {
+		Set<PossiblePlacement> legalPlacements = aiLogic.checkForLegalPlacements(card.deepCopy());
+		Set<PossiblePlacement> placements = aiLogic.checkForMeeplePlacement(card.deepCopy(),
+				legalPlacements);
+		if (placements.isEmpty()) {
+			// every area next to the card has a meeple, the card is put without one
+			placements = legalPlacements;
+		}
+		PossiblePlacement bestPlacement = null;
+		if (this.strength > 0) {
+			bestPlacement = treeSearch.search(card, placements,
+					strength * PLAYOUTS_PER_STRENGTH, timeBudget);
+		}
+		if (bestPlacement == null) {
+			if (this.strength <= 1000 && this.strength >= 500) {
+				bestPlacement = aiLogic.getBestPlacement(card, placements);
+			} else {
+				bestPlacement = aiLogic.getBestPlacementEasy(card, placements);
+			}
+		}
+		return bestPlacement;
+	}
+
+	/**
+	 * Calculates how long the tree search may take.
+	 * @param timeout	the end of the turn in seconds since 1970, as sent in the tileDrawn-message
+	 * @param now		the current time in milliseconds since 1970
+	 * @return the time budget in milliseconds
+	 */
+	static long timeBudget(int timeout, long now) {
+		if (timeout <= 0) {
+			return DEFAULT_TIME_BUDGET;
+		}
+		long left = timeout * 1000L - now;
+		return Math.max(0, Math.min((long) (left * TIME_SHARE), left - TIME_RESERVE));
+	}
+
 	/**
 	 * this method is called when the server sends the moveMade-message.
 	 * The move that is send in this message goes to the aiGame and calls the 
@@ -347,7 +431,7 @@ public final class AI {
 		return aiSocket;
 	}
 
-	public BufferedReader getIn() {
+	public BufferedInputStream getIn() {
 		return in;
 	}
 
@@ -370,6 +454,10 @@ public final class AI {
 	public int getRemainingCards(){
 		return remainingCards;
 	}
+
+	void setRemainingCards(int remainingCards) {
+		this.remainingCards = remainingCards;
+	}
 	
 	public AILogic getAiLogic(){
 		return aiLogic;
@@ -15,10 +15,24 @@ public class AIGame {
 
 	private List<AbstractSingleArea> singleAreas;
 
+	private AreaTracker areaTracker;
+
 	private AILogic aiLogic;
 	
 	private GameField gameField;
 
+	/**
+	 * moves that were made by {@link #makeMove(Position, Card)} and not taken
+	 * back yet, the newest first
+	 */
+	private Deque<Move> moves = new ArrayDeque<>();
+
+	/**
+	 * moves that were played by {@link #checkCardPlacement(Position, int, int, Player, Card)},
+	 * the oldest first
+	 */
+	private List<PlayedMove> history = new ArrayList<>();
+
 	public AIGame(AILogic aiLogic) {
 		this.aiLogic = aiLogic;
 		this.gameField = new GameField();
@@ -27,17 +41,45 @@ public class AIGame {
 
 	public void checkCardPlacement(Position cardPosition, int rotation,
 			int placement, Player player, Card card) {
+		Card played = card.deepCopyWithoutSingleAreas();
 		card.rotate(rotation);
 		placeCard(cardPosition, card);
+		boolean meeplePlaced = false;
 		if (placement != -1) {
-			meeplePlaced(cardPosition, placement, player);
-			if (checkCompletion()) {
-				checkScore();
+			meeplePlaced = meeplePlaced(cardPosition, placement, player);
+		}
+		if (checkCompletion()) {
+			checkScore();
+		}
+		history.add(new PlayedMove(cardPosition, rotation,
+				meeplePlaced ? placement : -1, player, played));
+	}
+
+	/**
+	 * Replays the moves of the given game that this game has not seen yet.
+	 * <p>
+	 * This is used to keep a copy of the game for every worker of
+	 * {@link AILogic}: the cards and meeples are put on the areas the same
+	 * way, but the players are not changed, the meeples of finished areas are
+	 * only taken off the areas.
+	 * 
+	 * @param source
+	 *            the game of the AI, it must not be changed while this runs
+	 */
+	void catchUp(AIGame source) {
+		for (int i = history.size(); i < source.history.size(); i++) {
+			PlayedMove move = source.history.get(i);
+			Card card = move.card.deepCopyWithoutSingleAreas();
+			card.rotate(move.rotation);
+			placeCard(move.pos, card);
+			if (move.placement != -1) {
+				card.getSingleArea(move.placement).getMeeples().add(
+						new Meeple(move.pos, move.placement, move.player, null));
 			}
-		} else {
 			if (checkCompletion()) {
-				checkScore();
+				releaseMeeples();
 			}
+			history.add(move);
 		}
 	}
 
@@ -69,12 +111,45 @@ public class AIGame {
 		}
 	}
 
+	/**
+	 * Places a card to try it out.
+	 * <p>
+	 * Every change of the areas is written to the journal of the AreaTracker,
+	 * so {@link #unmakeMove()} can restore the game exactly. Trying a card
+	 * only costs as much as the areas it touches, the board is not copied.
+	 * 
+	 * @param pos
+	 *            Position of the card
+	 * @param card
+	 *            the rotated card, it must not be used for anything else
+	 * @return true if the card was placed, false if it doesn't fit
+	 * @see AreaTracker#mark()
+	 */
+	public boolean makeMove(Position pos, Card card) {
+		if (!matchingEdges(card, pos)) {
+			return false;
+		}
+		moves.push(new Move(pos, areaTracker.mark()));
+		placeCard(pos, card);
+		return true;
+	}
+
+	/**
+	 * Takes back the last move made by {@link #makeMove(Position, Card)}.
+	 */
+	public void unmakeMove() {
+		Move move = moves.pop();
+		areaTracker.rollback(move.mark);
+		gameField.deleteCard(move.pos);
+	}
+
 	private void createInitialCardAndSingleAreas() {
 		singleAreas = new ArrayList<>();
-		singleAreas.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
-		singleAreas.add(new SingleAreaRoad(false, new Position(0, 0), 1));
-		singleAreas.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
-		singleAreas.add(new SingleAreaTown(1, false, new Position(0, 0), 1));
+		areaTracker = new AreaTracker(singleAreas);
+		areaTracker.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
+		areaTracker.add(new SingleAreaRoad(false, new Position(0, 0), 1));
+		areaTracker.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
+		areaTracker.add(new SingleAreaTown(1, false, new Position(0, 0), 1));
 		((SingleAreaMeadow) singleAreas.get(2)).getTowns().add(
 				(SingleAreaTown) singleAreas.get(3));
 
@@ -108,7 +183,7 @@ public class AIGame {
 			case CLOISTER:
 				SingleAreaCloister singleAreaMonastry = new SingleAreaCloister(pos);
 				card.getSingleAreaMap().put(i, singleAreaMonastry);
-				singleAreas.add(singleAreaMonastry);
+				areaTracker.add(singleAreaMonastry);
 				break;
 
 			case MEADOW:
@@ -133,7 +208,7 @@ public class AIGame {
 				}
 
 				card.getSingleAreaMap().put(i, singleAreaMeadow);
-				singleAreas.add(singleAreaMeadow);
+				areaTracker.add(singleAreaMeadow);
 				break;
 
 			case ROAD:
@@ -179,7 +254,7 @@ public class AIGame {
 				}
 
 				card.getSingleAreaMap().put(i, singleAreaRoad);
-				singleAreas.add(singleAreaRoad);
+				areaTracker.add(singleAreaRoad);
 				break;
 
 			case TOWN:
@@ -238,7 +313,7 @@ public class AIGame {
 					singleAreaTown = new SingleAreaTown(openEdges, false, pos, multiplierTown);
 				}
 				card.getSingleAreaMap().put(i, singleAreaTown);
-				singleAreas.add(singleAreaTown);
+				areaTracker.add(singleAreaTown);
 				break;
 
 			default:
@@ -248,7 +323,7 @@ public class AIGame {
 		}
 	}
 
-	private void meeplePlaced(Position cardPosition, int areaPlacement,
+	private boolean meeplePlaced(Position cardPosition, int areaPlacement,
 			Player player) {
 		Meeple meeple = new Meeple(cardPosition, areaPlacement, player, null);
 		Card currentCard = gameField.getCard(cardPosition);
@@ -256,16 +331,19 @@ public class AIGame {
 			System.out.println("CARD NULL!");
 		}
 		AbstractSingleArea currentSingleArea;
-		currentSingleArea = currentCard.getSingleAreaMap().get(areaPlacement);
+		currentSingleArea = currentCard.getSingleArea(areaPlacement);
 		boolean bigMeeple = meeple.getSpecialType() == SpecialMeepleType.BIGMEEPLE ? true : false;
 		if (currentSingleArea.getMeeples().size() == 0 && player.placeMeeple(meeple, bigMeeple)) {
 			currentSingleArea.getMeeples().add(meeple);
+			return true;
 		}
+		return false;
 	}
 
 	/**
 	 * This method checks if you are allowed to put the card on this position by
-	 * checking the different edges if they fit or not
+	 * comparing the edge signature of the card with the signature the
+	 * neighbours of the position require
 	 * 
 	 * @param currentCard
 	 *            current Card
@@ -275,129 +353,16 @@ public class AIGame {
 	 */
 	public final boolean matchingEdges(Card currentCard,
 			Position currentPosition) {
-		if (gameField.checkNeighbours(currentPosition)
-				&& !gameField.isPositionTaken(currentPosition)
-				&& matchingTopEdge(currentCard, currentPosition)
-				&& matchingLeftEdge(currentCard, currentPosition)
-				&& matchingBottomEdge(currentCard, currentPosition)
-				&& matchingRightEdge(currentCard, currentPosition)) {
-			return true;
-		}
-		return false;
-
-	}
-
-	/**
-	 * method checks if edges of currentCard and top card fit together
-	 * 
-	 * @param currentCard
-	 * @param currentPosition
-	 * @return boolean if edges fit or not
-	 */
-	private boolean matchingTopEdge(Card currentCard, Position currentPosition) {
-		if (gameField.getCardNorth(currentPosition) != null) {
-			Card northCard = gameField.getCardNorth(
-					currentPosition);
-			Integer northIndex = northCard.getEdges().get(2).size() == 3 ? northCard
-					.getEdges().get(2).get(1)
-					: northCard.getEdges().get(2).get(0);
-			CardAreaType north = northCard.getAreas().get(northIndex);
-			Integer currentIndex = currentCard.getEdges().get(0).size() == 3 ? currentCard
-					.getEdges().get(0).get(1)
-					: currentCard.getEdges().get(0).get(0);
-			CardAreaType current = currentCard.getAreas().get(currentIndex);
-			if (north != current) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	/**
-	 * method checks if edges of leftCard and currentCard fit together
-	 * 
-	 * @param currentCard
-	 * @param currentPosition
-	 * @return boolean if edges fit or not
-	 */
-	private boolean matchingLeftEdge(Card currentCard, Position currentPosition) {
-
-		if (gameField.getCardWest(currentPosition) != null) {
-			Card westCard = gameField.getCardWest(currentPosition);
-			Integer eastIndex = westCard.getEdges().get(3).size() == 3 ? westCard
-					.getEdges().get(3).get(1)
-					: westCard.getEdges().get(3).get(0);
-			CardAreaType east = westCard.getAreas().get(eastIndex);
-			Integer currentIndex = currentCard.getEdges().get(1).size() == 3 ? currentCard
-					.getEdges().get(1).get(1)
-					: currentCard.getEdges().get(1).get(0);
-			CardAreaType current = currentCard.getAreas().get(currentIndex);
-			if (east != current) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	/**
-	 * method checks if edges of bottomCard and currentCard fit together
-	 * 
-	 * @param currentCard
-	 * @param currentPosition
-	 * @return boolean if edges fit or not
-	 */
-	private boolean matchingBottomEdge(Card currentCard,
-			Position currentPosition) {
-		if (gameField.getCardSouth(currentPosition) != null) {
-			Card southCard = gameField.getCardSouth(
-					currentPosition);
-			Integer southIndex = southCard.getEdges().get(0).size() == 3 ? southCard
-					.getEdges().get(0).get(1)
-					: southCard.getEdges().get(0).get(0);
-			CardAreaType south = southCard.getAreas().get(southIndex);
-			Integer currentIndex = currentCard.getEdges().get(2).size() == 3 ? currentCard
-					.getEdges().get(2).get(1)
-					: currentCard.getEdges().get(2).get(0);
-			CardAreaType current = currentCard.getAreas().get(currentIndex);
-			if (south != current) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	/**
-	 * Checks if edges of rightCard and currentCard fit together
-	 * 
-	 * @param currentCard
-	 *            Card to set
-	 * @param currentPosition
-	 *            position where the current card should be set
-	 * @return boolean if edges fit or not
-	 */
-	private boolean matchingRightEdge(Card currentCard, Position currentPosition) {
-		if (gameField.getCardEast(currentPosition) != null) {
-			Card eastCard = gameField.getCardEast(currentPosition);
-			Integer westIndex = eastCard.getEdges().get(1).size() == 3 ? eastCard
-					.getEdges().get(1).get(1)
-					: eastCard.getEdges().get(1).get(0);
-			CardAreaType west = eastCard.getAreas().get(westIndex);
-			Integer currentIndex = currentCard.getEdges().get(3).size() == 3 ? currentCard
-					.getEdges().get(3).get(1)
-					: currentCard.getEdges().get(3).get(0);
-			CardAreaType current = currentCard.getAreas().get(currentIndex);
-			if (west != current) {
-				return false;
-			}
-		}
-		return true;
+		FrontierCell cell = gameField.getFrontierCell(currentPosition);
+		return cell != null && cell.fits(currentCard);
 	}
 
 	/**
 	 * Merges edges into one singleArea.
 	 * <p>
-	 * By getting the two cards which should be merged by looking on their positions on the gameField these cards are
-	 * united to one singleArea.
+	 * The areas on the touching edges of the two cards are united by the
+	 * AreaTracker. An edge with three areas is mirrored on the other card, so
+	 * the first area meets the last one.
 	 * 
 	 * @param newCardsPosition
 	 *            Position of the new Card that was just set
@@ -405,6 +370,7 @@ public class AIGame {
 	 *            Position of the Card that was already set when the new Card was set
 	 * @param edge
 	 *            index of the edge that should be merged
+	 * @see AreaTracker
 	 */
 	private void mergeEdges(Position newCardsPosition,
 			Position oldCardsPosition, int edge) {
@@ -412,302 +378,22 @@ public class AIGame {
 		Card placed = gameField.getCard(oldCardsPosition);
 		Card toBePlaced = gameField.getCard(newCardsPosition);
 
-		List<Integer> edgeToBeMerged = null;
-		List<Integer> edgeToBeMergedWith = null;
-
-		int newEdge = (edge + 2) > 3 ? (edge + 2) % 4 : edge + 2;
+		List<Integer> edgeToBeMerged = toBePlaced.getEdges().get(edge);
+		List<Integer> edgeToBeMergedWith = placed.getEdges().get((edge + 2) % 4);
 
-		edgeToBeMerged = toBePlaced.getEdges().get(edge);
-		edgeToBeMergedWith = placed.getEdges().get(newEdge);
-
-		AbstractSingleArea areaToAdapt = null;
-		AbstractSingleArea areaToMerge = null;
+		if (edgeToBeMerged.size() != edgeToBeMergedWith.size()) {
+			log.warn("Edges don't match");
+			throw new IllegalArgumentException("edges don't match");
+		}
 
 		// repeat for all areas of edge
 		for (int j = 0; j < edgeToBeMerged.size(); j++) {
 
 			// index of single area on other card
-			int k = j;
-			if (edgeToBeMerged.size() != 1) {
-				k = 2 - j;
-			}
-
-			// pick SingleArea that was created first
-			int areaIndexNew = 0;
-			int areaIndexOld = 0;
-			for (int i = 0; i < singleAreas.size(); i++) {
-				if (singleAreas.get(i) == toBePlaced.getSingleAreaMap().get(
-						edgeToBeMerged.get(j))) {
-					areaIndexNew = i;
-				} else if (singleAreas.get(i) == placed.getSingleAreaMap().get(
-						edgeToBeMergedWith.get(k))) {
-					areaIndexOld = i;
-				}
-			}
-
-			if (areaIndexNew >= areaIndexOld) {
-				switch (j) {
-				case 0:
-					areaToAdapt = placed.getSingleAreaMap().get(
-							edgeToBeMergedWith.get(j));
-					areaToMerge = toBePlaced.getSingleAreaMap().get(
-							edgeToBeMerged.get(k));
-
-					if (areaToAdapt.getCardAreaType().equals(CardAreaType.TOWN)) {
-						// merge town area
-						mergeTownArea((SingleAreaTown) areaToAdapt,
-								(SingleAreaTown) areaToMerge);
-
-					} else {
-						// merge meadow area
-						mergeMeadowArea(0, (SingleAreaMeadow) areaToAdapt,
-								(SingleAreaMeadow) areaToMerge);
-					}
-
-					break;
-
-				case 1:
-					areaToAdapt = (SingleAreaRoad) placed.getSingleAreaMap()
-							.get(edgeToBeMergedWith.get(j));
-					areaToMerge = (SingleAreaRoad) toBePlaced
-							.getSingleAreaMap().get(edgeToBeMerged.get(k));
-
-					// merge road area
-					mergeRoadArea((SingleAreaRoad) areaToAdapt,
-							(SingleAreaRoad) areaToMerge);
-
-					break;
-
-				case 2:
-					areaToAdapt = (SingleAreaMeadow) placed.getSingleAreaMap()
-							.get(edgeToBeMergedWith.get(j));
-					areaToMerge = (SingleAreaMeadow) toBePlaced
-							.getSingleAreaMap().get(edgeToBeMerged.get(k));
-
-					// merge second meadow area
-					mergeMeadowArea(2, (SingleAreaMeadow) areaToAdapt,
-							(SingleAreaMeadow) areaToMerge);
-
-					break;
-
-				default:
-					log.warn("No case matched");
-					throw new IllegalArgumentException("no case matched");
-				}
-
-			} else {
-				switch (j) {
-				case 0:
-					areaToAdapt = toBePlaced.getSingleAreaMap().get(
-							edgeToBeMerged.get(k));
-					areaToMerge = placed.getSingleAreaMap().get(
-							edgeToBeMergedWith.get(j));
-
-					if (areaToAdapt.getCardAreaType().equals(CardAreaType.TOWN)) {
-						// merge town area
-						mergeTownArea((SingleAreaTown) areaToAdapt,
-								(SingleAreaTown) areaToMerge);
-
-					} else {
-						// merge meadow area
-						mergeMeadowArea(0, (SingleAreaMeadow) areaToAdapt,
-								(SingleAreaMeadow) areaToMerge);
-					}
-
-					break;
-
-				case 1:
-					areaToAdapt = (SingleAreaRoad) toBePlaced
-							.getSingleAreaMap().get(edgeToBeMerged.get(k));
-					areaToMerge = (SingleAreaRoad) placed.getSingleAreaMap()
-							.get(edgeToBeMergedWith.get(j));
-
-					// merge road area
-					mergeRoadArea((SingleAreaRoad) areaToAdapt,
-							(SingleAreaRoad) areaToMerge);
-
-					break;
-
-				case 2:
-					areaToAdapt = (SingleAreaMeadow) toBePlaced
-							.getSingleAreaMap().get(edgeToBeMerged.get(k));
-					areaToMerge = (SingleAreaMeadow) placed.getSingleAreaMap()
-							.get(edgeToBeMergedWith.get(j));
-
-					// merge second meadow area
-					mergeMeadowArea(2, (SingleAreaMeadow) areaToAdapt,
-							(SingleAreaMeadow) areaToMerge);
-
-					break;
+			int k = edgeToBeMerged.size() == 3 ? 2 - j : j;
 
-				default:
-					log.warn("No case matched");
-					throw new IllegalArgumentException("no case matched");
-				}
-			}
-		}
-	}
-
-	/**
-	 * Merges two town areas.
-	 * 
-	 * @param newTownArea
-	 * @param newTownArea
-	 * @param oldTownArea
-	 */
-	private void mergeTownArea(SingleAreaTown newTownArea, SingleAreaTown oldTownArea) {
-
-		if (newTownArea != oldTownArea) {
-
-			// add meeples from old to new
-			for (Iterator<Meeple> iterator = oldTownArea.getMeeples().iterator(); iterator.hasNext();) {
-				Meeple meeple = (Meeple) iterator.next();
-				newTownArea.getMeeples().add(meeple);
-			}
-
-			// add points from old area to new one
-			newTownArea.setPointCounter(newTownArea.getPointCounter() + oldTownArea.getPointCounter());
-
-			// use bigger multiplier
-			if (oldTownArea.getMultiplier() > newTownArea.getMultiplier()) {
-				newTownArea.setMultiplier(oldTownArea.getMultiplier());
-			}
-
-			// add positions of old SingleArea
-			for (Iterator<Position> iterator = oldTownArea.getTownPosition().iterator(); iterator.hasNext();) {
-				Position townPos = (Position) iterator.next();
-				newTownArea.getTownPosition().add(townPos);
-			}
-
-			// combine open edges of old and new single area
-			newTownArea
-					.setOpenEdgesCounter((newTownArea.getOpenEdgesCounter() + oldTownArea.getOpenEdgesCounter()) - 2);
-
-			// change areas on all cards that were connected to the old
-			for (Iterator<Position> iterator = oldTownArea.getTownPosition().iterator(); iterator.hasNext();) {
-				Card card = gameField.getCard((Position) iterator.next());
-				List<Integer> townKeys = new ArrayList<>();
-				for (int i = 0; i < card.getAreas().size(); i++) {
-					if (card.getAreas().get(i) == CardAreaType.TOWN) {
-						townKeys.add(i);
-					}
-				}
-				for (Iterator<Integer> iterator2 = townKeys.iterator(); iterator2.hasNext();) {
-					Integer key = (Integer) iterator2.next();
-					if (card.getSingleAreaMap().get(key) == oldTownArea) {
-						card.getSingleAreaMap().put(key, newTownArea);
-					}
-				}
-			}
-
-			for (AbstractSingleArea singleArea : singleAreas) {
-				if (CardAreaType.MEADOW.equals(singleArea.getCardAreaType())) {
-					SingleAreaMeadow meadow = (SingleAreaMeadow) singleArea;
-
-					List<SingleAreaTown> tempTowns = new ArrayList<>();
-					for (SingleAreaTown town : meadow.getTowns()) {
-						tempTowns.add(town);
-					}
-					for (SingleAreaTown town : tempTowns) {
-						if (town == oldTownArea) {
-							meadow.getTowns().add(newTownArea);
-							meadow.getTowns().remove(town);
-						}
-					}
-				}
-			}
-			singleAreas.remove(oldTownArea);
-		} else {
-			newTownArea.setOpenEdgesCounter((newTownArea.getOpenEdgesCounter() - 2));
-		}
-	}
-
-	private void mergeMeadowArea(int edgeSpot, SingleAreaMeadow newMeadowArea, SingleAreaMeadow oldMeadowArea) {
-
-		if (oldMeadowArea != newMeadowArea) {
-			// add meeples from old to new
-			for (Iterator<Meeple> iterator = oldMeadowArea.getMeeples().iterator(); iterator.hasNext();) {
-				Meeple meeple = iterator.next();
-				newMeadowArea.getMeeples().add(meeple);
-			}
-
-			// add towns which are adjacent to the meadow of the placed
-			// card to the list of towns of the SingleArea
-			for (int i = 0; i < oldMeadowArea.getTowns().size(); i++) {
-				newMeadowArea.getTowns().add(oldMeadowArea.getTowns().get(i));
-			}
-
-			// add positions of old SingleArea
-			for (Iterator<Position> iterator = oldMeadowArea.getMeadowPositions().iterator(); iterator.hasNext();) {
-				Position meadowPos = (Position) iterator.next();
-				newMeadowArea.getMeadowPositions().add(meadowPos);
-			}
-
-			// change areas on all cards that were connected to the old
-			for (Iterator<Position> iterator = oldMeadowArea.getMeadowPositions().iterator(); iterator.hasNext();) {
-				Card card = gameField.getCard((Position) iterator.next());
-				List<Integer> meadowKeys = new ArrayList<>();
-				for (int i = 0; i < card.getAreas().size(); i++) {
-					if (card.getAreas().get(i) == CardAreaType.MEADOW) {
-						meadowKeys.add(i);
-					}
-				}
-				for (Iterator<Integer> iterator2 = meadowKeys.iterator(); iterator2.hasNext();) {
-					Integer key = (Integer) iterator2.next();
-					if (card.getSingleAreaMap().get(key) == oldMeadowArea) {
-						card.getSingleAreaMap().put(key, newMeadowArea);
-					}
-				}
-			}
-
-			singleAreas.remove(oldMeadowArea);
-
-		}
-	}
-
-	private void mergeRoadArea(SingleAreaRoad newRoadArea, SingleAreaRoad oldRoadArea) {
-
-		if (newRoadArea != oldRoadArea) {
-
-			// add meeples from old to new
-			for (Iterator<Meeple> iterator = oldRoadArea.getMeeples().iterator(); iterator.hasNext();) {
-				Meeple meeple = (Meeple) iterator.next();
-				newRoadArea.getMeeples().add(meeple);
-			}
-
-			// add points from old area to new one
-			newRoadArea.setPointCounter(newRoadArea.getPointCounter() + oldRoadArea.getPointCounter());
-
-			// add positions of old SingleArea
-			for (Iterator<Position> iterator = oldRoadArea.getRoadPosition().iterator(); iterator.hasNext();) {
-				Position meadowPos = (Position) iterator.next();
-				newRoadArea.getRoadPosition().add(meadowPos);
-			}
-
-			// combines closed counter of new and old area
-			newRoadArea.setClosed(newRoadArea.getClosed() + oldRoadArea.getClosed());
-
-			// change areas on all cards that were connected to the old area
-			for (Iterator<Position> iterator = oldRoadArea.getRoadPosition().iterator(); iterator.hasNext();) {
-				Card card = gameField.getCard((Position) iterator.next());
-				List<Integer> roadKeys = new ArrayList<>();
-				for (int i = 0; i < card.getAreas().size(); i++) {
-					if (card.getAreas().get(i) == CardAreaType.ROAD) {
-						roadKeys.add(i);
-					}
-				}
-				for (Iterator<Integer> iterator2 = roadKeys.iterator(); iterator2.hasNext();) {
-					Integer key = (Integer) iterator2.next();
-					if (card.getSingleAreaMap().get(key) == oldRoadArea) {
-						card.getSingleAreaMap().put(key, newRoadArea);
-					}
-				}
-			}
-
-			singleAreas.remove(oldRoadArea);
-
-		} else {
-			newRoadArea.setClosed(2);
+			areaTracker.union(placed.getSingleArea(edgeToBeMergedWith.get(k)),
+					toBePlaced.getSingleArea(edgeToBeMerged.get(j)));
 		}
 	}
 
@@ -768,6 +454,19 @@ public class AIGame {
 		}
 	}
 
+	/**
+	 * Takes the meeples off the finished areas like {@link #checkScore()},
+	 * but without giving points or meeples back to the players.
+	 */
+	private void releaseMeeples() {
+		for (AbstractSingleArea singleArea : singleAreas) {
+			if (singleArea != null && singleArea.isFinished()
+					&& !"Meadow".equals(singleArea.toString())) {
+				singleArea.getMeeples().clear();
+			}
+		}
+	}
+
 	/**
 	 * Utility method for calculating the points of the different singleAreas.
 	 * 
@@ -828,23 +527,42 @@ public class AIGame {
 		return scoreHasToBeCalculated;
 	}
 
-	public List<AbstractSingleArea> checkCompletionAlternative() {
-		List<AbstractSingleArea> finishedAreas = new ArrayList<>();
-		for (AbstractSingleArea abstractArea : singleAreas) {
-			if (abstractArea != null) {
-				if ("Cloister".equals(abstractArea.toString())) {
-					SingleAreaCloister cloisterArea = (SingleAreaCloister) abstractArea;
-					if (gameField.checkSurroundingCards(
-							cloisterArea.getPosition())) {
-						cloisterArea.setFinished();
-					}
+	/**
+	 * Returns the finished areas of the card on the given position and the
+	 * cloisters on it or around it that are surrounded now. Unlike
+	 * {@link #checkCompletion()} nothing is changed, so it can be used on a
+	 * move made by {@link #makeMove(Position, Card)}.
+	 * 
+	 * @param pos
+	 *            Position of the card that was placed
+	 * @return the finished areas, every area only once
+	 */
+	public List<AbstractSingleArea> getFinishedAreas(Position pos) {
+		Set<AbstractSingleArea> finishedAreas = new LinkedHashSet<>();
+		Card placed = gameField.getCard(pos);
+		for (int i = 0; i < placed.getAreas().size(); i++) {
+			AbstractSingleArea area = placed.getSingleArea(i);
+			if (area != null && area.isFinished()) {
+				finishedAreas.add(area);
+			}
+		}
+
+		for (int x = pos.getX() - 1; x <= pos.getX() + 1; x++) {
+			for (int y = pos.getY() - 1; y <= pos.getY() + 1; y++) {
+				Card card = gameField.getCard(x, y);
+				if (card == null) {
+					continue;
 				}
-				if (abstractArea.isFinished()) {
-					finishedAreas.add(abstractArea);
+				for (int i = 0; i < card.getAreas().size(); i++) {
+					AbstractSingleArea area = card.getSingleArea(i);
+					if (area != null && CardAreaType.CLOISTER.equals(area.getCardAreaType())
+							&& gameField.checkSurroundingCards(((SingleAreaCloister) area).getPosition())) {
+						finishedAreas.add(area);
+					}
 				}
 			}
 		}
-		return finishedAreas;
+		return new ArrayList<>(finishedAreas);
 	}
 
 	public List<AbstractSingleArea> getSingleAreas() {
@@ -853,6 +571,7 @@ public class AIGame {
 
 	public void setSingleAreas(List<AbstractSingleArea> areas) {
 		singleAreas = areas;
+		areaTracker = new AreaTracker(areas);
 	}
 
 	public GameField getGameField() {
@@ -862,4 +581,46 @@ public class AIGame {
 	public void setGameField(GameField gameField) {
 		this.gameField = gameField;
 	}
+
+	/**
+	 * A move of a player: the card before it was rotated, where it was put
+	 * and where the meeple was placed, -1 if no meeple was placed.
+	 */
+	private static final class PlayedMove {
+
+		private final Position pos;
+
+		private final int rotation;
+
+		private final int placement;
+
+		private final Player player;
+
+		private final Card card;
+
+		PlayedMove(Position pos, int rotation, int placement, Player player,
+				Card card) {
+			this.pos = pos;
+			this.rotation = rotation;
+			this.placement = placement;
+			this.player = player;
+			this.card = card;
+		}
+	}
+
+	/**
+	 * A move that can be taken back: the position of the card and the mark of
+	 * the journal before it was placed.
+	 */
+	private static final class Move {
+
+		private final Position pos;
+
+		private final int mark;
+
+		Move(Position pos, int mark) {
+			this.pos = pos;
+			this.mark = mark;
+		}
+	}
 }
@@ -4,15 +4,69 @@ import shared.enums.CardAreaType;
 import shared.model.*;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class AILogic {
 
+	/**
+	 * below this number of placements they are tried on the game of the AI
+	 * only, the workers are not worth it
+	 */
+	private static final int MIN_PARALLEL_PLACEMENTS = 8;
+
+	/**
+	 * placements are tried in this order, equal placements keep the first one
+	 */
+	private static final Comparator<PossiblePlacement> PLACEMENT_ORDER = new Comparator<PossiblePlacement>() {
+		@Override
+		public int compare(PossiblePlacement a, PossiblePlacement b) {
+			if (a.getPos().getX() != b.getPos().getX()) {
+				return Integer.compare(a.getPos().getX(), b.getPos().getX());
+			}
+			if (a.getPos().getY() != b.getPos().getY()) {
+				return Integer.compare(a.getPos().getY(), b.getPos().getY());
+			}
+			if (a.getRotation() != b.getRotation()) {
+				return Integer.compare(a.getRotation(), b.getRotation());
+			}
+			return Integer.compare(a.getMeeplePlacements(), b.getMeeplePlacements());
+		}
+	};
+
 	private AIGame aiGame;
 
+	/**
+	 * one copy of the game for every worker, they are brought up to date by
+	 * {@link AIGame#catchUp(AIGame)} before the placements are tried
+	 */
+	private final List<AIGame> workerGames = new ArrayList<>();
+
+	/**
+	 * pool the workers run on, its parallelism is the most parts the
+	 * placements are split into
+	 */
+	private final ForkJoinPool pool;
+
 	AI ai;
 
 	public AILogic(AI ai) {
+		this(ai, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates the logic with the given pool for the workers.
+	 * 
+	 * @param ai
+	 *            the AI this logic belongs to
+	 * @param pool
+	 *            pool the placements are tried on
+	 */
+	AILogic(AI ai, ForkJoinPool pool) {
 		this.ai = ai;
+		this.pool = pool;
 		aiGame = new AIGame(this);
 	}
 
@@ -37,15 +91,11 @@ public class AILogic {
 	 */
 	public Set<PossiblePlacement> checkForLegalPlacements(Card card) {
 		Set<PossiblePlacement> availablePositions = new HashSet<>();
-		Set<Position> emptyPositions = aiGame.getGameField().getPositionsFromSetCards();
-		for (Position p : emptyPositions) {
+		for (FrontierCell cell : aiGame.getGameField().getFrontier()) {
 			for (int i = 0; i < 4; i++) {
-				if (aiGame.matchingEdges(card, p)) {
-					availablePositions.add(new PossiblePlacement(i, p));
+				if (cell.fits(card, i)) {
+					availablePositions.add(new PossiblePlacement(i, cell.getPosition()));
 				}
-				ArrayList<Integer> tmp = card.getEdges().get(0);
-				card.getEdges().remove(0);
-				card.getEdges().add(tmp);
 			}
 		}
 		return availablePositions;
@@ -72,8 +122,7 @@ public class AILogic {
 			if (!(aiGame.getGameField().getCardNorth(placement.getPos()) == null)) {
 				Card northCard = aiGame.getGameField().getCardNorth(placement.getPos());
 				for (int i = 0; i < northCard.getEdges().get(2).size(); i++) {
-					if (northCard.getSingleAreaMap()
-							.get(northCard.getEdges().get(2).get(i))
+					if (northCard.getSingleArea(northCard.getEdges().get(2).get(i))
 							.getMeeples().isEmpty()) {
 						List<Integer> currentIndices = card.getEdges().get(0);
 						if (currentIndices.size() == 1) {
@@ -104,8 +153,7 @@ public class AILogic {
 						currentIndices.add(tmp);
 					}
 					Collections.reverse(currentIndices);
-					if (eastCard.getSingleAreaMap()
-							.get(eastCard.getEdges().get(1).get(i))
+					if (eastCard.getSingleArea(eastCard.getEdges().get(1).get(i))
 							.getMeeples().isEmpty()) {
 						possiblePlacements.add(new PossiblePlacement(placement
 								.getRotation(), placement.getPos(),
@@ -136,8 +184,7 @@ public class AILogic {
 				}
 				Collections.reverse(currentIndices);
 				for (int i = 0; i < southCard.getEdges().get(0).size(); i++) {
-					if (southCard.getSingleAreaMap()
-							.get(southCard.getEdges().get(0).get(i))
+					if (southCard.getSingleArea(southCard.getEdges().get(0).get(i))
 							.getMeeples().isEmpty()) {
 						possiblePlacements.add(new PossiblePlacement(placement
 								.getRotation(), placement.getPos(),
@@ -168,8 +215,7 @@ public class AILogic {
 				}
 				Collections.reverse(currentIndices);
 				for (int i = 0; i < westCard.getEdges().get(3).size(); i++) {
-					if (westCard.getSingleAreaMap()
-							.get(westCard.getEdges().get(3).get(i))
+					if (westCard.getSingleArea(westCard.getEdges().get(3).get(i))
 							.getMeeples().isEmpty()) {
 						possiblePlacements.add(new PossiblePlacement(placement
 								.getRotation(), placement.getPos(),
@@ -217,12 +263,10 @@ public class AILogic {
 	 * @return best Placement on gameField for currentCard
 	 */
 	public PossiblePlacement getBestPlacement(Card card,
-			Set<PossiblePlacement> placements) {
-		Set<PossiblePlacement> badPlacements = new HashSet<>();
+			Set<PossiblePlacement> placementSet) {
+		List<PossiblePlacement> placements = sortPlacements(placementSet);
+		Set<PossiblePlacement> badPlacements = tryPlacements(card, placements, true);
 		PossiblePlacement bestPlacement = null;
-		for (PossiblePlacement placement : placements) {
-			canAreaBeFinished(placement, card, badPlacements);
-		}
 
 		for (PossiblePlacement placement : placements) {
 			if (bestPlacement != null
@@ -233,9 +277,7 @@ public class AILogic {
 			}
 		}
 		if (bestPlacement.getScore() == 0){
-			for(PossiblePlacement placement : placements) {
-				checkForGoodPlacements(placement, card);
-			}
+			tryPlacements(card, placements, false);
 			for (PossiblePlacement placement : placements) {
 				if (bestPlacement != null
 						&& placement.getPriority() > bestPlacement.getPriority()) {
@@ -248,7 +290,8 @@ public class AILogic {
 		if(bestPlacement.getPriority() == 0 && bestPlacement.getScore() == 0){
 			if(card.getAreas().contains(CardAreaType.CLOISTER)){
 				for(PossiblePlacement placement : placements){
-					if(card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.CLOISTER)
+					if(placement.getMeeplePlacements() >= 0
+							&& card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.CLOISTER)
 							&& !badPlacements.contains(placement)){
 						return placement;
 					}
@@ -256,7 +299,8 @@ public class AILogic {
 			}
 			if(card.getAreas().contains(CardAreaType.TOWN)){
 				for(PossiblePlacement placement : placements){
-					if(card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.TOWN)
+					if(placement.getMeeplePlacements() >= 0
+							&& card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.TOWN)
 							&& !badPlacements.contains(placement)){
 						return placement;
 					}
@@ -264,7 +308,8 @@ public class AILogic {
 			}
 			if(card.getAreas().contains(CardAreaType.ROAD)){
 				for(PossiblePlacement placement : placements){
-					if(card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.ROAD)
+					if(placement.getMeeplePlacements() >= 0
+							&& card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.ROAD)
 							&& !badPlacements.contains(placement)){
 							if(ai.getPlayer().getMeeplesLeft() > 4){
 								return placement;
@@ -281,11 +326,10 @@ public class AILogic {
 	}
 	
 	public PossiblePlacement getBestPlacementEasy(Card card,
-			Set<PossiblePlacement> placements) {
+			Set<PossiblePlacement> placementSet) {
+		List<PossiblePlacement> placements = sortPlacements(placementSet);
 		PossiblePlacement bestPlacement = null;
-			for(PossiblePlacement placement : placements) {
-				checkForGoodPlacements(placement, card);
-			}
+			tryPlacements(card, placements, false);
 			for (PossiblePlacement placement : placements) {
 				if (bestPlacement != null
 						&& placement.getPriority() > bestPlacement.getPriority()) {
@@ -297,21 +341,24 @@ public class AILogic {
 		if(bestPlacement.getPriority() == 0){
 			if(card.getAreas().contains(CardAreaType.CLOISTER)){
 				for(PossiblePlacement placement : placements){
-					if(card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.CLOISTER)){
+					if(placement.getMeeplePlacements() >= 0
+							&& card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.CLOISTER)){
 						return placement;
 					}
 				}
 			}
 			if(card.getAreas().contains(CardAreaType.TOWN)){
 				for(PossiblePlacement placement : placements){
-					if(card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.TOWN)){
+					if(placement.getMeeplePlacements() >= 0
+							&& card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.TOWN)){
 						return placement;
 					}
 				}
 			}
 			if(card.getAreas().contains(CardAreaType.ROAD)){
 				for(PossiblePlacement placement : placements){
-					if(card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.ROAD)){
+					if(placement.getMeeplePlacements() >= 0
+							&& card.getAreas().get(placement.getMeeplePlacements()).equals(CardAreaType.ROAD)){
 							if(ai.getPlayer().getMeeplesLeft() > 4){
 								return placement;
 							}
@@ -326,29 +373,131 @@ public class AILogic {
 
 	}
 
-	private void canAreaBeFinished(PossiblePlacement placement, Card card, Set<PossiblePlacement> badPlacements) {
-		GameField oldGameField = aiGame.getGameField().deepCopy();
-		int oldSize = aiGame.getGameField().getGameField().entrySet().size();
-		List<AbstractSingleArea> oldSingleAreas = new ArrayList<>();
-		for (int i = 0; i < aiGame.getSingleAreas().size(); i++) {
-			AbstractSingleArea tmp = aiGame.getSingleAreas().get(i).clone();
-			oldSingleAreas.add(i, tmp);
-			for(Card tmpCard : oldGameField.getGameField().values()){
-				for(AbstractSingleArea tmpArea : tmpCard.getSingleAreaMap().values()){
-					if(aiGame.getSingleAreas().get(i) == tmpArea){
-						tmpCard.setSingleAreaEntry(aiGame.getSingleAreas().get(i), tmp);
-					}
-				}
+	/**
+	 * Sorts the placements, so the best placement does not depend on the
+	 * order of the set.
+	 */
+	private List<PossiblePlacement> sortPlacements(Set<PossiblePlacement> placements) {
+		List<PossiblePlacement> sorted = new ArrayList<>(placements);
+		Collections.sort(sorted, PLACEMENT_ORDER);
+		return sorted;
+	}
+
+	/**
+	 * Tries all placements with {@link #canAreaBeFinished} or
+	 * {@link #checkForGoodPlacements}.
+	 * <p>
+	 * If there are enough placements and more than one core, they are split
+	 * into one part per core and every part is tried on its own copy of the
+	 * game in the ForkJoinPool. Every placement is only changed by one worker
+	 * and the copies are equal to the game of the AI, so the result is the
+	 * same as if they were tried one after the other.
+	 * 
+	 * @param card
+	 *            the current card
+	 * @param placements
+	 *            the sorted placements, they get the score or priority
+	 * @param finishing
+	 *            true for {@link #canAreaBeFinished}, false for
+	 *            {@link #checkForGoodPlacements}
+	 * @return the placements that help other players
+	 */
+	private Set<PossiblePlacement> tryPlacements(final Card card,
+			final List<PossiblePlacement> placements, final boolean finishing) {
+		final Set<PossiblePlacement> badPlacements = Collections
+				.newSetFromMap(new IdentityHashMap<PossiblePlacement, Boolean>());
+		int parts = Math.min(pool.getParallelism(), placements.size() / (MIN_PARALLEL_PLACEMENTS / 2));
+		if (placements.size() < MIN_PARALLEL_PLACEMENTS || parts < 2 || !prepareWorkerGames(parts)) {
+			tryPart(aiGame, card, placements, finishing, badPlacements);
+			return badPlacements;
+		}
+
+		List<Callable<Set<PossiblePlacement>>> tasks = new ArrayList<>();
+		for (int i = 0; i < parts; i++) {
+			final AIGame workerGame = workerGames.get(i);
+			final List<PossiblePlacement> part = placements.subList(
+					i * placements.size() / parts, (i + 1) * placements.size() / parts);
+			tasks.add(new Callable<Set<PossiblePlacement>>() {
+				@Override
+				public Set<PossiblePlacement> call() {
+					Set<PossiblePlacement> bad = Collections
+							.newSetFromMap(new IdentityHashMap<PossiblePlacement, Boolean>());
+					tryPart(workerGame, card, part, finishing, bad);
+					return bad;
+				}
+			});
+		}
+		try {
+			for (Future<Set<PossiblePlacement>> result : pool.invokeAll(tasks)) {
+				badPlacements.addAll(result.get());
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			// a worker game that failed can't be trusted anymore
+			workerGames.clear();
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
 			}
+			throw new IllegalStateException("trying the placements failed", e);
 		}
-		Card tmpCard = card.deepCopy();
+		return badPlacements;
+	}
 
+	private void tryPart(AIGame game, Card card, List<PossiblePlacement> part,
+			boolean finishing, Set<PossiblePlacement> badPlacements) {
+		for (PossiblePlacement placement : part) {
+			if (finishing) {
+				canAreaBeFinished(game, placement, card, badPlacements);
+			} else {
+				checkForGoodPlacements(game, placement, card);
+			}
+		}
+	}
+
+	/**
+	 * Creates the missing worker games and replays the moves they have not
+	 * seen yet.
+	 * 
+	 * @return false if a worker game could not be brought up to date
+	 */
+	private boolean prepareWorkerGames(int parts) {
+		try {
+			while (workerGames.size() < parts) {
+				workerGames.add(new AIGame(this));
+			}
+			for (int i = 0; i < parts; i++) {
+				workerGames.get(i).catchUp(aiGame);
+			}
+			return true;
+		} catch (RuntimeException e) {
+			workerGames.clear();
+			return false;
+		}
+	}
+
+	/**
+	 * Tries the placement on the game of the AI and scores the areas it would
+	 * finish. Placements that would finish an area of another player are added
+	 * to the bad placements. The move is taken back afterwards.
+	 * 
+	 * @param aiGame
+	 *            the game of the AI or a copy of it
+	 * @param placement
+	 *            the placement to try, gets the score
+	 * @param card
+	 *            the current card
+	 * @param badPlacements
+	 *            the placements that help other players
+	 */
+	private void canAreaBeFinished(AIGame aiGame, PossiblePlacement placement, Card card, Set<PossiblePlacement> badPlacements) {
+		Card tmpCard = card.deepCopy();
 		tmpCard.rotate(placement.getRotation());
-		aiGame.placeCard(placement.getPos(), tmpCard);
+		if (!aiGame.makeMove(placement.getPos(), tmpCard)) {
+			return;
+		}
 		List<AbstractSingleArea> finishedAreas = aiGame
-				.checkCompletionAlternative();
-		AbstractSingleArea meepleArea = tmpCard.getSingleAreaMap().get(
-				placement.getMeeplePlacements());
+				.getFinishedAreas(placement.getPos());
+		AbstractSingleArea meepleArea = tmpCard.getSingleArea(placement
+				.getMeeplePlacements());
 
 		if (!finishedAreas.isEmpty()) {
 			for (AbstractSingleArea area : finishedAreas) {
@@ -363,7 +512,7 @@ public class AILogic {
 							placement.setPlacement(-1);
 						}
 					}
-					if (area.getMeeples().size() == 0 && meepleArea.equals(area)) {
+					if (area.getMeeples().size() == 0 && area.equals(meepleArea)) {
 						int score = card.getBonus().size() == 0 ? area
 								.calculatePoints() + 2
 								: area.calculatePoints() + 4;
@@ -381,7 +530,7 @@ public class AILogic {
 							placement.setPlacement(-1);
 						}
 					}
-					if (area.getMeeples().size() == 0 && meepleArea.equals(area)) {
+					if (area.getMeeples().size() == 0 && area.equals(meepleArea)) {
 						int score = area.calculatePoints() + 1;
 						placement.getMeeplePlacements();
 						if (score > placement.getScore()) {
@@ -404,103 +553,108 @@ public class AILogic {
 				}
 			}
 		}
-		if(oldSize != oldGameField.getGameField().entrySet().size()){
-			System.out.println("GameField hat sich verndert!");
-		}
-		aiGame.setGameField(oldGameField);
-		aiGame.setSingleAreas(oldSingleAreas);
+		aiGame.unmakeMove();
 	}
 	
-	private void checkForGoodPlacements(PossiblePlacement placement, Card card){
-		GameField oldGameField = aiGame.getGameField().deepCopy();
-		int oldGameFieldSize = aiGame.getGameField().getGameField().entrySet().size();
-		List<AbstractSingleArea> oldSingleAreas = new ArrayList<>();
-		for (int i = 0; i < aiGame.getSingleAreas().size(); i++) {
-			AbstractSingleArea tmp = aiGame.getSingleAreas().get(i).clone();
-			oldSingleAreas.add(i, tmp);
-			for(Card tmpCard : oldGameField.getGameField().values()){
-				for(AbstractSingleArea tmpArea : tmpCard.getSingleAreaMap().values()){
-					if(aiGame.getSingleAreas().get(i) == tmpArea){
-						tmpCard.setSingleAreaEntry(aiGame.getSingleAreas().get(i), tmp);
-					}
-				}
-			}
-		}
+	/**
+	 * Tries the placement on the game of the AI and gives it a priority if it
+	 * helps a cloister, a town or a road of the AI. Only the cards around the
+	 * position are looked at, the move is taken back afterwards.
+	 * 
+	 * @param aiGame
+	 *            the game of the AI or a copy of it
+	 * @param placement
+	 *            the placement to try, gets the priority
+	 * @param card
+	 *            the current card
+	 */
+	void checkForGoodPlacements(AIGame aiGame, PossiblePlacement placement, Card card){
 		Card tmpCard = card.deepCopy();
 		tmpCard.rotate(placement.getRotation());
-		
-		Map<SingleAreaTown, Integer> townPositions = new HashMap<>();
-		Map<SingleAreaRoad, Integer> roadPositions = new HashMap<>();
-		for(AbstractSingleArea area : aiGame.getSingleAreas()){
-			if(CardAreaType.CLOISTER.equals(area.getCardAreaType()) 
-					&& getAreaOwner(area).contains(ai.getPlayer().getNick()) && getAreaOwner(area).size() == 1) {
-				SingleAreaCloister cloister = (SingleAreaCloister) area;
-				Position pos = placement.getPos();
-				if(cloister.getPosition().equals(new Position(pos.getX(), pos.getY()-1))
-						|| cloister.getPosition().equals(new Position(pos.getX()-1, pos.getY()-1))
-						|| cloister.getPosition().equals(new Position(pos.getX()-1, pos.getY()))
-						|| cloister.getPosition().equals(new Position(pos.getX()-1, pos.getY()+1))
-						|| cloister.getPosition().equals(new Position(pos.getX(), pos.getY()+1))
-						|| cloister.getPosition().equals(new Position(pos.getX()+1, pos.getY()+1))
-						|| cloister.getPosition().equals(new Position(pos.getX()+1, pos.getY()))
-						|| cloister.getPosition().equals(new Position(pos.getX()+1, pos.getY()-1))){
-					placement.setPriority(10);
-					if(!(cloister == card.getSingleAreaMap().get(placement.getMeeplePlacements()))){
-						placement.setPlacement(-1);
+		Position pos = placement.getPos();
+		GameField gameField = aiGame.getGameField();
+
+		for (int x = pos.getX() - 1; x <= pos.getX() + 1; x++) {
+			for (int y = pos.getY() - 1; y <= pos.getY() + 1; y++) {
+				Card neighbour = gameField.getCard(x, y);
+				if (neighbour == null) {
+					continue;
+				}
+				for (int i = 0; i < neighbour.getAreas().size(); i++) {
+					AbstractSingleArea area = neighbour.getSingleArea(i);
+					if(area != null && CardAreaType.CLOISTER.equals(area.getCardAreaType()) 
+							&& getAreaOwner(area).contains(ai.getPlayer().getNick()) && getAreaOwner(area).size() == 1) {
+						placement.setPriority(10);
+						if(!(area == card.getSingleAreaMap().get(placement.getMeeplePlacements()))){
+							placement.setPlacement(-1);
+						}
 					}
 				}
 			}
-			if(CardAreaType.TOWN.equals(area.getCardAreaType())){
-				SingleAreaTown town = (SingleAreaTown) area;
-				int tmp = town.getTownPosition().size();
-				townPositions.put(town, tmp);
+		}
+
+		// only the towns and roads on the edges next to the position can grow
+		Map<SingleAreaTown, Integer> townPositions = new LinkedHashMap<>();
+		Map<SingleAreaRoad, Integer> roadPositions = new LinkedHashMap<>();
+		Card[] neighbours = { gameField.getCardNorth(pos), gameField.getCardWest(pos),
+				gameField.getCardSouth(pos), gameField.getCardEast(pos) };
+		for (int edge = 0; edge < 4; edge++) {
+			if (neighbours[edge] == null) {
+				continue;
 			}
-			if(CardAreaType.ROAD.equals(area.getCardAreaType())){
-				SingleAreaRoad road = (SingleAreaRoad) area;
-				int tmp = road.getRoadPosition().size();
-				roadPositions.put(road, tmp);
+			for (int index : neighbours[edge].getEdges().get((edge + 2) % 4)) {
+				AbstractSingleArea area = neighbours[edge].getSingleArea(index);
+				if(CardAreaType.TOWN.equals(area.getCardAreaType())){
+					SingleAreaTown town = (SingleAreaTown) area;
+					townPositions.put(town, town.getTownPosition().size());
+				}
+				if(CardAreaType.ROAD.equals(area.getCardAreaType())){
+					SingleAreaRoad road = (SingleAreaRoad) area;
+					roadPositions.put(road, road.getRoadPosition().size());
+				}
 			}
 		}
-		aiGame.placeCard(placement.getPos(), tmpCard);
-		for(SingleAreaTown town : townPositions.keySet()){
+		if (!aiGame.makeMove(pos, tmpCard)) {
+			return;
+		}
+		// the merge may have absorbed a recorded area, its root holds the
+		// meeples and positions now
+		AbstractSingleArea meepleArea = tmpCard.getSingleArea(placement.getMeeplePlacements());
+		for(Map.Entry<SingleAreaTown, Integer> entry : townPositions.entrySet()){
+			SingleAreaTown town = (SingleAreaTown) AreaTracker.find(entry.getKey());
 			if(getAreaOwner(town).contains(ai.getPlayer().getNick()) 
-					&& town.getTownPosition().size() > townPositions.get(town)){
+					&& town.getTownPosition().size() > entry.getValue()){
 				if(town.getMeeples().size() != 0){
 					if(placement.getPriority() < 9){
 						placement.setPriority(9);
 						placement.setPlacement(-1);
 					}
 				}
-				else if(town.getMeeples().size() == 0 &&
-						town == card.getSingleAreaMap().get(placement.getMeeplePlacements())){
+				else if(town.getMeeples().size() == 0 && town == meepleArea){
 					if(placement.getPriority() < 9){
 						placement.setPriority(9);
 					}
 				}
 			}
 		}
-		for(SingleAreaRoad road : roadPositions.keySet()){
+		for(Map.Entry<SingleAreaRoad, Integer> entry : roadPositions.entrySet()){
+			SingleAreaRoad road = (SingleAreaRoad) AreaTracker.find(entry.getKey());
 			if(getAreaOwner(road).contains(ai.getPlayer().getNick()) 
-					&& road.getRoadPosition().size() > roadPositions.get(road)){
+					&& road.getRoadPosition().size() > entry.getValue()){
 				if(road.getMeeples().size() != 0){
 					if(placement.getPriority() < 8){
 						placement.setPriority(8);
 						placement.setPlacement(-1);
 					}
 				}
-				else if(road.getMeeples().size() == 0 
-						&& road == card.getSingleAreaMap().get(placement.getMeeplePlacements())){
+				else if(road.getMeeples().size() == 0 && road == meepleArea){
 					if(placement.getPriority() < 8){
 						placement.setPriority(8);
 					}
 				}
 			}
 		}
-		if(oldGameFieldSize != oldGameField.getGameField().entrySet().size()){
-			System.out.println("Gre des GameFields hat sich verndert!");
-		}
-		aiGame.setGameField(oldGameField);
-		aiGame.setSingleAreas(oldSingleAreas);
+		aiGame.unmakeMove();
 	}
 
 	/**
@@ -7,6 +7,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import shared.communication.TileCatalog;
 import shared.enums.JsonType;
 import shared.model.Position;
 
@@ -83,7 +84,8 @@ public final class AIMessageBuilder {
 	}
 
 	/**
-	 * This method writes a loginMessage
+	 * This method writes a loginMessage, with the hash of the tile catalog so
+	 * the server knows if it may send binary frames
 	 * 
 	 * @param nick
 	 * @param capa
@@ -96,6 +98,7 @@ public final class AIMessageBuilder {
 		login = addNick(login, nick);
 		try {
 			login.put("capabilities", capa);
+			login.put("tile catalog", TileCatalog.getInstance().getHash());
 		} catch (JSONException e) {
 			e.printStackTrace();
 		}
@@ -12,13 +12,14 @@ import org.json.JSONObject;
 
 import ai.AI;
 import client.model.game.CardReceiver;
-import server.model.game.LogicCardCreator;
 import shared.Configuration;
+import shared.communication.BinaryProtocol;
 import shared.enums.GameStatus;
 import shared.enums.JsonType;
 import shared.enums.SpecialMeepleType;
 import shared.model.BuildCard;
 import shared.model.Card;
+import shared.model.LogicCardCreator;
 import shared.model.Meeple;
 import shared.model.Player;
 import shared.model.Position;
@@ -57,18 +58,16 @@ public final class AIReceiver implements Runnable {
 	 */
 	public void readMessage() {
 
-		String jsonText;
-
 		try {
 
-			// get the message
-			jsonText = ai.getIn().readLine();
-			if (jsonText == null) {
+			// get the message, a line or a binary frame
+			JSONObject jsonObject = BinaryProtocol.readMessage(ai.getIn());
+			if (jsonObject == null) {
 				Thread.currentThread().interrupt();
+				return;
 			}
-			System.out.println("SERVER ---> AI : " + jsonText);
+			System.out.println("SERVER ---> AI : " + jsonObject);
 
-			JSONObject jsonObject = new JSONObject(jsonText);
 			String s = jsonObject.optString("type");
 				
 			// gets the type of the json-message for the switch-case-construct
@@ -0,0 +1,445 @@
+package ai;
+
+import shared.enums.CapabilitiesType;
+import shared.enums.CardAreaType;
+import shared.model.*;
+
+import java.util.*;
+
+/**
+ * Monte Carlo tree search over the placements of the current card.
+ * <p>
+ * The root of the tree has one child for every legal placement, with and
+ * without a meeple. The children are chosen by UCB1 and every visit plays
+ * out the rest of the game for a few cards: the following cards are chance
+ * nodes drawn from the cards that are still in the deck, and they are put on
+ * a random fitting position. The playout is evaluated by the points the AI
+ * and the other players would get for the areas they hold, and everything is
+ * taken back with {@link AIGame#unmakeMove()}.
+ * <p>
+ * The search stops after the given number of playouts or when the time is
+ * up, whatever comes first. The placement that was visited most is chosen.
+ *
+ * @see AIGame#makeMove(Position, Card)
+ * @see AILogic
+ */
+public class AITreeSearch {
+
+	/**
+	 * number of cards that are placed in one playout after the placement of
+	 * the AI
+	 */
+	private static final int ROLLOUT_DEPTH = 20;
+
+	/**
+	 * weight of the exploration term of UCB1, in points
+	 */
+	private static final double EXPLORATION = 4.0;
+
+	/**
+	 * points subtracted if the meeple of a placement is still bound at the end
+	 * of a playout
+	 */
+	private static final double MEEPLE_COST = 1.0;
+
+	private final AILogic aiLogic;
+
+	private final Random random;
+
+	/**
+	 * one card of every type in the deck, not rotated
+	 */
+	private final List<Card> cardTypes = new ArrayList<>();
+
+	/**
+	 * how often every type is in a full deck
+	 */
+	private final List<Integer> occurrences = new ArrayList<>();
+
+	/**
+	 * index of every type by {@link #cardKey(Card)}
+	 */
+	private final Map<String, Integer> typeIndex = new HashMap<>();
+
+	/**
+	 * Creates the search for the deck of a game with the given extensions.
+	 *
+	 * @param aiLogic
+	 *            the logic whose game is searched
+	 * @param extensions
+	 *            extensions of the game, they decide which cards are in the
+	 *            deck
+	 * @param random
+	 *            source of the random decisions
+	 */
+	public AITreeSearch(AILogic aiLogic, Set<CapabilitiesType> extensions,
+			Random random) {
+		this.aiLogic = aiLogic;
+		this.random = random;
+		for (Card card : new CardDeck(extensions).getCardDeck()) {
+			String key = cardKey(card);
+			Integer index = typeIndex.get(key);
+			if (index == null) {
+				typeIndex.put(key, cardTypes.size());
+				cardTypes.add(card);
+				occurrences.add(1);
+			} else {
+				occurrences.set(index, occurrences.get(index) + 1);
+			}
+		}
+	}
+
+	/**
+	 * Searches the best placement for the current card.
+	 *
+	 * @param card
+	 *            the current card, not rotated
+	 * @param placements
+	 *            the legal placements, with the meeple placements
+	 * @param playouts
+	 *            maximal number of playouts
+	 * @param timeBudget
+	 *            maximal time of the search in milliseconds
+	 * @return the best placement, null if there is no placement or no time
+	 *         for a single playout
+	 */
+	public PossiblePlacement search(Card card,
+			Set<PossiblePlacement> placements, int playouts, long timeBudget) {
+		long deadline = System.nanoTime() + timeBudget * 1000000L;
+		AIGame aiGame = aiLogic.getAIGame();
+		Player player = aiLogic.ai.getPlayer();
+
+		List<Node> children = expand(aiGame, card, placements, player);
+		if (children.isEmpty()) {
+			return null;
+		}
+		int[] deck = remainingDeck(aiGame, card);
+		List<AbstractSingleArea> meepleAreas = new ArrayList<>();
+		for (AbstractSingleArea area : aiGame.getSingleAreas()) {
+			if (!area.getMeeples().isEmpty()) {
+				meepleAreas.add(area);
+			}
+		}
+
+		int visits = 0;
+		while (visits < playouts && System.nanoTime() < deadline) {
+			Node node = select(children, visits);
+			double value = playout(aiGame, card, node, player, deck, meepleAreas);
+			node.visits++;
+			node.total += value;
+			visits++;
+		}
+
+		if (visits == 0) {
+			return null;
+		}
+		Node best = children.get(0);
+		for (Node node : children) {
+			if (node.visits > best.visits
+					|| (node.visits == best.visits && node.mean() > best.mean())) {
+				best = node;
+			}
+		}
+		return best.placement;
+	}
+
+	/**
+	 * Creates the children of the root: every placement without a meeple and,
+	 * if the player has meeples left, with a meeple on every free area.
+	 *
+	 * @return the children, sorted by position, rotation and meeple
+	 */
+	private List<Node> expand(AIGame aiGame, Card card,
+			Set<PossiblePlacement> placements, Player player) {
+		Set<PossiblePlacement> actions = new HashSet<>();
+		for (PossiblePlacement placement : placements) {
+			actions.add(new PossiblePlacement(placement.getRotation(), placement.getPos()));
+			if (player.getMeeplesLeft() > 0 && placement.getMeeplePlacements() >= 0) {
+				actions.add(new PossiblePlacement(placement.getRotation(),
+						placement.getPos(), placement.getMeeplePlacements()));
+			}
+		}
+
+		List<Node> children = new ArrayList<>();
+		for (PossiblePlacement action : actions) {
+			Card tmpCard = card.deepCopy();
+			tmpCard.rotate(action.getRotation());
+			if (!aiGame.makeMove(action.getPos(), tmpCard)) {
+				continue;
+			}
+			int meeple = action.getMeeplePlacements();
+			if (meeple < 0 || (meeple < tmpCard.getAreas().size()
+					&& tmpCard.getSingleArea(meeple).getMeeples().isEmpty())) {
+				children.add(new Node(action));
+			}
+			aiGame.unmakeMove();
+		}
+		Collections.sort(children, new Comparator<Node>() {
+			@Override
+			public int compare(Node first, Node second) {
+				PossiblePlacement a = first.placement;
+				PossiblePlacement b = second.placement;
+				if (a.getPos().getX() != b.getPos().getX()) {
+					return Integer.compare(a.getPos().getX(), b.getPos().getX());
+				}
+				if (a.getPos().getY() != b.getPos().getY()) {
+					return Integer.compare(a.getPos().getY(), b.getPos().getY());
+				}
+				if (a.getRotation() != b.getRotation()) {
+					return Integer.compare(a.getRotation(), b.getRotation());
+				}
+				return Integer.compare(a.getMeeplePlacements(), b.getMeeplePlacements());
+			}
+		});
+		return children;
+	}
+
+	/**
+	 * Returns the placements of the children of the root in the order they
+	 * are searched.
+	 *
+	 * @param card
+	 *            the current card, not rotated
+	 * @param placements
+	 *            the legal placements, with the meeple placements
+	 */
+	List<PossiblePlacement> getRootPlacements(Card card,
+			Set<PossiblePlacement> placements) {
+		List<PossiblePlacement> result = new ArrayList<>();
+		for (Node node : expand(aiLogic.getAIGame(), card, placements,
+				aiLogic.ai.getPlayer())) {
+			result.add(node.placement);
+		}
+		return result;
+	}
+
+	/**
+	 * Chooses the child to visit next, children that were never visited come
+	 * first.
+	 */
+	private Node select(List<Node> children, int visits) {
+		Node best = null;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		double logVisits = Math.log(Math.max(1, visits));
+		for (Node node : children) {
+			if (node.visits == 0) {
+				return node;
+			}
+			double value = node.mean() + EXPLORATION
+					* Math.sqrt(logVisits / node.visits);
+			if (value > bestValue) {
+				bestValue = value;
+				best = node;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Plays the placement of the node and a few random cards after it and
+	 * takes everything back.
+	 *
+	 * @return the value of the playout for the AI
+	 */
+	private double playout(AIGame aiGame, Card card, Node node, Player player,
+			int[] deck, List<AbstractSingleArea> meepleAreas) {
+		PossiblePlacement placement = node.placement;
+		Card tmpCard = card.deepCopy();
+		tmpCard.rotate(placement.getRotation());
+		aiGame.makeMove(placement.getPos(), tmpCard);
+
+		AbstractSingleArea meepleArea = null;
+		Meeple meeple = null;
+		if (placement.getMeeplePlacements() >= 0) {
+			meepleArea = tmpCard.getSingleArea(placement.getMeeplePlacements());
+			meeple = new Meeple(placement.getPos(), placement.getMeeplePlacements(), player, null);
+			meepleArea.getMeeples().add(meeple);
+		}
+
+		int moves = 0;
+		try {
+			int[] remaining = deck.clone();
+			int total = 0;
+			for (int count : remaining) {
+				total += count;
+			}
+			for (int i = 0; i < ROLLOUT_DEPTH && total > 0; i++) {
+				// chance node: the next card of the deck
+				int draw = random.nextInt(total);
+				int type = 0;
+				while (draw >= remaining[type]) {
+					draw -= remaining[type];
+					type++;
+				}
+				remaining[type]--;
+				total--;
+				if (rollout(aiGame, cardTypes.get(type))) {
+					moves++;
+				}
+			}
+
+			double value = evaluate(aiGame, player, meepleAreas, meepleArea);
+			if (meepleArea != null && !AreaTracker.find(meepleArea).isFinished()) {
+				value -= MEEPLE_COST;
+			}
+			return value;
+		} finally {
+			for (int i = 0; i < moves; i++) {
+				aiGame.unmakeMove();
+			}
+			if (meeple != null) {
+				meepleArea.getMeeples().remove(meepleArea.getMeeples().size() - 1);
+			}
+			aiGame.unmakeMove();
+		}
+	}
+
+	/**
+	 * Puts a card on a random position and rotation where it fits.
+	 *
+	 * @return true if the card was placed
+	 */
+	private boolean rollout(AIGame aiGame, Card type) {
+		FrontierCell chosenCell = null;
+		int chosenRotation = 0;
+		int fits = 0;
+		for (FrontierCell cell : aiGame.getGameField().getFrontier()) {
+			for (int rotation = 0; rotation < 4; rotation++) {
+				if (cell.fits(type, rotation) && random.nextInt(++fits) == 0) {
+					chosenCell = cell;
+					chosenRotation = rotation;
+				}
+			}
+		}
+		if (chosenCell == null) {
+			return false;
+		}
+		Card card = type.deepCopy();
+		card.rotate(chosenRotation);
+		return aiGame.makeMove(chosenCell.getPosition(), card);
+	}
+
+	/**
+	 * Sums the points of the areas with meeples, points of the AI count
+	 * positive and points of other players negative. Areas that are not
+	 * finished count like at the end of the game.
+	 */
+	private double evaluate(AIGame aiGame, Player player,
+			List<AbstractSingleArea> meepleAreas, AbstractSingleArea meepleArea) {
+		Set<AbstractSingleArea> roots = new HashSet<>();
+		double value = 0;
+		for (int i = 0; i <= meepleAreas.size(); i++) {
+			AbstractSingleArea area = i < meepleAreas.size() ? meepleAreas.get(i) : meepleArea;
+			if (area == null) {
+				continue;
+			}
+			AbstractSingleArea root = AreaTracker.find(area);
+			if (!roots.add(root) || root.getMeeples().isEmpty()) {
+				continue;
+			}
+
+			Map<String, Integer> meepleCount = new HashMap<>();
+			int maxCount = 0;
+			for (Meeple singleMeeple : root.getMeeples()) {
+				String nick = singleMeeple.getOwner().getNick();
+				Integer count = meepleCount.get(nick);
+				count = count == null ? 1 : count + 1;
+				meepleCount.put(nick, count);
+				maxCount = Math.max(maxCount, count);
+			}
+			boolean aiOwns = false;
+			boolean otherOwns = false;
+			for (Map.Entry<String, Integer> entry : meepleCount.entrySet()) {
+				if (entry.getValue() == maxCount) {
+					if (entry.getKey().equals(player.getNick())) {
+						aiOwns = true;
+					} else {
+						otherOwns = true;
+					}
+				}
+			}
+
+			int points = points(aiGame, root);
+			if (aiOwns) {
+				value += points;
+			}
+			if (otherOwns) {
+				value -= points;
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the points of an area, cloisters are counted by the cards
+	 * around them.
+	 */
+	private int points(AIGame aiGame, AbstractSingleArea root) {
+		if (CardAreaType.CLOISTER.equals(root.getCardAreaType())) {
+			SingleAreaCloister cloister = (SingleAreaCloister) root;
+			return aiGame.getGameField().countSurroundingCards(cloister.getPosition()) + 1;
+		}
+		return root.calculatePoints();
+	}
+
+	/**
+	 * Counts the cards of every type that can still be drawn: a full deck
+	 * without the cards on the gameField and without the current card.
+	 *
+	 * @return number of remaining cards for every type
+	 */
+	private int[] remainingDeck(AIGame aiGame, Card card) {
+		int[] remaining = new int[cardTypes.size()];
+		for (int i = 0; i < remaining.length; i++) {
+			remaining[i] = occurrences.get(i);
+		}
+		List<Card> drawn = new ArrayList<>();
+		drawn.add(card);
+		for (Map.Entry<Position, Card> entry : aiGame.getGameField().getGameField().entrySet()) {
+			Position pos = entry.getKey();
+			// the startCard is not part of the deck
+			if (pos.getX() != 0 || pos.getY() != 0) {
+				drawn.add(entry.getValue());
+			}
+		}
+		for (Card drawnCard : drawn) {
+			Integer index = typeIndex.get(cardKey(drawnCard));
+			if (index != null && remaining[index] > 0) {
+				remaining[index]--;
+			}
+		}
+		return remaining;
+	}
+
+	/**
+	 * Returns a key that is the same for all cards of one type, no matter how
+	 * they are rotated.
+	 */
+	private static String cardKey(Card card) {
+		int signature = Integer.MAX_VALUE;
+		for (int rotation = 0; rotation < 4; rotation++) {
+			signature = Math.min(signature, card.getEdgeSignature(rotation));
+		}
+		return card.getAreas() + "/" + card.getBonus() + "/" + signature;
+	}
+
+	/**
+	 * Statistics of one child of the root.
+	 */
+	private static final class Node {
+
+		private final PossiblePlacement placement;
+
+		private int visits;
+
+		private double total;
+
+		Node(PossiblePlacement placement) {
+			this.placement = placement;
+		}
+
+		double mean() {
+			return visits == 0 ? 0 : total / visits;
+		}
+	}
+}
@@ -133,7 +133,8 @@ public final class ClientControl extends Observable {
 
 		capabilities = EnumSet.of(CapabilitiesType.CHAT,
 				CapabilitiesType.BIGMEEPLE, CapabilitiesType.BISHOP,
-				CapabilitiesType.INNS);
+				CapabilitiesType.INNS, CapabilitiesType.DELTA,
+				CapabilitiesType.BINARY);
 
 	}
 
@@ -273,6 +274,63 @@ public final class ClientControl extends Observable {
 		notifyObservers(JsonType.GAMEUPDATE);
 	}
 
+	/**
+	 * Is called when the client receives a 'game-update' message with the version of the game.
+	 * 
+	 * @param gameID
+	 *            gameID of the game
+	 * @param state
+	 *            state of the game
+	 * @param playerListP
+	 *            Map of all players
+	 * @param spectatorListP
+	 *            Map of all spectators
+	 * @param version
+	 *            version of the game, ClientGame.UNKNOWN if the message has none
+	 */
+	void gameUpdate(int gameID, GameStatus state,
+			Map<String, Player> playerListP,
+			Map<String, Spectator> spectatorListP, int version) {
+		gameUpdate(gameID, state, playerListP, spectatorListP);
+		games.get(gameID).setVersion(version);
+	}
+
+	/**
+	 * Is called when the client receives a change of a game.
+	 * <p/>
+	 * The change is performed on copies of the lists of the game like a 'game-update' message. If the version doesn't
+	 * follow the one of the game a change was missed, then the whole game is requested and the changes are ignored
+	 * until it arrives.
+	 * 
+	 * @param gameID
+	 *            gameID of the game
+	 * @param version
+	 *            version of the game after the change
+	 * @param type
+	 *            type of the change
+	 * @param players
+	 *            players that joined or whose score changed
+	 * @param nickP
+	 *            nick of the player that quit or of the spectator
+	 */
+	void gameDelta(int gameID, int version, JsonType type,
+			Map<String, Player> players, String nickP) {
+
+		ClientGame game = games.get(gameID);
+		if (game == null || game.getVersion() == ClientGame.RESYNCING) {
+			return;
+		}
+		if (!game.follows(version)) {
+			handler.getSender().sendResync(gameID);
+			return;
+		}
+
+		gameUpdate(gameID, game.getState(),
+				game.getPlayersAfter(type, players, nickP),
+				game.getSpectatorsAfter(type, nickP));
+		game.setVersion(version);
+	}
+
 	public Set<Position> getDeletedMeeples() {
 		return deletedMeeples;
 	}
@@ -9,6 +9,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import shared.communication.TileCatalog;
 import shared.enums.CapabilitiesType;
 import shared.enums.JsonType;
 import shared.model.Placement;
@@ -97,7 +98,8 @@ public final class ClientMessageBuilder {
 	}
 
 	/**
-	 * This method writes a loginMessage
+	 * This method writes a loginMessage, with the hash of the tile catalog so the server knows if it may send binary
+	 * frames
 	 * 
 	 * @param nick Nick of the player logging in
 	 * @param capa Capabilities of the client
@@ -110,6 +112,7 @@ public final class ClientMessageBuilder {
 		login = addNick(login, nick);
 		try {
 			login.put("capabilities", capa);
+			login.put("tile catalog", TileCatalog.getInstance().getHash());
 		} catch (JSONException e) {
 			log.error(e.getMessage());
 			e.printStackTrace();
@@ -361,4 +364,23 @@ public final class ClientMessageBuilder {
 		}
 		return msg;
 	}
+
+	/**
+	 * Writes a resync message, which requests the whole 'game update' message of a game
+	 * 
+	 * @param gameID
+	 *            ID of the game whose changes were missed
+	 * @return json-message
+	 */
+	public static JSONObject resync(int gameID) {
+		JSONObject msg = createWithType(JsonType.RESYNC);
+
+		try {
+			msg.put("game id", gameID);
+		} catch (JSONException e) {
+			log.error(e.getMessage());
+			e.printStackTrace();
+		}
+		return msg;
+	}
 }
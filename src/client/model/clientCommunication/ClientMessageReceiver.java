@@ -14,6 +14,7 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import shared.communication.BinaryProtocol;
 import shared.enums.CapabilitiesType;
 import shared.enums.GameStatus;
 import shared.enums.JsonType;
@@ -25,6 +26,7 @@ import shared.model.Player;
 import shared.model.Position;
 import shared.model.Spectator;
 import client.model.game.CardReceiver;
+import client.model.game.ClientGame;
 import client.model.game.ClientMoveMadeStorage;
 import client.view.ChatLobby;
 
@@ -77,16 +79,16 @@ public final class ClientMessageReceiver {
 	 */
 	public void readMessage() {
 
-		String jsonText;
-
 		try {
 
-			// get the message
-			jsonText = handler.getIn().readLine();
+			// get the message, a line or a binary frame
+			JSONObject jsonObject = BinaryProtocol.readMessage(handler.getIn());
+			if (jsonObject == null) {
+				throw new IllegalStateException("Connection closed by the server");
+			}
 
-			infoLog.info("SERVER ---> CLIENT : " + jsonText);
+			infoLog.info("SERVER ---> CLIENT : " + jsonObject);
 
-			JSONObject jsonObject = new JSONObject(jsonText);
 			String s = jsonObject.optString("type");
 
 			// gets the type of the json-message for the switch-case-construct
@@ -171,6 +173,14 @@ public final class ClientMessageReceiver {
 				gameRemoved(jsonObject);
 				break;
 
+			case PLAYERJOINED:
+			case PLAYERQUIT:
+			case SPECTATORADDED:
+			case SPECTATORREMOVED:
+			case SCORECHANGED:
+				gameDelta(jsonObject, t);
+				break;
+
 			default:
 				log.error("No message-case matched");
 				throw new IllegalArgumentException("No message-case matched");
@@ -378,7 +388,41 @@ public final class ClientMessageReceiver {
 		try {
 			handler.getControl().gameUpdate(gameID, state,
 					JSONArrToMapPlayer(playerArray),
-					JSONArrToMapSpectator(spectatorArray));
+					JSONArrToMapSpectator(spectatorArray),
+					jsonObject.optInt("version", ClientGame.UNKNOWN));
+		} catch (Exception e) {
+			log.error(e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Performs the execution of a message with a change of a game.
+	 * <p>
+	 * Players come with their whole information, spectators and players that quit only with their nick.
+	 * 
+	 * @param jsonObject
+	 *            the change of the game
+	 * @param type
+	 *            type of the change
+	 */
+	private void gameDelta(JSONObject jsonObject, JsonType type) {
+		int gameID = jsonObject.optInt("game id");
+		int version = jsonObject.optInt("version");
+
+		JSONArray playerArray = jsonObject.optJSONArray("player array");
+		if (playerArray == null) {
+			playerArray = new JSONArray();
+			JSONObject player = jsonObject.optJSONObject("player");
+			if (player != null) {
+				playerArray.put(player);
+			}
+		}
+
+		try {
+			handler.getControl().gameDelta(gameID, version, type,
+					JSONArrToMapPlayer(playerArray),
+					jsonObject.optString("nick"));
 		} catch (Exception e) {
 			log.error(e.getMessage());
 			e.printStackTrace();
@@ -447,6 +491,8 @@ public final class ClientMessageReceiver {
 		handler.getControl().createNewGame(gameName, gameID,
 				host.optString("nick"), JSONArrToMapPlayer(playerArray),
 				JSONArrToMapSpectator(specArray), extensions);
+		// the first change of a new game has the version 1
+		handler.getControl().getGames().get(gameID).setVersion(0);
 	}
 
 	/**
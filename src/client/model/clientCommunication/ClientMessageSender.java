@@ -167,6 +167,16 @@ public final class ClientMessageSender {
 		sendGeneralMessage(ClientMessageBuilder.leaveGame(gameID));
 	}
 
+	/**
+	 * Requests the whole 'game update' message of a game whose changes were missed
+	 * 
+	 * @param gameID
+	 *            ID of the game
+	 */
+	public void sendResync(int gameID) {
+		sendGeneralMessage(ClientMessageBuilder.resync(gameID));
+	}
+
 	/**
 	 * Sends a 'move' message to the server.
 	 * 
@@ -1,8 +1,7 @@
 package client.model.clientCommunication;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 
 import org.apache.logging.log4j.LogManager;
@@ -41,9 +40,9 @@ public final class ServerHandler extends Thread {
 	private final ClientControl control;
 	
 	/**
-	 * Input Stream reader
+	 * Input Stream, the server sends lines or binary frames
 	 */
-	private BufferedReader in;
+	private BufferedInputStream in;
 	/**
 	 * Output Stream writer
 	 */
@@ -66,8 +65,8 @@ public final class ServerHandler extends Thread {
 		this.control = control;
 		
 		try {
-			in = new BufferedReader(new InputStreamReader(getControl()
-					.getClientSocket().getInputStream()));
+			in = new BufferedInputStream(getControl().getClientSocket()
+					.getInputStream());
 			out = new OutputStreamWriter(getControl().getClientSocket()
 					.getOutputStream(), "UTF-8");
 		} catch (IOException e) {
@@ -128,7 +127,7 @@ public final class ServerHandler extends Thread {
 		return sender;
 	}
 
-	public BufferedReader getIn() {
+	public BufferedInputStream getIn() {
 		if (in == null){
 			log.error("INPUTSTREAM NULL");
 			throw new NullPointerException("INPUTSTREAM NULL");
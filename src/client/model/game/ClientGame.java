@@ -1,6 +1,7 @@
 package client.model.game;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -11,7 +12,9 @@ import server.model.game.ServerGame;
 import shared.enums.CapabilitiesType;
 import shared.enums.CardAreaType;
 import shared.enums.GameStatus;
+import shared.enums.JsonType;
 import shared.model.Card;
+import shared.model.FrontierCell;
 import shared.model.Game;
 import shared.model.Player;
 import shared.model.Position;
@@ -30,11 +33,26 @@ import shared.model.Spectator;
  */
 public final class ClientGame extends Game {
 
+	/**
+	 * Version of a game whose version isn't known
+	 */
+	public static final int UNKNOWN = -1;
+
+	/**
+	 * Version of a game that was requested again from the server
+	 */
+	public static final int RESYNCING = -2;
+
 	/**
 	 * Name of the client that hosts this game
 	 */
 	private final String host;
 
+	/**
+	 * Version of the last change of the game that was received, a game that is created starts with 0
+	 */
+	private int version = UNKNOWN;
+
 	/**
 	 * Only contructor for ClientGame
 	 * 
@@ -59,6 +77,70 @@ public final class ClientGame extends Game {
 		this.host = host;
 	}
 
+	public int getVersion() {
+		return version;
+	}
+
+	public void setVersion(int version) {
+		this.version = version;
+	}
+
+	/**
+	 * Checks if a change of the game follows the last change that was received. If it doesn't a change was missed or
+	 * the version isn't known, then the game is marked as RESYNCING and the whole game has to be requested again.
+	 * 
+	 * @param changeVersion
+	 *            version of the game after the change
+	 * @return true if the change can be performed
+	 */
+	public boolean follows(int changeVersion) {
+		if (version == UNKNOWN || version == RESYNCING
+				|| changeVersion != version + 1) {
+			version = RESYNCING;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a copy of the players of the game with a change performed on it.
+	 * 
+	 * @param type
+	 *            type of the change
+	 * @param players
+	 *            players that joined or whose score changed
+	 * @param nick
+	 *            nick of the player that quit
+	 */
+	public Map<String, Player> getPlayersAfter(JsonType type,
+			Map<String, Player> players, String nick) {
+		Map<String, Player> playerList = new HashMap<>(getPlayerList());
+		if (type == JsonType.PLAYERJOINED || type == JsonType.SCORECHANGED) {
+			playerList.putAll(players);
+		} else if (type == JsonType.PLAYERQUIT) {
+			playerList.remove(nick);
+		}
+		return playerList;
+	}
+
+	/**
+	 * Returns a copy of the spectators of the game with a change performed on it.
+	 * 
+	 * @param type
+	 *            type of the change
+	 * @param nick
+	 *            nick of the spectator
+	 */
+	public Map<String, Spectator> getSpectatorsAfter(JsonType type, String nick) {
+		Map<String, Spectator> spectatorList = new HashMap<>(getSpectatorList());
+		if (type == JsonType.SPECTATORADDED) {
+			spectatorList.put(nick, new Spectator(nick));
+		} else if (type == JsonType.SPECTATORREMOVED) {
+			spectatorList.remove(nick);
+		}
+		return spectatorList;
+	}
+
 	/**
 	 * Is called when a game update message is received.
 	 * 
@@ -251,15 +333,11 @@ public final class ClientGame extends Game {
 	 */
 	public Set<PossiblePlacement> checkForLegalPlacements(Card card) {
 		Set<PossiblePlacement> availablePositions = new HashSet<>();
-		Set<Position> emptyPositions = super.getGameField().getPositionsFromSetCards();
-		for (Position p : emptyPositions) {
+		for (FrontierCell cell : super.getGameField().getFrontier()) {
 			for (int i = 0; i < 4; i++) {
-				if (matchingEdges(card, p)) {
-					availablePositions.add(new PossiblePlacement(i, p));
+				if (cell.fits(card, i)) {
+					availablePositions.add(new PossiblePlacement(i, cell.getPosition()));
 				}
-				ArrayList<Integer> tmp = card.getEdges().get(0);
-				card.getEdges().remove(0);
-				card.getEdges().add(tmp);
 			}
 		}
 		return availablePositions;
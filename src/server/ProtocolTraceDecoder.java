@@ -0,0 +1,108 @@
+package server;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import server.model.serverCommunication.clientHandling.ProtocolTrace;
+import shared.Configuration;
+import shared.enums.JsonType;
+
+/**
+ * Prints a trace file of the ProtocolTrace as text, one line for every message.
+ * <p>
+ * The first argument is the trace file, log/protocol.trace if there is none. With the name of a JsonType as second
+ * argument, like "MOVE", only the messages of this type are printed. The types are read by their name from the table
+ * in the header of the trace, so a trace of an older server with other JsonTypes can be read too.
+ * 
+ * @see ProtocolTrace
+ */
+public final class ProtocolTraceDecoder {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Should never be instantiated.
+	 */
+	private ProtocolTraceDecoder() {
+		throw new AssertionError("ProtocolTraceDecoder should not be instantiated");
+	}
+
+	public static void main(String[] args) throws IOException {
+		String file = args.length > 0 ? args[0] : Configuration.PROTOCOLTRACE;
+		String only = args.length > 1 ? args[1] : null;
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			decode(in, only, System.out);
+		}
+	}
+
+	/**
+	 * Prints the messages of a trace.
+	 * 
+	 * @param in
+	 *            the trace
+	 * @param only
+	 *            type of the messages that are printed, null for all
+	 * @param out
+	 *            where the lines are printed
+	 */
+	public static void decode(InputStream in, JsonType only, PrintStream out) throws IOException {
+		decode(in, only == null ? null : only.name(), out);
+	}
+
+	/**
+	 * Prints the messages of a trace.
+	 * 
+	 * @param in
+	 *            the trace
+	 * @param only
+	 *            name of the type of the messages that are printed, null for all
+	 * @param out
+	 *            where the lines are printed
+	 */
+	public static void decode(InputStream in, String only, PrintStream out) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != ProtocolTrace.MAGIC) {
+			throw new IOException("Not a protocol trace");
+		}
+		short version = data.readShort();
+		if (version != ProtocolTrace.VERSION) {
+			throw new IOException("Unknown version of the protocol trace: " + version);
+		}
+		String[] types = new String[data.readShort()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = data.readUTF();
+		}
+		SimpleDateFormat time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+		while (true) {
+			long millis;
+			try {
+				millis = data.readLong();
+			} catch (EOFException e) {
+				return;
+			}
+			byte direction = data.readByte();
+			byte index = data.readByte();
+			String nick = data.readUTF();
+			byte[] bytes = new byte[data.readInt()];
+			data.readFully(bytes);
+			String type = index < 0 || index >= types.length ? null : types[index];
+			if (direction == ProtocolTrace.DROPPED) {
+				int count = new DataInputStream(new ByteArrayInputStream(bytes)).readInt();
+				out.println(time.format(new Date(millis)) + " " + count + " messages dropped");
+			} else if (only == null || only.equals(type)) {
+				String text = new String(bytes, UTF8).trim();
+				String arrow = direction == ProtocolTrace.IN ? " CLIENT ---> SERVER : " : " SERVER ---> CLIENT : ";
+				out.println(time.format(new Date(millis)) + " [" + nick + "]" + arrow + text);
+			}
+		}
+	}
+}
@@ -1,15 +1,36 @@
 package server;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import server.model.metrics.Metrics;
+import server.model.serverCommunication.clientHandling.Outbox;
+import server.model.serverCommunication.clientHandling.ProtocolTrace;
+import server.model.serverCommunication.clientHandling.SelectorServer;
 import server.model.serverCommunication.execution.ServerControl;
+import server.model.serverCommunication.execution.ThreadMode;
+import shared.Configuration;
 
 /**
  * Provides the main Method for the Server
+ * <p>
+ * The first argument is the port. With "nio" as further argument all clients
+ * are handled by one SelectorServer, otherwise every client gets its own
+ * ClientHandler-Thread. With "virtual" the ClientHandlers run on virtual
+ * threads, the option is rejected on a runtime without them. With "drop" the messages for a client that falls
+ * behind are dropped instead of disconnecting the client. With "trace" or
+ * "trace=MOVE:1,CHAT:10,*:100" a sample of the messages is written into
+ * log/protocol.trace, it can be read with the ProtocolTraceDecoder. With
+ * "metrics" or "metrics=SECONDS" the Metrics are shown with JMX and written
+ * into log/metrics.json every 60 or SECONDS seconds.
  * 
  * @version 07.11.2013
  * 
@@ -24,8 +45,30 @@ public final class Server {
 	public static void main(String[] args) {
 
 		int port = Integer.valueOf(args[0]);
+		List<String> options = Arrays.asList(args).subList(1, args.length);
+		if (options.contains("virtual")) {
+			ThreadMode.setCurrent(ThreadMode.VIRTUAL);
+		}
+		if (options.contains("drop")) {
+			Outbox.setBackpressure(Outbox.Backpressure.DROP);
+		}
 
 		try {
+			for (String option : options) {
+				if (option.equals("trace") || option.startsWith("trace=")) {
+					startTrace(option.substring("trace".length()).replaceFirst("^=", ""));
+				}
+				if (option.equals("metrics") || option.startsWith("metrics=")) {
+					startMetrics(option.substring("metrics".length()).replaceFirst("^=", ""));
+				}
+			}
+			if (options.contains("nio")) {
+				ServerSocketChannel channel = ServerSocketChannel.open();
+				channel.bind(new InetSocketAddress(port));
+				new SelectorServer(channel, ServerControl.getInstance(channel
+						.socket())).getConnections();
+				return;
+			}
 			ServerControl.getInstance(new ServerSocket(port)).getConnections();
 		} catch (IOException e) {
 			log.error(e.getMessage());
@@ -33,4 +76,25 @@ public final class Server {
 		}
 	}
 
+	/**
+	 * Starts the protocol trace, the messages still in its buffer are written when the server is stopped.
+	 */
+	private static void startTrace(String spec) throws IOException {
+		ProtocolTrace.start(spec, new File(Configuration.PROTOCOLTRACE));
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			@Override
+			public void run() {
+				ProtocolTrace.stop();
+			}
+		}));
+	}
+
+	/**
+	 * Shows the metrics with JMX and dumps them every 60 seconds or every given number of seconds.
+	 */
+	private static void startMetrics(String seconds) {
+		Metrics.registerMBean();
+		Metrics.startDump(new File(Configuration.METRICSDUMP), seconds.isEmpty() ? 60 : Integer.parseInt(seconds));
+	}
+
 }
@@ -0,0 +1,326 @@
+package server.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import server.model.game.ServerGame;
+import server.model.metrics.Histogram;
+import server.model.metrics.Metrics;
+import shared.enums.GameStatus;
+import shared.model.Player;
+
+/**
+ * Counts down the time that the user has to make a move.
+ * <p>
+ * The turns of all games are scheduled on one shared thread, there is no
+ * thread per game. The shared thread only counts the time, a turn begins and
+ * ends on the lane of the game, so the game is only changed by one thread at a
+ * time. When a turn begins the 'tile drawn' message is sent and
+ * the end of the turn is scheduled. If the player makes a move, the scheduled
+ * end is cancelled and the next player gets its turn right away; if the time
+ * runs out the next player in the list can make a move. The turns go round
+ * the playerList until the cardDeck is empty.
+ *
+ * @see ServerGame
+ */
+public final class TurnTimer {
+
+	/**
+	 * Info-logger
+	 */
+	private static Logger infoLog = LogManager.getLogger("INFO");
+
+	/**
+	 * Seconds a move may arrive after the time shown to the player ran out
+	 */
+	private static final int GRACE = 1;
+
+	/**
+	 * Sends the 'tile drawn' message of a turn.
+	 */
+	interface TileSender {
+
+		void tileDrawn(ServerGame game, String nick, int turnTime);
+	}
+
+	/**
+	 * Sends the 'tile drawn' message to the players and spectators of the game
+	 */
+	private static final TileSender toGame = new TileSender() {
+		@Override
+		public void tileDrawn(ServerGame game, String nick, int turnTime) {
+			game.tileDrawn(nick, turnTime);
+		}
+	};
+
+	/**
+	 * Thread that counts the time of the turns of all games
+	 */
+	private static final ScheduledExecutorService scheduler = Executors
+			.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread thread = new Thread(task, "TurnTimer");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	/**
+	 * Reference to the game whose turns are counted, null after remove
+	 */
+	private volatile ServerGame game;
+
+	/**
+	 * Map which contains the nickName of a user as key and the user-object as value.
+	 */
+	private Map<String, Player> playerList;
+
+	/**
+	 * Players that get their turn in this round, a player who left is skipped
+	 */
+	private Iterator<Player> round;
+
+	/**
+	 * Player-object whose turn it is
+	 */
+	private volatile Player currentPlayer;
+
+	/**
+	 * Seconds a player has to make a move
+	 */
+	private final int turnTime;
+
+	/**
+	 * Milliseconds a move may arrive after the time shown to the player ran out
+	 */
+	private final long grace;
+
+	/**
+	 * Lane of the game, the turns begin and end on it
+	 */
+	private final Executor lane;
+
+	private final TileSender sender;
+
+	/**
+	 * Number of the current turn, a scheduled end of an older turn does nothing
+	 */
+	private int turn;
+
+	/**
+	 * Scheduled end of the current turn
+	 */
+	private ScheduledFuture<?> timeout;
+
+	/**
+	 * Time in nanoseconds when the time shown to the player runs out
+	 */
+	private long deadline;
+
+	private boolean moveMade;
+
+	/**
+	 * Durations of the turns until the move in ms
+	 */
+	private static final Histogram turns = Metrics.histogram("turn.ms");
+
+	/**
+	 * Turns that ran out without a move
+	 */
+	private static final AtomicLong timeouts = Metrics.counter("turn.timeouts");
+
+	/**
+	 * Starts the first turn of a game.
+	 *
+	 * @param game
+	 *            Game whose turns are counted.
+	 * @param turnTime
+	 *            Time a player has time to make a move.
+	 */
+	public TurnTimer(final ServerGame game, int turnTime) {
+		this(game, turnTime, TimeUnit.SECONDS.toMillis(GRACE), new Executor() {
+			@Override
+			public void execute(Runnable task) {
+				game.getServer().executeOnGame(game.getGameID(), task);
+			}
+		}, toGame);
+	}
+
+	/**
+	 * Starts the first turn of a game with the given grace, lane and sender.
+	 *
+	 * @param grace
+	 *            milliseconds a move may arrive after the time ran out
+	 * @param lane
+	 *            runs the tasks of the game one after another
+	 * @param sender
+	 *            sends the 'tile drawn' message of every turn
+	 */
+	TurnTimer(ServerGame game, int turnTime, long grace, Executor lane, TileSender sender) {
+		this.game = game;
+		this.playerList = game.getPlayerList();
+		this.turnTime = turnTime;
+		this.grace = grace;
+		this.lane = lane;
+		this.sender = sender;
+		onLane(endOfTurn(0));
+	}
+
+	/**
+	 * Deletes all references and cancels the current turn.
+	 */
+	public synchronized void remove() {
+		if (timeout != null) {
+			timeout.cancel(false);
+		}
+		currentPlayer = null;
+		playerList = null;
+		round = null;
+		game = null;
+	}
+
+	/**
+	 * Returns the task that ends the given turn and begins the next one.
+	 */
+	private Runnable endOfTurn(final int endingTurn) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				nextTurn(endingTurn);
+			}
+		};
+	}
+
+	/**
+	 * Returns the task that hands the end of the given turn to the lane of the
+	 * game when the time ran out.
+	 */
+	private Runnable timeoutOf(final int endingTurn) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				onLane(endOfTurn(endingTurn));
+			}
+		};
+	}
+
+	/**
+	 * Runs a task on the lane of the game, nothing is run after remove.
+	 */
+	private void onLane(Runnable task) {
+		if (game != null) {
+			lane.execute(task);
+		}
+	}
+
+	/**
+	 * Begins the turn of the next player. If the cardDeck is empty the game
+	 * ends and the final 'game update' is sent instead. Runs on the lane of the
+	 * game.
+	 *
+	 * @param endingTurn
+	 *            the turn that ends, nothing happens if it already ended
+	 */
+	private synchronized void nextTurn(int endingTurn) {
+		if (game == null || endingTurn != turn
+				|| !game.getState().equals(GameStatus.ONGOING)) {
+			return;
+		}
+		if (turn > 0 && !moveMade) {
+			timeouts.incrementAndGet();
+		}
+		Player p = null;
+		while (p == null || !playerList.containsKey(p.getNick())) {
+			if (round == null || !round.hasNext()) {
+				round = new ArrayList<>(playerList.values()).iterator();
+				if (!round.hasNext()) {
+					return;
+				}
+			}
+			p = round.next();
+		}
+
+		if (game.getCardDeck().getRemainingSize() == 0) {
+			game.checkEndScore();
+			game.setState(GameStatus.ENDED);
+			infoLog.info("Game ended");
+			game.delegateFinalGameUpdate(game);
+			infoLog.info("Final 'game-update' sent");
+			return;
+		}
+
+		turn++;
+		moveMade = false;
+		currentPlayer = p;
+		deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(turnTime);
+		sender.tileDrawn(game, p.getNick(), turnTime);
+		timeout = scheduler.schedule(timeoutOf(turn),
+				TimeUnit.SECONDS.toMillis(turnTime) + grace, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Ends the turn of the current player after a legal move, the next player
+	 * gets its turn right away.
+	 *
+	 * @param player
+	 *            the player whose turn it was when the move arrived, nothing
+	 *            happens if its turn already ran out
+	 */
+	public synchronized void moveMade(Player player) {
+		if (moveMade || timeout == null || player == null
+				|| player != currentPlayer) {
+			return;
+		}
+		moveMade = true;
+		long start = deadline - TimeUnit.SECONDS.toNanos(turnTime);
+		turns.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		timeout.cancel(false);
+		onLane(endOfTurn(turn));
+	}
+
+	/**
+	 * Sends the 'tile drawn' message again after an illegal move, with the
+	 * time that is left of the turn.
+	 */
+	public void moveFailed() {
+		onLane(new Runnable() {
+			@Override
+			public void run() {
+				resendTile();
+			}
+		});
+	}
+
+	private synchronized void resendTile() {
+		if (game == null || moveMade || currentPlayer == null) {
+			return;
+		}
+		long left = TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime());
+		sender.tileDrawn(game, currentPlayer.getNick(), (int) Math.max(0, left));
+	}
+
+	/*
+	 * GETTER below
+	 */
+
+	/**
+	 * Get-method for the currentPlayer
+	 *
+	 * @return currentPlayer
+	 */
+	public Player getCurrentPlayer() {
+		return currentPlayer;
+	}
+}
@@ -4,27 +4,29 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
-import server.model.PlayerThread;
+import server.model.TurnTimer;
 import server.model.serverCommunication.execution.ServerControl;
 import server.model.serverCommunication.utility.ServerMessageBuilder;
 import shared.enums.*;
 import shared.model.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages one game.
  * <p/>
  * Implements the logic for the game. It creates the initial SingleAreas on the StartCard and manages the following
  * SingleAreas in a list. Class holds methods for placing a Card on a current Position, creating the SingleAreas for the
- * card and melt the SingleAreas together by overwrite SingleAreas with higher index by SingleAreas with lower index in
- * the list.
+ * card and melt the SingleAreas together with the AreaTracker of the game.
  *
  * @version 24.01.2014
  * @see AbstractSingleArea
+ * @see AreaTracker
  * @see Game
  * @see ServerControl
- * @see PlayerThread
+ * @see TurnTimer
  */
 public final class ServerGame extends Game {
 
@@ -51,9 +53,9 @@ public final class ServerGame extends Game {
 	private List<AbstractSingleArea> singleAreas;
 
 	/**
-	 * the instance of the PlayerThread that counts down the time that every player has to make a move
+	 * the TurnTimer that counts down the time that every player has to make a move
 	 */
-	private PlayerThread thread;
+	private TurnTimer turnTimer;
 
 	/**
 	 * Reference to the server
@@ -65,6 +67,23 @@ public final class ServerGame extends Game {
 	 */
 	private int turnTime;
 
+	/**
+	 * Version of the game, every change that is sent to the clients gets a new one
+	 */
+	private final AtomicInteger version = new AtomicInteger();
+
+	/**
+	 * Names of the phases of a game
+	 *
+	 * @see #getPhase()
+	 */
+	public static final String[] PHASES = { "early", "middle", "late" };
+
+	/**
+	 * Information about the players as it was sent last by nick
+	 */
+	private final Map<String, String> sentPlayerInformation = new ConcurrentHashMap<>();
+
 	/**
 	 * Standard constructor for this class.
 	 *
@@ -94,18 +113,18 @@ public final class ServerGame extends Game {
 	}
 
 	/**
-	 * Starts the Thread that counts the time a user has in order to make a move.
+	 * Starts the TurnTimer that counts the time a user has in order to make a move.
 	 *
-	 * @see PlayerThread
+	 * @see TurnTimer
 	 */
-	public void startThread() {
-		thread = new PlayerThread(this, turnTime);
+	public void startTurnTimer() {
+		turnTimer = new TurnTimer(this, turnTime);
 	}
 
 	public void remove() {
-		if (!(thread == null)) {
-			thread.remove();
-			thread = null;
+		if (!(turnTimer == null)) {
+			turnTimer.remove();
+			turnTimer = null;
 		}
 	}
 
@@ -138,12 +157,34 @@ public final class ServerGame extends Game {
 		}
 
 		// If a player made a move but it's not his turn
-		if (!thread.getCurrentPlayer().getNick().equals(player.getNick())) {
+		Player current = turnTimer.getCurrentPlayer();
+		if (current == null || !current.getNick().equals(player.getNick())) {
 			infoLog.info(player.getNick()
 					+ "made a move but it's not his turn.");
 			return Reason.ITSNOTYOURTURN.toString();
 		}
 
+		return makeMove(cardPosition, rotation, placement, player);
+	}
+
+	/**
+	 * Puts the current card on the gameField, places the meeple of the player and scores the areas that are finished.
+	 * <p/>
+	 * Unlike {@link #checkCardPlacement(Position, int, Placement, String)} it doesn't check whose turn it is, so games
+	 * can be played without a TurnTimer. The card is not taken from the cardDeck.
+	 *
+	 * @param cardPosition
+	 *            the position on which the player wants to put the card
+	 * @param rotation
+	 *            the value of the card rotation
+	 * @param placement
+	 *            the index of the area on which a meeple is placed, -1 if no meeple placed
+	 * @param player
+	 *            the player that made the move
+	 * @return returns a String which indicates if the move was legal or not; move is illegal/legal/legalButMeeple
+	 */
+	public String makeMove(Position cardPosition, int rotation,
+			Placement placement, Player player) {
 		Card tmpCard = getCurrentCard(false);
 		Card card = tmpCard.deepCopy();
 		card.rotate(rotation);
@@ -152,25 +193,19 @@ public final class ServerGame extends Game {
 			// If a meeple was set
 			if (placement.getCommunicationPlacement() != -1) {
 				if (meeplePlaced(cardPosition, placement, player)) {
-					if (checkCompletion()) {
-						checkScore();
-					}
+					checkScore(checkCompletion(cardPosition));
 					infoLog.info("Legal move on position x: "
 							+ cardPosition.getX() + " y: "
 							+ cardPosition.getY());
 					return "legal"; // Legal move
 				} else {
-					if (checkCompletion()) {
-						checkScore();
-					}
+					checkScore(checkCompletion(cardPosition));
 				}
 				infoLog.info("Legal move but Meeple was deleted on position x: "
 						+ cardPosition.getX() + " y: " + cardPosition.getY());
 				return "legalButMeeple"; // Meeple was deleted
 			} else { // If no meeple was set
-				if (checkCompletion()) {
-					checkScore();
-				}
+				checkScore(checkCompletion(cardPosition));
 				infoLog.info("Legal move on position x: " + cardPosition.getX()
 						+ " y: " + cardPosition.getY() + "Card: "
 						+ card.toString());
@@ -195,7 +230,7 @@ public final class ServerGame extends Game {
 	 *            Card to be placed
 	 * @return true if successful, false if placing failed for some reason
 	 */
-	private boolean placeCard(Position pos, Card card) {
+	boolean placeCard(Position pos, Card card) {
 		if (matchingEdges(card, pos)) {
 			getGameField().addCard(pos, card);
 			createSingleAreasForCard(pos, card);
@@ -229,10 +264,11 @@ public final class ServerGame extends Game {
 	 * Creates the four singleAreas on the startCard and puts it on the initialized singleAreaMap.
 	 */
 	private void createInitialCardAndSingleAreas() {
-		singleAreas.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
-		singleAreas.add(new SingleAreaRoad(false, new Position(0, 0), 0));
-		singleAreas.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
-		singleAreas.add(new SingleAreaTown(1, false, new Position(0, 0), 2));
+		AreaTracker tracker = getAreaTracker();
+		tracker.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
+		tracker.add(new SingleAreaRoad(false, new Position(0, 0), 0));
+		tracker.add(new SingleAreaMeadow(null, null, new Position(0, 0)));
+		tracker.add(new SingleAreaTown(1, false, new Position(0, 0), 2));
 		((SingleAreaMeadow) singleAreas.get(2)).getTowns().add(
 				(SingleAreaTown) singleAreas.get(3));
 
@@ -266,7 +302,7 @@ public final class ServerGame extends Game {
 				SingleAreaCloister singleAreaMonastry = new SingleAreaCloister(
 						pos);
 				card.getSingleAreaMap().put(i, singleAreaMonastry);
-				singleAreas.add(singleAreaMonastry);
+				getAreaTracker().add(singleAreaMonastry);
 				break;
 
 			case MEADOW:
@@ -296,7 +332,7 @@ public final class ServerGame extends Game {
 				}
 
 				card.getSingleAreaMap().put(i, singleAreaMeadow);
-				singleAreas.add(singleAreaMeadow);
+				getAreaTracker().add(singleAreaMeadow);
 				break;
 
 			case ROAD:
@@ -347,7 +383,7 @@ public final class ServerGame extends Game {
 				}
 
 				card.getSingleAreaMap().put(i, singleAreaRoad);
-				singleAreas.add(singleAreaRoad);
+				getAreaTracker().add(singleAreaRoad);
 				break;
 
 			case TOWN:
@@ -413,7 +449,7 @@ public final class ServerGame extends Game {
 							multiplierTown);
 				}
 				card.getSingleAreaMap().put(i, singleAreaTown);
-				singleAreas.add(singleAreaTown);
+				getAreaTracker().add(singleAreaTown);
 				break;
 
 			default:
@@ -426,86 +462,31 @@ public final class ServerGame extends Game {
 	/**
 	 * Delegates the information about the game to the server.
 	 * <p/>
-	 * This method is only called when the playerThread has drawn all tiles and the game has come to an end.
+	 * This method is only called when the TurnTimer has drawn all tiles and the game has come to an end.
 	 *
 	 * @param game
 	 *            Information about the game that just ended
 	 */
-	public void delegateGameUpdateFromPlayerThread(ServerGame game) {
-		server.delegateGameUpdateFromPlayerThread(game);
+	public void delegateFinalGameUpdate(ServerGame game) {
+		server.delegateFinalGameUpdate(game);
 
 	}
 
 	/**
 	 * Checks if it is possible to put the card anywhere on the gameField.
 	 * <p/>
-	 * By checking the positions around the outer cards and by checking if there are any free spaces between the cards
-	 * that are already set on the field this is determined.
+	 * By trying every rotation of the card on the frontier cells of the gameField, the empty positions next to the
+	 * cards that are already set, this is determined.
 	 *
 	 * @param card
 	 *            Card to be set
 	 * @return true if it is possible to set the card, false if not
 	 */
-	private boolean checkPossiblePlacement(Card card) {
-		Set<Position> possiblePositions = new HashSet<>();
-		Set<Position> positions = super.getGameField().getGameField().keySet();
-		Set<Integer> xValues = new HashSet<>();
-		Set<Integer> yValues = new HashSet<>();
-
-		for (Position position : positions) {
-			xValues.add(position.getX());
-			yValues.add(position.getY());
-		}
-		for (int i = Collections.min(yValues); i < Collections.max(yValues) + 1; i++) {
-			Set<Integer> rowXValues = new HashSet<>();
-			int minX;
-			int maxX;
-			for (Position position : positions) {
-				if (position.getY() == i) {
-					rowXValues.add(position.getX());
-				}
-			}
-
-			minX = Collections.min(rowXValues);
-			maxX = Collections.max(rowXValues);
-
-			for (int j = minX; j < maxX + 1; j++) {
-				if (!super.getGameField().getGameField()
-						.containsKey(new Position(j, i))
-						&& super.getGameField().checkNeighbours(
-								new Position(j, i))) {
-					possiblePositions.add(new Position(j, i));
-				}
-			}
-
-			possiblePositions.add(new Position(minX - 1, i));
-			possiblePositions.add(new Position(maxX + 1, i));
-		}
-
-		for (int i = Collections.min(xValues); i < Collections.max(xValues) + 1; i++) {
-			Set<Integer> columnYValues = new HashSet<>();
-			int minY;
-			int maxY;
-			for (Position position : positions) {
-				if (position.getX() == i) {
-					columnYValues.add(position.getY());
-				}
-			}
-
-			minY = Collections.min(columnYValues);
-			maxY = Collections.max(columnYValues);
-
-			possiblePositions.add(new Position(i, minY - 1));
-			possiblePositions.add(new Position(i, maxY + 1));
-		}
-
-		for (Position position : possiblePositions) {
-			for (int i = 1; i < 4; i++) {
-				if (matchingEdges(card, position)) {
-					card.rotate(0);
+	boolean checkPossiblePlacement(Card card) {
+		for (FrontierCell cell : super.getGameField().getFrontier()) {
+			for (int i = 0; i < 4; i++) {
+				if (cell.fits(card, i)) {
 					return true;
-				} else {
-					card.rotate(i);
 				}
 			}
 		}
@@ -667,102 +648,93 @@ public final class ServerGame extends Game {
 	}
 
 	/**
-	 * Checks if a cloister is surrounded by 8 cards.
+	 * Collects the areas that were finished by the card on the given position.
 	 * <p/>
-	 * If it is surrounded finished is set true. Checks for each SingleArea in the list if it's finished or not.
+	 * Only the areas of the placed card can be closed by it, and only the cloisters on the card itself or on one of the
+	 * eight cards around it can be surrounded by it. Cloisters that are surrounded now are set finished. Areas without
+	 * meeples are skipped because there is nobody to score them.
 	 *
-	 * @return if singleArea is finished or not
-	 */
-	private boolean checkCompletion() {
-		for (AbstractSingleArea abstractArea : singleAreas) {
-			if (abstractArea != null && abstractArea.getMeeples().size() != 0) {
-				if (CardAreaType.CLOISTER
-						.equals(abstractArea.getCardAreaType())) {
-					SingleAreaCloister cloisterArea = (SingleAreaCloister) abstractArea;
-					if (getGameField().checkSurroundingCards(
-							cloisterArea.getPosition())) {
-						cloisterArea.setFinished();
-						return true;
-					}
+	 * @param pos
+	 *            Position of the card that was placed
+	 * @return the finished areas with meeples, in the order they were found
+	 */
+	public Set<AbstractSingleArea> checkCompletion(Position pos) {
+		Set<AbstractSingleArea> completed = new LinkedHashSet<>();
+		Card placed = getGameField().getCard(pos);
+		for (int i = 0; i < placed.getAreas().size(); i++) {
+			AbstractSingleArea area = placed.getSingleArea(i);
+			if (area != null && area.getMeeples().size() != 0
+					&& !CardAreaType.CLOISTER.equals(area.getCardAreaType())
+					&& area.isFinished()) {
+				completed.add(area);
+			}
+		}
+
+		for (int x = pos.getX() - 1; x <= pos.getX() + 1; x++) {
+			for (int y = pos.getY() - 1; y <= pos.getY() + 1; y++) {
+				Card card = getGameField().getCard(x, y);
+				if (card == null) {
+					continue;
 				}
-				if (abstractArea.isFinished()) {
-					return true;
+				for (int i = 0; i < card.getAreas().size(); i++) {
+					AbstractSingleArea area = card.getSingleArea(i);
+					if (area != null && area.getMeeples().size() != 0
+							&& CardAreaType.CLOISTER.equals(area.getCardAreaType())) {
+						SingleAreaCloister cloisterArea = (SingleAreaCloister) area;
+						if (getGameField().checkSurroundingCards(cloisterArea.getPosition())) {
+							cloisterArea.setFinished();
+							completed.add(cloisterArea);
+						}
+					}
 				}
 			}
 		}
-		return false;
+		return completed;
 	}
 
 	/**
-	 * Checks the score of the different singleAreas by looking through each of them.
+	 * Scores the given finished areas.
 	 * <p/>
-	 * Get the meepleList on the singleArea and iterate through the meepleList and get the user of each meeple. If
-	 * scoring is finished the user gets his meeples back and the singleArea is deleted on the list. User with the most
-	 * meeple on the area gets the whole points. If more Players have the same count of meeple on an area all of them
-	 * get full points.
+	 * Counts the meeples of every player on an area, a big meeple counts twice and bishops don't count. Players with
+	 * the most meeples on the area get the whole points, if more players have the same count all of them get full
+	 * points. After scoring the players get their meeples back. Towns with only bishops on them are left for the end
+	 * score.
+	 *
+	 * @param completed
+	 *            the areas returned by {@link #checkCompletion(Position)}
 	 */
-	private void checkScore() {
-
-		for (AbstractSingleArea singleArea : singleAreas) {
-
-			if (singleArea != null
-					&& !CardAreaType.MEADOW
-							.equals(singleArea.getCardAreaType())
-					&& singleArea.getMeeples().size() != 0
-					&& singleArea.isFinished()) {
-
-				boolean notOnlyBishops = false;
+	public void checkScore(Collection<AbstractSingleArea> completed) {
+		for (AbstractSingleArea singleArea : completed) {
+			if (CardAreaType.MEADOW.equals(singleArea.getCardAreaType())) {
+				continue;
+			}
 
-				if (CardAreaType.TOWN.equals(singleArea.getCardAreaType())) {
-					for (Meeple meeple : singleArea.getMeeples()) {
-						if (meeple.getSpecialType() == null
-								|| meeple.getSpecialType() == SpecialMeepleType.BIGMEEPLE) {
-							notOnlyBishops = true;
-							break;
-						}
-					}
-				} else {
-					notOnlyBishops = true;
+			Map<Player, Integer> meepleCount = new HashMap<>();
+			for (Meeple singleMeeple : singleArea.getMeeples()) {
+				if (singleMeeple.getSpecialType() != SpecialMeepleType.BISHOP) {
+					int weight = singleMeeple.getSpecialType() == SpecialMeepleType.BIGMEEPLE ? 2 : 1;
+					Integer count = meepleCount.get(singleMeeple.getOwner());
+					meepleCount.put(singleMeeple.getOwner(), count == null ? weight : count + weight);
 				}
+			}
 
-				if (notOnlyBishops) {
-					List<Player> meepleOwners = new ArrayList<>();
-					for (Meeple singleMeeple : singleArea.getMeeples()) {
-
-						if (singleMeeple.getSpecialType() != SpecialMeepleType.BISHOP) {
-							if (singleMeeple.getSpecialType() == SpecialMeepleType.BIGMEEPLE) {
-								meepleOwners.add(singleMeeple.getOwner());
-							}
-							meepleOwners.add(singleMeeple.getOwner());
-						}
-
-					}
-					Map<Integer, ArrayList<Player>> frequencyMap = new HashMap<>();
-					for (Player player : getPlayerList().values()) {
-
-						// gets the highest frequency of meepleObjects with
-						// parameter of
-						// meeple = nick of owner
-						// out of the meepleOwners-List
-
-						int frequency = Collections.frequency(meepleOwners,
-								player);
-						if (frequencyMap.containsKey(frequency)) {
-							frequencyMap.get(frequency).add(player);
-						} else {
-							frequencyMap
-									.put(frequency, new ArrayList<Player>());
-							frequencyMap.get(frequency).add(player);
-						}
-					}
-
-					ArrayList<Player> areaOwners;
-					if (Collections.max(frequencyMap.keySet()) != 0) {
-						areaOwners = frequencyMap.get(Collections
-								.max(frequencyMap.keySet()));
-						scoreHelper(singleArea, areaOwners);
-					}
+			// only the players of the game can own an area
+			int maxCount = 0;
+			ArrayList<Player> areaOwners = new ArrayList<>();
+			for (Player player : getPlayerList().values()) {
+				Integer count = meepleCount.get(player);
+				if (count == null || count < maxCount) {
+					continue;
 				}
+				if (count > maxCount) {
+					maxCount = count;
+					areaOwners.clear();
+				}
+				areaOwners.add(player);
+			}
+
+			if (maxCount != 0) {
+				scoreHelper(singleArea, areaOwners);
 			}
 		}
 	}
@@ -777,19 +749,54 @@ public final class ServerGame extends Game {
 	 * @param timer 
 	 */
 	public synchronized void tileDrawn(String nick, int timer) {
+		Card card = getPlayableCard();
+		server.tileDrawn(getGameID(), nick, card,
+				super.getCardDeck().getRemainingSize(), timer);
+	}
+
+	/**
+	 * Returns the card on top of the cardDeck, the cardDeck is shuffled until this card can be put somewhere on the
+	 * gameField.
+	 *
+	 * @return the card that is drawn next, it is not removed from the cardDeck
+	 */
+	public Card getPlayableCard() {
 		CardDeck deck = super.getCardDeck();
-		
-		if (!deck.getCardDeck().isEmpty()
-				&& checkPossiblePlacement(deck.getColonelCard(false))) {
-			server.tileDrawn(getGameID(), nick, deck.getColonelCard(false),
-					deck.getRemainingSize(), timer);
-		} else {
-			while (!checkPossiblePlacement(deck.getColonelCard(false))) {
-				Collections.shuffle(deck.getCardDeck());
+		while (!checkPossiblePlacement(deck.getColonelCard(false))) {
+			Collections.shuffle(deck.getCardDeck());
+		}
+		return deck.getColonelCard(false);
+	}
+
+	/**
+	 * Returns the information about the players whose score or meeples changed since this method was called last.
+	 *
+	 * @return information about the changed players, empty if nothing changed
+	 */
+	public JSONArray getChangedPlayerInformation() {
+		JSONArray changed = new JSONArray();
+		for (Player player : getPlayerList().values()) {
+			JSONObject info = player.getGameInformation();
+			String text = info.toString();
+			if (!text.equals(sentPlayerInformation.put(player.getNick(), text))) {
+				changed.put(info);
 			}
-			server.tileDrawn(getGameID(), nick, deck.getColonelCard(false),
-					deck.getRemainingSize(), timer);
 		}
+		sentPlayerInformation.keySet().retainAll(getPlayerList().keySet());
+		return changed;
+	}
+
+	/**
+	 * Counts up the version of the game for a change that is sent.
+	 *
+	 * @return the new version
+	 */
+	public int nextVersion() {
+		return version.incrementAndGet();
+	}
+
+	public int getVersion() {
+		return version.get();
 	}
 
 	/**
@@ -853,6 +860,21 @@ public final class ServerGame extends Game {
 		return super.getCardDeck().getColonelCard(remove);
 	}
 
+	/**
+	 * Returns the phase of the game by the cards that are left: "early" with
+	 * 48 and more cards, "middle" with 24 and more and "late" after that. The
+	 * metrics of the moves are kept by phase, because the game field grows.
+	 *
+	 * @return the index of the phase in PHASES
+	 */
+	public int getPhase() {
+		int remaining = super.getCardDeck().getRemainingSize();
+		if (remaining >= 48) {
+			return 0;
+		}
+		return remaining >= 24 ? 1 : 2;
+	}
+
 	/**
 	 * Utility method for calculating the points of the different singleAreas.
 	 *
@@ -905,8 +927,8 @@ public final class ServerGame extends Game {
 		return host;
 	}
 
-	public PlayerThread getThread() {
-		return thread;
+	public TurnTimer getTurnTimer() {
+		return turnTimer;
 	}
 
 	public ServerControl getServer() {
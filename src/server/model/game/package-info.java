@@ -1,8 +1,7 @@
 /**
  * this package contain the gamerelated model-elements that only belong to the server
  * <p>
- * the package contains a utility-class LogicCardCreator that creates a Stack of Cards
- * by reading a JSON-file; furthermore it contains the class ServerGame that is the model of
+ * the package contains the class ServerGame that is the model of
  * the server; the serverGame is the leader of the actual game, it decides wheather a move
  * is legal etc.
  */
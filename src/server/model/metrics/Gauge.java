@@ -0,0 +1,12 @@
+package server.model.metrics;
+
+/**
+ * A value of the server that is read when the metrics are shown, like the
+ * number of messages in a queue.
+ * 
+ * @see Metrics
+ */
+public interface Gauge {
+
+	long getValue();
+}
@@ -0,0 +1,130 @@
+package server.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.json.JSONObject;
+
+/**
+ * Counts how often values like latencies or numbers of receivers occur.
+ * <p>
+ * Like an HDR histogram the buckets get wider with the values: the values
+ * below 16 have a bucket each, above every power of two is split into 8
+ * buckets. So every value is counted with an error of at most 12.5% and a
+ * histogram needs a fixed array of 488 counters for all values of a long.
+ * Recording a value doesn't lock, negative values are counted as 0.
+ * 
+ * @see Metrics
+ */
+public final class Histogram {
+
+	/**
+	 * Values below get a bucket each
+	 */
+	private static final int LINEAR = 16;
+
+	/**
+	 * Bits of the buckets of every power of two
+	 */
+	private static final int SUB_BITS = 3;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	private static final int BUCKETS = LINEAR + (63 - 4) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong sum = new AtomicLong();
+
+	private final AtomicLong max = new AtomicLong();
+
+	Histogram() {
+	}
+
+	/**
+	 * Counts a value.
+	 */
+	public void record(long value) {
+		long v = Math.max(0, value);
+		counts.incrementAndGet(bucketOf(v));
+		count.incrementAndGet();
+		sum.addAndGet(v);
+		long old = max.get();
+		while (v > old && !max.compareAndSet(old, v)) {
+			old = max.get();
+		}
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : (double) sum.get() / n;
+	}
+
+	/**
+	 * Returns the value that a share of the recorded values doesn't exceed.
+	 * 
+	 * @param percentile
+	 *            share in percent, like 99
+	 * @return the upper end of the bucket of the value, 0 if nothing was
+	 *         recorded
+	 */
+	public long getPercentile(double percentile) {
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(n * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(upperEndOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Returns count, mean, p50, p90, p99 and max.
+	 */
+	JSONObject toJSON() {
+		JSONObject json = new JSONObject();
+		json.put("count", getCount());
+		json.put("mean", Math.round(getMean() * 10) / 10.0);
+		json.put("p50", getPercentile(50));
+		json.put("p90", getPercentile(90));
+		json.put("p99", getPercentile(99));
+		json.put("max", getMax());
+		return json;
+	}
+
+	static int bucketOf(long value) {
+		if (value < LINEAR) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+	}
+
+	static long upperEndOf(int bucket) {
+		if (bucket < LINEAR) {
+			return bucket;
+		}
+		int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+		long sub = (bucket - LINEAR) % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BITS);
+		long lower = (SUB_BUCKETS + sub) * width;
+		return lower + width - 1;
+	}
+}
@@ -0,0 +1,237 @@
+package server.model.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+/**
+ * Registry of the counters, gauges and histograms of the server.
+ * <p>
+ * The server counts all the time, a counter or histogram is created the
+ * first time its name is used. The places that record often keep the
+ * Histogram they got, so recording doesn't look up anything. The metrics can
+ * be read with JMX after {@link #registerMBean()} and are written as JSON
+ * into a file after {@link #startDump(File, int)}.
+ * <p>
+ * The names are: "dispatch.TYPE.us" time a message waited until it was
+ * handled, "handle.TYPE.us" time it was handled, "fanout.TYPE" number of
+ * receivers of a message, "checkCardPlacement.PHASE.us" time of the check of
+ * a move by phase of the game, "turn.ms" time of a turn until the move and
+ * the counters "messages.rejected", "turn.timeouts", "outbox.dropped" and
+ * "outbox.disconnected". The gauges are registered by the ServerControl, like
+ * "lanes.tasks" the tasks that wait on the lanes of the lobby and the games.
+ *
+ * @see Histogram
+ * @see Gauge
+ * @see MetricsMXBean
+ */
+public final class Metrics {
+
+	/**
+	 * Error logger
+	 */
+	private static Logger log = LogManager.getLogger("ERROR");
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	private static final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	private static final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+	private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * Writes the dumps, null until the first dump is started
+	 */
+	private static ScheduledExecutorService dumper;
+
+	/**
+	 * Should never be instantiated.
+	 */
+	private Metrics() {
+		log.error("Metrics should not be instantiated");
+		throw new AssertionError("Metrics should not be instantiated");
+	}
+
+	/**
+	 * Returns the counter with the name, it's created if there is none.
+	 */
+	public static AtomicLong counter(String name) {
+		AtomicLong counter = counters.get(name);
+		if (counter == null) {
+			counter = new AtomicLong();
+			AtomicLong existing = counters.putIfAbsent(name, counter);
+			if (existing != null) {
+				counter = existing;
+			}
+		}
+		return counter;
+	}
+
+	/**
+	 * Returns the histogram with the name, it's created if there is none.
+	 */
+	public static Histogram histogram(String name) {
+		Histogram histogram = histograms.get(name);
+		if (histogram == null) {
+			histogram = new Histogram();
+			Histogram existing = histograms.putIfAbsent(name, histogram);
+			if (existing != null) {
+				histogram = existing;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Registers a gauge, a gauge with the same name is replaced.
+	 */
+	public static void gauge(String name, Gauge gauge) {
+		gauges.put(name, gauge);
+	}
+
+	/**
+	 * Returns all metrics, the histograms that recorded nothing are left out.
+	 */
+	public static JSONObject toJSON() {
+		JSONObject json = new JSONObject();
+		json.put("time", System.currentTimeMillis());
+		json.put("counters", new JSONObject(getCounters()));
+		json.put("gauges", new JSONObject(getGauges()));
+		JSONObject hist = new JSONObject();
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			if (entry.getValue().getCount() > 0) {
+				hist.put(entry.getKey(), entry.getValue().toJSON());
+			}
+		}
+		json.put("histograms", hist);
+		return json;
+	}
+
+	static Map<String, Long> getCounters() {
+		Map<String, Long> values = new TreeMap<>();
+		for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+			values.put(entry.getKey(), entry.getValue().get());
+		}
+		return values;
+	}
+
+	static Map<String, Long> getGauges() {
+		Map<String, Long> values = new TreeMap<>();
+		for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+			values.put(entry.getKey(), entry.getValue().getValue());
+		}
+		return values;
+	}
+
+	static Map<String, String> getHistograms() {
+		Map<String, String> values = new TreeMap<>();
+		for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+			if (entry.getValue().getCount() > 0) {
+				values.put(entry.getKey(), entry.getValue().toJSON().toString());
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Shows the metrics with JMX as server:type=Metrics.
+	 */
+	public static void registerMBean() {
+		try {
+			ManagementFactory.getPlatformMBeanServer().registerMBean(
+					new MetricsBean(), new ObjectName("server:type=Metrics"));
+		} catch (JMException e) {
+			log.error("Metrics not registered: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the metrics as JSON into a file every few seconds, the file is
+	 * overwritten every time.
+	 *
+	 * @param file
+	 *            the file of the dump
+	 * @param seconds
+	 *            seconds between two dumps
+	 */
+	public static synchronized void startDump(final File file, int seconds) {
+		if (dumper == null) {
+			dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread thread = new Thread(task, "MetricsDump");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null) {
+			dir.mkdirs();
+		}
+		dumper.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				dump(file);
+			}
+		}, seconds, seconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Writes the metrics as JSON into a file.
+	 */
+	public static void dump(File file) {
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(file), UTF8)) {
+			out.write(toJSON().toString(2));
+			out.write('\n');
+		} catch (IOException e) {
+			log.error("Metrics not dumped: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * The metrics for JMX
+	 */
+	private static final class MetricsBean implements MetricsMXBean {
+
+		@Override
+		public Map<String, Long> getCounters() {
+			return Metrics.getCounters();
+		}
+
+		@Override
+		public Map<String, Long> getGauges() {
+			return Metrics.getGauges();
+		}
+
+		@Override
+		public Map<String, String> getHistograms() {
+			return Metrics.getHistograms();
+		}
+
+		@Override
+		public String getJson() {
+			return toJSON().toString();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package server.model.metrics;
+
+import java.util.Map;
+
+/**
+ * The metrics of the server as they are shown by JMX, for example in
+ * JConsole under server:type=Metrics.
+ * 
+ * @see Metrics
+ */
+public interface MetricsMXBean {
+
+	Map<String, Long> getCounters();
+
+	Map<String, Long> getGauges();
+
+	/**
+	 * Returns count, mean, p50, p90, p99 and max of every histogram that
+	 * recorded something.
+	 */
+	Map<String, String> getHistograms();
+
+	/**
+	 * Returns all metrics as JSON, like they are dumped.
+	 */
+	String getJson();
+}
@@ -0,0 +1,8 @@
+/**
+ * this package contains the metrics of the server
+ * <p>
+ * the class Metrics keeps counters, gauges and histograms of the queues, the
+ * messages, the moves and the turns; they can be read with JMX or are dumped
+ * as JSON into a file
+ */
+package server.model.metrics;
@@ -0,0 +1,205 @@
+package server.model.serverCommunication.clientHandling;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+import server.model.serverCommunication.utility.EncodedMessage;
+
+/**
+ * The non-blocking connection of one client.
+ * <p>
+ * Messages are separated by a newline like in the blocking transport. The
+ * bytes that are read are collected until a newline arrives, then the line is
+ * given to the ServerMessageReceiver. The buffers are kept for the whole
+ * connection: one for reading, one for the line and one for the bytes that
+ * couldn't be written yet. A line may not be longer than
+ * {@link ServerMessageReceiver#MAX_LINE}.
+ * <p>
+ * The interest of the key in the selector is only changed by the selector
+ * thread. When a flush from another thread leaves bytes, the SelectorServer
+ * is asked to wait for the channel to take them.
+ *
+ * @see SelectorServer
+ * @see ClientHandler
+ */
+final class ChannelConnection {
+
+	/**
+	 * Initial size of the buffers in bytes
+	 */
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Number of bytes that may wait for a client that doesn't read
+	 */
+	private static final int MAX_PENDING = 4 * 1024 * 1024;
+
+	/**
+	 * Channel of the client
+	 */
+	private final SocketChannel channel;
+
+	/**
+	 * Key of the channel in the selector of the SelectorServer
+	 */
+	private final SelectionKey key;
+
+	/**
+	 * Transport that selects the channel
+	 */
+	private final SelectorServer server;
+
+	/**
+	 * Buffer the channel is read into, only used by the selector thread
+	 */
+	private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Bytes of the line that is not complete yet, only used by the selector
+	 * thread
+	 */
+	private byte[] line = new byte[BUFFER_SIZE];
+
+	private int lineLength;
+
+	/**
+	 * Bytes that are waiting to be written, guarded by this
+	 */
+	private ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+	/**
+	 * Creates the connection for a channel that is registered for reading.
+	 *
+	 * @param channel
+	 *            non-blocking channel of the client
+	 * @param key
+	 *            key of the channel in the selector
+	 * @param server
+	 *            transport that selects the channel
+	 */
+	ChannelConnection(SocketChannel channel, SelectionKey key,
+			SelectorServer server) {
+		this.channel = channel;
+		this.key = key;
+		this.server = server;
+	}
+
+	/**
+	 * Reads everything the channel has and gives every complete line to the
+	 * receiver. Is invoked by the selector thread.
+	 *
+	 * @param receiver
+	 *            receiver of the client
+	 * @return false if the client closed the connection
+	 * @throws IOException
+	 *             if reading failed or the line is too long
+	 */
+	boolean read(ServerMessageReceiver receiver) throws IOException {
+		int read;
+		while ((read = channel.read(readBuffer)) > 0) {
+			readBuffer.flip();
+			while (readBuffer.hasRemaining()) {
+				byte b = readBuffer.get();
+				if (b == '\n') {
+					int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1
+							: lineLength;
+					lineLength = 0;
+					receiver.receiveLine(line, length);
+				} else {
+					if (lineLength == ServerMessageReceiver.MAX_LINE) {
+						throw new IOException("Line longer than "
+								+ ServerMessageReceiver.MAX_LINE + " bytes");
+					}
+					if (lineLength == line.length) {
+						byte[] longer = new byte[line.length * 2];
+						System.arraycopy(line, 0, longer, 0, lineLength);
+						line = longer;
+					}
+					line[lineLength++] = b;
+				}
+			}
+			readBuffer.clear();
+		}
+		return read >= 0;
+	}
+
+	/**
+	 * Adds a message to the bytes that wait to be written, without writing.
+	 * Nothing is sent if the channel is already closed.
+	 *
+	 * @param message
+	 *            the encoded message
+	 * @throws IOException
+	 *             if the client doesn't read and too many bytes wait for it
+	 */
+	synchronized void append(EncodedMessage message) throws IOException {
+		if (!channel.isOpen()) {
+			return;
+		}
+		int length = message.length();
+		if (writeBuffer.position() + length > MAX_PENDING) {
+			throw new IOException("The client doesn't read, "
+					+ writeBuffer.position() + " bytes are waiting.");
+		}
+		if (writeBuffer.remaining() < length) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(writeBuffer.capacity() * 2,
+					writeBuffer.position() + length));
+			writeBuffer.flip();
+			larger.put(writeBuffer);
+			writeBuffer = larger;
+		}
+		writeBuffer.put(message.getBytes());
+	}
+
+	/**
+	 * Writes as much of the waiting bytes as the channel takes. If something
+	 * is left the selector is asked to tell when the channel can take more.
+	 * May be invoked by any thread.
+	 *
+	 * @throws IOException
+	 *             if writing failed
+	 */
+	void flush() throws IOException {
+		if (write()) {
+			server.waitForWrite(this);
+		}
+	}
+
+	/**
+	 * Writes as much of the waiting bytes as the channel takes.
+	 *
+	 * @return true if bytes are left
+	 * @throws IOException
+	 *             if writing failed
+	 */
+	synchronized boolean write() throws IOException {
+		if (!channel.isOpen()) {
+			return false;
+		}
+		writeBuffer.flip();
+		channel.write(writeBuffer);
+		writeBuffer.compact();
+		return writeBuffer.position() > 0;
+	}
+
+	/**
+	 * Closes the channel, it is removed from the selector.
+	 *
+	 * @throws IOException
+	 *             if closing failed
+	 */
+	void close() throws IOException {
+		key.cancel();
+		channel.close();
+	}
+
+	SelectionKey getKey() {
+		return key;
+	}
+
+	SocketChannel getChannel() {
+		return channel;
+	}
+}
@@ -1,9 +1,9 @@
 package server.model.serverCommunication.clientHandling;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.util.Set;
 
@@ -12,14 +12,16 @@ import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
 
 import server.model.serverCommunication.execution.ServerControl;
+import server.model.serverCommunication.execution.ThreadMode;
+import server.model.serverCommunication.utility.EncodedMessage;
 import shared.enums.CapabilitiesType;
 import shared.model.User;
 
 /**
  * Handles one connected client.
  * <p>
- * For every newly connected client a new instance of this (Thread-)class is
- * created. It handles the communication between the server and its specific
+ * For every newly connected client a new instance of this class is created
+ * and started on a thread of the ThreadMode of the server. It handles the communication between the server and its specific
  * client through its own ServerMessageReceiver and -sender. It references a
  * user.
  * 
@@ -27,8 +29,9 @@ import shared.model.User;
  * @see ServerControl
  * @see ServerMessageReceiver
  * @see ServerMessageSender
+ * @see ThreadMode
  */
-public final class ClientHandler extends Thread {
+public final class ClientHandler implements Runnable {
 
 	/**
 	 * Error logger
@@ -54,22 +57,34 @@ public final class ClientHandler extends Thread {
 	 * Reference to the sender
 	 */
 	private final ServerMessageSender sender;
+	/**
+	 * Messages that wait to be sent to the client
+	 */
+	private final Outbox outbox;
 	/**
 	 * Reference to the user represented by this clientHandler
 	 */
-	private User user;
+	private volatile User user;
 	/**
 	 * Capabilities of the client
 	 */
-	private Set<CapabilitiesType> capabilities;
+	private volatile Set<CapabilitiesType> capabilities;
+	/**
+	 * Input stream, the lines are read as bytes
+	 */
+	private BufferedInputStream in;
+	/**
+	 * Output stream, the messages are written already encoded
+	 */
+	private OutputStream out;
 	/**
-	 * Input reader
+	 * Connection of the client if it is handled by the SelectorServer, null otherwise
 	 */
-	private BufferedReader in;
+	private final ChannelConnection connection;
 	/**
-	 * Output writer
+	 * Thread that reads for this client, null if it isn't started
 	 */
-	private OutputStreamWriter out;
+	private volatile Thread thread;
 	private volatile boolean stop;
 	
 
@@ -82,18 +97,18 @@ public final class ClientHandler extends Thread {
 	 * @param serverControl Reference to the ServerControl
 	 */
 	public ClientHandler(Socket accept, ServerControl serverControl) {
-		super("ClientHandler");
 		stop = false;
 		receiver = new ServerMessageReceiver(this);
 		sender = new ServerMessageSender(this);
+		outbox = new Outbox(this);
 		
 		this.socket = accept;
 		this.server = serverControl;
+		this.connection = null;
 
 		try {
-			out = new OutputStreamWriter(socket.getOutputStream(), "UTF-8");
-			in = new BufferedReader(new InputStreamReader(
-					socket.getInputStream(), "UTF-8"));
+			out = new BufferedOutputStream(socket.getOutputStream());
+			in = new BufferedInputStream(socket.getInputStream());
 		} catch (IOException e) {
 			out = null;
 			in = null;
@@ -101,6 +116,30 @@ public final class ClientHandler extends Thread {
 		}
 	}
 
+	/**
+	 * Constructor for a client of the SelectorServer. The handler isn't started, the SelectorServer reads for it.
+	 * 
+	 * @param connection non-blocking connection of the client
+	 * @param serverControl Reference to the ServerControl
+	 */
+	ClientHandler(ChannelConnection connection, ServerControl serverControl) {
+		stop = false;
+		receiver = new ServerMessageReceiver(this);
+		sender = new ServerMessageSender(this);
+		outbox = new Outbox(this);
+
+		this.socket = connection.getChannel().socket();
+		this.server = serverControl;
+		this.connection = connection;
+	}
+
+	/**
+	 * Starts reading the input of the client on a new thread.
+	 */
+	public void start() {
+		thread = ThreadMode.getCurrent().start("ClientHandler", this);
+	}
+
 	/**
 	 * Receives Input from the Client as long as the Thread is running
 	 */
@@ -124,22 +163,37 @@ public final class ClientHandler extends Thread {
 	/**
 	 * Performs the logout of this client.
 	 * <p>
-	 * Closes In- and Outputstream as well as the Socket and sets the terminate-flag for the ClientHandler-Thread.
+	 * Closes the Socket as well as In- and Outputstream and sets the terminate-flag for the ClientHandler-Thread.
+	 * The Socket is closed first, so a reader or writer that is blocked on it returns.
 	 */
 	public void performLogout(){
 		try {
 //			receiver.setNullInput(true);
 			// Closes the Input/Output Stream and the Socket
 			this.stop = true;
+			outbox.close();
+			if (connection != null) {
+				connection.close();
+				infoLog.info("Closed the channel of the ClientHandler.");
+				return;
+			}
+			this.getSocket().close();
 			this.getOut().close();
 			this.getIn().close();
-			this.getSocket().close();
 			infoLog.info("Killed the ClientHandler Thread.");
 		} catch (IOException e) {
 			log.error(e.getMessage());
 		}
 	}
 
+	/**
+	 * Logs the client out because its connection can't be used any more, like a client that closed its connection.
+	 */
+	void dropConnection() {
+		receiver.receiveEndOfInput();
+		performLogout();
+	}
+
 	/*
 	 * GETTER and SETTER and EQUALS and HASHCODE below
 	 */
@@ -178,13 +232,23 @@ public final class ClientHandler extends Thread {
 
 	public void setUser(User user) {
 		this.user = user;
-		this.setName("ClientHandler: " + user.getNick());
+		if (thread != null) {
+			thread.setName("ClientHandler: " + user.getNick());
+		}
 	}
 
 	public String getNick() {
 		return user.getNick();
 	}
 
+	/**
+	 * Returns the nick, an empty String before the login.
+	 */
+	String getNickOrEmpty() {
+		User current = user;
+		return current == null ? "" : current.getNick();
+	}
+
 	Socket getSocket() {
 		return socket;
 	}
@@ -221,16 +285,28 @@ public final class ClientHandler extends Thread {
 		this.capabilities = capa;
 	}
 
-	BufferedReader getIn() {
+	BufferedInputStream getIn() {
 		return in;
 	}
 
-	OutputStreamWriter getOut() {
+	OutputStream getOut() {
 		return out;
 	}
 
+	Outbox getOutbox() {
+		return outbox;
+	}
+
+	ChannelConnection getConnection() {
+		return connection;
+	}
+
 	public void sendMessage(JSONObject message) {
-		sender.sendMessageGeneral(message);
+		outbox.offer(message);
+	}
+
+	public void sendMessage(EncodedMessage message) {
+		outbox.offer(message);
 	}
 
 }
\ No newline at end of file
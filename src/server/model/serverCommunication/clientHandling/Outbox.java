@@ -0,0 +1,336 @@
+package server.model.serverCommunication.clientHandling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+
+import server.model.metrics.Metrics;
+import server.model.serverCommunication.queues.OutputQueue;
+import server.model.serverCommunication.utility.EncodedMessage;
+
+/**
+ * The messages that wait to be sent to one client.
+ * <p>
+ * Every ClientHandler has its own bounded Outbox. When a message is added and
+ * nobody writes for the client yet, a writer of the shared pool takes all
+ * waiting messages, writes them and flushes once. The messages are already
+ * encoded, a message for many clients is encoded only once. So a client that doesn't
+ * read only blocks its own messages. When the Outbox of a client is full, the
+ * client falls behind: depending on the Backpressure it is disconnected or
+ * the message is dropped. A batch that can't be written within
+ * {@link #WRITE_TIMEOUT} seconds means the client doesn't read any more, it
+ * is disconnected with either Backpressure, which also ends the blocked
+ * write, so the writer is free for the other clients again. How many
+ * messages wait, were dropped and how many clients were disconnected is
+ * counted for all Outboxes.
+ *
+ * @see OutputQueue
+ * @see ServerMessageSender
+ */
+public final class Outbox {
+
+	/**
+	 * What happens to a message for a client whose Outbox is full.
+	 */
+	public enum Backpressure {
+		/**
+		 * the client is logged out
+		 */
+		DISCONNECT,
+		/**
+		 * the message is dropped
+		 */
+		DROP
+	}
+
+	/**
+	 * Warn logger
+	 */
+	private static Logger warnLog = LogManager.getLogger("WARN");
+
+	/**
+	 * Number of messages that can wait for one client
+	 */
+	public static final int CAPACITY = 1024;
+
+	/**
+	 * Number of messages that are written before a flush at most
+	 */
+	private static final int BATCH = 64;
+
+	/**
+	 * Seconds a batch may take to be written and flushed
+	 */
+	static final long WRITE_TIMEOUT = 10;
+
+	/**
+	 * Milliseconds a batch may take, the tests make it shorter
+	 */
+	private static volatile long writeTimeout = TimeUnit.SECONDS.toMillis(WRITE_TIMEOUT);
+
+	/**
+	 * Writers of all clients
+	 */
+	private static final ExecutorService writers = Executors.newFixedThreadPool(
+			Math.max(2, Runtime.getRuntime().availableProcessors()),
+			new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread thread = new Thread(task, "Outbox");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	/**
+	 * Disconnects the clients whose writes stall
+	 */
+	private static final ScheduledThreadPoolExecutor stallTimer = new ScheduledThreadPoolExecutor(
+			1, new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable task) {
+					Thread thread = new Thread(task, "OutboxStall");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+
+	static {
+		stallTimer.setRemoveOnCancelPolicy(true);
+	}
+
+	private static volatile Backpressure backpressure = Backpressure.DISCONNECT;
+
+	private static final AtomicLong queued = new AtomicLong();
+	private static final AtomicLong dropped = Metrics.counter("outbox.dropped");
+	private static final AtomicLong disconnected = Metrics.counter("outbox.disconnected");
+
+	/**
+	 * Handler of the client
+	 */
+	private final ClientHandler handler;
+
+	private final BlockingQueue<EncodedMessage> messages = new ArrayBlockingQueue<>(CAPACITY);
+
+	/**
+	 * True while a writer is given the Outbox
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	/**
+	 * True after the client was logged out, nothing is sent any more
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * True while a batch is written
+	 */
+	private volatile boolean writing;
+
+	private final Runnable drain = new Runnable() {
+		@Override
+		public void run() {
+			drain();
+		}
+	};
+
+	private final Runnable stalled = new Runnable() {
+		@Override
+		public void run() {
+			stalled();
+		}
+	};
+
+	Outbox(ClientHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Encodes a message and adds it for the client.
+	 *
+	 * @param message
+	 *            message to be sent
+	 */
+	public void offer(JSONObject message) {
+		offer(new EncodedMessage(message));
+	}
+
+	/**
+	 * Adds a message for the client.
+	 *
+	 * @param message
+	 *            message to be sent, it may be in other Outboxes too
+	 */
+	public void offer(EncodedMessage message) {
+		if (closed) {
+			return;
+		}
+		if (!messages.offer(message)) {
+			if (backpressure == Backpressure.DROP) {
+				dropped.incrementAndGet();
+				warnLog.warn("Dropped a message for a client that falls behind.");
+				return;
+			}
+			disconnected.incrementAndGet();
+			warnLog.warn("Disconnecting a client that falls behind.");
+			close();
+			handler.dropConnection();
+			return;
+		}
+		queued.incrementAndGet();
+		if (closed) {
+			// close() may have run before the message was added
+			discard();
+			return;
+		}
+		if (scheduled.compareAndSet(false, true)) {
+			writers.execute(drain);
+		}
+	}
+
+	/**
+	 * Writes the waiting messages and flushes after every batch. After a
+	 * message that ends the connection the client is logged out. A batch that
+	 * takes longer than WRITE_TIMEOUT disconnects the client.
+	 */
+	private void drain() {
+		ServerMessageSender sender = handler.getSender();
+		List<EncodedMessage> batch = new ArrayList<>(BATCH);
+		while (true) {
+			batch.clear();
+			messages.drainTo(batch, BATCH);
+			if (batch.isEmpty()) {
+				scheduled.set(false);
+				// a message that was added after drainTo would wait otherwise
+				if (messages.isEmpty() || !scheduled.compareAndSet(false, true)) {
+					return;
+				}
+				continue;
+			}
+			queued.addAndGet(-batch.size());
+			writing = true;
+			ScheduledFuture<?> deadline = stallTimer.schedule(stalled,
+					writeTimeout, TimeUnit.MILLISECONDS);
+			try {
+				if (!writeBatch(sender, batch)) {
+					return;
+				}
+			} finally {
+				writing = false;
+				deadline.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Writes a batch and flushes it.
+	 *
+	 * @return false if nothing is sent any more
+	 */
+	private boolean writeBatch(ServerMessageSender sender, List<EncodedMessage> batch) {
+		for (EncodedMessage message : batch) {
+			if (closed) {
+				return false;
+			}
+			sender.writeMessage(message);
+			if (message.endsConnection()) {
+				sender.flush();
+				close();
+				handler.performLogout();
+				return false;
+			}
+		}
+		sender.flush();
+		return true;
+	}
+
+	/**
+	 * Disconnects the client if its batch is still written after
+	 * WRITE_TIMEOUT. Closing the connection ends the blocked write.
+	 */
+	private void stalled() {
+		if (!writing || closed) {
+			return;
+		}
+		disconnected.incrementAndGet();
+		warnLog.warn("Disconnecting a client that doesn't read, writing took more than "
+				+ writeTimeout + " ms.");
+		close();
+		handler.dropConnection();
+	}
+
+	/**
+	 * Drops the waiting messages, nothing is sent any more.
+	 */
+	void close() {
+		closed = true;
+		discard();
+	}
+
+	/**
+	 * Removes the waiting messages, only the ones that were really removed
+	 * are taken off the count, so a writer that drains at the same time
+	 * doesn't make them count twice.
+	 */
+	private void discard() {
+		int removed = 0;
+		while (messages.poll() != null) {
+			removed++;
+		}
+		queued.addAndGet(-removed);
+	}
+
+	int size() {
+		return messages.size();
+	}
+
+	public static void setBackpressure(Backpressure policy) {
+		backpressure = policy;
+	}
+
+	/**
+	 * Sets how long a batch may take to be written and flushed.
+	 *
+	 * @param millis
+	 *            milliseconds until a client that doesn't read is disconnected
+	 */
+	static void setWriteTimeout(long millis) {
+		writeTimeout = millis;
+	}
+
+	/**
+	 * Returns the number of messages that wait in all Outboxes.
+	 */
+	public static long getQueuedMessages() {
+		return queued.get();
+	}
+
+	/**
+	 * Returns the number of messages that were dropped because the Outbox was
+	 * full.
+	 */
+	public static long getDroppedMessages() {
+		return dropped.get();
+	}
+
+	/**
+	 * Returns the number of clients that were disconnected because their
+	 * Outbox was full.
+	 */
+	public static long getDisconnectedClients() {
+		return disconnected.get();
+	}
+}
@@ -0,0 +1,337 @@
+package server.model.serverCommunication.clientHandling;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import server.model.serverCommunication.utility.EncodedMessage;
+import shared.enums.JsonType;
+
+/**
+ * Writes a sample of the messages between the server and the clients into a binary trace file.
+ * <p>
+ * The receivers and senders only put the raw bytes of a sampled message into a bounded ring buffer, nothing is
+ * formatted and nothing waits for the file. A daemon thread writes the buffer into the file. When the buffer is full
+ * the message is dropped and counted, the trace file notes how many messages were dropped.
+ * <p>
+ * Of every type of message only one of N is traced, N is set per JsonType with a spec like "MOVE:1,CHAT:10,*:100".
+ * "*" sets N for all other types and for messages with an unknown type, 0 means never. Without a spec every message
+ * is traced.
+ * <p>
+ * The file begins with {@link #MAGIC}, {@link #VERSION} and the table of the types: short count, then the name of
+ * every JsonType written with writeUTF. Every record is: long time in ms, byte direction, byte index of the type in
+ * the table (-1 if unknown), nick written with writeUTF, int length, the bytes of the message. So a trace can still be
+ * read after JsonTypes were added or reordered. A record with the direction {@link #DROPPED} has the number of
+ * dropped messages as its 4 bytes. The file can be read with the ProtocolTraceDecoder.
+ *
+ * @see ServerMessageReceiver
+ * @see ServerMessageSender
+ */
+public final class ProtocolTrace {
+
+	/**
+	 * Error logger
+	 */
+	private static Logger log = LogManager.getLogger("ERROR");
+
+	public static final int MAGIC = 0x43545243;
+
+	public static final short VERSION = 2;
+
+	/**
+	 * Direction of a message from a client to the server
+	 */
+	public static final byte IN = 0;
+
+	/**
+	 * Direction of a message from the server to a client
+	 */
+	public static final byte OUT = 1;
+
+	/**
+	 * Direction of the record that counts the dropped messages
+	 */
+	public static final byte DROPPED = 2;
+
+	/**
+	 * Number of messages the ring buffer holds
+	 */
+	private static final int CAPACITY = 8192;
+
+	/**
+	 * The running trace, null if nothing is traced
+	 */
+	private static volatile ProtocolTrace current;
+
+	/**
+	 * N by the ordinal of the JsonType, the last one for unknown types
+	 */
+	private final int[] rates;
+
+	/**
+	 * Number of messages of every type so far
+	 */
+	private final AtomicIntegerArray counts;
+
+	private final BlockingQueue<Record> buffer = new ArrayBlockingQueue<>(CAPACITY);
+
+	private final AtomicInteger dropped = new AtomicInteger();
+
+	private final DataOutputStream out;
+
+	private final Thread writer;
+
+	/**
+	 * A traced message, the bytes are formatted by the decoder
+	 */
+	private static final class Record {
+		private final long time;
+		private final byte direction;
+		private final JsonType type;
+		private final String nick;
+		private final byte[] bytes;
+		private final EncodedMessage message;
+
+		private Record(byte direction, JsonType type, String nick, byte[] bytes, EncodedMessage message) {
+			this.time = System.currentTimeMillis();
+			this.direction = direction;
+			this.type = type;
+			this.nick = nick;
+			this.bytes = bytes;
+			this.message = message;
+		}
+	}
+
+	/**
+	 * Marks the end of the trace for the writer
+	 */
+	private static final Record END = new Record(DROPPED, null, "", new byte[0], null);
+
+	private ProtocolTrace(int[] rates, File file) throws IOException {
+		this.rates = rates;
+		this.counts = new AtomicIntegerArray(rates.length);
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		writeHeader(out);
+		this.writer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				write();
+			}
+		}, "ProtocolTrace");
+		writer.setDaemon(true);
+	}
+
+	/**
+	 * Starts to trace the messages, a running trace is stopped before.
+	 *
+	 * @param spec
+	 *            N by type like "MOVE:1,CHAT:10,*:100", null or empty to trace every message
+	 * @param file
+	 *            the trace file, it's overwritten
+	 */
+	public static synchronized void start(String spec, File file) throws IOException {
+		stop();
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (dir != null) {
+			dir.mkdirs();
+		}
+		ProtocolTrace trace = new ProtocolTrace(parseRates(spec), file);
+		trace.writer.start();
+		current = trace;
+	}
+
+	/**
+	 * Stops the trace and writes the messages that are still in the buffer.
+	 */
+	public static synchronized void stop() {
+		ProtocolTrace trace = current;
+		if (trace == null) {
+			return;
+		}
+		current = null;
+		if (!trace.writer.isAlive()) {
+			return;
+		}
+		try {
+			trace.buffer.put(END);
+			trace.writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Traces a line a client sent, if it's sampled.
+	 *
+	 * @param bytes
+	 *            bytes of the line, they are copied
+	 * @param length
+	 *            length of the line
+	 */
+	static void received(ClientHandler handler, JsonType type, byte[] bytes, int length) {
+		ProtocolTrace trace = current;
+		if (trace != null && trace.sample(type)) {
+			trace.add(new Record(IN, type, handler.getNickOrEmpty(), Arrays.copyOf(bytes, length), null));
+		}
+	}
+
+	/**
+	 * Traces a message that is sent to a client, if it's sampled.
+	 */
+	static void sent(ClientHandler handler, EncodedMessage message) {
+		ProtocolTrace trace = current;
+		if (trace != null && trace.sample(message.getType())) {
+			trace.add(new Record(OUT, message.getType(), handler.getNickOrEmpty(), null, message));
+		}
+	}
+
+	private boolean sample(JsonType type) {
+		int index = type == null ? rates.length - 1 : type.ordinal();
+		int rate = rates[index];
+		return rate > 0 && counts.getAndIncrement(index) % rate == 0;
+	}
+
+	private void add(Record record) {
+		if (!buffer.offer(record)) {
+			dropped.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Writes the buffer into the file until the trace is stopped. Runs on the writer thread.
+	 */
+	private void write() {
+		List<Record> batch = new ArrayList<>();
+		try {
+			while (true) {
+				batch.add(buffer.take());
+				buffer.drainTo(batch);
+				for (Record record : batch) {
+					if (record == END) {
+						writeDropped();
+						out.close();
+						return;
+					}
+					writeRecord(record);
+				}
+				batch.clear();
+				writeDropped();
+				out.flush();
+			}
+		} catch (IOException e) {
+			current = null;
+			log.error("Protocol trace stopped: " + e.getMessage());
+		} catch (InterruptedException e) {
+			current = null;
+		}
+	}
+
+	private void writeRecord(Record record) throws IOException {
+		if (record.message != null) {
+			writeHead(out, record.time, record.direction, record.type, record.nick, record.message.length());
+			record.message.writeTo(out);
+		} else {
+			writeRecord(out, record.time, record.direction, record.type, record.nick, record.bytes);
+		}
+	}
+
+	private void writeDropped() throws IOException {
+		int count = dropped.getAndSet(0);
+		if (count > 0) {
+			writeHead(out, System.currentTimeMillis(), DROPPED, null, "", 4);
+			out.writeInt(count);
+		}
+	}
+
+	/**
+	 * Writes the beginning of a trace: the magic number, the version and the table of the types.
+	 */
+	public static void writeHeader(DataOutputStream out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		JsonType[] types = JsonType.values();
+		out.writeShort(types.length);
+		for (JsonType type : types) {
+			out.writeUTF(type.name());
+		}
+	}
+
+	/**
+	 * Writes a record of a message.
+	 *
+	 * @param type
+	 *            type of the message, null if unknown
+	 */
+	public static void writeRecord(DataOutputStream out, long time, byte direction, JsonType type, String nick,
+			byte[] bytes) throws IOException {
+		writeHead(out, time, direction, type, nick, bytes.length);
+		out.write(bytes);
+	}
+
+	private static void writeHead(DataOutputStream out, long time, byte direction, JsonType type, String nick,
+			int length) throws IOException {
+		out.writeLong(time);
+		out.writeByte(direction);
+		out.writeByte(type == null ? -1 : type.ordinal());
+		out.writeUTF(nick);
+		out.writeInt(length);
+	}
+
+	/**
+	 * Returns N by the ordinal of the JsonType, the last one for unknown types. A type the server doesn't know is
+	 * logged and left out.
+	 *
+	 * @throws IllegalArgumentException
+	 *             if an entry isn't TYPE:N
+	 */
+	public static int[] parseRates(String spec) {
+		int[] rates = new int[JsonType.values().length + 1];
+		Arrays.fill(rates, 1);
+		if (spec == null || spec.trim().isEmpty()) {
+			return rates;
+		}
+		int others = 1;
+		List<String> entries = Arrays.asList(spec.split(","));
+		for (String entry : entries) {
+			if (entry.trim().startsWith("*:")) {
+				others = parseRate(entry);
+			}
+		}
+		Arrays.fill(rates, others);
+		for (String entry : entries) {
+			String[] parts = entry.trim().split(":");
+			if (parts[0].equals("*")) {
+				continue;
+			}
+			JsonType type;
+			try {
+				type = JsonType.valueOf(parts[0]);
+			} catch (IllegalArgumentException e) {
+				log.error("Unknown type in trace spec: " + entry);
+				continue;
+			}
+			rates[type.ordinal()] = parseRate(entry);
+		}
+		return rates;
+	}
+
+	private static int parseRate(String entry) {
+		String[] parts = entry.trim().split(":");
+		if (parts.length != 2) {
+			throw new IllegalArgumentException("Trace spec needs TYPE:N, not " + entry);
+		}
+		return Math.max(0, Integer.parseInt(parts[1].trim()));
+	}
+}
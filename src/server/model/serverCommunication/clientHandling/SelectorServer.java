@@ -0,0 +1,186 @@
+package server.model.serverCommunication.clientHandling;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import server.model.serverCommunication.execution.ServerControl;
+import server.model.serverCommunication.queues.InputQueue;
+
+/**
+ * Non-blocking transport for all clients.
+ * <p>
+ * Instead of one ClientHandler-Thread per client, one thread waits on a
+ * Selector for all channels. It accepts new clients, reads the lines they
+ * send into the InputQueue through their ServerMessageReceiver and writes
+ * what couldn't be written when the message was sent. The ClientHandlers
+ * are the same as in the blocking transport, they just aren't started.
+ * <p>
+ * The interest of the keys is only changed by the selector thread, the
+ * connections that have to wait for their channel are queued for it.
+ *
+ * @see ChannelConnection
+ * @see ClientHandler
+ * @see InputQueue
+ */
+public final class SelectorServer {
+
+	/**
+	 * Error logger
+	 */
+	private static Logger log = LogManager.getLogger("ERROR");
+
+	/**
+	 * Info logger
+	 */
+	private static Logger infoLog = LogManager.getLogger("INFO");
+
+	/**
+	 * Channel that listens for incoming connections
+	 */
+	private final ServerSocketChannel listen;
+
+	/**
+	 * Reference to the server
+	 */
+	private final ServerControl server;
+
+	/**
+	 * Selector for the listening channel and all clients
+	 */
+	private final Selector selector;
+
+	/**
+	 * Connections whose bytes didn't fit into their channel, the selector
+	 * thread waits until the channels can take more
+	 */
+	private final Queue<ChannelConnection> waitingWrites = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Creates the transport for a bound channel.
+	 *
+	 * @param listen
+	 *            the channel on which the server listens for incoming
+	 *            connections
+	 * @param server
+	 *            Reference to the ServerControl
+	 * @throws IOException
+	 *             if the selector can't be opened
+	 */
+	public SelectorServer(ServerSocketChannel listen, ServerControl server)
+			throws IOException {
+		this.listen = listen;
+		this.server = server;
+		this.selector = Selector.open();
+		listen.configureBlocking(false);
+		listen.register(selector, SelectionKey.OP_ACCEPT);
+	}
+
+	/**
+	 * Handles the clients until the thread is interrupted.
+	 */
+	public void getConnections() {
+		while (!Thread.interrupted()) {
+			try {
+				selector.select();
+			} catch (IOException e) {
+				log.error(e.getMessage()
+						+ "Server was shutdown because of an IOException.");
+				return;
+			}
+			registerWaitingWrites();
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				if (key.isValid() && key.isAcceptable()) {
+					accept();
+				} else {
+					handle(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Asks the selector to tell when the channel of a connection can take the
+	 * bytes that are left. May be invoked by any thread.
+	 */
+	void waitForWrite(ChannelConnection connection) {
+		waitingWrites.add(connection);
+		selector.wakeup();
+	}
+
+	/**
+	 * Lets the selector wait for the channels of the queued connections. Is
+	 * invoked by the selector thread.
+	 */
+	private void registerWaitingWrites() {
+		ChannelConnection connection;
+		while ((connection = waitingWrites.poll()) != null) {
+			SelectionKey key = connection.getKey();
+			if (key.isValid()) {
+				key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+			}
+		}
+	}
+
+	/**
+	 * Accepts a new client and creates its ClientHandler.
+	 */
+	private void accept() {
+		try {
+			SocketChannel channel = listen.accept();
+			if (channel != null) {
+				channel.configureBlocking(false);
+				SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+				key.attach(new ClientHandler(new ChannelConnection(channel, key, this), server));
+			}
+		} catch (IOException e) {
+			log.error(e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads from and writes to the channel of a client. If the client closed
+	 * the connection or it failed, the client is logged out like in the
+	 * blocking transport.
+	 */
+	private void handle(SelectionKey key) {
+		ClientHandler handler = (ClientHandler) key.attachment();
+		ChannelConnection connection = handler.getConnection();
+		try {
+			if (key.isValid() && key.isReadable()
+					&& !connection.read(handler.getReceiver())) {
+				disconnect(handler);
+				return;
+			}
+			if (key.isValid() && key.isWritable() && !connection.write()) {
+				// a flush of another thread asks again if bytes are left
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		} catch (IOException | CancelledKeyException e) {
+			log.error(e.getMessage());
+			disconnect(handler);
+		}
+	}
+
+	private void disconnect(ClientHandler handler) {
+		handler.getReceiver().receiveEndOfInput();
+		try {
+			handler.getConnection().close();
+		} catch (IOException e) {
+			log.error(e.getMessage());
+		}
+		infoLog.info("Closed the channel of a client.");
+	}
+}
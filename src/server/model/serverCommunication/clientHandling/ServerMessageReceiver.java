@@ -1,31 +1,41 @@
 package server.model.serverCommunication.clientHandling;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONException;
-import org.json.JSONObject;
 
-import client.model.clientCommunication.ClientMessageBuilder;
+import server.model.serverCommunication.commands.Command;
+import server.model.serverCommunication.commands.DisconnectCommand;
+import server.model.serverCommunication.commands.MessageParser;
 import server.model.serverCommunication.queues.InputQueue;
-import server.model.serverCommunication.utility.WrappedJSONObject;
+import server.model.serverCommunication.utility.WrappedCommand;
 import shared.enums.JsonType;
 
 /**
  * Receives messages from the client.
  * <p>
- * It checks with the receiveInputGeneral method all incoming messages, sorts it by its type and then calls a specific
- * method for each type of message. Every instance of this class is controlled by its ClientHandler which handles the
+ * It checks with the receiveInputGeneral method all incoming messages, reads them with the MessageParser straight
+ * from their bytes into a Command and puts it into the InputQueue, no JSONObject is built for them. Every instance of this class is controlled by its ClientHandler which handles the
  * whole communication between a client. This class provides just the receiving functionalities.
  * 
  * @Version 16.01.2014
  * @see JsonType
+ * @see MessageParser
  * @see ClientHandler
  * @see ServerMessageSender
  */
 public final class ServerMessageReceiver {
 
+	/**
+	 * Charset of the messages
+	 */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
 	/**
 	 * Reference to the handler controlling this class
 	 */
@@ -42,14 +52,19 @@ public final class ServerMessageReceiver {
 	private static Logger warnLog = LogManager.getLogger("WARN");
 
 	/**
-	 * Info logger
+	 * Longest line a client may send in bytes, a client that sends a longer one is disconnected
 	 */
-	private static Logger infoLog = LogManager.getLogger("INFO");
+	static final int MAX_LINE = 64 * 1024;
 
 	/**
 	 * Boolean flag to indicate whether the client sent null or not.
 	 */
-	private boolean nullInput;
+	private volatile boolean nullInput;
+
+	/**
+	 * Bytes of the line the blocking reader reads, only used by the thread of the handler
+	 */
+	private byte[] line = new byte[8192];
 
 	/**
 	 * Constructs a receiver for one connected client.
@@ -64,35 +79,75 @@ public final class ServerMessageReceiver {
 	}
 
 	/**
-	 * Receives all messages from the client and sorts it out by its type. Then calls a specific method for each type
+	 * Receives all messages from the client and sorts it out by its type. Then calls a specific method for each type.
+	 * The input ends at the end of the stream and when the socket can't be read any more.
 	 */
 	public void receiveInputGeneral() {
-		String jsonText = null;
 		try {
-			
-			if((jsonText = handler.getIn().readLine()) != null){
-				infoLog.info("CLIENT ---> SERVER : " + jsonText);
-				
-				JSONObject jsonObject = new JSONObject(jsonText);
-				InputQueue.addElement(new WrappedJSONObject(jsonObject, handler));	
-				
-				if(JsonType.fromString(jsonObject.optString("type")).equals(JsonType.DISCONNECT)){
-					nullInput = true;
-				}				
-			}
-			else{
-				if (!nullInput) {
-					InputQueue.addElement(new WrappedJSONObject(ClientMessageBuilder
-							.writeLogoutMessage(), handler));
-					warnLog.warn("Received null input, disconnecting client...");
+			InputStream in = handler.getIn();
+			int length = 0;
+			int b;
+			while ((b = in.read()) != '\n') {
+				if (b < 0) {
+					receiveEndOfInput();
+					return;
+				}
+				if (length == MAX_LINE) {
+					log.error("Line longer than " + MAX_LINE + " bytes, disconnecting client...");
+					handler.dropConnection();
+					return;
+				}
+				if (length == line.length) {
+					line = Arrays.copyOf(line, line.length * 2);
 				}
+				line[length++] = (byte) b;
+			}
+			if (length > 0 && line[length - 1] == '\r') {
+				length--;
+			}
+			receiveLine(line, length);
+
+		} catch (IOException e) {
+			// a reset or closed socket ends the input like the end of the stream
+			log.error(e.getMessage());
+			receiveEndOfInput();
+		}
+	}
+
+	/**
+	 * Reads one line the client sent into a Command and puts it into the InputQueue. Is invoked by the blocking
+	 * reader and by the SelectorServer.
+	 * 
+	 * @param bytes bytes of the line, they may be changed after this method returned
+	 * @param length length of the line without the newline
+	 */
+	void receiveLine(byte[] bytes, int length) {
+		try {
+			Command command = MessageParser.parse(bytes, 0, length);
+			ProtocolTrace.received(handler, command.getType(), bytes, length);
+			InputQueue.addElement(new WrappedCommand(command, handler));
+			
+			if(JsonType.DISCONNECT.equals(command.getType())){
 				nullInput = true;
-				warnLog.warn("Received null input");
 			}
+		} catch (JSONException e) {
+			ProtocolTrace.received(handler, null, bytes, length);
+			log.error(e.getMessage() + "text: "
+					+ new String(bytes, 0, length, UTF8));
+		}
+	}
 
-		} catch (JSONException | IOException e) {
-			log.error(e.getMessage() + "text: " + jsonText);
+	/**
+	 * Logs the client out after its connection ended, if it didn't disconnect itself.
+	 */
+	void receiveEndOfInput() {
+		if (!nullInput) {
+			InputQueue.addElement(new WrappedCommand(
+					new DisconnectCommand(1), handler));
+			warnLog.warn("Received null input, disconnecting client...");
 		}
+		nullInput = true;
+		warnLog.warn("Received null input");
 	}
 	
 	public boolean getNullInput(){
@@ -3,12 +3,14 @@ package server.model.serverCommunication.clientHandling;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
 
 import server.model.game.ServerGame;
+import server.model.serverCommunication.utility.EncodedMessage;
 import server.model.serverCommunication.utility.ServerMessageBuilder;
 import shared.enums.CapabilitiesType;
 import shared.enums.Reason;
@@ -27,6 +29,8 @@ import shared.model.Position;
  * @see ClientHandler
  * @see ServerMessageBuilder
  * @see ServerMessageReceiver
+ * @see Outbox
+ * @see ProtocolTrace
  */
 public final class ServerMessageSender {
 
@@ -35,11 +39,6 @@ public final class ServerMessageSender {
 	 */
 	private static Logger log = LogManager.getLogger("ERROR");
 
-	/**
-	 * Info logger
-	 */
-	private static Logger infoLog = LogManager.getLogger("INFO");
-
 	/**
 	 * Reference to the handler which controls this sender
 	 */
@@ -58,21 +57,62 @@ public final class ServerMessageSender {
 	/**
 	 * Sends the message to the client.
 	 * Is invoked by every other method that wants to send a message to the client.
+	 * The message is sent after the messages that already wait in the Outbox of the client.
 	 * 
 	 * @param json message to be sent to client
 	 */
 	public void sendMessageGeneral(JSONObject json) {
+		handler.getOutbox().offer(json);
+	}
+
+	/**
+	 * Sends a message that is already encoded to the client, after the messages that already wait in the Outbox.
+	 * 
+	 * @param message message to be sent to client
+	 */
+	public void sendMessageGeneral(EncodedMessage message) {
+		handler.getOutbox().offer(message);
+	}
 
-		infoLog.info("SERVER ---> CLIENT : " + json);
+	/**
+	 * Writes the message without flushing. Is invoked by the writer of the Outbox.
+	 * A client with the binary protocol gets the message as frames.
+	 * 
+	 * @param message encoded message to be sent to client
+	 */
+	void writeMessage(EncodedMessage message) {
+
+		ProtocolTrace.sent(handler, message);
+		Set<CapabilitiesType> capa = handler.getCapabilities();
+		if (capa != null && capa.contains(CapabilitiesType.BINARY)) {
+			message = message.toFrames();
+		}
 		try {
-			if (!handler.getSocket().isClosed()
+			if (handler.getConnection() != null) {
+				handler.getConnection().append(message);
+			} else if (!handler.getSocket().isClosed()
 					|| handler.getSocket().isInputShutdown()
 					|| handler.getSocket().isOutputShutdown()) {
-				handler.getOut().write(json.toString() + "\n");
+				message.writeTo(handler.getOut());
+			}
+		} catch (IOException e) {
+			handler.dropConnection();
+			log.error(e.getMessage());
+		}
+	}
+
+	/**
+	 * Sends everything that was written. Is invoked by the writer of the Outbox after a batch of messages.
+	 */
+	void flush() {
+		try {
+			if (handler.getConnection() != null) {
+				handler.getConnection().flush();
+			} else if (!handler.getSocket().isClosed()) {
 				handler.getOut().flush();
 			}
 		} catch (IOException e) {
-			handler.performLogout();
+			handler.dropConnection();
 			log.error(e.getMessage());
 		}
 	}
@@ -0,0 +1,49 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'chat' message to the lobby, to one user or to a game: type, sender id,
+ * message and optionally receiver id, game id and one more field.
+ */
+public final class ChatCommand extends Command {
+
+	private final String senderID;
+
+	private final String message;
+
+	/**
+	 * Empty if the message isn't for one user
+	 */
+	private final String receiverID;
+
+	/**
+	 * 0 if the message isn't for a game
+	 */
+	private final int gameID;
+
+	public ChatCommand(int fieldCount, String senderID, String message,
+			String receiverID, int gameID) {
+		super(JsonType.CHAT, fieldCount, fieldCount >= 4 && fieldCount <= 6);
+		this.senderID = senderID;
+		this.message = message;
+		this.receiverID = receiverID;
+		this.gameID = gameID;
+	}
+
+	public String getSenderID() {
+		return senderID;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public String getReceiverID() {
+		return receiverID;
+	}
+
+	public int getGameID() {
+		return gameID;
+	}
+}
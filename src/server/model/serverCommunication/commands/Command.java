@@ -0,0 +1,60 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A message a client sent, read into its fields by the MessageParser.
+ * <p>
+ * Every type of message has its own subclass with the fields of the message.
+ * A message of an unknown type is a Command. The commands can't be changed
+ * after they were created.
+ * <p>
+ * Whether a message fits the schema of its type, like the number of its
+ * fields, is checked once when the command is created. A command that doesn't
+ * fit is rejected without being handled.
+ *
+ * @see MessageParser
+ */
+public class Command {
+
+	/**
+	 * Type of the message, null if the type is unknown
+	 */
+	private final JsonType type;
+
+	/**
+	 * Number of fields of the message, the type is one of them
+	 */
+	private final int fieldCount;
+
+	/**
+	 * True if the message fits the schema of its type
+	 */
+	private final boolean valid;
+
+	/**
+	 * @param type
+	 *            type of the message, null if the type is unknown
+	 * @param fieldCount
+	 *            number of fields of the message
+	 * @param valid
+	 *            true if the message fits the schema of its type
+	 */
+	public Command(JsonType type, int fieldCount, boolean valid) {
+		this.type = type;
+		this.fieldCount = fieldCount;
+		this.valid = valid;
+	}
+
+	public JsonType getType() {
+		return type;
+	}
+
+	public int getFieldCount() {
+		return fieldCount;
+	}
+
+	public boolean isValid() {
+		return valid;
+	}
+}
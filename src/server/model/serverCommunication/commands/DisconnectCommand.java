@@ -0,0 +1,13 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'disconnect' message, any fields besides the type are ignored.
+ */
+public final class DisconnectCommand extends Command {
+
+	public DisconnectCommand(int fieldCount) {
+		super(JsonType.DISCONNECT, fieldCount, true);
+	}
+}
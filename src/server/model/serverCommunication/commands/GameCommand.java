@@ -0,0 +1,25 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A message about one game, the commands of 'join game', 'leave game', 'watch
+ * game', 'start game' and 'resync' extend it.
+ */
+public abstract class GameCommand extends Command {
+
+	private final int gameID;
+
+	/**
+	 * @param fields
+	 *            number of fields the schema of the type allows
+	 */
+	GameCommand(JsonType type, int fieldCount, int fields, int gameID) {
+		super(type, fieldCount, fieldCount == fields);
+		this.gameID = gameID;
+	}
+
+	public int getGameID() {
+		return gameID;
+	}
+}
@@ -0,0 +1,20 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'join game' message: type, game id and color.
+ */
+public final class JoinGameCommand extends GameCommand {
+
+	private final String color;
+
+	public JoinGameCommand(int fieldCount, int gameID, String color) {
+		super(JsonType.JOINGAME, fieldCount, 3, gameID);
+		this.color = color;
+	}
+
+	public String getColor() {
+		return color;
+	}
+}
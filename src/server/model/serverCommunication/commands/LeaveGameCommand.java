@@ -0,0 +1,13 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'leave game' message: type and game id.
+ */
+public final class LeaveGameCommand extends GameCommand {
+
+	public LeaveGameCommand(int fieldCount, int gameID) {
+		super(JsonType.LEAVEGAME, fieldCount, 2, gameID);
+	}
+}
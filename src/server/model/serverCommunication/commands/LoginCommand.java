@@ -0,0 +1,49 @@
+package server.model.serverCommunication.commands;
+
+import java.util.Collections;
+import java.util.Set;
+
+import shared.enums.CapabilitiesType;
+import shared.enums.JsonType;
+
+/**
+ * A 'login' message: type, nick and an array of capabilities. A client that
+ * wants binary frames also sends the hash of its tile catalog.
+ */
+public final class LoginCommand extends Command {
+
+	private final String nick;
+
+	/**
+	 * The capabilities the server knows, null if the message had no array of
+	 * capabilities
+	 */
+	private final Set<CapabilitiesType> capabilities;
+
+	/**
+	 * Hash of the tile catalog of the client, null if the message had none
+	 */
+	private final Integer tileCatalog;
+
+	public LoginCommand(int fieldCount, String nick,
+			Set<CapabilitiesType> capabilities, Integer tileCatalog) {
+		super(JsonType.LOGIN, fieldCount, capabilities != null
+				&& fieldCount == (tileCatalog == null ? 3 : 4));
+		this.nick = nick;
+		this.tileCatalog = tileCatalog;
+		this.capabilities = capabilities == null ? null : Collections
+				.unmodifiableSet(capabilities);
+	}
+
+	public String getNick() {
+		return nick;
+	}
+
+	public Set<CapabilitiesType> getCapabilities() {
+		return capabilities;
+	}
+
+	public Integer getTileCatalog() {
+		return tileCatalog;
+	}
+}
@@ -0,0 +1,599 @@
+package server.model.serverCommunication.commands;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONException;
+
+import shared.enums.CapabilitiesType;
+import shared.enums.JsonType;
+import shared.enums.SpecialMeepleType;
+
+/**
+ * Reads the message of a client from its bytes into a Command, without
+ * building a JSONObject.
+ * <p>
+ * The fields are read in one pass straight from the bytes of the line. The
+ * names of the fields are compared as bytes, only the values of the known
+ * fields become Strings, everything else is skipped. Numbers and texts are
+ * turned into each other like optInt and optString of a JSONObject do, so a
+ * message means the same as before. A message that isn't JSON or has a field
+ * twice is rejected with a JSONException, like the JSONObject did. Whether the
+ * message fits the schema of its type is checked by its Command.
+ *
+ * @see Command
+ */
+public final class MessageParser {
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/*
+	 * The names of the fields that are read
+	 */
+	private static final byte[][] FIELDS = { bytes("type"), bytes("nick"),
+			bytes("capabilities"), bytes("game id"), bytes("action"),
+			bytes("name"), bytes("color"), bytes("extensions"),
+			bytes("turntime"), bytes("sender id"), bytes("receiver id"),
+			bytes("message"), bytes("tile catalog") };
+
+	private static final int TYPE = 0;
+	private static final int NICK = 1;
+	private static final int CAPABILITIES = 2;
+	private static final int GAME_ID = 3;
+	private static final int ACTION = 4;
+	private static final int NAME = 5;
+	private static final int COLOR = 6;
+	private static final int EXTENSIONS = 7;
+	private static final int TURNTIME = 8;
+	private static final int SENDER_ID = 9;
+	private static final int RECEIVER_ID = 10;
+	private static final int MESSAGE = 11;
+	private static final int TILE_CATALOG = 12;
+
+	/*
+	 * The names of the fields of an action
+	 */
+	private static final byte[][] ACTION_FIELDS = { bytes("x"), bytes("y"),
+			bytes("rotation"), bytes("placement"), bytes("special meeple") };
+
+	private static final int X = 0;
+	private static final int Y = 1;
+	private static final int ROTATION = 2;
+	private static final int PLACEMENT = 3;
+	private static final int SPECIAL_MEEPLE = 4;
+
+	private final byte[] buf;
+
+	private int pos;
+
+	private final int end;
+
+	/**
+	 * The values of the fields as text by their index in FIELDS
+	 */
+	private final String[] values = new String[FIELDS.length];
+
+	private final String[] actionValues = new String[ACTION_FIELDS.length];
+
+	private boolean hasAction;
+
+	private List<String> capabilities;
+
+	private List<String> extensions;
+
+	/**
+	 * Start and end of the names of the fields that were read, to find a
+	 * field that is there twice
+	 */
+	private int[] names = new int[16];
+
+	/**
+	 * Start and end of the name that was read last
+	 */
+	private int nameStart;
+
+	private int nameEnd;
+
+	private int fieldCount;
+
+	private MessageParser(byte[] buf, int offset, int length) {
+		this.buf = buf;
+		this.pos = offset;
+		this.end = offset + length;
+	}
+
+	/**
+	 * Reads a message.
+	 *
+	 * @param buf
+	 *            bytes of the line
+	 * @param offset
+	 *            where the message begins
+	 * @param length
+	 *            number of bytes of the message, without the newline
+	 * @return the message as Command
+	 * @throws JSONException
+	 *             if the message isn't a JSON object or has a field twice
+	 */
+	public static Command parse(byte[] buf, int offset, int length) {
+		MessageParser parser = new MessageParser(buf, offset, length);
+		parser.readMessage();
+		return parser.toCommand();
+	}
+
+	/**
+	 * Reads a message that is a String.
+	 *
+	 * @see #parse(byte[], int, int)
+	 */
+	public static Command parse(String text) {
+		byte[] bytes = text.getBytes(UTF8);
+		return parse(bytes, 0, bytes.length);
+	}
+
+	private Command toCommand() {
+		JsonType type = JsonType.fromString(text(TYPE));
+		if (type == null) {
+			return new Command(null, fieldCount, false);
+		}
+		int gameID = toInt(values[GAME_ID]);
+		switch (type) {
+		case MOVE:
+			if (!hasAction) {
+				return new MoveCommand(fieldCount);
+			}
+			int placement = -1;
+			String place = actionValues[PLACEMENT];
+			if (place != null && !place.equals("")) {
+				try {
+					placement = Integer.parseInt(place);
+				} catch (NumberFormatException e) {
+					return new MoveCommand(fieldCount);
+				}
+			}
+			return new MoveCommand(fieldCount, gameID, toInt(actionValues[X]),
+					toInt(actionValues[Y]), toInt(actionValues[ROTATION]),
+					placement,
+					SpecialMeepleType.fromString(actionText(SPECIAL_MEEPLE)));
+		case CHAT:
+			return new ChatCommand(fieldCount, text(SENDER_ID), text(MESSAGE),
+					text(RECEIVER_ID), gameID);
+		case LOGIN:
+			return new LoginCommand(fieldCount, text(NICK),
+					capabilities == null ? null : toCapabilities(capabilities),
+					values[TILE_CATALOG] == null ? null
+							: toInt(values[TILE_CATALOG]));
+		case NEWGAME:
+			Set<CapabilitiesType> ext = EnumSet.noneOf(CapabilitiesType.class);
+			if (extensions != null) {
+				ext = toCapabilities(extensions);
+			}
+			return new NewGameCommand(fieldCount, text(NAME), text(COLOR),
+					ext, toInt(values[TURNTIME]));
+		case JOINGAME:
+			return new JoinGameCommand(fieldCount, gameID, text(COLOR));
+		case LEAVEGAME:
+			return new LeaveGameCommand(fieldCount, gameID);
+		case WATCHGAME:
+			return new WatchGameCommand(fieldCount, gameID);
+		case STARTGAME:
+			return new StartGameCommand(fieldCount, gameID);
+		case RESYNC:
+			return new ResyncCommand(fieldCount, gameID);
+		case DISCONNECT:
+			return new DisconnectCommand(fieldCount);
+		default:
+			// a type only the server sends
+			return new Command(type, fieldCount, false);
+		}
+	}
+
+	/**
+	 * Names the server doesn't know are left out.
+	 */
+	private static Set<CapabilitiesType> toCapabilities(List<String> names) {
+		Set<CapabilitiesType> result = EnumSet.noneOf(CapabilitiesType.class);
+		for (String name : names) {
+			CapabilitiesType capa = CapabilitiesType.fromString(name);
+			if (capa != null) {
+				result.add(capa);
+			}
+		}
+		return result;
+	}
+
+	private String text(int field) {
+		return values[field] == null ? "" : values[field];
+	}
+
+	private String actionText(int field) {
+		return actionValues[field] == null ? "" : actionValues[field];
+	}
+
+	/**
+	 * Turns a value into an int like optInt does, 0 if it is no number.
+	 */
+	private static int toInt(String value) {
+		if (value == null || value.isEmpty()) {
+			return 0;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			try {
+				return new BigDecimal(value).intValue();
+			} catch (NumberFormatException e1) {
+				return 0;
+			}
+		}
+	}
+
+	/*
+	 * READING BELOW
+	 */
+
+	private void readMessage() {
+		skipWhitespace();
+		expect('{');
+		skipWhitespace();
+		if (peek() == '}') {
+			pos++;
+		} else {
+			while (true) {
+				int field = readName(FIELDS);
+				addName();
+				skipWhitespace();
+				expect(':');
+				readField(field);
+				if (!next('}')) {
+					break;
+				}
+			}
+		}
+		// text after the message is ignored like the JSONObject does
+	}
+
+	private void readField(int field) {
+		skipWhitespace();
+		switch (field) {
+		case ACTION:
+			if (peek() == '{') {
+				hasAction = true;
+				readAction();
+			} else {
+				hasAction = false;
+				skipValue();
+			}
+			break;
+		case CAPABILITIES:
+			capabilities = readTextArray();
+			break;
+		case EXTENSIONS:
+			extensions = readTextArray();
+			break;
+		case -1:
+			skipValue();
+			break;
+		default:
+			values[field] = readText();
+		}
+	}
+
+	private void readAction() {
+		pos++;
+		skipWhitespace();
+		if (peek() == '}') {
+			pos++;
+			return;
+		}
+		while (true) {
+			int field = readName(ACTION_FIELDS);
+			skipWhitespace();
+			expect(':');
+			skipWhitespace();
+			if (field < 0) {
+				skipValue();
+			} else {
+				actionValues[field] = readText();
+			}
+			if (!next('}')) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Reads ',' or the closing bracket.
+	 *
+	 * @return true if a ',' was read
+	 */
+	private boolean next(char close) {
+		skipWhitespace();
+		byte b = peek();
+		pos++;
+		if (b == ',') {
+			skipWhitespace();
+			return true;
+		}
+		if (b != close) {
+			throw error("Expected ',' or '" + close + "'");
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the texts of an array, null if the value isn't an array.
+	 */
+	private List<String> readTextArray() {
+		if (peek() != '[') {
+			skipValue();
+			return null;
+		}
+		pos++;
+		List<String> result = new ArrayList<>();
+		skipWhitespace();
+		if (peek() == ']') {
+			pos++;
+			return result;
+		}
+		do {
+			skipWhitespace();
+			result.add(readText());
+		} while (next(']'));
+		return result;
+	}
+
+	/**
+	 * Reads a value as text like optString does, null is an empty text.
+	 */
+	private String readText() {
+		byte b = peek();
+		if (b == '"' || b == '\'') {
+			return readString();
+		}
+		int start = pos;
+		if (b == '{' || b == '[') {
+			skipValue();
+			return new String(buf, start, pos - start, UTF8);
+		}
+		String literal = readLiteral();
+		return literal.equals("null") ? "" : literal;
+	}
+
+	/**
+	 * Returns the index of the name in the names, -1 if it isn't there.
+	 */
+	private int readName(byte[][] known) {
+		byte b = peek();
+		if (b != '"' && b != '\'') {
+			nameStart = pos;
+			byte[] name = bytes(readLiteral());
+			nameEnd = pos;
+			return indexOf(known, name);
+		}
+		int start = pos + 1;
+		int close = start;
+		while (close < end && buf[close] != b) {
+			if (buf[close] == '\\') {
+				// a name with escapes is compared as text
+				nameStart = start;
+				byte[] name = bytes(readString());
+				nameEnd = pos - 1;
+				return indexOf(known, name);
+			}
+			close++;
+		}
+		if (close == end) {
+			throw error("Unterminated string");
+		}
+		pos = close + 1;
+		nameStart = start;
+		nameEnd = close;
+		for (int i = 0; i < known.length; i++) {
+			if (equals(known[i], buf, start, close - start)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Notes the name that was read last, it may not be there twice.
+	 */
+	private void addName() {
+		int length = nameEnd - nameStart;
+		for (int i = 0; i < fieldCount; i++) {
+			int start = names[2 * i];
+			if (names[2 * i + 1] - start == length
+					&& equals(buf, start, buf, nameStart, length)) {
+				throw error("Duplicate key");
+			}
+		}
+		if (2 * fieldCount + 1 >= names.length) {
+			names = Arrays.copyOf(names, names.length * 2);
+		}
+		names[2 * fieldCount] = nameStart;
+		names[2 * fieldCount + 1] = nameEnd;
+		fieldCount++;
+	}
+
+	private String readString() {
+		byte quote = buf[pos++];
+		int start = pos;
+		while (pos < end && buf[pos] != quote && buf[pos] != '\\') {
+			pos++;
+		}
+		if (pos == end) {
+			throw error("Unterminated string");
+		}
+		if (buf[pos] == quote) {
+			return new String(buf, start, pos++ - start, UTF8);
+		}
+		// slow way for a string with escapes
+		StringBuilder text = new StringBuilder(new String(buf, start, pos
+				- start, UTF8));
+		while (true) {
+			if (pos >= end) {
+				throw error("Unterminated string");
+			}
+			byte b = buf[pos];
+			if (b == quote) {
+				pos++;
+				return text.toString();
+			}
+			if (b != '\\') {
+				int part = pos;
+				while (pos < end && buf[pos] != quote && buf[pos] != '\\') {
+					pos++;
+				}
+				text.append(new String(buf, part, pos - part, UTF8));
+				continue;
+			}
+			if (pos + 1 >= end) {
+				throw error("Unterminated string");
+			}
+			byte escaped = buf[pos + 1];
+			pos += 2;
+			switch (escaped) {
+			case 'b':
+				text.append('\b');
+				break;
+			case 't':
+				text.append('\t');
+				break;
+			case 'n':
+				text.append('\n');
+				break;
+			case 'f':
+				text.append('\f');
+				break;
+			case 'r':
+				text.append('\r');
+				break;
+			case 'u':
+				if (pos + 4 > end) {
+					throw error("Illegal escape");
+				}
+				try {
+					text.append((char) Integer.parseInt(new String(buf, pos,
+							4, UTF8), 16));
+				} catch (NumberFormatException e) {
+					throw error("Illegal escape");
+				}
+				pos += 4;
+				break;
+			case '"':
+			case '\'':
+			case '\\':
+			case '/':
+				text.append((char) escaped);
+				break;
+			default:
+				throw error("Illegal escape");
+			}
+		}
+	}
+
+	/**
+	 * Reads a number, true, false, null or a text without quotes.
+	 */
+	private String readLiteral() {
+		int start = pos;
+		while (pos < end && ",:]}/\\\"[{;=#'".indexOf(buf[pos]) < 0
+				&& !isWhitespace(buf[pos])) {
+			pos++;
+		}
+		if (pos == start) {
+			throw error("Missing value");
+		}
+		return new String(buf, start, pos - start, UTF8);
+	}
+
+	private void skipValue() {
+		byte b = peek();
+		if (b == '"' || b == '\'') {
+			readString();
+		} else if (b == '{' || b == '[') {
+			byte close = b == '{' ? (byte) '}' : (byte) ']';
+			pos++;
+			skipWhitespace();
+			if (peek() == close) {
+				pos++;
+				return;
+			}
+			do {
+				skipWhitespace();
+				if (close == '}') {
+					readName(FIELDS);
+					skipWhitespace();
+					expect(':');
+					skipWhitespace();
+				}
+				skipValue();
+			} while (next((char) close));
+		} else {
+			readLiteral();
+		}
+	}
+
+	private void skipWhitespace() {
+		while (pos < end && isWhitespace(buf[pos])) {
+			pos++;
+		}
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+	}
+
+	private byte peek() {
+		if (pos >= end) {
+			throw error("Unexpected end of the message");
+		}
+		return buf[pos];
+	}
+
+	private void expect(char c) {
+		if (peek() != c) {
+			throw error("Expected '" + c + "'");
+		}
+		pos++;
+	}
+
+	private JSONException error(String message) {
+		return new JSONException(message + " at " + pos);
+	}
+
+	private static int indexOf(byte[][] known, byte[] name) {
+		for (int i = 0; i < known.length; i++) {
+			if (Arrays.equals(known[i], name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean equals(byte[] name, byte[] buf, int start,
+			int length) {
+		return name.length == length && equals(name, 0, buf, start, length);
+	}
+
+	private static boolean equals(byte[] a, int startA, byte[] b, int startB,
+			int length) {
+		for (int i = 0; i < length; i++) {
+			if (a[startA + i] != b[startB + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(UTF8);
+	}
+}
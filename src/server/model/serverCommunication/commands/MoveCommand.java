@@ -0,0 +1,77 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+import shared.enums.SpecialMeepleType;
+
+/**
+ * A 'move' message: type, game id and an action with x, y, rotation and
+ * optionally placement and special meeple.
+ */
+public final class MoveCommand extends Command {
+
+	private final int gameID;
+
+	private final int x;
+
+	private final int y;
+
+	private final int rotation;
+
+	/**
+	 * Area of the meeple, -1 if no meeple was set
+	 */
+	private final int placement;
+
+	/**
+	 * Null if the meeple is no special meeple
+	 */
+	private final SpecialMeepleType specialMeeple;
+
+	/**
+	 * A move without a readable action, it is never valid.
+	 */
+	public MoveCommand(int fieldCount) {
+		super(JsonType.MOVE, fieldCount, false);
+		this.gameID = 0;
+		this.x = 0;
+		this.y = 0;
+		this.rotation = 0;
+		this.placement = -1;
+		this.specialMeeple = null;
+	}
+
+	public MoveCommand(int fieldCount, int gameID, int x, int y, int rotation,
+			int placement, SpecialMeepleType specialMeeple) {
+		super(JsonType.MOVE, fieldCount, fieldCount == 3);
+		this.gameID = gameID;
+		this.x = x;
+		this.y = y;
+		this.rotation = rotation;
+		this.placement = placement;
+		this.specialMeeple = specialMeeple;
+	}
+
+	public int getGameID() {
+		return gameID;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public int getRotation() {
+		return rotation;
+	}
+
+	public int getPlacement() {
+		return placement;
+	}
+
+	public SpecialMeepleType getSpecialMeeple() {
+		return specialMeeple;
+	}
+}
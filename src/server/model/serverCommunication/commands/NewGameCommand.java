@@ -0,0 +1,54 @@
+package server.model.serverCommunication.commands;
+
+import java.util.Collections;
+import java.util.Set;
+
+import shared.enums.CapabilitiesType;
+import shared.enums.JsonType;
+
+/**
+ * A 'new game' message: type, name, color and optionally extensions and turn
+ * time.
+ */
+public final class NewGameCommand extends Command {
+
+	private final String name;
+
+	private final String color;
+
+	/**
+	 * The extensions the server knows, empty if there were none
+	 */
+	private final Set<CapabilitiesType> extensions;
+
+	/**
+	 * 0 if the message had no turn time
+	 */
+	private final int turnTime;
+
+	public NewGameCommand(int fieldCount, String name, String color,
+			Set<CapabilitiesType> extensions, int turnTime) {
+		super(JsonType.NEWGAME, fieldCount, fieldCount >= 3
+				&& fieldCount <= 5);
+		this.name = name;
+		this.color = color;
+		this.extensions = Collections.unmodifiableSet(extensions);
+		this.turnTime = turnTime;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getColor() {
+		return color;
+	}
+
+	public Set<CapabilitiesType> getExtensions() {
+		return extensions;
+	}
+
+	public int getTurnTime() {
+		return turnTime;
+	}
+}
@@ -0,0 +1,13 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'resync' message: type and game id.
+ */
+public final class ResyncCommand extends GameCommand {
+
+	public ResyncCommand(int fieldCount, int gameID) {
+		super(JsonType.RESYNC, fieldCount, 2, gameID);
+	}
+}
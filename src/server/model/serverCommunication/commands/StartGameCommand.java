@@ -0,0 +1,13 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'start game' message: type and game id.
+ */
+public final class StartGameCommand extends GameCommand {
+
+	public StartGameCommand(int fieldCount, int gameID) {
+		super(JsonType.STARTGAME, fieldCount, 2, gameID);
+	}
+}
@@ -0,0 +1,13 @@
+package server.model.serverCommunication.commands;
+
+import shared.enums.JsonType;
+
+/**
+ * A 'watch game' message: type and game id.
+ */
+public final class WatchGameCommand extends GameCommand {
+
+	public WatchGameCommand(int fieldCount, int gameID) {
+		super(JsonType.WATCHGAME, fieldCount, 2, gameID);
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * The messages of the clients as typed commands and the parser that reads
+ * them from the received bytes.
+ *
+ */
+package server.model.serverCommunication.commands;
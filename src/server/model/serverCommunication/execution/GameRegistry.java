@@ -0,0 +1,193 @@
+package server.model.serverCommunication.execution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import server.model.game.ServerGame;
+import shared.enums.CapabilitiesType;
+
+/**
+ * The games of the server with the indexes that are needed to answer a message
+ * without looking at every game.
+ * <p>
+ * Besides the games by their ID it knows the games by the set of their
+ * extensions, the game a user hosts and the games a user plays in. All maps
+ * are concurrent, so the lanes of MessageClassification and the
+ * CleaningThread read them without locks. The indexes are changed only
+ * through this class, together with the games by their ID.
+ *
+ * @see ServerControl
+ */
+final class GameRegistry {
+
+	/**
+	 * Games by their ID
+	 */
+	private final Map<Integer, ServerGame> games = new ConcurrentHashMap<>();
+
+	/**
+	 * Games by the set of their extensions
+	 */
+	private final ConcurrentMap<Set<CapabilitiesType>, Map<Integer, ServerGame>> byExtensions = new ConcurrentHashMap<>();
+
+	/**
+	 * Game by the nick of its host
+	 */
+	private final Map<String, ServerGame> byHost = new ConcurrentHashMap<>();
+
+	/**
+	 * IDs of the games by the nick of a player in them
+	 */
+	private final ConcurrentMap<String, Set<Integer>> byPlayer = new ConcurrentHashMap<>();
+
+	/**
+	 * Adds a new game, its host is its first player.
+	 *
+	 * @param game
+	 *            the new game
+	 */
+	void add(ServerGame game) {
+		games.put(game.getGameID(), game);
+		Map<Integer, ServerGame> sameExtensions = byExtensions
+				.get(extensionsOf(game));
+		if (sameExtensions == null) {
+			sameExtensions = new ConcurrentHashMap<>();
+			Map<Integer, ServerGame> existing = byExtensions.putIfAbsent(
+					extensionsOf(game), sameExtensions);
+			if (existing != null) {
+				sameExtensions = existing;
+			}
+		}
+		sameExtensions.put(game.getGameID(), game);
+		byHost.put(game.getHost().getNick(), game);
+		join(game.getHost().getNick(), game.getGameID());
+	}
+
+	/**
+	 * Removes a game from all indexes.
+	 *
+	 * @param gameID
+	 *            ID of the game
+	 * @return the removed game, null if there was none
+	 */
+	ServerGame remove(int gameID) {
+		ServerGame game = games.remove(gameID);
+		if (game == null) {
+			return null;
+		}
+		Map<Integer, ServerGame> sameExtensions = byExtensions
+				.get(extensionsOf(game));
+		if (sameExtensions != null) {
+			sameExtensions.remove(gameID);
+		}
+		byHost.remove(game.getHost().getNick(), game);
+		for (String nick : game.getPlayerList().keySet()) {
+			leave(nick, gameID);
+		}
+		leave(game.getHost().getNick(), gameID);
+		return game;
+	}
+
+	/**
+	 * Notes that a user plays in a game.
+	 */
+	void join(String nick, int gameID) {
+		Set<Integer> ids = byPlayer.get(nick);
+		if (ids == null) {
+			ids = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+			Set<Integer> existing = byPlayer.putIfAbsent(nick, ids);
+			if (existing != null) {
+				ids = existing;
+			}
+		}
+		ids.add(gameID);
+	}
+
+	/**
+	 * Notes that a user doesn't play in a game any more. The empty set of the
+	 * user stays, a join on another lane could use it at the same time.
+	 */
+	void leave(String nick, int gameID) {
+		Set<Integer> ids = byPlayer.get(nick);
+		if (ids != null) {
+			ids.remove(gameID);
+		}
+	}
+
+	ServerGame get(int gameID) {
+		return games.get(gameID);
+	}
+
+	boolean contains(int gameID) {
+		return games.containsKey(gameID);
+	}
+
+	Collection<ServerGame> values() {
+		return games.values();
+	}
+
+	/**
+	 * Returns the game a user hosts, null if the user hosts none.
+	 */
+	ServerGame getHostedBy(String nick) {
+		return byHost.get(nick);
+	}
+
+	/**
+	 * Returns the games a user plays in.
+	 */
+	List<ServerGame> getGamesOf(String nick) {
+		List<ServerGame> result = new ArrayList<>();
+		Set<Integer> ids = byPlayer.get(nick);
+		if (ids != null) {
+			for (int id : ids) {
+				ServerGame game = games.get(id);
+				if (game != null) {
+					result.add(game);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the games whose extensions are all in the given capabilities.
+	 * Only the sets of extensions are compared, not every game.
+	 *
+	 * @param capabilities
+	 *            capabilities of a client
+	 * @return the games by their ID
+	 */
+	Map<Integer, ServerGame> getVisibleFor(Collection<CapabilitiesType> capabilities) {
+		Map<Integer, ServerGame> result = new HashMap<>();
+		for (Map.Entry<Set<CapabilitiesType>, Map<Integer, ServerGame>> entry : byExtensions
+				.entrySet()) {
+			if (capabilities.containsAll(entry.getKey())) {
+				result.putAll(entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the games by their ID, the map can't be changed.
+	 */
+	Map<Integer, ServerGame> asMap() {
+		return Collections.unmodifiableMap(games);
+	}
+
+	private static Set<CapabilitiesType> extensionsOf(ServerGame game) {
+		if (game.getExtension() == null) {
+			return Collections.emptySet();
+		}
+		return new HashSet<>(game.getExtension());
+	}
+}
@@ -0,0 +1,175 @@
+package server.model.serverCommunication.execution;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONArray;
+import org.json.JSONString;
+
+import server.model.game.ServerGame;
+import shared.enums.CapabilitiesType;
+
+/**
+ * The games and users of the lobby as they are sent in a 'login succeeded'
+ * message, already encoded.
+ * <p>
+ * Every game is encoded once and again only after it changed. The array of the
+ * games a client can see is put together from these parts once per set of
+ * capabilities and kept until the next change, the array of the nicks until a
+ * user logs in or out. So many logins after another don't encode the whole
+ * lobby again. Every change gets a new version; a part that was encoded before
+ * the last change of its game is encoded again. The change of a game is
+ * recorded before its version is published, so an array that is built for the
+ * new version can't take the old encoding of the game.
+ *
+ * @see ServerControl
+ */
+final class LobbySnapshot {
+
+	/**
+	 * Text of a JSON value that is written as it is.
+	 */
+	private static final class Encoded implements JSONString {
+
+		/**
+		 * Version at which the encoding began
+		 */
+		private final long version;
+
+		private final String text;
+
+		private Encoded(long version, String text) {
+			this.version = version;
+			this.text = text;
+		}
+
+		@Override
+		public String toJSONString() {
+			return text;
+		}
+	}
+
+	/**
+	 * Games of the server
+	 */
+	private final GameRegistry games;
+
+	/**
+	 * Version of the last change of a game
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Version of the last login or logout
+	 */
+	private final AtomicLong userVersion = new AtomicLong();
+
+	/**
+	 * Version of the last change by gameID
+	 */
+	private final ConcurrentMap<Integer, Long> changed = new ConcurrentHashMap<>();
+
+	/**
+	 * Encoded game informations by gameID
+	 */
+	private final ConcurrentMap<Integer, Encoded> gameInfos = new ConcurrentHashMap<>();
+
+	/**
+	 * Encoded arrays of the games by the capabilities of the clients
+	 */
+	private final ConcurrentMap<Set<CapabilitiesType>, Encoded> gameArrays = new ConcurrentHashMap<>();
+
+	private volatile Encoded nicks;
+
+	LobbySnapshot(GameRegistry games) {
+		this.games = games;
+	}
+
+	/**
+	 * Is called after a game was created or changed.
+	 */
+	synchronized void gameChanged(ServerGame game) {
+		long next = version.get() + 1;
+		changed.put(game.getGameID(), next);
+		version.set(next);
+	}
+
+	/**
+	 * Is called after a game was removed.
+	 */
+	synchronized void gameRemoved(int gameID) {
+		version.incrementAndGet();
+		changed.remove(gameID);
+		gameInfos.remove(gameID);
+	}
+
+	/**
+	 * Is called after a user logged in or out.
+	 */
+	void usersChanged() {
+		userVersion.incrementAndGet();
+	}
+
+	/**
+	 * Returns the array of the games whose extensions are all in the
+	 * capabilities.
+	 *
+	 * @param capabilities
+	 *            capabilities the server and the client share
+	 */
+	JSONString getGameArray(Collection<CapabilitiesType> capabilities) {
+		Set<CapabilitiesType> key = new HashSet<>(capabilities);
+		Encoded array = gameArrays.get(key);
+		long current = version.get();
+		if (array != null && array.version == current) {
+			return array;
+		}
+		StringBuilder text = new StringBuilder("[");
+		for (ServerGame game : games.getVisibleFor(key).values()) {
+			if (text.length() > 1) {
+				text.append(',');
+			}
+			text.append(getGameInfo(game));
+		}
+		array = new Encoded(current, text.append(']').toString());
+		gameArrays.put(key, array);
+		return array;
+	}
+
+	/**
+	 * Returns the array of the nicks of the users that are logged in.
+	 *
+	 * @param connected
+	 *            the users that are logged in by their nick
+	 */
+	JSONString getNickArray(Map<String, ?> connected) {
+		Encoded array = nicks;
+		long current = userVersion.get();
+		if (array == null || array.version != current) {
+			array = new Encoded(current,
+					new JSONArray(connected.keySet()).toString());
+			nicks = array;
+		}
+		return array;
+	}
+
+	private String getGameInfo(ServerGame game) {
+		Encoded info = gameInfos.get(game.getGameID());
+		Long lastChange = changed.get(game.getGameID());
+		if (info == null || (lastChange != null && info.version < lastChange)) {
+			info = new Encoded(version.get(), game.getGameInformation()
+					.toString());
+			gameInfos.put(game.getGameID(), info);
+			// the game may have been removed meanwhile
+			if (!games.contains(game.getGameID())) {
+				gameInfos.remove(game.getGameID());
+			}
+		}
+		return info.text;
+	}
+}
@@ -1,41 +1,75 @@
 package server.model.serverCommunication.execution;
 
-import java.util.Collection;
+import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONArray;
-import org.json.JSONObject;
 
 import server.model.game.ServerGame;
+import server.model.metrics.Histogram;
+import server.model.metrics.Metrics;
 import server.model.serverCommunication.clientHandling.ClientHandler;
+import server.model.serverCommunication.commands.ChatCommand;
+import server.model.serverCommunication.commands.Command;
+import server.model.serverCommunication.commands.GameCommand;
+import server.model.serverCommunication.commands.JoinGameCommand;
+import server.model.serverCommunication.commands.LoginCommand;
+import server.model.serverCommunication.commands.MoveCommand;
+import server.model.serverCommunication.commands.NewGameCommand;
 import server.model.serverCommunication.queues.InputQueue;
 import server.model.serverCommunication.queues.OutputQueue;
+import server.model.serverCommunication.utility.EncodedMessage;
 import server.model.serverCommunication.utility.ServerMessageBuilder;
+import server.model.serverCommunication.utility.WrappedCommand;
 import server.model.serverCommunication.utility.WrappedJSONObject;
+import shared.communication.TileCatalog;
 import shared.enums.CapabilitiesType;
 import shared.enums.JsonType;
-import shared.enums.SpecialMeepleType;
+import shared.enums.Reason;
 import shared.model.Placement;
 import shared.model.Player;
 import shared.model.Position;
+import shared.model.User;
 
 /**
  * Provides the unwrapping of the messages contained by the MoveQueue.
  * <p>
  * Provides methods for unwrapping the messages stored in the BlockingQueue in MoveQueue. After unwrapping each message
  * a specific method for the type of messages is invoked. This specific method call other methods in ServerControl which
- * perform some calculations. All methods in this class are invoked by the Executer of ServerControl.
+ * perform some calculations.
+ * <p>
+ * The Executer of ServerControl only takes the messages out of the queue and hands them to a SerialLane. Messages of a
+ * game (move, joinGame, leaveGame, watchGame, startGame and the chat of a game) go to the lane of the game, everything
+ * else goes to the lane of the lobby. The lanes run on a bounded pool, so a slow move doesn't stop the lobby or the
+ * other games, and the messages of one game are still handled one after another. A login runs while no game lane
+ * runs, so a change of a game is either in the lists of its 'login succeeded' or broadcast to it afterwards.
+ * <p>
+ * The messages arrive as Commands that were checked against the schema of their type when they were read. A Command
+ * that doesn't fit is answered with a prepared 'invalid message' before anything in ServerControl is invoked, every
+ * other Command is handed to the handler of its type in an EnumMap. How long a message waited and how long it was
+ * handled is recorded in the Metrics.
  * 
  * This class implements the Singleton-Pattern.
  * 
  * @version 29.01.14
  * @see InputQueue
+ * @see Command
  * @see ServerControl
+ * @see SerialLane
  * @see Executor
  * @see BlockingQueue
  */
@@ -45,14 +79,67 @@ public final class MessageClassification {
 	 * User logger
 	 */
 	private static Logger userLog = LogManager.getLogger("USER");
+	/**
+	 * Warn logger
+	 */
+	private static Logger warnLog = LogManager.getLogger("WARN");
 	/**
 	 * Instance of this class because of the Singleton Pattern.
 	 */
 	private static MessageClassification instance;
+	/**
+	 * Key of the lane of the lobby, no game has this ID
+	 */
+	private static final int LOBBY = 0;
+	/**
+	 * Pool the lanes run on
+	 */
+	private final ExecutorService pool;
+	/**
+	 * Lanes of the lobby and of the games, by game ID
+	 */
+	private final Map<Integer, SerialLane> lanes;
+	/**
+	 * Shared by the tasks of the game lanes, taken alone by a login
+	 */
+	private final ReadWriteLock lobbyLock = new ReentrantReadWriteLock();
+	/**
+	 * Answer to a message that doesn't fit its schema
+	 */
+	private static final EncodedMessage INVALID = new EncodedMessage(
+			ServerMessageBuilder.invalidMessage(Reason.INVALIDMESSAGE));
+	/**
+	 * Answer after INVALID to a login that doesn't fit its schema, the client is kicked
+	 */
+	private static final EncodedMessage LOGIN_FAILED = new EncodedMessage(
+			ServerMessageBuilder.invalidMessage(Reason.LOGINFAILED));
 	/**
 	 * Reference to the ServerControl which performs all calculations.
 	 */
 	private final ServerControl control;
+	/**
+	 * Handlers of the types of messages a client may send
+	 */
+	private final Map<JsonType, CommandHandler> handlers;
+	/**
+	 * Time the messages waited until they were handled by their type
+	 */
+	private final Map<JsonType, Histogram> waited;
+	/**
+	 * Time the messages were handled by their type
+	 */
+	private final Map<JsonType, Histogram> handled;
+	/**
+	 * Messages that didn't fit their schema
+	 */
+	private final AtomicLong rejected = Metrics.counter("messages.rejected");
+
+	/**
+	 * Handles the messages of one type.
+	 */
+	private interface CommandHandler {
+		void handle(WrappedCommand message);
+	}
 
 	/**
 	 * Only constructor of this class. Should only be invoked by the getInstance() method because this class implements
@@ -63,6 +150,93 @@ public final class MessageClassification {
 	 */
 	private MessageClassification(ServerControl control) {
 		this.control = control;
+		this.pool = Executors.newFixedThreadPool(
+				Math.max(2, Runtime.getRuntime().availableProcessors()),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable task) {
+						Thread thread = new Thread(task, "GameLane");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		this.lanes = new ConcurrentHashMap<>();
+		lanes.put(LOBBY, new SerialLane(pool));
+		this.handlers = createHandlers();
+		this.waited = new EnumMap<>(JsonType.class);
+		this.handled = new EnumMap<>(JsonType.class);
+		for (JsonType type : handlers.keySet()) {
+			waited.put(type, Metrics.histogram("dispatch." + type.name() + ".us"));
+			handled.put(type, Metrics.histogram("handle." + type.name() + ".us"));
+		}
+	}
+
+	/**
+	 * Returns the handlers by the type of the message.
+	 */
+	private Map<JsonType, CommandHandler> createHandlers() {
+		Map<JsonType, CommandHandler> table = new EnumMap<>(JsonType.class);
+		table.put(JsonType.LOGIN, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				login(message);
+			}
+		});
+		table.put(JsonType.CHAT, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				chat(message);
+			}
+		});
+		table.put(JsonType.MOVE, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				move(message);
+			}
+		});
+		table.put(JsonType.NEWGAME, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				newGame(message);
+			}
+		});
+		table.put(JsonType.JOINGAME, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				joinGame(message);
+			}
+		});
+		table.put(JsonType.LEAVEGAME, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				leaveGame(message);
+			}
+		});
+		table.put(JsonType.WATCHGAME, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				watchGame(message);
+			}
+		});
+		table.put(JsonType.STARTGAME, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				startGame(message);
+			}
+		});
+		table.put(JsonType.DISCONNECT, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				disconnect(message);
+			}
+		});
+		table.put(JsonType.RESYNC, new CommandHandler() {
+			@Override
+			public void handle(WrappedCommand message) {
+				resync(message);
+			}
+		});
+		return table;
 	}
 
 	/**
@@ -80,109 +254,135 @@ public final class MessageClassification {
 	}
 
 	/**
-	 * Takes the messages of the BlockingQueue and unwraps them. After that they will be classified by their type and a
-	 * specific method is invoked which handles the message.
+	 * Takes the next message of the BlockingQueue and hands it to the lane of its game or of the lobby.
 	 */
 	public void performMessageClassification() {
-		WrappedJSONObject message = InputQueue.getNextElement();
+		final WrappedCommand message = InputQueue.getNextElement();
+		laneOf(message.getCommand()).execute(new Runnable() {
+			@Override
+			public void run() {
+				classify(message);
+			}
+		});
+	}
 
-		JSONObject json = message.getJSONObject();
-		String s = json.optString("type");
-		if (s.equals("")) {
-			invalidFormattedMessage(message.getHandler());
-			return;
+	/**
+	 * Returns the lane a message is handled on. Messages for a game that doesn't exist go to the lobby, they are only
+	 * answered with a failure.
+	 */
+	private SerialLane laneOf(Command command) {
+		int gameID = LOBBY;
+		if (command instanceof ChatCommand) {
+			// the chat of a game goes to the game
+			ChatCommand chat = (ChatCommand) command;
+			if (chat.getReceiverID().equals("")) {
+				gameID = chat.getGameID();
+			}
+		} else if (command instanceof MoveCommand) {
+			gameID = ((MoveCommand) command).getGameID();
+		} else if (command instanceof GameCommand) {
+			gameID = ((GameCommand) command).getGameID();
 		}
+		if (gameID != LOBBY && control.getGames().containsKey(gameID)) {
+			return gameLane(gameID);
+		}
+		return lanes.get(LOBBY);
+	}
 
-		JsonType t = JsonType.fromString(s);
-
-		switch (t) {
-
-		case LOGIN:
-			login(message);
-			break;
-
-		case CHAT:
-			chat(message);
-			break;
-
-		case MOVE:
-			move(message);
-			break;
-
-		case NEWGAME:
-			newGame(message);
-			break;
-
-		case JOINGAME:
-			joinGame(message);
-			break;
-
-		case LEAVEGAME:
-			leaveGame(message);
-			break;
-
-		case WATCHGAME:
-			watchGame(message);
-			break;
+	/**
+	 * Runs a task on the lane of a game, so it doesn't run at the same time as the messages of the game. Nothing is
+	 * run if the game doesn't exist.
+	 * 
+	 * @param gameID
+	 *            ID of the game
+	 * @param task
+	 *            task that changes the game
+	 */
+	void executeOnGame(int gameID, Runnable task) {
+		if (control.getGames().containsKey(gameID)) {
+			gameLane(gameID).execute(task);
+		}
+	}
 
-		case STARTGAME:
-			startGame(message);
-			break;
+	/**
+	 * Drops the idle lanes of the games that were removed, the lane of the lobby is kept.
+	 * 
+	 * @param lanes
+	 *            lanes by game ID
+	 * @param games
+	 *            IDs of the games that exist
+	 */
+	static void pruneLanes(Map<Integer, SerialLane> lanes, Set<Integer> games) {
+		Iterator<Map.Entry<Integer, SerialLane>> it = lanes.entrySet().iterator();
+		while (it.hasNext()) {
+			Map.Entry<Integer, SerialLane> entry = it.next();
+			if (entry.getKey() != LOBBY && !games.contains(entry.getKey()) && entry.getValue().isIdle()) {
+				it.remove();
+			}
+		}
+	}
 
-		case DISCONNECT:
-			disconnect(message);
-			break;
+	/**
+	 * Returns the lane of a game. When a new lane is created the idle lanes of removed games are dropped.
+	 */
+	private SerialLane gameLane(int gameID) {
+		SerialLane lane = lanes.get(gameID);
+		if (lane == null) {
+			pruneLanes(lanes, control.getGames().keySet());
+			lane = new SerialLane(pool, lobbyLock.readLock());
+			SerialLane existing = lanes.putIfAbsent(gameID, lane);
+			if (existing != null) {
+				lane = existing;
+			}
+		}
+		return lane;
+	}
 
-		default:
-			noCaseMatched(message);
-			break;
+	/**
+	 * Hands the message to the handler of its type, a message that doesn't fit the schema of its type is rejected. Is
+	 * invoked on the lane of the message.
+	 */
+	private void classify(WrappedCommand message) {
+		Command command = message.getCommand();
+		CommandHandler commandHandler = command.getType() == null ? null : handlers.get(command.getType());
+		if (commandHandler == null || !command.isValid()) {
+			rejected.incrementAndGet();
+			reject(command, message.getHandler());
+			return;
 		}
+		long start = System.nanoTime();
+		waited.get(command.getType()).record(TimeUnit.NANOSECONDS.toMicros(start - message.getReceived()));
+		commandHandler.handle(message);
+		handled.get(command.getType()).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
 	}
 
-	private void noCaseMatched(WrappedJSONObject message) {
-		ClientHandler handler = message.getHandler();
-		control.noCaseMatched(handler);
+	/**
+	 * Answers a message that doesn't fit the schema of its type, a client whose login doesn't fit is kicked.
+	 */
+	private void reject(Command command, ClientHandler handler) {
+		OutputQueue.addElement(INVALID, handler);
+		if (JsonType.LOGIN.equals(command.getType())) {
+			OutputQueue.addElement(LOGIN_FAILED, handler);
+		}
 	}
 
 	/**
 	 * Handles an incoming 'move' message.
 	 * 
 	 * @param message
-	 *            WrappedJSONObject containing the message.
+	 *            WrappedCommand containing the message.
 	 */
-	private void move(WrappedJSONObject message) {
+	private void move(WrappedCommand message) {
 
-		JSONObject jsonObject = message.getJSONObject();
+		MoveCommand move = (MoveCommand) message.getCommand();
 		ClientHandler handler = message.getHandler();
 
-		if (jsonObject.length() != 3) {
-			invalidFormattedMessage(handler);
-			return;
-		}
-
-		int gameID = jsonObject.optInt("game id");
-
-		JSONObject action = jsonObject.optJSONObject("action");
-		int x = action.optInt("x");
-		int y = action.optInt("y");
-		int rotation = action.optInt("rotation");
-		String tempPlacement = action.optString("placement");
-		SpecialMeepleType specialMeeple = SpecialMeepleType.fromString(action
-				.optString("special meeple"));
-
-		// checks the Placement of a meeple, if no placement is send the String
-		// will be null, otherwise it will be the int
-		int placement;
-		if (tempPlacement.equals("")) {
-			placement = -1;
-		} else {
-			placement = Integer.parseInt(tempPlacement);
-		}
 		Placement place = new Placement(-1);
-		place.setCommunicationPlacement(placement);
-		place.setSpecialMeeple(specialMeeple);
+		place.setCommunicationPlacement(move.getPlacement());
+		place.setSpecialMeeple(move.getSpecialMeeple());
 
-		control.move(gameID, new Position(x, y), rotation, place, handler);
+		control.move(move.getGameID(), new Position(move.getX(), move.getY()),
+				move.getRotation(), place, handler);
 	}
 
 	/**
@@ -191,130 +391,110 @@ public final class MessageClassification {
 	 * @param message
 	 *            Message
 	 */
-	private void leaveGame(WrappedJSONObject message) {
+	private void leaveGame(WrappedCommand message) {
 
-		JSONObject jsonObject = message.getJSONObject();
+		GameCommand command = (GameCommand) message.getCommand();
 		ClientHandler handler = message.getHandler();
 
-		if (jsonObject.length() != 2) {
-			invalidFormattedMessage(handler);
-			return;
-		}
+		control.leaveGame(handler.getUser(), command.getGameID());
+	}
 
-		int gameID = jsonObject.optInt("game id");
+	/**
+	 * Handles an incoming resync Message of a client that missed a change of a game.
+	 * 
+	 * @param message
+	 *            message wrapped in a WrappedCommand
+	 */
+	private void resync(WrappedCommand message) {
 
-		control.leaveGame(handler.getUser(), gameID);
+		GameCommand command = (GameCommand) message.getCommand();
+		ClientHandler handler = message.getHandler();
+
+		control.resync(command.getGameID(), handler);
 	}
 
 	/**
 	 * Handles an incoming watchGame Message. Forwards the watchGame command to the handler.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void watchGame(WrappedJSONObject message) {
+	private void watchGame(WrappedCommand message) {
 
-		JSONObject jsonObject = message.getJSONObject();
+		GameCommand command = (GameCommand) message.getCommand();
 		ClientHandler handler = message.getHandler();
 
-		if (jsonObject.length() != 2) {
-			invalidFormattedMessage(handler);
-			return;
-		}
-
-		int gameID = jsonObject.optInt("game id");
-
-		control.checkWatchGame(handler, gameID);
+		control.checkWatchGame(handler, command.getGameID());
 	}
 
 	/**
 	 * Handles an incoming joinGame Message. Forwards the joinGame command to the handler.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void joinGame(WrappedJSONObject message) {
-		JSONObject jsonObject = message.getJSONObject();
-		ClientHandler handler = message.getHandler();
+	private void joinGame(WrappedCommand message) {
 
-		if (jsonObject.length() != 3) {
-			invalidFormattedMessage(handler);
-			return;
-		}
+		JoinGameCommand command = (JoinGameCommand) message.getCommand();
+		ClientHandler handler = message.getHandler();
 
-		String color = jsonObject.optString("color");
-		int gameID = jsonObject.optInt("game id");
+		String color = command.getColor();
 		handler.setUser(new Player(handler.getUser().getNick(), color));
 
-		control.checkJoin(handler, gameID, color);
+		control.checkJoin(handler, command.getGameID(), color);
 	}
 
 	/**
 	 * Forwards the newGame command to the handler.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void newGame(WrappedJSONObject message) {
-		JSONObject jsonObject = message.getJSONObject();
+	private void newGame(WrappedCommand message) {
+		NewGameCommand command = (NewGameCommand) message.getCommand();
 		ClientHandler handler = message.getHandler();
 
-		if (!(jsonObject.length() >= 3 && jsonObject.length() <= 5)) {
-			invalidFormattedMessage(handler);
-			return;
-		}
-
-		String gameName = jsonObject.optString("name");
-		String color = jsonObject.optString("color");
-		JSONArray extArr = jsonObject.optJSONArray("extensions");
-		int turnTime = jsonObject.optInt("turntime");
-
+		String color = command.getColor();
 		Set<CapabilitiesType> extensions = EnumSet
 				.noneOf(CapabilitiesType.class);
-		if (extArr != null) {
-			for (int i = 0; i < extArr.length(); i++) {
-				String extension = extArr.optString(i);
-				if (!extension.equals("")) {
-					extensions.add(CapabilitiesType.fromString(extension));
-				}
-			}
-		}
+		extensions.addAll(command.getExtensions());
 
 		control.checkGameCreation(
-				new Player(handler.getUser().getNick(), color), gameName,
-				color, turnTime, extensions, handler);
+				new Player(handler.getUser().getNick(), color), command.getName(),
+				color, command.getTurnTime(), extensions, handler);
 	}
 
 	/**
 	 * Forwards the start game command to the handler.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void startGame(WrappedJSONObject message) {
-		JSONObject jsonObject = message.getJSONObject();
-		ClientHandler handler = message.getHandler();
+	private void startGame(WrappedCommand message) {
 
-		if (jsonObject.length() != 2) {
-			invalidFormattedMessage(handler);
-			return;
-		}
-
-		int gameID = jsonObject.optInt("game id");
+		GameCommand command = (GameCommand) message.getCommand();
+		ClientHandler handler = message.getHandler();
 
-		control.checkGameStart(gameID, handler);
+		control.checkGameStart(command.getGameID(), handler);
 	}
 
 	/**
 	 * Forwards the logout request to the handler.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void disconnect(WrappedJSONObject message) {
+	private void disconnect(WrappedCommand message) {
 
 		ClientHandler handler = message.getHandler();
 
+		// A client whose login failed must not log out the user with its nick
+		if (control.getClientHandler(handler.getNick()) != handler) {
+			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
+					.userDisconnected(), handler));
+			return;
+		}
+
 		// Sends messages to all other clients that a User logged out
 		control.broadcast(handler,
 				ServerMessageBuilder.playerRemoved(handler.getNick()));
@@ -328,10 +508,18 @@ public final class MessageClassification {
 		// Removes the Client from the connectedHandler List
 		control.removeHandler(handler);
 
-		Collection<ServerGame> games = control.getGames().values();
-		for (ServerGame g : games) {
+		// The games are left on their own lanes
+		for (final ServerGame g : control.getGamesOf(handler.getNick())) {
 			if (g.getPlayerList().containsKey(handler.getNick())) {
-				control.leaveGame(handler.getUser(), g.getGameID());
+				final User user = handler.getUser();
+				gameLane(g.getGameID()).execute(new Runnable() {
+					@Override
+					public void run() {
+						if (control.getGames().containsKey(g.getGameID())) {
+							control.leaveGame(user, g.getGameID());
+						}
+					}
+				});
 			}
 		}
 
@@ -343,23 +531,17 @@ public final class MessageClassification {
 	 * Checks whether a message is to the ChatLobby, to a specific player or to a game.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void chat(WrappedJSONObject message) {
+	private void chat(WrappedCommand message) {
 
-		JSONObject jsonObject = message.getJSONObject();
+		ChatCommand command = (ChatCommand) message.getCommand();
 		ClientHandler handler = message.getHandler();
 
-		if (!(jsonObject.length() >= 4 && jsonObject.length() <= 6)) {
-			invalidFormattedMessage(handler);
-			return;
-		}
-
-		// Get information out of the JSON-Object
-		String receiverID = jsonObject.optString("receiver id");
-		String msg = jsonObject.optString("message").toString();
-		String senderID = jsonObject.optString("sender id");
-		int gameID = jsonObject.optInt("game id");
+		String receiverID = command.getReceiverID();
+		String msg = command.getMessage();
+		String senderID = command.getSenderID();
+		int gameID = command.getGameID();
 
 		// Sends messages to all if there is no receiverID and the gameID is 0
 		if (receiverID.equals("") && gameID == 0) {
@@ -386,47 +568,31 @@ public final class MessageClassification {
 	}
 
 	/**
-	 * Handles an incoming login request and delegates it.
+	 * Handles an incoming login request and delegates it. A client only gets binary frames if its tile catalog has the
+	 * same hash as the one of the server.
 	 * 
 	 * @param message
-	 *            message wrapped in a WrappedJSONObject
+	 *            message wrapped in a WrappedCommand
 	 */
-	private void login(WrappedJSONObject message) {
+	private void login(WrappedCommand message) {
 
-		JSONObject jsonObject = message.getJSONObject();
+		LoginCommand command = (LoginCommand) message.getCommand();
 		ClientHandler handler = message.getHandler();
 
-		if (jsonObject.length() != 3) {
-			invalidFormattedLoginMessage(handler);
-			return;
-		}
-
-		String nick = jsonObject.optString("nick").toString();
-
-		JSONArray capa = jsonObject.optJSONArray("capabilities");
 		Set<CapabilitiesType> capabilities = EnumSet.noneOf(CapabilitiesType.class);
-
-		for (int i = 0; i < capa.length(); i++) {
-			String capability = capa.optString(i);
-			capabilities.add(CapabilitiesType.fromString(capability));
+		capabilities.addAll(command.getCapabilities());
+		Integer tileCatalog = command.getTileCatalog();
+		if (capabilities.contains(CapabilitiesType.BINARY)
+				&& (tileCatalog == null || tileCatalog != TileCatalog.getInstance().getHash())) {
+			capabilities.remove(CapabilitiesType.BINARY);
+			warnLog.warn(command.getNick() + " gets no binary frames, the tile catalog differs.");
+		}
+		// the lists of the lobby are read and the client is added before a game changes again
+		lobbyLock.writeLock().lock();
+		try {
+			control.checkLogin(command.getNick(), capabilities, handler);
+		} finally {
+			lobbyLock.writeLock().unlock();
 		}
-		control.checkLogin(nick, capabilities, handler);
-	}
-
-	/**
-	 * Handles a false formatted login attempt and kicks the user.
-	 * 
-	 * @param handler
-	 */
-	private void invalidFormattedLoginMessage(ClientHandler handler) {
-		control.invalidFormattedLoginMessage(handler);
-	}
-
-	/**
-	 * Delegates to the server that the message that was sent is incorrect and doesn't contain the types that should be
-	 * contained.
-	 */
-	private void invalidFormattedMessage(ClientHandler handler) {
-		control.noCaseMatched(handler);
 	}
 }
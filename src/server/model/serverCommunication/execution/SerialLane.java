@@ -0,0 +1,109 @@
+package server.model.serverCommunication.execution;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs tasks one after another on a shared pool.
+ * <p>
+ * Every game and the lobby have their own lane, so the messages of one game
+ * are handled in the order they arrived and never at the same time, while
+ * different games run in parallel on the threads of the pool. A task that
+ * throws doesn't stop the lane. How many tasks wait on all lanes is counted.
+ * A lane may hold a lock while a task runs, the lanes of the games share one
+ * that a login takes alone.
+ *
+ * @see MessageClassification
+ */
+final class SerialLane implements Executor {
+
+	/**
+	 * Error logger
+	 */
+	private static Logger log = LogManager.getLogger("ERROR");
+
+	/**
+	 * Tasks that wait on all lanes, the running ones included
+	 */
+	private static final AtomicLong waiting = new AtomicLong();
+
+	/**
+	 * Pool the tasks run on
+	 */
+	private final Executor pool;
+
+	/**
+	 * Lock that is held while a task runs, null if there is none
+	 */
+	private final Lock lock;
+
+	/**
+	 * Tasks that wait for the running one, guarded by this
+	 */
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+	/**
+	 * Task that was given to the pool, null if the lane is idle
+	 */
+	private Runnable active;
+
+	SerialLane(Executor pool) {
+		this(pool, null);
+	}
+
+	SerialLane(Executor pool, Lock lock) {
+		this.pool = pool;
+		this.lock = lock;
+	}
+
+	@Override
+	public synchronized void execute(final Runnable task) {
+		waiting.incrementAndGet();
+		tasks.add(new Runnable() {
+			@Override
+			public void run() {
+				if (lock != null) {
+					lock.lock();
+				}
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					log.error(e.getMessage(), e);
+				} finally {
+					if (lock != null) {
+						lock.unlock();
+					}
+					waiting.decrementAndGet();
+					scheduleNext();
+				}
+			}
+		});
+		if (active == null) {
+			scheduleNext();
+		}
+	}
+
+	private synchronized void scheduleNext() {
+		active = tasks.poll();
+		if (active != null) {
+			pool.execute(active);
+		}
+	}
+
+	synchronized boolean isIdle() {
+		return active == null;
+	}
+
+	/**
+	 * Returns the number of tasks that wait or run on all lanes.
+	 */
+	static long getWaitingTasks() {
+		return waiting.get();
+	}
+}
@@ -2,19 +2,27 @@ package server.model.serverCommunication.execution;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
-import server.model.PlayerThread;
+import server.model.TurnTimer;
 import server.model.game.ServerGame;
+import server.model.metrics.Gauge;
+import server.model.metrics.Histogram;
+import server.model.metrics.Metrics;
 import server.model.serverCommunication.clientHandling.ClientHandler;
+import server.model.serverCommunication.clientHandling.Outbox;
+import server.model.serverCommunication.queues.InputQueue;
 import server.model.serverCommunication.queues.OutputQueue;
 import server.model.serverCommunication.queues.ServerMoveMadeStorage;
 import server.model.serverCommunication.utility.CleaningThread;
+import server.model.serverCommunication.utility.EncodedMessage;
 import server.model.serverCommunication.utility.ServerMessageBuilder;
 import server.model.serverCommunication.utility.WrappedJSONObject;
 import shared.Configuration;
 import shared.enums.CapabilitiesType;
 import shared.enums.GameStatus;
+import shared.enums.JsonType;
 import shared.enums.Reason;
 import shared.model.*;
 
@@ -22,8 +30,10 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the connection between all connected clients and the logic for the game.
@@ -61,13 +71,17 @@ public final class ServerControl {
 	 */
 	private int gameIDCounter = 1;
 	/**
-	 * Map of connected users
+	 * Map of connected users, is read by the lanes of all games
 	 */
 	private volatile Map<String, ClientHandler> connectedHandler;
 	/**
-	 * Map of games created
+	 * Games created with their indexes, is read by the lanes of all games
 	 */
-	private volatile Map<Integer, ServerGame> games;
+	private final GameRegistry games;
+	/**
+	 * Encoded games and nicks for the 'login succeeded' messages
+	 */
+	private final LobbySnapshot lobby;
 	/**
 	 * Instance of the ServerControl because of SINGLETON
 	 */
@@ -82,13 +96,21 @@ public final class ServerControl {
 	private final Set<CapabilitiesType> serverCapabilities;
 
 	/**
-	 * Executer which performs the calculations the received messages indicate.
+	 * Executer which hands the received messages to the lanes of MessageClassification.
 	 */
 	private final ExecutorService exec;
 	/**
 	 * Reference to the class which performs the classification of the incoming messages
 	 */
 	private final MessageClassification classification;
+	/**
+	 * Number of receivers of the broadcast messages by their type
+	 */
+	private final Map<JsonType, Histogram> fanOut;
+	/**
+	 * Time of the check of a move by the phase of the game
+	 */
+	private final Histogram[] placementTimes;
 
 	/**
 	 * Only constructor of this class. Sets the ServerSocket and creates HashSets for the connected handler and for the
@@ -99,16 +121,28 @@ public final class ServerControl {
 	 */
 	private ServerControl(ServerSocket listen) {
 		this.listen = listen;
-		connectedHandler = new HashMap<String, ClientHandler>();
-		games = new HashMap<Integer, ServerGame>();
+		connectedHandler = new ConcurrentHashMap<String, ClientHandler>();
+		games = new GameRegistry();
+		lobby = new LobbySnapshot(games);
 		maximumPlayers = Configuration.MAXUSER;
 		exec = Executors.newSingleThreadExecutor();
 		classification = MessageClassification.getInstance(this);
+		fanOut = new EnumMap<>(JsonType.class);
+		for (JsonType type : JsonType.values()) {
+			fanOut.put(type, Metrics.histogram("fanout." + type.name()));
+		}
+		placementTimes = new Histogram[ServerGame.PHASES.length];
+		for (int i = 0; i < placementTimes.length; i++) {
+			placementTimes[i] = Metrics.histogram("checkCardPlacement."
+					+ ServerGame.PHASES[i] + ".us");
+		}
+		registerGauges();
 
 		// Add the capabilities of the server
 		serverCapabilities = EnumSet.of(CapabilitiesType.CHAT,
 				CapabilitiesType.BISHOP, CapabilitiesType.BIGMEEPLE,
-				CapabilitiesType.INNS);
+				CapabilitiesType.INNS, CapabilitiesType.DELTA,
+				CapabilitiesType.BINARY);
 
 		// Starts the cleaning Thread
 		CleaningThread.getInstance(this).setDaemon(true);
@@ -124,6 +158,42 @@ public final class ServerControl {
 		});
 	}
 
+	/**
+	 * Registers the queues, clients and games in the Metrics.
+	 */
+	private void registerGauges() {
+		Metrics.gauge("inputQueue.size", new Gauge() {
+			@Override
+			public long getValue() {
+				return InputQueue.size();
+			}
+		});
+		Metrics.gauge("outbox.queued", new Gauge() {
+			@Override
+			public long getValue() {
+				return Outbox.getQueuedMessages();
+			}
+		});
+		Metrics.gauge("lanes.tasks", new Gauge() {
+			@Override
+			public long getValue() {
+				return SerialLane.getWaitingTasks();
+			}
+		});
+		Metrics.gauge("clients", new Gauge() {
+			@Override
+			public long getValue() {
+				return connectedHandler.size();
+			}
+		});
+		Metrics.gauge("games", new Gauge() {
+			@Override
+			public long getValue() {
+				return getGames().size();
+			}
+		});
+	}
+
 	/**
 	 * Returns the instance, because of SINGLETON
 	 * 
@@ -148,7 +218,6 @@ public final class ServerControl {
 				socket = listen.accept();
 				if (socket != null) {
 					ClientHandler handler = new ClientHandler(socket, this);
-					handler.setDaemon(true);
 					handler.start();
 					handler = null;
 				}
@@ -173,6 +242,7 @@ public final class ServerControl {
 	 */
 	void addHandler(ClientHandler handler) {
 		connectedHandler.put(handler.getUser().getNick(), handler);
+		lobby.usersChanged();
 	}
 
 	/**
@@ -183,6 +253,7 @@ public final class ServerControl {
 	 */
 	void removeHandler(ClientHandler handler) {
 		connectedHandler.remove(handler.getUser().getNick());
+		lobby.usersChanged();
 	}
 
 	/**
@@ -194,11 +265,26 @@ public final class ServerControl {
 	 *            message which will be send
 	 */
 	void broadcast(ClientHandler from, JSONObject msg) {
+		broadcast(from, new EncodedMessage(msg));
+	}
+
+	/**
+	 * Broadcasts an encoded message to all clients except the one sending
+	 * 
+	 * @param from
+	 *            ClientHandler which send the message
+	 * @param msg
+	 *            message which will be send, it is shared by all receivers
+	 */
+	private void broadcast(ClientHandler from, EncodedMessage msg) {
+		int receivers = 0;
 		for (ClientHandler h : connectedHandler.values()) {
 			if (!h.equals(from)) {
-				OutputQueue.addElement(new WrappedJSONObject(msg, h));
+				OutputQueue.addElement(msg, h);
+				receivers++;
 			}
 		}
+		recordFanOut(msg, receivers);
 	}
 
 	/**
@@ -237,7 +323,9 @@ public final class ServerControl {
 
 	/**
 	 * This method checks whether the checking client's nickname is already taken or not and tells the client.
-	 * 
+	 * <p>
+	 * Is invoked while no game lane runs, so no game changes between the lists of the 'login succeeded' and the adding
+	 * of the handler.
 	 * 
 	 * @param nick
 	 *            name of the new client
@@ -267,11 +355,6 @@ public final class ServerControl {
 		}
 		// If the nick is not taken
 		else {
-			ArrayList<String> nicks = new ArrayList<String>();
-			for (String u : connectedHandler.keySet()) {
-				nicks.add(u);
-			}
-
 			// Get the capabilities server and client share
 			List<CapabilitiesType> sharedCapa = new ArrayList<>();
 			for (CapabilitiesType t : capa) {
@@ -281,27 +364,17 @@ public final class ServerControl {
 			}
 
 			// Send only the games with the extensions the specific client can
-			// handle
-			Map<Integer, ServerGame> gamesToBeSent = new HashMap<>();
-
-			for (ServerGame game : games.values()) {
-				if (!game.getExtension().isEmpty()) {
-					if (sharedCapa.containsAll(game.getExtension())) {
-						gamesToBeSent.put(game.getGameID(), game);
-					}
-				} else {
-					gamesToBeSent.put(game.getGameID(), game);
-				}
-
-			}
+			// handle, both arrays are encoded again only after a change
+			JSONObject loginSucceeded = ServerMessageBuilder.loginSucceeded(
+					nick, lobby.getGameArray(sharedCapa),
+					lobby.getNickArray(connectedHandler), sharedCapa);
 
+			handler.setCapabilities(capa);
 			addHandler(handler); // adds this handler to the HashSet with logged
 			// send the client that the login was successful
-			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
-					.loginSucceeded(nick, gamesToBeSent, nicks, sharedCapa),
+			OutputQueue.addElement(new WrappedJSONObject(loginSucceeded,
 					handler));
 			broadcast(handler, ServerMessageBuilder.playerAdded(nick));
-			handler.setCapabilities(capa);
 			// in clients
 			userLog.info(handler.getNick() + " logged in.");
 		}
@@ -323,21 +396,11 @@ public final class ServerControl {
 	 * @param turnTime
 	 *            time the player has to make a move
 	 */
-	public synchronized void tileDrawn(int gameID, String nick, Card card,
+	public void tileDrawn(int gameID, String nick, Card card,
 			int remaining, int turnTime) {
 		ServerGame game = games.get(gameID);
-		// Send to all player in this game
-		for (Player p : game.getPlayerList().values()) {
-			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
-					.tileDrawn(gameID, nick, card, remaining, turnTime),
-					getClientHandler(p.getNick())));
-		}
-		// Send to all spectator in this game
-		for (Spectator s : game.getSpectatorList().values()) {
-			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
-					.tileDrawn(gameID, nick, card, remaining, turnTime),
-					getClientHandler(s.getNick())));
-		}
+		sendToGame(game, new EncodedMessage(ServerMessageBuilder.tileDrawn(
+				gameID, nick, card, remaining, turnTime)));
 	}
 
 	/**
@@ -379,20 +442,20 @@ public final class ServerControl {
 
 			game.setState(GameStatus.ONGOING);
 
-			broadcastToAllIfExtensionFits(game,
-					ServerMessageBuilder.gameUpdate(game.getGameInformation()));
+			// the scores of the first move are compared with the start
+			game.getChangedPlayerInformation();
+			broadcastGameUpdate(game);
 
-			broadcastToAll(ServerMessageBuilder.moveMade(gameID, game.getHost()
-					.getNick(), game.getStartCard(), ServerMessageBuilder
-					.createAction(new Position(0, 0), game.getStartCard()
-							.getRotation())));
+			EncodedMessage startMove = new EncodedMessage(
+					ServerMessageBuilder.moveMade(gameID, game.getHost()
+							.getNick(), game.getStartCard(),
+							ServerMessageBuilder.createAction(
+									new Position(0, 0), game.getStartCard()
+											.getRotation())));
+			broadcastToAll(startMove);
 
-			ServerMoveMadeStorage.addMoveToQueue(gameID, ServerMessageBuilder
-					.moveMade(gameID, game.getHost().getNick(), game
-							.getStartCard(), ServerMessageBuilder.createAction(
-							new Position(0, 0), game.getStartCard()
-									.getRotation())));
-			game.startThread();
+			ServerMoveMadeStorage.addMoveToQueue(gameID, startMove);
+			game.startTurnTimer();
 		}
 	}
 
@@ -444,22 +507,20 @@ public final class ServerControl {
 			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
 					.gameCreationFailed(gameName, Reason.ILLEGALGAMENAME),
 					handler));
-		} else if (games.containsValue(newGame)) {
+		} else if (games.asMap().containsValue(newGame)) {
 			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
 					.gameCreationFailed(gameName, Reason.NAMEALREADYINUSE),
 					handler));
 		} else {
-			for (ServerGame s : games.values()) {
-				if (host.getNick().equals(s.getHost().getNick())) {
-					OutputQueue.addElement(new WrappedJSONObject(
-							ServerMessageBuilder.gameCreationFailed(gameName,
-									Reason.ALREADYHOSTING), handler));
-					return;
-				}
+			if (games.getHostedBy(host.getNick()) != null) {
+				OutputQueue.addElement(new WrappedJSONObject(
+						ServerMessageBuilder.gameCreationFailed(gameName,
+								Reason.ALREADYHOSTING), handler));
+				return;
 			}
 
-			// add the game to the Map with the ID the counter gives
-			games.put(gameIDCounter, newGame);
+			// add the game with the ID the counter gives
+			games.add(newGame);
 
 			broadcastToAllIfExtensionFits(newGame,
 					ServerMessageBuilder.gameCreated(newGame
@@ -468,17 +529,6 @@ public final class ServerControl {
 		}
 	}
 
-	/**
-	 * Handles an invalid message.
-	 * 
-	 * @param handler
-	 *            Reference to the handler which sent the invalid message.
-	 */
-	void noCaseMatched(ClientHandler handler) {
-		OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
-				.invalidMessage(Reason.INVALIDMESSAGE), handler));
-	}
-
 	/**
 	 * Checks whether the player can join the game or not and sends the right messages.
 	 * 
@@ -507,7 +557,7 @@ public final class ServerControl {
 		}
 
 		// Tests if the gameID is in the games Map if not send game not found
-		if (!(games.containsKey(gameID))) {
+		if (!(games.contains(gameID))) {
 			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
 					.joinGameFailed(gameID, Reason.GAMENOTFOUND), handler));
 			return;
@@ -548,9 +598,11 @@ public final class ServerControl {
 					.joinGameSuccess(gameID), handler));
 			String nick = handler.getNick();
 
-			game.getPlayerList().put(nick, new Player(nick, color));
-			broadcastToAllIfExtensionFits(game,
-					ServerMessageBuilder.gameUpdate(game.getGameInformation()));
+			Player player = new Player(nick, color);
+			game.getPlayerList().put(nick, player);
+			games.join(nick, gameID);
+			broadcastGameChange(game, ServerMessageBuilder.playerJoined(
+					gameID, game.nextVersion(), player.getGameInformation()));
 		}
 	}
 
@@ -562,14 +614,14 @@ public final class ServerControl {
 	 */
 	void removePlayer(ClientHandler clientHandler) {
 		String nick = clientHandler.getNick();
-		Collection<ServerGame> test = games.values();
-		for (ServerGame c : test) {
+		for (ServerGame c : games.getGamesOf(nick)) {
 			if (c.getPlayerList().containsKey(nick)) {
 				c.getPlayerList().remove(nick);
+				games.leave(nick, c.getGameID());
+				lobby.gameChanged(c);
 				if (c.getPlayerList().size() == 0) {
-					ServerMoveMadeStorage.deleteQueue(c.getGameID());
 					c.remove();
-					games.remove(c.getGameID());
+					removeGame(c.getGameID());
 				}
 			}
 		}
@@ -588,7 +640,7 @@ public final class ServerControl {
 		ServerGame game = games.get(gameID);
 
 		// Tests if the game is available in the games collection
-		if (!games.containsKey(gameID)) {
+		if (!games.contains(gameID)) {
 			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
 					.watchGameFailed(gameID, Reason.GAMENOTFOUND), handler));
 			return;
@@ -608,7 +660,7 @@ public final class ServerControl {
 		}
 
 		// Manages the watch process if it was successful
-		else if (games.containsKey(gameID)) {
+		else if (games.contains(gameID)) {
 			game.getSpectatorList().put(handler.getNick(),
 					new Spectator(handler.getUser().getNick()));
 			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
@@ -617,8 +669,8 @@ public final class ServerControl {
 				ServerMoveMadeStorage.sendAllMoveMade(handler.getSender(),
 						gameID);
 			}
-			broadcastToAllIfExtensionFits(game,
-					ServerMessageBuilder.gameUpdate(game.getGameInformation()));
+			broadcastGameChange(game, ServerMessageBuilder.spectatorAdded(
+					gameID, game.nextVersion(), handler.getNick()));
 		}
 	}
 
@@ -640,19 +692,17 @@ public final class ServerControl {
 		if (game.getState().equals(GameStatus.NOTSTARTED)
 				&& playerList.containsKey(nick)) {
 			playerList.remove(nick);
+			games.leave(nick, gameID);
 			// if the leaving user is the host
 			if (game.getHost().getNick().equals(user.getNick())) {
-				broadcastToAllIfExtensionFits(game,
-						ServerMessageBuilder.gameUpdate(game
-								.getGameInformation()));
-				ServerMoveMadeStorage.deleteQueue(game.getGameID());
+				broadcastGameChange(game, ServerMessageBuilder.playerQuit(
+						gameID, game.nextVersion(), nick));
 				game.remove();
-				games.remove(game.getGameID());
+				removeGame(game.getGameID());
 				broadcastToAll(ServerMessageBuilder.gameRemoved(gameID));
 			} else {
-				broadcastToAllIfExtensionFits(game,
-						ServerMessageBuilder.gameUpdate(game
-								.getGameInformation()));
+				broadcastGameChange(game, ServerMessageBuilder.playerQuit(
+						gameID, game.nextVersion(), nick));
 			}
 
 		}
@@ -660,15 +710,17 @@ public final class ServerControl {
 		// Tests if the game is STARTED and the leaving User is a Player
 		else if (game.getState().equals(GameStatus.ONGOING)
 				&& playerList.containsKey(nick)) {
+			EncodedMessage playerLeft = new EncodedMessage(
+					ServerMessageBuilder.playerLeft(gameID, nick));
 			for (User s : playerList.values()) {
-				broadcast(getClientHandler(s.getNick()),
-						ServerMessageBuilder.playerLeft(gameID, nick));
+				broadcast(getClientHandler(s.getNick()), playerLeft);
 			}
 			playerList.remove(nick);
+			games.leave(nick, gameID);
+			lobby.gameChanged(game);
 			if (playerList.size() == 0 && spectatorList.size() == 0) {
-				ServerMoveMadeStorage.deleteQueue(game.getGameID());
 				game.remove();
-				games.remove(gameID);
+				removeGame(gameID);
 				broadcastToAll(ServerMessageBuilder.gameRemoved(gameID));
 			}
 		}
@@ -676,22 +728,23 @@ public final class ServerControl {
 		// ongoing or not
 		else if (spectatorList.containsKey(nick)) {
 			spectatorList.remove(nick);
-			broadcastToAllIfExtensionFits(games.get(gameID),
-					ServerMessageBuilder.gameUpdate(games.get(gameID)
-							.getGameInformation()));
+			broadcastGameChange(game, ServerMessageBuilder.spectatorRemoved(
+					gameID, game.nextVersion(), nick));
 		}
 
 		// If the game is ended
 		else if (game.getState().equals(GameStatus.ENDED)) {
 			playerList.remove(user.getNick());
+			games.leave(nick, gameID);
+			lobby.gameChanged(game);
+			EncodedMessage playerLeft = new EncodedMessage(
+					ServerMessageBuilder.playerLeft(gameID, nick));
 			for (User s : playerList.values()) {
-				broadcast(getClientHandler(s.getNick()),
-						ServerMessageBuilder.playerLeft(gameID, nick));
+				broadcast(getClientHandler(s.getNick()), playerLeft);
 			}
 			if (playerList.size() == 0) {
-				ServerMoveMadeStorage.deleteQueue(game.getGameID());
 				game.remove();
-				games.remove(gameID);
+				removeGame(gameID);
 				broadcastToAll(ServerMessageBuilder.gameRemoved(gameID));
 			}
 		}
@@ -713,27 +766,15 @@ public final class ServerControl {
 	 */
 	void sendGameChatMessage(String senderID, String msg, int gameID,
 			ClientHandler handler, Set<CapabilitiesType> capabilities) {
-		Collection<Player> pList = games.get(gameID).getPlayerList().values();
-		Collection<Spectator> sList = games.get(gameID).getSpectatorList()
-				.values();
+		ServerGame game = games.get(gameID);
 
 		if (!capabilities.contains(CapabilitiesType.CHAT)) {
 			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
 					.invalidMessage(Reason.CHATNOTAVAILABLE), handler));
 		} else {
-			// sends messages to the players
-			for (Player p : pList) {
-				OutputQueue.addElement(new WrappedJSONObject(
-						ServerMessageBuilder.chatToGame(senderID, msg, gameID),
-						getClientHandler(p.getNick())));
-			}
-
-			// sends messages to the spectators
-			for (Spectator s : sList) {
-				OutputQueue.addElement(new WrappedJSONObject(
-						ServerMessageBuilder.chatToGame(senderID, msg, gameID),
-						getClientHandler(s.getNick())));
-			}
+			// sends messages to the players and the spectators
+			sendToGame(game, new EncodedMessage(ServerMessageBuilder
+					.chatToGame(senderID, msg, gameID)));
 		}
 	}
 
@@ -772,9 +813,16 @@ public final class ServerControl {
 							Reason.GAMEISNOTYETSTARTED), handler));
 		} else {
 
+			// the player whose turn ends if the move is legal
+			Player current = game.getTurnTimer().getCurrentPlayer();
+
 			// string displays whether the move was legal or not
+			int phase = game.getPhase();
+			long start = System.nanoTime();
 			String cardPlacing = game.checkCardPlacement(position, rotation,
 					placement, handler.getNick());
+			placementTimes[phase].record(
+					TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
 			if (cardPlacing.equals(Reason.MOVEISILLEGAL.toString())) {
 
 				OutputQueue.addElement(new WrappedJSONObject(
@@ -782,7 +830,7 @@ public final class ServerControl {
 								ServerMessageBuilder.createAction(position,
 										rotation, placement),
 								Reason.MOVEISILLEGAL), handler));
-				game.getThread().setMoveFailed(true);
+				game.getTurnTimer().moveFailed();
 				
 			} else if (cardPlacing.equals(Reason.ITSNOTYOURTURN)) {
 
@@ -791,47 +839,29 @@ public final class ServerControl {
 								ServerMessageBuilder.createAction(position,
 										rotation, placement),
 								Reason.ITSNOTYOURTURN), handler));
-				game.getThread().setMoveFailed(true);
+				game.getTurnTimer().moveFailed();
 				
 			} else if (cardPlacing.equals("legal")) { // if legal
 
-				if (handler.getNick().equals(
-						game.getThread().getCurrentPlayer().getNick())) {
-					game.getThread().setMoveMade(true);
-				}
-
-				JSONObject moveMade = null;
-				// send move made to all player in this game
-				for (Player p : game.getPlayerList().values()) {
-					moveMade = ServerMessageBuilder.moveMade(gameID, handler
-							.getNick(), game.getCurrentCard(false),
-							ServerMessageBuilder.createAction(position,
-									rotation, placement));
-					OutputQueue.addElement(new WrappedJSONObject(moveMade,
-							getClientHandler(p.getNick())));
-				}
 
-				// send move made to all spectator in this game
-				for (Spectator s : game.getSpectatorList().values()) {
-					OutputQueue.addElement(new WrappedJSONObject(
-							ServerMessageBuilder.moveMade(gameID, handler
-									.getNick(), game.getCurrentCard(false),
-									ServerMessageBuilder.createAction(position,
-											rotation, placement)),
-							getClientHandler(s.getNick())));
-				}
+				// send move made to all player and spectator in this game
+				JSONObject moveMade = ServerMessageBuilder.moveMade(gameID,
+						handler.getNick(), game.getCurrentCard(false),
+						ServerMessageBuilder.createAction(position, rotation,
+								placement));
+				EncodedMessage encodedMove = new EncodedMessage(moveMade);
+				sendToGame(game, encodedMove);
 
 				// Add the move to the MoveMadeStorage in order to let
 				// spectators watch the game if the join after the game has
 				// started
-				if (moveMade != null) {
-					ServerMoveMadeStorage.addMoveToQueue(gameID, moveMade);
+				if (!game.getPlayerList().isEmpty()) {
+					ServerMoveMadeStorage.addMoveToQueue(gameID, encodedMove);
 				}
 
-				broadcastToAllIfExtensionFits(game,
-						ServerMessageBuilder.gameUpdate(game
-								.getGameInformation()));
+				broadcastScores(game);
 				game.getCurrentCard(true);
+				game.getTurnTimer().moveMade(current);
 
 			} else if (cardPlacing.equals("legalButMeeple")) { // legal but no
 																// meeple set
@@ -840,53 +870,65 @@ public final class ServerControl {
 				Placement place = new Placement(-1);
 				place.setCommunicationPlacement(-1);
 
-				if (handler.getNick().equals(
-						game.getThread().getCurrentPlayer().getNick())) {
-					game.getThread().setMoveMade(true);
-				}
-				JSONObject moveMade = null;
-				for (Player p : game.getPlayerList().values()) {
-					moveMade = ServerMessageBuilder.moveMade(gameID, handler
-							.getNick(), game.getCurrentCard(false),
-							ServerMessageBuilder.createAction(position,
-									rotation, place));
-					OutputQueue.addElement(new WrappedJSONObject(moveMade,
-							getClientHandler(p.getNick())));
-				}
-				for (Spectator s : game.getSpectatorList().values()) {
-					OutputQueue.addElement(new WrappedJSONObject(
-							ServerMessageBuilder.moveMade(gameID, handler
-									.getNick(), game.getCurrentCard(false),
-									ServerMessageBuilder.createAction(position,
-											rotation, place)),
-							getClientHandler(s.getNick())));
-				}
+				JSONObject moveMade = ServerMessageBuilder.moveMade(gameID,
+						handler.getNick(), game.getCurrentCard(false),
+						ServerMessageBuilder.createAction(position, rotation,
+								place));
+				EncodedMessage encodedMove = new EncodedMessage(moveMade);
+				sendToGame(game, encodedMove);
 
 				// Add the move to the MoveMadeStorage in order to let
 				// spectators watch the game if the join after the game has
 				// started
-				if (moveMade != null) {
-					ServerMoveMadeStorage.addMoveToQueue(gameID, moveMade);
+				if (!game.getPlayerList().isEmpty()) {
+					ServerMoveMadeStorage.addMoveToQueue(gameID, encodedMove);
 				}
-				broadcastToAllIfExtensionFits(game,
-						ServerMessageBuilder.gameUpdate(game
-								.getGameInformation()));
+				broadcastScores(game);
 				game.getCurrentCard(true);
+				game.getTurnTimer().moveMade(current);
 			}
 		}
 	}
 
 	/**
-	 * Sends the final 'game-update' message when the game has ended. Is called by the PlayerThread.
+	 * Sends the final 'game-update' message when the game has ended. Is called by the TurnTimer on the lane of the
+	 * game.
 	 * 
 	 * @param gameUpdate
 	 *            message to be sent
 	 * 
-	 * @see PlayerThread
+	 * @see TurnTimer
 	 */
-	public void delegateGameUpdateFromPlayerThread(ServerGame game) {
-		broadcastToAll(ServerMessageBuilder.gameUpdate(game
-				.getGameInformation()));
+	public void delegateFinalGameUpdate(ServerGame game) {
+		lobby.gameChanged(game);
+		JSONObject info = game.getGameInformation();
+		EncodedMessage full = new EncodedMessage(
+				ServerMessageBuilder.gameUpdate(info));
+		EncodedMessage versioned = new EncodedMessage(
+				ServerMessageBuilder.gameUpdate(info, game.nextVersion()));
+		for (ClientHandler h : connectedHandler.values()) {
+			OutputQueue.addElement(wantsDelta(h) ? versioned : full, h);
+		}
+	}
+
+	/**
+	 * Sends the whole 'game update' message with the current version to a client that missed a change.
+	 * 
+	 * @param gameID
+	 *            ID of the game
+	 * @param handler
+	 *            Reference to the handler of the client
+	 */
+	void resync(int gameID, ClientHandler handler) {
+		ServerGame game = games.get(gameID);
+		if (game == null) {
+			OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
+					.gameRemoved(gameID), handler));
+			return;
+		}
+		OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
+				.gameUpdate(game.getGameInformation(), game.getVersion()),
+				handler));
 	}
 
 	/**
@@ -927,9 +969,52 @@ public final class ServerControl {
 	 * @param msg
 	 *            sended Message
 	 */
-	private synchronized void broadcastToAll(JSONObject msg) {
+	private void broadcastToAll(JSONObject msg) {
+		broadcastToAll(new EncodedMessage(msg));
+	}
+
+	/**
+	 * Sends an encoded message to all clients.
+	 * 
+	 * @param msg
+	 *            message which will be send, it is shared by all receivers
+	 */
+	private void broadcastToAll(EncodedMessage msg) {
+		int receivers = 0;
 		for (ClientHandler h : connectedHandler.values()) {
-			OutputQueue.addElement(new WrappedJSONObject(msg, h));
+			OutputQueue.addElement(msg, h);
+			receivers++;
+		}
+		recordFanOut(msg, receivers);
+	}
+
+	/**
+	 * Sends a message to all players and then to all spectators of a game.
+	 * 
+	 * @param game
+	 *            game of the receivers
+	 * @param msg
+	 *            message which will be send, it is shared by all receivers
+	 */
+	private void sendToGame(ServerGame game, EncodedMessage msg) {
+		int receivers = 0;
+		for (Player p : game.getPlayerList().values()) {
+			OutputQueue.addElement(msg, getClientHandler(p.getNick()));
+			receivers++;
+		}
+		for (Spectator s : game.getSpectatorList().values()) {
+			OutputQueue.addElement(msg, getClientHandler(s.getNick()));
+			receivers++;
+		}
+		recordFanOut(msg, receivers);
+	}
+
+	/**
+	 * Counts the receivers of a message that was sent to many clients.
+	 */
+	private void recordFanOut(EncodedMessage msg, int receivers) {
+		if (msg.getType() != null) {
+			fanOut.get(msg.getType()).record(receivers);
 		}
 	}
 
@@ -940,29 +1025,178 @@ public final class ServerControl {
 	 *            game to check
 	 */
 	private void broadcastToAllIfExtensionFits(ServerGame game, JSONObject msg) {
+		lobby.gameChanged(game);
+		EncodedMessage encoded = new EncodedMessage(msg);
+		int receivers = 0;
 		// Send games to the clients correctly
 		for (ClientHandler client : connectedHandler.values()) {
-			// if the game has no extensions
-			if (game.getExtension().isEmpty()) {
-				OutputQueue.addElement(new WrappedJSONObject(msg, client));
+			if (extensionFits(game, client)) {
+				OutputQueue.addElement(encoded, client);
+				receivers++;
+			}
+		}
+		recordFanOut(encoded, receivers);
+	}
+
+	/**
+	 * Sends the whole 'game update' message to all clients if the extensions fit, the clients with the 'Game delta'
+	 * capability get it with the new version of the game.
+	 * 
+	 * @param game
+	 *            changed game
+	 */
+	private void broadcastGameUpdate(ServerGame game) {
+		lobby.gameChanged(game);
+		JSONObject info = game.getGameInformation();
+		EncodedMessage full = new EncodedMessage(
+				ServerMessageBuilder.gameUpdate(info));
+		EncodedMessage versioned = new EncodedMessage(
+				ServerMessageBuilder.gameUpdate(info, game.nextVersion()));
+		int receivers = 0;
+		for (ClientHandler client : connectedHandler.values()) {
+			if (extensionFits(game, client)) {
+				OutputQueue.addElement(wantsDelta(client) ? versioned : full,
+						client);
+				receivers++;
+			}
+		}
+		recordFanOut(full, receivers);
+	}
+
+	/**
+	 * Sends a change of a game to the clients with the 'Game delta' capability and the whole 'game update' message
+	 * to the other clients, if the extensions fit. The whole message is only built if a client needs it.
+	 * 
+	 * @param game
+	 *            changed game
+	 * @param delta
+	 *            the change, null if the clients with the capability get nothing
+	 */
+	private void broadcastGameChange(ServerGame game, JSONObject delta) {
+		lobby.gameChanged(game);
+		EncodedMessage change = delta == null ? null : new EncodedMessage(
+				delta);
+		EncodedMessage full = null;
+		int changes = 0;
+		int updates = 0;
+		for (ClientHandler client : connectedHandler.values()) {
+			if (!extensionFits(game, client)) {
+				continue;
+			}
+			if (wantsDelta(client)) {
+				if (change != null) {
+					OutputQueue.addElement(change, client);
+					changes++;
+				}
 			} else {
-				// does the client support all extensions of the game?
-				Set<CapabilitiesType> gameExtensions = game.getExtension();
-				Set<CapabilitiesType> clientCapabilities = client
-						.getCapabilities();
-				if (clientCapabilities.containsAll(gameExtensions)) {
-					OutputQueue.addElement(new WrappedJSONObject(msg, client));
+				if (full == null) {
+					full = new EncodedMessage(
+							ServerMessageBuilder.gameUpdate(game
+									.getGameInformation()));
 				}
+				OutputQueue.addElement(full, client);
+				updates++;
 			}
 		}
+		if (change != null) {
+			recordFanOut(change, changes);
+		}
+		if (full != null) {
+			recordFanOut(full, updates);
+		}
+	}
+
+	/**
+	 * Sends the players whose score or meeples changed after a move.
+	 * 
+	 * @param game
+	 *            game in which the move was made
+	 */
+	private void broadcastScores(ServerGame game) {
+		JSONArray changed = game.getChangedPlayerInformation();
+		broadcastGameChange(game, changed.length() == 0 ? null
+				: ServerMessageBuilder.scoreChanged(game.getGameID(),
+						game.nextVersion(), changed));
+	}
+
+	/**
+	 * Checks if the client supports all extensions of the game.
+	 */
+	private boolean extensionFits(ServerGame game, ClientHandler client) {
+		// if the game has no extensions
+		if (game.getExtension().isEmpty()) {
+			return true;
+		}
+		return client.getCapabilities().containsAll(game.getExtension());
+	}
+
+	private boolean wantsDelta(ClientHandler client) {
+		return client.getCapabilities().contains(CapabilitiesType.DELTA);
 	}
 
 	/*
 	 * GETTER AND SETTER BELOW
 	 */
 
+	/**
+	 * Returns the games by their ID, the map can't be changed.
+	 */
 	public Map<Integer, ServerGame> getGames() {
-		return games;
+		return games.asMap();
+	}
+
+	/**
+	 * Removes a game and its moves.
+	 * 
+	 * @param gameID
+	 *            ID of the game
+	 */
+	public void removeGame(int gameID) {
+		ServerMoveMadeStorage.deleteQueue(gameID);
+		games.remove(gameID);
+		lobby.gameRemoved(gameID);
+	}
+
+	/**
+	 * Runs a task on the lane of a game, so it doesn't change the game at the same time as a message of the game.
+	 * Nothing is run if the game doesn't exist any more.
+	 * 
+	 * @param gameID
+	 *            ID of the game
+	 * @param task
+	 *            task that changes the game
+	 * 
+	 * @see TurnTimer
+	 */
+	public void executeOnGame(int gameID, Runnable task) {
+		classification.executeOnGame(gameID, task);
+	}
+
+	/**
+	 * Removes a game if it has neither players nor spectators. Is run on the lane of the game, so nobody can join the
+	 * game between the check and the removal. Is invoked by the CleaningThread.
+	 * 
+	 * @param gameID
+	 *            ID of the game
+	 */
+	public void removeIfEmpty(final int gameID) {
+		classification.executeOnGame(gameID, new Runnable() {
+			@Override
+			public void run() {
+				ServerGame game = games.get(gameID);
+				if (game != null && game.getPlayerList().isEmpty()
+						&& game.getSpectatorList().isEmpty()) {
+					removeGame(gameID);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns the games a user plays in.
+	 */
+	List<ServerGame> getGamesOf(String nick) {
+		return games.getGamesOf(nick);
 	}
 
 	ServerSocket getListen() {
@@ -972,11 +1206,4 @@ public final class ServerControl {
 	Map<String, ClientHandler> getConnectedHandler() {
 		return connectedHandler;
 	}
-
-	public void invalidFormattedLoginMessage(ClientHandler handler) {
-		OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
-				.invalidMessage(Reason.INVALIDMESSAGE), handler));
-		OutputQueue.addElement(new WrappedJSONObject(ServerMessageBuilder
-				.invalidMessage(Reason.LOGINFAILED), handler));
-	}
 }
@@ -0,0 +1,111 @@
+package server.model.serverCommunication.execution;
+
+import java.lang.reflect.Method;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import server.model.serverCommunication.clientHandling.ClientHandler;
+
+/**
+ * Decides on which kind of thread the ClientHandlers run.
+ * <p>
+ * PLATFORM gives every task its own daemon thread like before. VIRTUAL runs
+ * them on virtual threads, so a blocked read doesn't hold a thread of the
+ * operating system. Virtual threads exist since Java 21, on an older runtime
+ * VIRTUAL can't be set and the server stays with PLATFORM.
+ * The mode is set once when the server starts.
+ *
+ * @see ClientHandler
+ */
+public enum ThreadMode {
+
+	PLATFORM, VIRTUAL;
+
+	/**
+	 * Error logger
+	 */
+	private static Logger log = LogManager.getLogger("ERROR");
+
+	/**
+	 * Mode of the server
+	 */
+	private static volatile ThreadMode current = PLATFORM;
+
+	/**
+	 * {@code Thread.ofVirtual()} and {@code Thread.Builder.unstarted(Runnable)}
+	 * if the runtime has virtual threads, null otherwise
+	 */
+	private static final Method OF_VIRTUAL;
+	private static final Method UNSTARTED;
+
+	static {
+		Method ofVirtual = null;
+		Method unstarted = null;
+		try {
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			unstarted = Class.forName("java.lang.Thread$Builder").getMethod(
+					"unstarted", Runnable.class);
+		} catch (ReflectiveOperationException e) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		UNSTARTED = unstarted;
+	}
+
+	public static ThreadMode getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Sets the mode of the server. VIRTUAL is rejected if the runtime has no
+	 * virtual threads, the mode stays as it is then.
+	 *
+	 * @param mode
+	 *            the new mode
+	 * @return false if the mode was rejected
+	 */
+	public static boolean setCurrent(ThreadMode mode) {
+		if (mode == VIRTUAL && OF_VIRTUAL == null) {
+			log.error("The option virtual needs virtual threads (Java 21), this runtime is Java "
+					+ System.getProperty("java.specification.version")
+					+ ". The server uses platform threads.");
+			return false;
+		}
+		current = mode;
+		return true;
+	}
+
+	/**
+	 * Returns whether the runtime has virtual threads, so VIRTUAL can be set.
+	 */
+	public static boolean hasVirtualThreads() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Starts the task on a new thread of this mode.
+	 *
+	 * @param name
+	 *            name of the thread
+	 * @param task
+	 *            task the thread runs
+	 * @return the started thread
+	 */
+	public Thread start(String name, Runnable task) {
+		Thread thread;
+		if (this == VIRTUAL && OF_VIRTUAL != null) {
+			try {
+				thread = (Thread) UNSTARTED.invoke(OF_VIRTUAL.invoke(null), task);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException(e);
+			}
+		} else {
+			thread = new Thread(task, name);
+			thread.setDaemon(true);
+		}
+		thread.setName(name);
+		thread.start();
+		return thread;
+	}
+}
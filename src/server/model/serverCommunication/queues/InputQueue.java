@@ -5,13 +5,13 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import server.model.serverCommunication.clientHandling.ClientHandler;
-import server.model.serverCommunication.utility.WrappedJSONObject;
+import server.model.serverCommunication.utility.WrappedCommand;
 
 /**
  * Provides a BlockingQueue for all messages that were sent from each client.
  * <p>
- * All ClientHandler-Threads put the messages they receive in a JSONObject, after that they 
- * wrap this JSONObject in an object of the type WrappedJSONObject which also contains a
+ * All ClientHandler-Threads read the messages they receive into a Command, after that they 
+ * wrap this Command in an object of the type WrappedCommand which also contains a
  * reference to the ClientHandler which received the message.
  * This Wrapperobject is stored in this BlockingQueue until an Executor takes the 
  * object out of the queue and performs the calculations.
@@ -20,14 +20,14 @@ import server.model.serverCommunication.utility.WrappedJSONObject;
  * @see BlockingQueue
  * @see ClientHandler
  * @see Executor
- * @see WrappedJSONObject
+ * @see WrappedCommand
  */
 public final class InputQueue {
 
 	/**
 	 * Blocking queue containing all elements received by all ClientHandler
 	 */
-	private static BlockingQueue<WrappedJSONObject> jobQueue = new LinkedBlockingQueue<>();
+	private static BlockingQueue<WrappedCommand> jobQueue = new LinkedBlockingQueue<>();
 	
 	/**
 	 * Only constructor musn't be invoked throws Exception otherwise.
@@ -44,7 +44,7 @@ public final class InputQueue {
 	 * 
 	 * @return Next message which should be executed.
 	 */
-	public static WrappedJSONObject getNextElement(){
+	public static WrappedCommand getNextElement(){
 		try {
 			return jobQueue.take();
 		} catch (InterruptedException e) {
@@ -53,13 +53,20 @@ public final class InputQueue {
 		return null;
 	}
 	
+	/**
+	 * Returns the number of messages that wait to be classified.
+	 */
+	public static int size(){
+		return jobQueue.size();
+	}
+	
 	/**
 	 * Adds an element to the queue.
 	 * Is invoked by the ClientHandler Threads.
 	 * 
 	 * @param element Element containing the message and the reference to the handler which received the message.
 	 */
-	public static void addElement(WrappedJSONObject element){
+	public static void addElement(WrappedCommand element){
 		try {
 			jobQueue.put(element);
 		} catch (InterruptedException e) {
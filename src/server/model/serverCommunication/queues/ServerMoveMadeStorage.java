@@ -1,27 +1,43 @@
 package server.model.serverCommunication.queues;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
 
 import server.model.serverCommunication.clientHandling.ServerMessageSender;
+import server.model.serverCommunication.utility.EncodedMessage;
+import shared.communication.BinaryProtocol;
+import shared.enums.JsonType;
 
 /**
  * This utility class saves all 'move made' messages sent by the server.
  * If a new spectator joins a game all messages saved in this class will be sent to the spectator.
+ * The moves of a game are kept as a compact log: every move is the binary frame of the BinaryProtocol,
+ * with the id of the tile in the TileCatalog, x, y, rotation, placement, special meeple and nick in a
+ * few bytes instead of the whole 'move made' line. A move whose tile isn't in the catalog is kept as
+ * JSON frame. For a spectator the log is expanded into 'move made' lines again, so the clients see no
+ * difference, and all of them are sent with one write.
+ * <p>
+ * The expanded lines of the first moves are kept as a snapshot. It's taken again when a spectator joins
+ * after at least {@link #SNAPSHOT} more moves were made, so a late spectator gets the snapshot plus the
+ * tail of the moves and only the tail is expanded. Games nobody watches have no snapshot.
  * Because this class is a utility-class it musn't be instantiated.
- * 
+ *
  * @version 13.12.2013
  * @see client.model.game.ClientMoveMadeStorage
  * @see ServerMessageSender
+ * @see BinaryProtocol
  */
 public final class ServerMoveMadeStorage {
-	
+
 	/**
 	 * Error logger
 	 */
@@ -30,17 +46,76 @@ public final class ServerMoveMadeStorage {
 	 * Info logger
 	 */
 	private static Logger infoLog = LogManager.getLogger("INFO");
-	
+
+	/**
+	 * Number of moves after which a new snapshot is taken
+	 */
+	static final int SNAPSHOT = 16;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
 
 	/**
 	 * Map which saves all 'move-made' messages.
 	 * <p>
 	 * The key of this map is the gameID of the game where the 'move-made' messages are saved.
-	 * The value is a queue which contains all 'move-made' messages as a JSONObject,
-	 * they are saved in the correct order.
+	 * The value is the log of the moves of the game in the correct order.
 	 */
-	private static Map<Integer, ConcurrentLinkedQueue<JSONObject>> moveQueue = new HashMap<Integer, ConcurrentLinkedQueue<JSONObject>>();
-	
+	private static ConcurrentMap<Integer, MoveLog> moveQueue = new ConcurrentHashMap<Integer, MoveLog>();
+
+	/**
+	 * The moves of a game as frames and the snapshot of the expanded lines
+	 */
+	private static final class MoveLog {
+
+		/**
+		 * The frames of all moves, one after another
+		 */
+		private final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+
+		private int moves;
+
+		/**
+		 * The lines of the first snapshotMoves moves, null before the first spectator
+		 */
+		private byte[] snapshot;
+
+		private int snapshotMoves;
+
+		/**
+		 * Number of bytes of the frames that are in the snapshot
+		 */
+		private int snapshotEnd;
+
+		private synchronized void add(EncodedMessage move) throws IOException {
+			move.toFrames().writeTo(frames);
+			moves++;
+		}
+
+		/**
+		 * Returns the lines of all moves, the snapshot and the expanded tail.
+		 */
+		private synchronized byte[] expand() throws IOException {
+			byte[] bytes = frames.toByteArray();
+			ByteArrayOutputStream lines = new ByteArrayOutputStream(
+					(snapshot == null ? 0 : snapshot.length) + 256 * (moves - snapshotMoves));
+			if (snapshot != null) {
+				lines.write(snapshot);
+			}
+			InputStream tail = new ByteArrayInputStream(bytes, snapshotEnd, bytes.length - snapshotEnd);
+			JSONObject move;
+			while ((move = BinaryProtocol.readMessage(tail)) != null) {
+				lines.write((move.toString() + "\n").getBytes(UTF8));
+			}
+			byte[] all = lines.toByteArray();
+			if (moves - snapshotMoves >= SNAPSHOT) {
+				snapshot = all;
+				snapshotMoves = moves;
+				snapshotEnd = bytes.length;
+			}
+			return all;
+		}
+	}
+
 
 	/**
 	 * Should never be instantiated.
@@ -49,18 +124,24 @@ public final class ServerMoveMadeStorage {
 		log.error("MoveMadeStorage should not be instantiated");
 		throw new AssertionError("MoveMadeStorage should not be instantiated");
 	}
-	
+
 	/**
-	 * Creates a new queue in the hashmap the key is the ID of the game.
-	 * Must be called if a new game is created
-	 * 
+	 * Creates a new queue in the map the key is the ID of the game.
+	 * Is called when the first move of a game is added
+	 *
 	 * @param gameID ID of the game that was created
+	 * @return the queue of the game
 	 */
-	private static void addQueue(int gameID){
-		moveQueue.put(gameID, new ConcurrentLinkedQueue<JSONObject>());
+	private static MoveLog addQueue(int gameID){
+		MoveLog queue = new MoveLog();
+		MoveLog existing = moveQueue.putIfAbsent(gameID, queue);
+		if(existing != null){
+			return existing;
+		}
 		infoLog.info("A new queue was added for the game with the ID: "+gameID);
+		return queue;
 	}
-	
+
 	/**
 	 * Deletes the queue with the given GameID.
 	 * Is invoked when a game was removed.
@@ -70,38 +151,66 @@ public final class ServerMoveMadeStorage {
 		moveQueue.remove(gameID);
 		infoLog.info("The queue for the game with the ID: "+gameID+ " was removed.");
 	}
-	
+
 	/**
 	 * Adds a 'move made' message to the queue for the specific game.
-	 * 
+	 *
 	 * @param gameID ID of the game where the move was made.
 	 * @param move 'move made' message
 	 */
 	 public static void addMoveToQueue(int gameID, JSONObject move){
-		ConcurrentLinkedQueue<JSONObject> queue = moveQueue.get(gameID);
+		addMoveToQueue(gameID, new EncodedMessage(move));
+	}
+
+	/**
+	 * Adds a 'move made' message that was already encoded to the queue for the specific game.
+	 * The frame of the move is shared with the players that get binary frames.
+	 *
+	 * @param gameID ID of the game where the move was made.
+	 * @param move 'move made' message
+	 */
+	 public static void addMoveToQueue(int gameID, EncodedMessage move){
+		MoveLog queue = moveQueue.get(gameID);
 		if(queue == null){
-			addQueue(gameID);
-			queue = moveQueue.get(gameID);
+			queue = addQueue(gameID);
+		}
+		try {
+			queue.add(move);
+		} catch (IOException e) {
+			log.error(e.getMessage());
 		}
-		queue.add(move);
 	}
-	
+
 	/**
 	 * Is called when a spectator successfully joins a game.
-	 * Sends all 'move made' message done in this game to the spectator.
-	 * 
+	 * Sends all 'move made' message done in this game to the spectator with one write.
+	 *
 	 * @param sender Sender that sends the messages to the spectator
 	 * @param gameID ID of the game the spectator joined
 	 */
 	 public static void sendAllMoveMade(ServerMessageSender sender, int gameID){
-		ConcurrentLinkedQueue<JSONObject> queue = moveQueue.get(gameID);
+		byte[] lines = getAllMoveMade(gameID);
+		if(lines.length > 0){
+			sender.sendMessageGeneral(new EncodedMessage(lines, JsonType.MOVEMADE));
+		}
+	}
+
+	/**
+	 * Returns all 'move made' messages of a game as lines, each ends with a newline.
+	 *
+	 * @param gameID ID of the game
+	 * @return the lines, empty if the game has no moves
+	 */
+	 public static byte[] getAllMoveMade(int gameID){
+		MoveLog queue = moveQueue.get(gameID);
 		if(queue == null){
-			return;
+			return new byte[0];
 		}
-		Iterator<JSONObject> queueIterator = queue.iterator();
-		while(queueIterator.hasNext()){
-			JSONObject moveMade = queueIterator.next();			
-			sender.sendMessageGeneral(moveMade);
+		try {
+			return queue.expand();
+		} catch (IOException e) {
+			log.error(e.getMessage());
+			return new byte[0];
 		}
 	}
 }
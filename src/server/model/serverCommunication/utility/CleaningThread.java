@@ -9,7 +9,6 @@ import org.apache.logging.log4j.Logger;
 
 import server.model.game.ServerGame;
 import server.model.serverCommunication.execution.ServerControl;
-import server.model.serverCommunication.queues.ServerMoveMadeStorage;
 
 /**
  * Cleans the garbage in ServerControl.
@@ -79,7 +78,7 @@ public final class CleaningThread extends Thread{
 
 	/**
 	 * Checks if the games saved in the ServerControl have players in it.
-	 * If one doesn't it will be deleted.
+	 * If one doesn't it will be deleted on the lane of the game.
 	 * 
 	 * @param games Map of the games saved in ServerControl
 	 */
@@ -94,8 +93,7 @@ public final class CleaningThread extends Thread{
 		}
 		
 		for(int i : gamesToRemove){
-			ServerMoveMadeStorage.deleteQueue(i);
-			games.remove(i);
+			control.removeIfEmpty(i);
 		}
 	}	
 }
@@ -0,0 +1,177 @@
+package server.model.serverCommunication.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.json.JSONObject;
+
+import server.model.serverCommunication.clientHandling.Outbox;
+import server.model.serverCommunication.queues.OutputQueue;
+import shared.communication.BinaryProtocol;
+import shared.enums.JsonType;
+import shared.enums.Reason;
+
+/**
+ * A message that is already turned into the bytes that are sent.
+ * <p>
+ * A message for many clients is encoded once and the same EncodedMessage is
+ * put in the Outbox of every client, so the JSONObject isn't turned into a
+ * String again for every receiver. It can't be changed after it was created.
+ * The frames for the clients with the binary protocol are made only when the
+ * first of them gets the message, and only once.
+ *
+ * @see OutputQueue
+ * @see Outbox
+ * @see BinaryProtocol
+ */
+public final class EncodedMessage {
+
+	/**
+	 * Charset of the messages
+	 */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * The message as it is logged
+	 */
+	private final String text;
+
+	/**
+	 * The message with the newline
+	 */
+	private final byte[] bytes;
+
+	private final JsonType type;
+
+	/**
+	 * Reason of the message, empty if it has none
+	 */
+	private final String reason;
+
+	/**
+	 * True if the bytes are binary frames
+	 */
+	private final boolean binary;
+
+	/**
+	 * The message as binary frames, null until it is needed
+	 */
+	private volatile EncodedMessage frames;
+
+	/**
+	 * Encodes a message.
+	 *
+	 * @param json
+	 *            the message, it isn't read again later
+	 */
+	public EncodedMessage(JSONObject json) {
+		this.text = json.toString();
+		this.bytes = (text + "\n").getBytes(UTF8);
+		this.type = JsonType.fromString(json.optString("type"));
+		this.reason = json.optString("reason");
+		this.binary = false;
+	}
+
+	/**
+	 * Creates a message of several lines that are already encoded, they are
+	 * sent with one write.
+	 *
+	 * @param lines
+	 *            the encoded messages, each ends with a newline
+	 * @param type
+	 *            type of the messages
+	 */
+	public EncodedMessage(byte[] lines, JsonType type) {
+		this.text = new String(lines, 0, Math.max(0, lines.length - 1), UTF8);
+		this.bytes = lines;
+		this.type = type;
+		this.reason = "";
+		this.binary = false;
+	}
+
+	private EncodedMessage(EncodedMessage lines, byte[] frames) {
+		this.text = lines.text;
+		this.bytes = frames;
+		this.type = lines.type;
+		this.reason = lines.reason;
+		this.binary = true;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * Returns the bytes that are sent, the buffer can't be written.
+	 */
+	public ByteBuffer getBytes() {
+		return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Writes the bytes that are sent into a stream.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(bytes);
+	}
+
+	/**
+	 * Returns the message as binary frames, one frame for every line.
+	 *
+	 * @return the message as it is sent to a client with the binary protocol
+	 */
+	public EncodedMessage toFrames() {
+		if (binary) {
+			return this;
+		}
+		EncodedMessage result = frames;
+		if (result == null) {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length);
+			DataOutputStream out = new DataOutputStream(buffer);
+			try {
+				int start = 0;
+				for (int i = 0; i < bytes.length; i++) {
+					if (bytes[i] != '\n') {
+						continue;
+					}
+					if (BinaryProtocol.hasOwnFrame(type)) {
+						BinaryProtocol.writeFrame(new JSONObject(new String(
+								bytes, start, i - start, UTF8)), type, out);
+					} else {
+						BinaryProtocol.writeTextFrame(bytes, start, i - start,
+								out);
+					}
+					start = i + 1;
+				}
+			} catch (IOException e) {
+				// only a message that is longer than a frame can be
+				throw new IllegalStateException(e);
+			}
+			result = new EncodedMessage(this, buffer.toByteArray());
+			frames = result;
+		}
+		return result;
+	}
+
+	public int length() {
+		return bytes.length;
+	}
+
+	public JsonType getType() {
+		return type;
+	}
+
+	/**
+	 * Returns true for the messages after which the server logs the client
+	 * out.
+	 */
+	public boolean endsConnection() {
+		return JsonType.ACKNOWLEDGEDISCONNECT.equals(type)
+				|| (JsonType.INVALIDMESSAGE.equals(type) && Reason.LOGINFAILED
+						.equals(Reason.fromString(reason)));
+	}
+}
@@ -1,6 +1,5 @@
 package server.model.serverCommunication.utility;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -12,13 +11,14 @@ import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONString;
 
 import server.model.game.ServerGame;
 import shared.enums.CapabilitiesType;
-import shared.enums.CardAreaType;
 import shared.enums.GameStatus;
 import shared.enums.JsonType;
 import shared.enums.Reason;
+import shared.model.BuildCard;
 import shared.model.Card;
 import shared.model.Placement;
 import shared.model.Position;
@@ -226,6 +226,34 @@ public final class ServerMessageBuilder {
 		return msg;
 	}
 	
+	/**
+	 * Returns a JSONObject for a successful login attempt, the games and nicks are already encoded.
+	 * 
+	 * @param nick name of the successfully connected user
+	 * @param gameArray encoded array of the information about the games
+	 * @param nickArray encoded array of the names of all connected player
+	 * @param capa capabilities of the server
+	 * @return successful login json-message
+	 */
+	 public static JSONObject loginSucceeded(String nick, JSONString gameArray, JSONString nickArray, List<CapabilitiesType> capa){
+		JSONObject msg = createWithType(JsonType.LOGINSUCCESS);
+		msg = addNick(msg, nick);
+		
+		JSONArray capabilities = new JSONArray();
+		for(CapabilitiesType t : capa){
+			capabilities.put(t.toString());
+		}
+		
+		try {
+			msg.put("game array", gameArray);
+			msg.put("nick array", nickArray);
+			msg.put("capabilities", capabilities);
+		} catch (JSONException e) {
+			log.error(e.getMessage());
+		}
+		return msg;
+	}
+	
 	/**
 	 * Returns a json message that is sent to all connected client which says that a new player joined
 	 * 
@@ -323,6 +351,96 @@ public final class ServerMessageBuilder {
 		return msg;
 	}
 	
+	/**
+	 * Returns a json-message with all the game information and the version of the game, is sent to the clients
+	 * with the 'Game delta' capability.
+	 * 
+	 * @param gameInfo all import information of the game
+	 * @param version version of the game
+	 * @return message with all the gameInformation
+	 */
+	 public static JSONObject gameUpdate(JSONObject gameInfo, int version) {
+		JSONObject msg = gameUpdate(gameInfo);
+		try {
+			msg.put("version", version);
+		} catch (JSONException e) {
+			log.error(e.getMessage());
+		}
+		return msg;
+	}
+	
+	/**
+	 * Returns a json-message that says that a player joined a game
+	 * 
+	 * @param gameID ID of the game
+	 * @param version version of the game after the change
+	 * @param playerInfo information about the player
+	 * @return message with the new player
+	 */
+	 public static JSONObject playerJoined(int gameID, int version, JSONObject playerInfo) {
+		JSONObject msg = createGameDelta(JsonType.PLAYERJOINED, gameID, version);
+		try {
+			msg.put("player", playerInfo);
+		} catch (JSONException e) {
+			log.error(e.getMessage());
+		}
+		return msg;
+	}
+	
+	/**
+	 * Returns a json-message that says that a player left a game that isn't started
+	 * 
+	 * @param gameID ID of the game
+	 * @param version version of the game after the change
+	 * @param nick name of the player
+	 * @return message with the nick of the player
+	 */
+	 public static JSONObject playerQuit(int gameID, int version, String nick) {
+		return addNick(createGameDelta(JsonType.PLAYERQUIT, gameID, version), nick);
+	}
+	
+	/**
+	 * Returns a json-message that says that a user watches a game
+	 * 
+	 * @param gameID ID of the game
+	 * @param version version of the game after the change
+	 * @param nick name of the spectator
+	 * @return message with the nick of the spectator
+	 */
+	 public static JSONObject spectatorAdded(int gameID, int version, String nick) {
+		return addNick(createGameDelta(JsonType.SPECTATORADDED, gameID, version), nick);
+	}
+	
+	/**
+	 * Returns a json-message that says that a user doesn't watch a game any more
+	 * 
+	 * @param gameID ID of the game
+	 * @param version version of the game after the change
+	 * @param nick name of the spectator
+	 * @return message with the nick of the spectator
+	 */
+	 public static JSONObject spectatorRemoved(int gameID, int version, String nick) {
+		return addNick(createGameDelta(JsonType.SPECTATORREMOVED, gameID, version), nick);
+	}
+	
+	/**
+	 * Returns a json-message with the players whose score or meeples changed after a move
+	 * 
+	 * @param gameID ID of the game
+	 * @param version version of the game after the change
+	 * @param players information about the players that changed
+	 * @return message with the changed players
+	 */
+	 public static JSONObject scoreChanged(int gameID, int version, JSONArray players) {
+		JSONObject msg = createGameDelta(JsonType.SCORECHANGED, gameID, version);
+		try {
+			msg.put("player array", players);
+		} catch (JSONException e) {
+			log.error(e.getMessage());
+		}
+		return msg;
+	}
+	
 	/**
 	 * Returns a fail-message for a specific client that wants to observe a game
 	 * 
@@ -389,7 +507,7 @@ public final class ServerMessageBuilder {
 	 public static JSONObject tileDrawn(int gameID, String nick, Card tile, int remaining, int turnTime) {
 		JSONObject msg = createWithType(JsonType.TILEDRAWN);
 		msg = addNick(msg, nick);
-		JSONObject card = createCardInfo(tile.getAreas(), tile.getEdges(), tile.getAdjacency(), tile.getBonus(), tile.getMultiplier());
+		JSONObject card = BuildCard.createCardInfo(tile);
 		
 		try {
 			msg.put("tile", card);
@@ -437,7 +555,7 @@ public final class ServerMessageBuilder {
 		msg = addNick(msg, nick);
 		try {
 			msg.put("game id", gameID);
-			msg.put("tile", ServerMessageBuilder.createCardInfo(card.getAreas(), card.getEdges(), card.getAdjacency(), card.getBonus(), card.getMultiplier()));
+			msg.put("tile", BuildCard.createCardInfo(card));
 			msg.put("action", action);
 		} catch (JSONException e) {
 			log.error(e.getMessage());
@@ -591,88 +709,35 @@ public final class ServerMessageBuilder {
 		return msg;
 	}
 
-	/** 
-	 * Helper-method that puts a nick to the jsonobject
+	/**
+	 * Helper-method that creates a change of a game with its type, game id and version
 	 * 
-	 * @param msg JSONObject with the type
-	 * @param nick nick that should be added to the jsonmessage
-	 * @return json message with the nick added
+	 * @param type type of the change
+	 * @param gameID ID of the game
+	 * @param version version of the game after the change
+	 * @return message with type, game id and version
 	 */
-	private static JSONObject addNick(JSONObject msg, String nick) {
+	private static JSONObject createGameDelta(JsonType type, int gameID, int version){
+		JSONObject msg = createWithType(type);
 		try {
-			msg.put("nick", nick);
+			msg.put("game id", gameID);
+			msg.put("version", version);
 		} catch (JSONException e) {
 			log.error(e.getMessage());
 		}
 		return msg;
 	}
-	
-	/**
-	 * Puts a card into a JSONObject
+
+	/** 
+	 * Helper-method that puts a nick to the jsonobject
 	 * 
-	 * @param areas Areas array 
-	 * @param edges Edges Array
-	 * @param adjacency Adjacency Array
-	 * @param bonus Bonus Array
-	 * @param multiplier Multiplier Array
-	 * @return jsonObject with the information about a card
+	 * @param msg JSONObject with the type
+	 * @param nick nick that should be added to the jsonmessage
+	 * @return json message with the nick added
 	 */
-	private static JSONObject createCardInfo(List<CardAreaType> areas, List<ArrayList<Integer>> edges, List<ArrayList<Integer>> adjacency, List<Integer> bonus, List<Integer> multiplier) {
-		JSONObject msg = new JSONObject();
-		
-		JSONArray areasArr = new JSONArray();
-		JSONArray edgesArr = new JSONArray();
-		JSONArray adjacencyArr = new JSONArray();
-		JSONArray bonusArr = new JSONArray();
-		JSONArray multiplierArr = new JSONArray();
-		
-		//Put bonus in JSONArray
-		for(Integer i : bonus){
-			bonusArr.put(i);
-		}
-		
-		// Put multiplier in JSONArray
-		for(Integer i : multiplier){
-			multiplierArr.put(i);
-		}
-		
-		// Put areas in JSONArray
-		for(CardAreaType c : areas){
-			areasArr.put(c.toString());
-		}
-		
-		// Put edges in edge and put every edge in JSONArray edges
-		for(ArrayList<Integer> list : edges){
-			JSONArray edge = new JSONArray();
-			for(Integer i : list){
-				edge.put(i);
-			}
-			edgesArr.put(edge);
-		}
-		
-		// Put all adjacencies in JSONArray
-		for(ArrayList<Integer> l : adjacency){
-			JSONArray arr = new JSONArray();
-			for(Integer i : l){
-				arr.put(i);
-			}
-			adjacencyArr.put(arr);
-		}
-		if(adjacency.isEmpty()){
-			adjacencyArr.put(new JSONArray());
-		}
-		
+	private static JSONObject addNick(JSONObject msg, String nick) {
 		try {
-			msg.put("areas", areasArr);
-			msg.put("edges", edgesArr);
-			msg.put("adjacency", adjacencyArr);		
-			
-			if(bonusArr.length() != 0){
-				msg.put("bonus", bonusArr);				
-			}
-			if(multiplierArr.length() != 0){
-				msg.put("multiplier", multiplierArr);				
-			}
+			msg.put("nick", nick);
 		} catch (JSONException e) {
 			log.error(e.getMessage());
 		}
@@ -0,0 +1,59 @@
+package server.model.serverCommunication.utility;
+
+import server.model.serverCommunication.clientHandling.ClientHandler;
+import server.model.serverCommunication.commands.Command;
+import server.model.serverCommunication.execution.MessageClassification;
+import server.model.serverCommunication.queues.InputQueue;
+
+/**
+ * Wrapper class for wrapping a Command a client sent
+ * and a reference to the ClientHandler which received the message.
+ * Is used to store data in the InputQueue.
+ * 
+ * @see InputQueue
+ * @see ClientHandler
+ * @see MessageClassification
+ */
+public final class WrappedCommand {
+
+	/**
+	 * The message as Command.
+	 */
+	private final Command command;
+	/**
+	 * Reference to the ClientHandler which received the message.
+	 */
+	private final ClientHandler handler;
+	/**
+	 * Time in nanoseconds when the message was received
+	 */
+	private final long received;
+	
+	/**
+	 * Only constructor of this class.
+	 * 
+	 * @param command the message as Command
+	 * @param handler Reference to the ClientHandler which received the message.
+	 */
+	public WrappedCommand(Command command, ClientHandler handler){
+		this.command = command;
+		this.handler = handler;
+		this.received = System.nanoTime();
+	}
+	
+	/*
+	 * GETTER and SETTER below
+	 */
+	
+	public Command getCommand(){
+		return command;
+	}
+	
+	public ClientHandler getHandler(){
+		return handler;
+	}
+	
+	public long getReceived(){
+		return received;
+	}
+}
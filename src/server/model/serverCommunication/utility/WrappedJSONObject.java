@@ -4,7 +4,6 @@ import org.json.JSONObject;
 
 import server.model.serverCommunication.clientHandling.ClientHandler;
 import server.model.serverCommunication.execution.ServerControl;
-import server.model.serverCommunication.queues.InputQueue;
 import server.model.serverCommunication.queues.OutputQueue;
 
 /**
@@ -13,7 +12,6 @@ import server.model.serverCommunication.queues.OutputQueue;
  * Is used to store data in OutputQueue and MoveQueue.
  * 
  * @version 29.01.2014
- * @see InputQueue
  * @see OutputQueue
  * @see ClientHandler
  * @see ServerControl
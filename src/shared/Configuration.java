@@ -35,6 +35,14 @@ public final class Configuration {
 	public final static String MEADOWSTEST = "files" + SEPARATOR + "json"
 			+ SEPARATOR + "TestJsonFiles" + SEPARATOR + "MeadowsTest.json";
 
+	// trace of the messages of the server
+	public final static String PROTOCOLTRACE = "log" + SEPARATOR
+			+ "protocol.trace";
+
+	// dump of the metrics of the server
+	public final static String METRICSDUMP = "log" + SEPARATOR
+			+ "metrics.json";
+
 	public final static int STANDARDTURNTIME = 180;
 
 	public final static int MAXUSER = 5;
@@ -0,0 +1,328 @@
+package shared.communication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import shared.enums.CapabilitiesType;
+import shared.enums.JsonType;
+import shared.enums.SpecialMeepleType;
+
+/**
+ * The schema of the binary frames the server sends to a client with the capability
+ * {@link CapabilitiesType#BINARY}, with the methods that write and read them.
+ * <p>
+ * The messages from the clients stay JSON lines, the server sends every message after the 'login success' as a
+ * frame. A frame begins with its length as int, followed by the kind of the frame as byte:
+ * <ul>
+ * <li>{@link #JSON}: the message as UTF-8 text</li>
+ * <li>{@link #TILE_DRAWN}: int game id, short tile id, short remaining, int timeout, nick</li>
+ * <li>{@link #MOVE_MADE}: int game id, short tile id, short x, short y, byte rotation, byte placement, byte special
+ * meeple, nick</li>
+ * </ul>
+ * The tile id is the id in the TileCatalog, the nick is written with writeUTF, -1 stands for no placement and no
+ * special meeple. A 'tile drawn' or 'move made' message that doesn't fit into its frame is sent as JSON frame. The
+ * first byte of a frame is always 0 and a line always begins with '{', so a reader can read both.
+ *
+ * @see TileCatalog
+ */
+public final class BinaryProtocol {
+
+	/**
+	 * Error logger
+	 */
+	private static Logger log = LogManager.getLogger("ERROR");
+
+	public static final byte JSON = 0;
+
+	public static final byte TILE_DRAWN = 1;
+
+	public static final byte MOVE_MADE = 2;
+
+	/**
+	 * Frames may not be longer, so the first byte of the length is 0
+	 */
+	private static final int MAX_LENGTH = (1 << 24) - 1;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Keys of a 'tile drawn' message
+	 */
+	private static final Set<String> TILE_DRAWN_KEYS = new HashSet<>(Arrays.asList("type", "nick", "tile", "game id",
+			"remaining", "timeout"));
+
+	/**
+	 * Keys of a 'move made' message
+	 */
+	private static final Set<String> MOVE_MADE_KEYS = new HashSet<>(Arrays.asList("type", "nick", "tile", "game id",
+			"action"));
+
+	/**
+	 * Keys an action may have
+	 */
+	private static final Set<String> ACTION_KEYS = new HashSet<>(Arrays.asList("x", "y", "rotation", "placement",
+			"special meeple"));
+
+	/**
+	 * Should never be instantiated.
+	 */
+	private BinaryProtocol() {
+		log.error("BinaryProtocol should not be instantiated");
+		throw new AssertionError("BinaryProtocol should not be instantiated");
+	}
+
+	/**
+	 * Returns true for the types of the messages that have their own frame.
+	 */
+	public static boolean hasOwnFrame(JsonType type) {
+		return JsonType.TILEDRAWN.equals(type) || JsonType.MOVEMADE.equals(type);
+	}
+
+	/**
+	 * Writes a message as frame, as JSON frame if it has no own frame or doesn't fit into it.
+	 *
+	 * @param message
+	 *            the message
+	 * @param type
+	 *            type of the message
+	 * @param out
+	 *            stream the frame is written to
+	 */
+	public static void writeFrame(JSONObject message, JsonType type, DataOutputStream out) throws IOException {
+		byte[] frame = null;
+		if (JsonType.TILEDRAWN.equals(type)) {
+			frame = tileDrawn(message);
+		} else if (JsonType.MOVEMADE.equals(type)) {
+			frame = moveMade(message);
+		}
+		if (frame == null) {
+			byte[] text = message.toString().getBytes(UTF8);
+			writeTextFrame(text, 0, text.length, out);
+		} else {
+			out.writeInt(frame.length);
+			out.write(frame);
+		}
+	}
+
+	/**
+	 * Writes a message that is already encoded as JSON frame.
+	 *
+	 * @param text
+	 *            the message as UTF-8 text
+	 * @param offset
+	 *            where the message begins in text
+	 * @param length
+	 *            number of bytes of the message
+	 * @param out
+	 *            stream the frame is written to
+	 */
+	public static void writeTextFrame(byte[] text, int offset, int length, DataOutputStream out) throws IOException {
+		if (length + 1 > MAX_LENGTH) {
+			throw new IOException("Message too long for a frame: " + length);
+		}
+		out.writeInt(length + 1);
+		out.writeByte(JSON);
+		out.write(text, offset, length);
+	}
+
+	/**
+	 * Reads the next message, a frame or a line.
+	 *
+	 * @param in
+	 *            the stream of the messages, it should be buffered because it's read byte by byte
+	 * @return the message, null at the end of the stream
+	 */
+	public static JSONObject readMessage(InputStream in) throws IOException {
+		int first = in.read();
+		if (first < 0) {
+			return null;
+		}
+		try {
+			if (first != 0) {
+				return new JSONObject(readLine(first, in));
+			}
+			DataInputStream data = new DataInputStream(in);
+			int length = (data.readUnsignedByte() << 16) | (data.readUnsignedByte() << 8) | data.readUnsignedByte();
+			if (length < 1) {
+				throw new IOException("Empty frame");
+			}
+			byte[] frame = new byte[length];
+			data.readFully(frame);
+			return decode(frame);
+		} catch (JSONException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	private static String readLine(int first, InputStream in) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b = first;
+		while (b != '\n') {
+			if (b < 0) {
+				throw new EOFException("Line without end");
+			}
+			line.write(b);
+			b = in.read();
+		}
+		byte[] bytes = line.toByteArray();
+		int length = bytes.length;
+		if (length > 0 && bytes[length - 1] == '\r') {
+			length--;
+		}
+		return new String(bytes, 0, length, UTF8);
+	}
+
+	/**
+	 * Turns a frame without its length back into the message.
+	 */
+	private static JSONObject decode(byte[] frame) throws IOException {
+		if (frame[0] == JSON) {
+			return new JSONObject(new String(frame, 1, frame.length - 1, UTF8));
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame, 1, frame.length - 1));
+		JSONObject msg = new JSONObject();
+		if (frame[0] == TILE_DRAWN) {
+			msg.put("type", JsonType.TILEDRAWN);
+			msg.put("game id", in.readInt());
+			msg.put("tile", readTile(in));
+			msg.put("remaining", in.readShort());
+			msg.put("timeout", in.readInt());
+		} else if (frame[0] == MOVE_MADE) {
+			msg.put("type", JsonType.MOVEMADE);
+			msg.put("game id", in.readInt());
+			msg.put("tile", readTile(in));
+			JSONObject action = new JSONObject();
+			action.put("x", in.readShort());
+			action.put("y", in.readShort());
+			action.put("rotation", in.readByte());
+			byte placement = in.readByte();
+			if (placement >= 0) {
+				action.put("placement", placement);
+			}
+			byte special = in.readByte();
+			if (special >= SpecialMeepleType.values().length) {
+				throw new IOException("Unknown special meeple: " + special);
+			}
+			if (special >= 0) {
+				action.put("special meeple", SpecialMeepleType.values()[special].toString());
+			}
+			msg.put("action", action);
+		} else {
+			throw new IOException("Unknown frame: " + frame[0]);
+		}
+		msg.put("nick", in.readUTF());
+		return msg;
+	}
+
+	private static JSONObject readTile(DataInputStream in) throws IOException {
+		int id = in.readShort();
+		JSONObject tile = TileCatalog.getInstance().getTile(id);
+		if (tile == null) {
+			throw new IOException("Unknown tile: " + id);
+		}
+		return tile;
+	}
+
+	/**
+	 * Returns the frame of a 'tile drawn' message without its length, null if it doesn't fit.
+	 */
+	private static byte[] tileDrawn(JSONObject msg) throws IOException {
+		if (!TILE_DRAWN_KEYS.equals(msg.keySet())) {
+			return null;
+		}
+		int tile = tileID(msg);
+		Object gameID = msg.opt("game id");
+		Object remaining = msg.opt("remaining");
+		Object timeout = msg.opt("timeout");
+		Object nick = msg.opt("nick");
+		if (tile < 0 || !(gameID instanceof Integer) || !isShort(remaining) || !(timeout instanceof Integer)
+				|| !(nick instanceof String)) {
+			return null;
+		}
+		ByteArrayOutputStream frame = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(frame);
+		out.writeByte(TILE_DRAWN);
+		out.writeInt((Integer) gameID);
+		out.writeShort(tile);
+		out.writeShort((Integer) remaining);
+		out.writeInt((Integer) timeout);
+		out.writeUTF((String) nick);
+		return frame.toByteArray();
+	}
+
+	/**
+	 * Returns the frame of a 'move made' message without its length, null if it doesn't fit.
+	 */
+	private static byte[] moveMade(JSONObject msg) throws IOException {
+		if (!MOVE_MADE_KEYS.equals(msg.keySet())) {
+			return null;
+		}
+		int tile = tileID(msg);
+		Object gameID = msg.opt("game id");
+		Object nick = msg.opt("nick");
+		JSONObject action = msg.optJSONObject("action");
+		if (tile < 0 || !(gameID instanceof Integer) || !(nick instanceof String) || action == null
+				|| !ACTION_KEYS.containsAll(action.keySet())) {
+			return null;
+		}
+		Object x = action.opt("x");
+		Object y = action.opt("y");
+		Object rotation = action.opt("rotation");
+		Object placement = action.opt("placement");
+		if (!isShort(x) || !isShort(y) || !isByte(rotation) || (placement != null && !isByte(placement))
+				|| (placement != null && (Integer) placement < 0)) {
+			return null;
+		}
+		int special = -1;
+		if (action.has("special meeple")) {
+			SpecialMeepleType type = SpecialMeepleType.fromString(action.optString("special meeple"));
+			if (type == null || !(action.opt("special meeple") instanceof String)) {
+				return null;
+			}
+			special = type.ordinal();
+		}
+		ByteArrayOutputStream frame = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(frame);
+		out.writeByte(MOVE_MADE);
+		out.writeInt((Integer) gameID);
+		out.writeShort(tile);
+		out.writeShort((Integer) x);
+		out.writeShort((Integer) y);
+		out.writeByte((Integer) rotation);
+		out.writeByte(placement == null ? -1 : (Integer) placement);
+		out.writeByte(special);
+		out.writeUTF((String) nick);
+		return frame.toByteArray();
+	}
+
+	private static int tileID(JSONObject msg) {
+		JSONObject tile = msg.optJSONObject("tile");
+		if (tile == null) {
+			return -1;
+		}
+		int id = TileCatalog.getInstance().getID(tile);
+		return id > Short.MAX_VALUE ? -1 : id;
+	}
+
+	private static boolean isShort(Object value) {
+		return value instanceof Integer && (Integer) value >= Short.MIN_VALUE && (Integer) value <= Short.MAX_VALUE;
+	}
+
+	private static boolean isByte(Object value) {
+		return value instanceof Integer && (Integer) value >= Byte.MIN_VALUE && (Integer) value <= Byte.MAX_VALUE;
+	}
+}
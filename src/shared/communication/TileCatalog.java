@@ -0,0 +1,145 @@
+package shared.communication;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import shared.Configuration;
+import shared.model.BuildCard;
+import shared.model.Card;
+import shared.model.CardDeck;
+import shared.model.LogicCardCreator;
+
+/**
+ * The catalog of all tiles the decks can contain, every tile in every rotation of its edges has an id.
+ * <p>
+ * The catalog is built the same way on the server, the client and the ai: first the start card, then the cards of
+ * the card files in a fixed order, every card with its four rotations. A tile that is already in the catalog gets no
+ * new id. So a tile can be sent as its id in the binary frames of the BinaryProtocol instead of its areas, edges,
+ * adjacency, bonus and multiplier. The hash of the catalog is compared at the login, a client whose catalog differs
+ * doesn't get binary frames.
+ *
+ * @see BinaryProtocol
+ */
+public final class TileCatalog {
+
+	/**
+	 * The card files in the order they are read
+	 */
+	private static final String[] FILES = { Configuration.GAMECARDSPATH, Configuration.GAMECARDSPATHINNS };
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Is created when it is used the first time
+	 */
+	private static final class Holder {
+		private static final TileCatalog INSTANCE = new TileCatalog();
+	}
+
+	/**
+	 * The tiles as they are sent in the messages by their id, as text
+	 */
+	private final List<String> tiles = new ArrayList<>();
+
+	/**
+	 * The ids by the key of the tile
+	 */
+	private final Map<String, Integer> ids = new HashMap<>();
+
+	/**
+	 * CRC32 of the keys of the tiles in the order of their ids
+	 */
+	private final int hash;
+
+	/**
+	 * Checksum of the keys that were added
+	 */
+	private final CRC32 crc = new CRC32();
+
+	private TileCatalog() {
+		add(CardDeck.createStartCard());
+		for (String file : FILES) {
+			for (Card card : LogicCardCreator.buildDeck(file)) {
+				add(card);
+			}
+		}
+		hash = (int) crc.getValue();
+	}
+
+	public static TileCatalog getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * Adds a card in all its rotations.
+	 */
+	private void add(Card card) {
+		for (int rotation = 0; rotation < 4; rotation++) {
+			Card rotated = card.deepCopy();
+			rotated.rotate(rotation);
+			JSONObject tile = BuildCard.createCardInfo(rotated);
+			String key = keyOf(tile);
+			if (!ids.containsKey(key)) {
+				ids.put(key, tiles.size());
+				tiles.add(tile.toString());
+				crc.update(key.getBytes(UTF8));
+			}
+		}
+	}
+
+	/**
+	 * Returns the id of a tile.
+	 *
+	 * @param tile
+	 *            the tile as it is sent in the messages
+	 * @return the id, -1 if the tile isn't in the catalog
+	 */
+	public int getID(JSONObject tile) {
+		Integer id = ids.get(keyOf(tile));
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Returns the tile with an id as it is sent in the messages. Every call returns a new copy.
+	 *
+	 * @param id
+	 *            id of the tile
+	 * @return the tile, null if there is none with this id
+	 */
+	public JSONObject getTile(int id) {
+		if (id < 0 || id >= tiles.size()) {
+			return null;
+		}
+		return new JSONObject(tiles.get(id));
+	}
+
+	public int size() {
+		return tiles.size();
+	}
+
+	/**
+	 * Returns the hash of the catalog, two catalogs with the same hash give the same ids to the same tiles.
+	 */
+	public int getHash() {
+		return hash;
+	}
+
+	/**
+	 * The key doesn't depend on the order of the keys in the JSONObject.
+	 */
+	private static String keyOf(JSONObject tile) {
+		StringBuilder key = new StringBuilder();
+		for (String name : new String[] { "areas", "edges", "adjacency", "bonus", "multiplier" }) {
+			JSONArray array = tile.optJSONArray(name);
+			key.append(array == null ? "[]" : array.toString()).append(';');
+		}
+		return key.toString();
+	}
+}
@@ -25,7 +25,15 @@ public enum CapabilitiesType {
 	/**
 	 * Inns and Cathedrals extension
 	 */
-	INNS("Inns and Cathedrals");
+	INNS("Inns and Cathedrals"),
+	/**
+	 * The client gets only the changes of a game instead of the whole 'game update' message
+	 */
+	DELTA("Game delta"),
+	/**
+	 * The server sends length-prefixed binary frames instead of lines, a tile is sent as its id in the TileCatalog
+	 */
+	BINARY("Binary frames");
 
 	/**
 	 * Name as String for a CapabilitiesType
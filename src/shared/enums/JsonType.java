@@ -38,7 +38,13 @@ public enum JsonType {
 	PLAYERREMOVED("player removed"), 
 	GAMEREMOVED("game removed"), 
 	INVALIDMESSAGE("invalid message"), 
-	CHAT("chat");
+	CHAT("chat"),
+	PLAYERJOINED("player joined"),
+	PLAYERQUIT("player quit"),
+	SPECTATORADDED("spectator added"),
+	SPECTATORREMOVED("spectator removed"),
+	SCORECHANGED("score changed"),
+	RESYNC("resync");
 
 	/**
 	 * name as String for a JsonType
@@ -48,6 +48,29 @@ public abstract class AbstractSingleArea implements Serializable {
 	 */
 	private boolean pointsGiven;
 
+	/**
+	 * Area this area was merged into, null if this area is a root
+	 *
+	 * @see AreaTracker
+	 */
+	private AbstractSingleArea parent;
+
+	/**
+	 * true if the link to the parent was made by a move that can still be
+	 * rolled back
+	 */
+	private boolean journaled;
+
+	/**
+	 * Number of areas in the set, only valid for roots
+	 */
+	private int setSize = 1;
+
+	/**
+	 * Index in the list of singleAreas of the game, -1 if not in the list
+	 */
+	private int listIndex = -1;
+
 	/**
 	 * Standard constructor of a SingleArea
 	 */
@@ -127,4 +150,40 @@ public abstract class AbstractSingleArea implements Serializable {
 	public void setFinished() {
 		finished = true;
 	}
+
+	void restoreFinished(boolean finished) {
+		this.finished = finished;
+	}
+
+	AbstractSingleArea getParent() {
+		return parent;
+	}
+
+	void setParent(AbstractSingleArea parent) {
+		this.parent = parent;
+	}
+
+	boolean isJournaled() {
+		return journaled;
+	}
+
+	void setJournaled(boolean journaled) {
+		this.journaled = journaled;
+	}
+
+	int getSetSize() {
+		return setSize;
+	}
+
+	void setSetSize(int setSize) {
+		this.setSize = setSize;
+	}
+
+	int getListIndex() {
+		return listIndex;
+	}
+
+	void setListIndex(int listIndex) {
+		this.listIndex = listIndex;
+	}
 }
@@ -0,0 +1,449 @@
+package shared.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import shared.enums.CardAreaType;
+
+/**
+ * Keeps track of which SingleAreas of a game are connected.
+ * <p>
+ * The SingleAreas form a disjoint-set forest. Merging two areas links the root
+ * of the smaller set below the root of the bigger one (union by size) and
+ * moves the counters, meeples and positions of the absorbed root into the
+ * remaining root. Finding a root compresses the path behind it, so placing a
+ * card costs nearly constant time no matter how big the areas already are.
+ * <p>
+ * The cards keep the areas they were created with in their singleAreaMap,
+ * {@link Card#getSingleArea(int)} resolves them to the current root. The list
+ * of singleAreas of the game only contains roots, absorbed roots are removed
+ * by swapping them with the last element.
+ * <p>
+ * Between {@link #mark()} and {@link #rollback(int)} every change is written
+ * to a journal, so the AI can try a card and take it back again without
+ * copying the game. Links made in that time are never compressed away.
+ *
+ * @see AbstractSingleArea
+ * @see Game#mergeEdges(Position, Position, int)
+ */
+public final class AreaTracker implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * the list of all root areas of the game
+	 */
+	private final List<AbstractSingleArea> singleAreas;
+
+	/**
+	 * changes since the oldest open mark, the newest last
+	 */
+	private final List<Change> journal = new ArrayList<>();
+
+	/**
+	 * number of marks that were not rolled back yet
+	 */
+	private int openMarks;
+
+	/**
+	 * the constructor that creates a tracker for the areas of a game
+	 *
+	 * @param singleAreas
+	 *            list of the areas, every area in it is treated as root
+	 */
+	public AreaTracker(List<AbstractSingleArea> singleAreas) {
+		this.singleAreas = singleAreas;
+		for (int i = 0; i < singleAreas.size(); i++) {
+			singleAreas.get(i).setListIndex(i);
+		}
+	}
+
+	/**
+	 * Adds a new area as its own set.
+	 *
+	 * @param area
+	 *            the new area
+	 */
+	public void add(AbstractSingleArea area) {
+		area.setListIndex(singleAreas.size());
+		singleAreas.add(area);
+		if (openMarks > 0) {
+			journal.add(new Change(area, null));
+		}
+	}
+
+	/**
+	 * Returns the root of the set the area belongs to and lets every area on
+	 * the way point directly to it.
+	 *
+	 * @param area
+	 *            any area
+	 * @return the root that holds the counters of the whole set
+	 */
+	public static AbstractSingleArea find(AbstractSingleArea area) {
+		AbstractSingleArea root = findStable(area);
+		while (root.getParent() != null) {
+			root = root.getParent();
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the last area on the way to the root that is sure to stay in the
+	 * same set after a rollback and lets every area before it point directly to
+	 * it. Without an open mark this is the root.
+	 *
+	 * @param area
+	 *            any area
+	 * @return the root or the first area whose link can be rolled back
+	 */
+	static AbstractSingleArea findStable(AbstractSingleArea area) {
+		AbstractSingleArea stable = area;
+		while (stable.getParent() != null && !stable.isJournaled()) {
+			stable = stable.getParent();
+		}
+		AbstractSingleArea current = area;
+		while (current != stable) {
+			AbstractSingleArea next = current.getParent();
+			current.setParent(stable);
+			current = next;
+		}
+		return stable;
+	}
+
+	/**
+	 * Merges the sets of two areas of the same type.
+	 * <p>
+	 * If both areas already belong to the same set, the new card closes a
+	 * loop: a town loses the two edges that were joined and a road is closed
+	 * on both ends.
+	 *
+	 * @param first
+	 *            area on one card
+	 * @param second
+	 *            area on the neighbouring card
+	 * @return the root of the merged set
+	 */
+	public AbstractSingleArea union(AbstractSingleArea first,
+			AbstractSingleArea second) {
+		AbstractSingleArea root = find(first);
+		AbstractSingleArea child = find(second);
+
+		if (root == child) {
+			if (openMarks > 0) {
+				journal.add(new Change(root, root));
+			}
+			closeLoop(root);
+			return root;
+		}
+
+		if (root.getSetSize() < child.getSetSize()) {
+			AbstractSingleArea tmp = root;
+			root = child;
+			child = tmp;
+		}
+		if (openMarks > 0) {
+			journal.add(new Change(root, child));
+			child.setJournaled(true);
+		}
+		child.setParent(root);
+		root.setSetSize(root.getSetSize() + child.getSetSize());
+		absorb(root, child);
+		remove(child);
+		return root;
+	}
+
+	/**
+	 * Starts writing the following changes to the journal.
+	 *
+	 * @return the mark that has to be given to {@link #rollback(int)}
+	 */
+	public int mark() {
+		openMarks++;
+		return journal.size();
+	}
+
+	/**
+	 * Takes back every change since the given mark, the newest first.
+	 *
+	 * @param mark
+	 *            the value returned by {@link #mark()}
+	 */
+	public void rollback(int mark) {
+		if (openMarks == 0 || mark > journal.size()) {
+			throw new IllegalStateException("No open mark " + mark);
+		}
+		while (journal.size() > mark) {
+			journal.remove(journal.size() - 1).undo();
+		}
+		openMarks--;
+	}
+
+	/**
+	 * Adapts the counters of an area whose own edges were joined.
+	 *
+	 * @param root
+	 *            root of the area
+	 */
+	private void closeLoop(AbstractSingleArea root) {
+		if (root.getCardAreaType() == CardAreaType.TOWN) {
+			SingleAreaTown town = (SingleAreaTown) root;
+			town.setOpenEdgesCounter(town.getOpenEdgesCounter() - 2);
+		} else if (root.getCardAreaType() == CardAreaType.ROAD) {
+			((SingleAreaRoad) root).setClosed(2);
+		}
+	}
+
+	/**
+	 * Moves everything the absorbed root counted into the remaining root.
+	 *
+	 * @param root
+	 *            the remaining root
+	 * @param child
+	 *            the absorbed root
+	 */
+	private void absorb(AbstractSingleArea root, AbstractSingleArea child) {
+		root.getMeeples().addAll(child.getMeeples());
+		child.getMeeples().clear();
+
+		switch (root.getCardAreaType()) {
+		case TOWN:
+			SingleAreaTown town = (SingleAreaTown) root;
+			SingleAreaTown oldTown = (SingleAreaTown) child;
+			town.setPointCounter(town.getPointCounter()
+					+ oldTown.getPointCounter());
+			town.setMultiplier(Math.max(town.getMultiplier(),
+					oldTown.getMultiplier()));
+			town.getTownPosition().addAll(oldTown.getTownPosition());
+			town.setOpenEdgesCounter(town.getOpenEdgesCounter()
+					+ oldTown.getOpenEdgesCounter() - 2);
+			break;
+
+		case ROAD:
+			SingleAreaRoad road = (SingleAreaRoad) root;
+			SingleAreaRoad oldRoad = (SingleAreaRoad) child;
+			road.setPointCounter(road.getPointCounter()
+					+ oldRoad.getPointCounter());
+			road.setMultiplier(Math.max(road.getMultiplier(),
+					oldRoad.getMultiplier()));
+			road.getRoadPosition().addAll(oldRoad.getRoadPosition());
+			road.setClosed(road.getClosed() + oldRoad.getClosed());
+			break;
+
+		case MEADOW:
+			SingleAreaMeadow meadow = (SingleAreaMeadow) root;
+			SingleAreaMeadow oldMeadow = (SingleAreaMeadow) child;
+			meadow.getTownList().addAll(oldMeadow.getTownList());
+			meadow.getCloisters().addAll(oldMeadow.getCloisters());
+			meadow.getMeadowPositions().addAll(oldMeadow.getMeadowPositions());
+			break;
+
+		default:
+			throw new IllegalArgumentException("Can't merge "
+					+ root.getCardAreaType());
+		}
+	}
+
+	/**
+	 * Removes an absorbed root from the list of singleAreas.
+	 *
+	 * @param area
+	 *            the absorbed root
+	 */
+	private void remove(AbstractSingleArea area) {
+		int index = area.getListIndex();
+		AbstractSingleArea last = singleAreas.remove(singleAreas.size() - 1);
+		if (last != area) {
+			singleAreas.set(index, last);
+			last.setListIndex(index);
+		}
+		area.setListIndex(-1);
+	}
+
+	/**
+	 * Puts an absorbed root back to the index it had in the list of
+	 * singleAreas, the area that took its place moves to the end again.
+	 *
+	 * @param area
+	 *            the absorbed root
+	 * @param index
+	 *            the index it had before it was removed
+	 */
+	private void reinsert(AbstractSingleArea area, int index) {
+		if (index == singleAreas.size()) {
+			singleAreas.add(area);
+		} else {
+			AbstractSingleArea moved = singleAreas.set(index, area);
+			moved.setListIndex(singleAreas.size());
+			singleAreas.add(moved);
+		}
+		area.setListIndex(index);
+	}
+
+	/**
+	 * One entry of the journal: a new area, a merge of two roots or a closed
+	 * loop. Holds what the root looked like before, lists only grow so their
+	 * old sizes are enough to restore them.
+	 */
+	private final class Change implements Serializable {
+
+		/**
+		 *
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * the added area or the root that was changed
+		 */
+		private final AbstractSingleArea root;
+
+		/**
+		 * the absorbed root, the root itself for a closed loop and null for
+		 * an added area
+		 */
+		private final AbstractSingleArea child;
+
+		/**
+		 * index of the absorbed root in the list of singleAreas
+		 */
+		private final int childIndex;
+
+		private final boolean finished;
+
+		private final int pointCounter;
+
+		private final int multiplier;
+
+		/**
+		 * open edges of a town, closed ends of a road
+		 */
+		private final int edges;
+
+		private final int meeples;
+
+		private final int positions;
+
+		private final int towns;
+
+		private final int cloisters;
+
+		/**
+		 * Saves the state of the root before it is changed.
+		 *
+		 * @param root
+		 *            the added area or the root that is changed
+		 * @param child
+		 *            the root that is absorbed, root for a closed loop, null
+		 *            for an added area
+		 */
+		Change(AbstractSingleArea root, AbstractSingleArea child) {
+			this.root = root;
+			this.child = child;
+			this.childIndex = child == null ? -1 : child.getListIndex();
+			this.finished = root.isFinished();
+			this.meeples = root.getMeeples().size();
+
+			int points = 0;
+			int mult = 0;
+			int edgeCount = 0;
+			int positionCount = 0;
+			int townCount = 0;
+			int cloisterCount = 0;
+			switch (root.getCardAreaType()) {
+			case TOWN:
+				SingleAreaTown town = (SingleAreaTown) root;
+				points = town.getPointCounter();
+				mult = town.getMultiplier();
+				edgeCount = town.getOpenEdgesCounter();
+				positionCount = town.getTownPosition().size();
+				break;
+			case ROAD:
+				SingleAreaRoad road = (SingleAreaRoad) root;
+				points = road.getPointCounter();
+				mult = road.getMultiplier();
+				edgeCount = road.getClosed();
+				positionCount = road.getRoadPosition().size();
+				break;
+			case MEADOW:
+				SingleAreaMeadow meadow = (SingleAreaMeadow) root;
+				positionCount = meadow.getMeadowPositions().size();
+				townCount = meadow.getTownList().size();
+				cloisterCount = meadow.getCloisters().size();
+				break;
+			default:
+				break;
+			}
+			this.pointCounter = points;
+			this.multiplier = mult;
+			this.edges = edgeCount;
+			this.positions = positionCount;
+			this.towns = townCount;
+			this.cloisters = cloisterCount;
+		}
+
+		/**
+		 * Restores the state from before the change.
+		 */
+		void undo() {
+			if (child == null) {
+				remove(root);
+				return;
+			}
+
+			if (child != root) {
+				List<Meeple> rootMeeples = root.getMeeples();
+				List<Meeple> moved = rootMeeples.subList(meeples,
+						rootMeeples.size());
+				child.getMeeples().addAll(moved);
+				moved.clear();
+
+				child.setParent(null);
+				child.setJournaled(false);
+				root.setSetSize(root.getSetSize() - child.getSetSize());
+				reinsert(child, childIndex);
+			}
+
+			switch (root.getCardAreaType()) {
+			case TOWN:
+				SingleAreaTown town = (SingleAreaTown) root;
+				town.setPointCounter(pointCounter);
+				town.setMultiplier(multiplier);
+				town.setOpenEdgesCounter(edges);
+				truncate(town.getTownPosition(), positions);
+				break;
+			case ROAD:
+				SingleAreaRoad road = (SingleAreaRoad) root;
+				road.setPointCounter(pointCounter);
+				road.setMultiplier(multiplier);
+				road.setClosed(edges);
+				truncate(road.getRoadPosition(), positions);
+				break;
+			case MEADOW:
+				SingleAreaMeadow meadow = (SingleAreaMeadow) root;
+				truncate(meadow.getMeadowPositions(), positions);
+				truncate(meadow.getTownList(), towns);
+				truncate(meadow.getCloisters(), cloisters);
+				break;
+			default:
+				break;
+			}
+			root.restoreFinished(finished);
+		}
+
+		/**
+		 * Cuts a list back to its old size.
+		 *
+		 * @param list
+		 *            the list that grew
+		 * @param size
+		 *            the old size
+		 */
+		private void truncate(List<?> list, int size) {
+			list.subList(size, list.size()).clear();
+		}
+	}
+}
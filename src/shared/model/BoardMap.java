@@ -0,0 +1,343 @@
+package shared.model;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Storage of the cards and the open positions on the GameField.
+ * <p>
+ * The coordinates of a position are packed into one long and used as key of an
+ * open-addressing hash table with linear probing. Lookups by coordinates like
+ * {@link #get(int, int)} and {@link #contains(int, int)} don't create any
+ * objects, which matters because the neighbour checks of the GameField are
+ * called thousands of times per turn by the AI.
+ * <p>
+ * For the callers that still need a map it also behaves like a
+ * {@code Map<Position, V>}. Removing elements is only possible with
+ * {@link #remove(Object)} and {@link #remove(int, int)}, the iterators of the
+ * views don't support it.
+ *
+ * @param <V>
+ *            type of the values, Card for the placed cards and FrontierCell
+ *            for the open positions
+ * @see GameField
+ * @see Position
+ */
+final class BoardMap<V> extends AbstractMap<Position, V> implements Serializable {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * initial number of slots, has to be a power of two
+	 */
+	private static final int INITIAL_CAPACITY = 128;
+
+	/**
+	 * packed coordinates of every slot
+	 */
+	private long[] keys;
+
+	/**
+	 * the position of every slot, null if the slot is empty
+	 */
+	private Position[] positions;
+
+	/**
+	 * the value of every slot
+	 */
+	private V[] values;
+
+	/**
+	 * number of values in the map
+	 */
+	private int size;
+
+	/**
+	 * number of slots minus one, used instead of modulo
+	 */
+	private int mask;
+
+	/**
+	 * the entry set view, created on first use
+	 */
+	private transient Set<Map.Entry<Position, V>> entrySet;
+
+	/**
+	 * the constructor that creates a new empty BoardMap
+	 */
+	BoardMap() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Packs the coordinates of a position into one long.
+	 *
+	 * @param x
+	 *            the x value of the position
+	 * @param y
+	 *            the y value of the position
+	 * @return the packed key
+	 */
+	static long pack(int x, int y) {
+		return ((long) x << 32) | (y & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns the value on the given coordinates.
+	 *
+	 * @param x
+	 *            the x value of the position
+	 * @param y
+	 *            the y value of the position
+	 * @return the value, null if there is no value
+	 */
+	V get(int x, int y) {
+		int slot = find(pack(x, y));
+		return slot < 0 ? null : values[slot];
+	}
+
+	/**
+	 * Checks if there is a value on the given coordinates.
+	 *
+	 * @param x
+	 *            the x value of the position
+	 * @param y
+	 *            the y value of the position
+	 * @return true if the position is taken
+	 */
+	boolean contains(int x, int y) {
+		return find(pack(x, y)) >= 0;
+	}
+
+	/**
+	 * Removes the value on the given coordinates.
+	 *
+	 * @param x
+	 *            the x value of the position
+	 * @param y
+	 *            the y value of the position
+	 * @return the removed value, null if there was no value
+	 */
+	V remove(int x, int y) {
+		int slot = find(pack(x, y));
+		if (slot < 0) {
+			return null;
+		}
+		V old = values[slot];
+		deleteSlot(slot);
+		return old;
+	}
+
+	@Override
+	public V get(Object key) {
+		if (!(key instanceof Position)) {
+			return null;
+		}
+		Position pos = (Position) key;
+		return get(pos.getX(), pos.getY());
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (!(key instanceof Position)) {
+			return false;
+		}
+		Position pos = (Position) key;
+		return contains(pos.getX(), pos.getY());
+	}
+
+	@Override
+	public V put(Position pos, V value) {
+		long key = pack(pos.getX(), pos.getY());
+		int slot = mix(key) & mask;
+		while (positions[slot] != null) {
+			if (keys[slot] == key) {
+				V old = values[slot];
+				positions[slot] = pos;
+				values[slot] = value;
+				return old;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		positions[slot] = pos;
+		values[slot] = value;
+		if (++size * 2 > keys.length) {
+			rehash(keys.length * 2);
+		}
+		return null;
+	}
+
+	@Override
+	public V remove(Object key) {
+		if (!(key instanceof Position)) {
+			return null;
+		}
+		Position pos = (Position) key;
+		return remove(pos.getX(), pos.getY());
+	}
+
+	@Override
+	public void clear() {
+		allocate(INITIAL_CAPACITY);
+		size = 0;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Map.Entry<Position, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Returns the slot of the given key.
+	 *
+	 * @param key
+	 *            packed coordinates
+	 * @return the slot, -1 if the key is not in the map
+	 */
+	private int find(long key) {
+		int slot = mix(key) & mask;
+		while (positions[slot] != null) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Empties a slot and moves the following entries of the same probe
+	 * sequence back, so no tombstones are needed.
+	 *
+	 * @param slot
+	 *            the slot that should be emptied
+	 */
+	private void deleteSlot(int slot) {
+		int gap = slot;
+		int next = (gap + 1) & mask;
+		while (positions[next] != null) {
+			int home = mix(keys[next]) & mask;
+			// move the entry if its home slot is not between the gap and next
+			if (((next - home) & mask) >= ((next - gap) & mask)) {
+				keys[gap] = keys[next];
+				positions[gap] = positions[next];
+				values[gap] = values[next];
+				gap = next;
+			}
+			next = (next + 1) & mask;
+		}
+		positions[gap] = null;
+		values[gap] = null;
+		size--;
+	}
+
+	/**
+	 * Creates new empty arrays with the given number of slots.
+	 *
+	 * @param capacity
+	 *            number of slots, has to be a power of two
+	 */
+	@SuppressWarnings("unchecked")
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		positions = new Position[capacity];
+		values = (V[]) new Object[capacity];
+		mask = capacity - 1;
+	}
+
+	/**
+	 * Moves all entries into new arrays with the given number of slots.
+	 *
+	 * @param capacity
+	 *            number of slots, has to be a power of two
+	 */
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Position[] oldPositions = positions;
+		V[] oldValues = values;
+		allocate(capacity);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldPositions[i] != null) {
+				int slot = mix(oldKeys[i]) & mask;
+				while (positions[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				positions[slot] = oldPositions[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * Spreads the bits of a key, positions around (0,0) would collide a lot
+	 * otherwise.
+	 *
+	 * @param key
+	 *            packed coordinates
+	 * @return hash of the key
+	 */
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	/**
+	 * Entry set view over the slots of the map.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<Position, V>> {
+
+		@Override
+		public Iterator<Map.Entry<Position, V>> iterator() {
+			return new Iterator<Map.Entry<Position, V>>() {
+
+				private int next = advance(0);
+
+				@Override
+				public boolean hasNext() {
+					return next < positions.length;
+				}
+
+				@Override
+				public Map.Entry<Position, V> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					Map.Entry<Position, V> entry = new SimpleImmutableEntry<>(positions[next], values[next]);
+					next = advance(next + 1);
+					return entry;
+				}
+
+				private int advance(int from) {
+					int i = from;
+					while (i < positions.length && positions[i] == null) {
+						i++;
+					}
+					return i;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -12,8 +12,8 @@ import org.json.JSONObject;
 import shared.enums.CardAreaType;
 
 /**
- * This utility class provides a method to build a card out of a JSONObject. Should not be instantiated throws exception
- * otherwise.
+ * This utility class provides a method to build a card out of a JSONObject and one for the opposite. Should not be
+ * instantiated throws exception otherwise.
  */
 public final class BuildCard {
 
@@ -151,4 +151,76 @@ public final class BuildCard {
 			return Card.buildStandardCard(areas, edges, adjacency);
 		}
 	}
+
+	/**
+	 * Puts a card into a JSONObject as it is sent in the messages, the opposite of buildCard. The edges are the
+	 * current edges of the card, after its rotations.
+	 * 
+	 * @param card
+	 *            the card
+	 * @return jsonObject with the information about a card
+	 */
+	public static JSONObject createCardInfo(Card card) {
+		JSONObject msg = new JSONObject();
+		List<ArrayList<Integer>> edges = card.getEdges();
+		List<ArrayList<Integer>> adjacency = card.getAdjacency();
+		
+		JSONArray areasArr = new JSONArray();
+		JSONArray edgesArr = new JSONArray();
+		JSONArray adjacencyArr = new JSONArray();
+		JSONArray bonusArr = new JSONArray();
+		JSONArray multiplierArr = new JSONArray();
+		
+		//Put bonus in JSONArray
+		for(Integer i : card.getBonus()){
+			bonusArr.put(i);
+		}
+		
+		// Put multiplier in JSONArray
+		for(Integer i : card.getMultiplier()){
+			multiplierArr.put(i);
+		}
+		
+		// Put areas in JSONArray
+		for(CardAreaType c : card.getAreas()){
+			areasArr.put(c.toString());
+		}
+		
+		// Put edges in edge and put every edge in JSONArray edges
+		for(ArrayList<Integer> list : edges){
+			JSONArray edge = new JSONArray();
+			for(Integer i : list){
+				edge.put(i);
+			}
+			edgesArr.put(edge);
+		}
+		
+		// Put all adjacencies in JSONArray
+		for(ArrayList<Integer> l : adjacency){
+			JSONArray arr = new JSONArray();
+			for(Integer i : l){
+				arr.put(i);
+			}
+			adjacencyArr.put(arr);
+		}
+		if(adjacency.isEmpty()){
+			adjacencyArr.put(new JSONArray());
+		}
+		
+		try {
+			msg.put("areas", areasArr);
+			msg.put("edges", edgesArr);
+			msg.put("adjacency", adjacencyArr);		
+			
+			if(bonusArr.length() != 0){
+				msg.put("bonus", bonusArr);				
+			}
+			if(multiplierArr.length() != 0){
+				msg.put("multiplier", multiplierArr);				
+			}
+		} catch (JSONException e) {
+			log.error(e.getMessage());
+		}
+		return msg;
+	}
 }
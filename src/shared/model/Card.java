@@ -53,6 +53,19 @@ public final class Card{
 	 */
 	private int rotation;
 
+	/**
+	 * the packed edge signature for every number of rotations of the edges the
+	 * card was built with. Every edge takes four bits with one bit set for its
+	 * CardAreaType, edge 0 in the lowest bits
+	 */
+	private int[] edgeSignatures;
+
+	/**
+	 * number of rotations the current edges are shifted away from the edges the
+	 * card was built with
+	 */
+	private int edgeShift;
+
 	/**
 	 * this map has indices of the areas-array as key and an instance of
 	 * AbstractSingleArea as value
@@ -76,6 +89,7 @@ public final class Card{
 		this.bonus = new ArrayList<>();
 		this.multiplier = new ArrayList<>();
 		this.rotation = 0;
+		this.edgeSignatures = createEdgeSignatures();
 	}
 
 	/**
@@ -338,7 +352,77 @@ public final class Card{
 				newEdges.set(rotate, edges.get(i));
 			}
 			edges = newEdges;
+			edgeShift = (edgeShift + rotation) % 4;
+		}
+	}
+
+	/**
+	 * Returns the packed signature of the current edges.
+	 * 
+	 * @return signature with four bits per edge
+	 * @see #getEdgeSignature(int)
+	 */
+	public int getEdgeSignature() {
+		return edgeSignatures[edgeShift];
+	}
+
+	/**
+	 * Returns the packed signature the edges would have after rotating the card
+	 * the given number of times, without rotating it.
+	 * 
+	 * @param rotation
+	 *            number of further rotations, 0 <= r <= 3
+	 * @return signature with four bits per edge
+	 */
+	public int getEdgeSignature(int rotation) {
+		return edgeSignatures[(edgeShift + rotation) & 3];
+	}
+
+	/**
+	 * Returns the bits an area type sets on an edge of a signature.
+	 * 
+	 * @param edge
+	 *            index of the edge, 0 = top, 1 = left, 2 = bottom, 3 = right
+	 * @param type
+	 *            type of the area on the edge
+	 * @return the bits of the edge
+	 */
+	static int edgeBits(int edge, CardAreaType type) {
+		return (1 << type.ordinal()) << (4 * edge);
+	}
+
+	/**
+	 * Creates the signatures for all four rotations of the current edges. One
+	 * rotation moves edge i + 1 to edge i, which is a shift by four bits.
+	 * 
+	 * @return the signatures, indexed by number of rotations
+	 */
+	private int[] createEdgeSignatures() {
+		int[] signatures = new int[4];
+		if (edges == null || areas == null) {
+			return signatures;
+		}
+		for (int edge = 0; edge < 4; edge++) {
+			signatures[0] |= edgeBits(edge, getEdgeAreaType(edge));
+		}
+		for (int i = 1; i < 4; i++) {
+			int previous = signatures[i - 1];
+			signatures[i] = (previous >>> 4) | ((previous & 0xF) << 12);
 		}
+		return signatures;
+	}
+
+	/**
+	 * Returns the type of the area that defines an edge. An edge with three
+	 * areas is a road between two meadows, so the area in the middle counts.
+	 * 
+	 * @param edge
+	 *            index of the edge, 0 = top, 1 = left, 2 = bottom, 3 = right
+	 * @return the type of the area on that edge
+	 */
+	public CardAreaType getEdgeAreaType(int edge) {
+		ArrayList<Integer> areaIndices = edges.get(edge);
+		return areas.get(areaIndices.size() == 3 ? areaIndices.get(1) : areaIndices.get(0));
 	}
 
 	/**
@@ -372,6 +456,20 @@ public final class Card{
 		return singleAreaMap;
 	}
 
+	/**
+	 * Returns the SingleArea an area of this card currently belongs to.
+	 * 
+	 * @param index
+	 *            index of the area in the areas-array
+	 * @return root of the merged area, null if the card has no SingleArea for
+	 *         the index
+	 * @see AreaTracker
+	 */
+	public AbstractSingleArea getSingleArea(int index) {
+		AbstractSingleArea area = singleAreaMap.get(index);
+		return area == null ? null : AreaTracker.find(area);
+	}
+
 	public List<CardAreaType> getAreas() {
 		return this.areas;
 	}
@@ -1,6 +1,5 @@
 package shared.model;
 
-import server.model.game.LogicCardCreator;
 import shared.Configuration;
 import shared.enums.CapabilitiesType;
 import shared.enums.CardAreaType;
@@ -0,0 +1,130 @@
+package shared.model;
+
+import java.io.Serializable;
+
+import shared.enums.CardAreaType;
+
+/**
+ * An empty position on the GameField that is next to at least one card.
+ * <p>
+ * The GameField keeps one FrontierCell for every position where a card could
+ * be placed and updates it whenever a card is added or deleted next to it.
+ * Every cell remembers the area types the neighbouring cards expect on each
+ * of its edges, packed like the edge signature of a card, so checking a card
+ * is a single comparison and doesn't need any lookups on the GameField.
+ * Cards have to be rotated before they are added to the GameField, otherwise
+ * the expected area types are outdated.
+ * 
+ * @see GameField
+ * @see Card#getEdgeSignature(int)
+ */
+public final class FrontierCell implements Serializable {
+
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * the position of the cell
+	 */
+	private final Position position;
+
+	/**
+	 * the area type the neighbour expects on every edge, indexed like the edges
+	 * of a card, null if there is no neighbour on that edge
+	 */
+	private final CardAreaType[] constraints = new CardAreaType[4];
+
+	/**
+	 * the bits a fitting edge signature has to contain
+	 */
+	private int required;
+
+	/**
+	 * four set bits for every edge that has a neighbour
+	 */
+	private int mask;
+
+	/**
+	 * number of neighbouring cards
+	 */
+	private int neighbours;
+
+	/**
+	 * the constructor that creates a new cell without neighbours
+	 * 
+	 * @param position
+	 *            the position of the cell
+	 */
+	FrontierCell(Position position) {
+		this.position = position;
+	}
+
+	/**
+	 * Checks if the card fits into this cell with its current rotation.
+	 * 
+	 * @param card
+	 *            the card that should be placed
+	 * @return true if every edge matches the neighbouring card
+	 */
+	public boolean fits(Card card) {
+		return (card.getEdgeSignature() & mask) == required;
+	}
+
+	/**
+	 * Checks if the card fits into this cell after rotating it the given number
+	 * of times, without rotating it.
+	 * 
+	 * @param card
+	 *            the card that should be placed
+	 * @param rotation
+	 *            number of further rotations, 0 <= r <= 3
+	 * @return true if every edge matches the neighbouring card
+	 */
+	public boolean fits(Card card, int rotation) {
+		return (card.getEdgeSignature(rotation) & mask) == required;
+	}
+
+	/**
+	 * Sets the area type the neighbouring card expects on an edge.
+	 * 
+	 * @param edge
+	 *            index of the edge of this cell
+	 * @param type
+	 *            the expected area type, null if the neighbour was deleted
+	 */
+	void setConstraint(int edge, CardAreaType type) {
+		if (constraints[edge] == null && type != null) {
+			neighbours++;
+		} else if (constraints[edge] != null && type == null) {
+			neighbours--;
+		}
+		constraints[edge] = type;
+		required &= ~(0xF << (4 * edge));
+		mask &= ~(0xF << (4 * edge));
+		if (type != null) {
+			required |= Card.edgeBits(edge, type);
+			mask |= 0xF << (4 * edge);
+		}
+	}
+
+	public Position getPosition() {
+		return position;
+	}
+
+	/**
+	 * Returns the area type the neighbouring card expects on an edge.
+	 * 
+	 * @param edge
+	 *            index of the edge, 0 = top, 1 = left, 2 = bottom, 3 = right
+	 * @return the expected area type, null if there is no neighbour
+	 */
+	public CardAreaType getConstraint(int edge) {
+		return constraints[edge];
+	}
+
+	public int getNeighbours() {
+		return neighbours;
+	}
+}
@@ -7,7 +7,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -16,12 +17,19 @@ import java.util.Set;
 /**
  * Class represents the logical GameField of the game.
  * <p>
- * This Class represents the GameField of one specific game by using a Map with
- * a Position as key and the Card as Value. Obtains methods like checkNeighbors
+ * This Class represents the GameField of one specific game by using a
+ * {@link BoardMap} with the packed coordinates of a Position as key and the
+ * Card as Value, so looking up neighbours doesn't create new Positions.
+ * Obtains methods like checkNeighbors
  * of currentCard, add a current Card to the Map and a method which checks if
  * the current Position is taken
+ * <p>
+ * Besides the cards it keeps the frontier, every empty position next to a
+ * card, up to date on each addCard and deleteCard, so the open positions never
+ * have to be searched on the whole field.
  * 
  * @see Card
+ * @see FrontierCell
  * @see Game
  * @see ServerGame
  * @see ClientGame
@@ -32,18 +40,35 @@ public final class GameField implements Serializable{
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
+
+	/**
+	 * x offset of the neighbour on every edge, indexed like the edges of a card
+	 */
+	private static final int[] DX = { 0, -1, 0, 1 };
+
+	/**
+	 * y offset of the neighbour on every edge, indexed like the edges of a card
+	 */
+	private static final int[] DY = { -1, 0, 1, 0 };
+
 	/**
 	 * This map represents the gameField, which means the cards and their
 	 * position on the field
 	 */
-	private Map<Position, Card> gameField;
+	private BoardMap<Card> gameField;
+
+	/**
+	 * The empty positions next to a card and the area types their neighbours
+	 * expect
+	 */
+	private BoardMap<FrontierCell> frontier;
 
 	/**
 	 * the constructor that creates a new instance of the class gameField
 	 */
 	public GameField() {
-		this.gameField = new HashMap<Position, Card>();
-
+		this.gameField = new BoardMap<>();
+		this.frontier = new BoardMap<>();
 	}
 	
 	public GameField deepCopy(){
@@ -57,14 +82,11 @@ public final class GameField implements Serializable{
 			cards.add(card.deepCopyWithoutSingleAreas());
 		}
 		
-		Map<Position, Card> newGameFieldMap = new HashMap<>();
+		GameField newGameField = new GameField();
 		for(int i = 0; i < positions.size(); i++){
-			newGameFieldMap.put(positions.get(i), cards.get(i));
+			newGameField.addCard(positions.get(i), cards.get(i));
 		}
 		
-		GameField newGameField = new GameField();
-		newGameField.setGameField(newGameFieldMap);
-		
 		return newGameField;
 	}
 	
@@ -94,11 +116,7 @@ public final class GameField implements Serializable{
 	 * @return Card the card on the upper position, null if there is no card
 	 */
 	public Card getCardNorth(Position pos) {
-		Position tmp = new Position(pos.getX(), pos.getY() - 1);
-		if (gameField.containsKey(tmp)) {
-			return gameField.get(tmp);
-		}
-		return null;
+		return gameField.get(pos.getX(), pos.getY() - 1);
 	}
 
 	/**
@@ -110,11 +128,7 @@ public final class GameField implements Serializable{
 	 * @return Card the card of the lower position, null if the is no card
 	 */
 	public Card getCardSouth(Position pos) {
-		Position tmp = new Position(pos.getX(), pos.getY() + 1);
-		if (gameField.containsKey(tmp)) {
-			return gameField.get(tmp);
-		}
-		return null;
+		return gameField.get(pos.getX(), pos.getY() + 1);
 	}
 
 	/**
@@ -126,11 +140,7 @@ public final class GameField implements Serializable{
 	 * @return Card the card of the left position, null if there is no card
 	 */
 	public Card getCardWest(Position pos) {
-		Position tmp = new Position(pos.getX() - 1, pos.getY());
-		if (gameField.containsKey(tmp)) {
-			return gameField.get(tmp);
-		}
-		return null;
+		return gameField.get(pos.getX() - 1, pos.getY());
 	}
 
 	/**
@@ -142,11 +152,7 @@ public final class GameField implements Serializable{
 	 * @return Card the card of the right position, null if there is no card
 	 */
 	public Card getCardEast(Position pos) {
-		Position tmp = new Position(pos.getX() + 1, pos.getY());
-		if (gameField.containsKey(tmp)) {
-			return gameField.get(tmp);
-		}
-		return null;
+		return gameField.get(pos.getX() + 1, pos.getY());
 	}
 
 	/**
@@ -174,49 +180,25 @@ public final class GameField implements Serializable{
 	 * @return boolean true if surrounded by eight cards, false if not
 	 */
 	public boolean checkSurroundingCards(Position pos) {
-		for (int i = -1; i < 2; i++) {
-			for (int j = -1; j < 2; j++) {
-				if (!(i == 0 && j == 0)) {
-					Position temp = new Position(pos.getX() + i, pos.getY() + j);
-					if (!(gameField.containsKey(temp))) {
-						return false;
-					}
-				}
-			}
-		}
-		return true;
-
+		return countSurroundingCards(pos) == 8;
 	}
 
+	/**
+	 * counts the cards on the eight positions around the position pos
+	 * 
+	 * @param pos
+	 *            the position of the card that should be checked
+	 * @return number of surrounding cards, between 0 and 8
+	 */
 	public int countSurroundingCards(Position pos) {
 		int counter = 0;
-		Position tmp1 = new Position(pos.getX() - 1, pos.getY() - 1);
-		Position tmp2 = new Position(pos.getX() + 1, pos.getY() - 1);
-		Position tmp3 = new Position(pos.getX() - 1, pos.getY() + 1);
-		Position tmp4 = new Position(pos.getX() + 1, pos.getY() + 1);
-		if (getCardSouth(pos) != null) {
-			counter += 1;
-		}
-		if (getCardNorth(pos) != null) {
-			counter += 1;
-		}
-		if (getCardWest(pos) != null) {
-			counter += 1;
-		}
-		if (getCardEast(pos) != null) {
-			counter += 1;
-		}
-		if (gameField.containsKey(tmp1)) {
-			counter += 1;
-		}
-		if (gameField.containsKey(tmp2)) {
-			counter += 1;
-		}
-		if (gameField.containsKey(tmp3)) {
-			counter += 1;
-		}
-		if (gameField.containsKey(tmp4)) {
-			counter += 1;
+		for (int i = -1; i < 2; i++) {
+			for (int j = -1; j < 2; j++) {
+				if (!(i == 0 && j == 0)
+						&& gameField.contains(pos.getX() + i, pos.getY() + j)) {
+					counter++;
+				}
+			}
 		}
 		return counter;
 	}
@@ -228,7 +210,21 @@ public final class GameField implements Serializable{
 	 * @return the value of the gameFieldMap at a specific position(key)
 	 */
 	public Card getCard(Position pos) {
-		return gameField.get(pos);
+		return gameField.get(pos.getX(), pos.getY());
+	}
+
+	/**
+	 * method returns the card on the given coordinates without creating a
+	 * Position
+	 * 
+	 * @param x
+	 *            the x value of the position
+	 * @param y
+	 *            the y value of the position
+	 * @return the card on the coordinates, null if there is no card
+	 */
+	public Card getCard(int x, int y) {
+		return gameField.get(x, y);
 	}
 
 	/**
@@ -239,6 +235,20 @@ public final class GameField implements Serializable{
 	 */
 	public void addCard(Position pos, Card currentCard) {
 		gameField.put(pos, currentCard);
+		frontier.remove(pos.getX(), pos.getY());
+		for (int edge = 0; edge < 4; edge++) {
+			int x = pos.getX() + DX[edge];
+			int y = pos.getY() + DY[edge];
+			if (!gameField.contains(x, y)) {
+				FrontierCell cell = frontier.get(x, y);
+				if (cell == null) {
+					cell = new FrontierCell(new Position(x, y));
+					frontier.put(cell.getPosition(), cell);
+				}
+				cell.setConstraint((edge + 2) % 4,
+						currentCard.getEdgeAreaType(edge));
+			}
+		}
 	}
 
 	/**
@@ -248,7 +258,33 @@ public final class GameField implements Serializable{
 	 *            which should be deleted
 	 */
 	public void deleteCard(Position pos) {
-		gameField.remove(pos);
+		if (gameField.remove(pos.getX(), pos.getY()) == null) {
+			return;
+		}
+		FrontierCell ownCell = null;
+		for (int edge = 0; edge < 4; edge++) {
+			int x = pos.getX() + DX[edge];
+			int y = pos.getY() + DY[edge];
+			Card neighbour = gameField.get(x, y);
+			if (neighbour != null) {
+				if (ownCell == null) {
+					ownCell = new FrontierCell(pos);
+				}
+				ownCell.setConstraint(edge,
+						neighbour.getEdgeAreaType((edge + 2) % 4));
+			} else {
+				FrontierCell cell = frontier.get(x, y);
+				if (cell != null) {
+					cell.setConstraint((edge + 2) % 4, null);
+					if (cell.getNeighbours() == 0) {
+						frontier.remove(x, y);
+					}
+				}
+			}
+		}
+		if (ownCell != null) {
+			frontier.put(pos, ownCell);
+		}
 	}
 
 	/**
@@ -258,7 +294,21 @@ public final class GameField implements Serializable{
 	 * @return boolean if map contains key or not
 	 */
 	public boolean isPositionTaken(Position pos) {
-		return gameField.containsKey(pos);
+		return gameField.contains(pos.getX(), pos.getY());
+	}
+
+	/**
+	 * method checks if there is a card on the given coordinates without
+	 * creating a Position
+	 * 
+	 * @param x
+	 *            the x value of the position
+	 * @param y
+	 *            the y value of the position
+	 * @return boolean if there is a card or not
+	 */
+	public boolean isPositionTaken(int x, int y) {
+		return gameField.contains(x, y);
 	}
 
 	/**
@@ -268,29 +318,28 @@ public final class GameField implements Serializable{
 	 * @return empty positions which are adjacent to a Card
 	 */
 	public Set<Position> getPositionsFromSetCards() {
-		Set<Position> fieldsToPlaceCard = new HashSet<>();
-		Set<Position> positions = gameField.keySet();
-		for (Position p : positions) {
+		return new HashSet<>(frontier.keySet());
+	}
 
-			Position right = new Position(p.getX() + 1, p.getY());
-			if (!isPositionTaken(right)) {
-				fieldsToPlaceCard.add(right);
-			}
-			Position bottom = new Position(p.getX(), p.getY() + 1);
-			if (!isPositionTaken(bottom)) {
-				fieldsToPlaceCard.add(bottom);
-			}
-			Position top = new Position(p.getX(), p.getY() - 1);
-			if (!isPositionTaken(top)) {
-				fieldsToPlaceCard.add(top);
-			}
-			Position left = new Position(p.getX() - 1, p.getY());
-			if (!isPositionTaken(left)) {
-				fieldsToPlaceCard.add(left);
-			}
-		}
-		return fieldsToPlaceCard;
+	/**
+	 * method returns the frontier, the cells of all empty positions which are
+	 * adjacent to a Card
+	 * 
+	 * @return unmodifiable view of the frontier cells
+	 */
+	public Collection<FrontierCell> getFrontier() {
+		return Collections.unmodifiableCollection(frontier.values());
+	}
 
+	/**
+	 * method returns the frontier cell of an empty position
+	 * 
+	 * @param pos
+	 *            the position of the cell
+	 * @return the cell, null if the position is taken or has no neighbour
+	 */
+	public FrontierCell getFrontierCell(Position pos) {
+		return frontier.get(pos.getX(), pos.getY());
 	}
 
 	/*
@@ -302,6 +351,10 @@ public final class GameField implements Serializable{
 	}
 
 	public void setGameField(Map<Position, Card> gameField){
-		this.gameField = gameField;
+		this.gameField = new BoardMap<>();
+		this.frontier = new BoardMap<>();
+		for (Map.Entry<Position, Card> entry : gameField.entrySet()) {
+			addCard(entry.getKey(), entry.getValue());
+		}
 	}
 }
@@ -1,4 +1,4 @@
-package server.model.game;
+package shared.model;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -14,9 +14,6 @@ import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import shared.model.BuildCard;
-import shared.model.Card;
-
 /**
  * Utility-class that creates gameCards out of the informations in a JSON-File.
  * <p>
@@ -75,7 +75,7 @@ public final class SingleAreaMeadow extends AbstractSingleArea implements Serial
 		CardAreaType newAreaType = super.getCardAreaType();
 
 		List<SingleAreaTown> newTowns = new ArrayList<>();
-		for (SingleAreaTown town : towns) {
+		for (SingleAreaTown town : getTowns()) {
 			newTowns.add(town.deepCopy());
 		}
 
@@ -112,7 +112,7 @@ public final class SingleAreaMeadow extends AbstractSingleArea implements Serial
 	@Override
 	public int calculatePoints() {
 		int points = 0;
-		for (Iterator<SingleAreaTown> iterator = towns.iterator(); iterator.hasNext(); ) {
+		for (Iterator<SingleAreaTown> iterator = getTowns().iterator(); iterator.hasNext(); ) {
 			SingleAreaTown town = iterator.next();
 			if (town.isFinished()) {
 				points += 3;
@@ -161,7 +161,40 @@ public final class SingleAreaMeadow extends AbstractSingleArea implements Serial
 	 * Getter and setter
 	 */
 
+	/**
+	 * Returns the adjacent towns. Towns that were merged since they were
+	 * added are replaced by the town they were merged into. While a move of
+	 * the AI can still be rolled back the result may be a copy.
+	 *
+	 * @return list of the adjacent towns
+	 * @see AreaTracker
+	 */
 	public List<SingleAreaTown> getTowns() {
+		boolean resolved = true;
+		for (int i = 0; i < towns.size(); i++) {
+			SingleAreaTown town = towns.get(i);
+			if (town != null && town.getParent() != null) {
+				town = (SingleAreaTown) AreaTracker.findStable(town);
+				towns.set(i, town);
+				resolved &= town.getParent() == null;
+			}
+		}
+		if (resolved) {
+			return towns;
+		}
+		List<SingleAreaTown> roots = new ArrayList<>(towns.size());
+		for (SingleAreaTown town : towns) {
+			roots.add(town == null ? null : (SingleAreaTown) AreaTracker.find(town));
+		}
+		return roots;
+	}
+
+	/**
+	 * Returns the adjacent towns as they were added, for the AreaTracker.
+	 *
+	 * @return the list of towns itself
+	 */
+	List<SingleAreaTown> getTownList() {
 		return towns;
 	}
 
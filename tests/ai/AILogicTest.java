@@ -3,14 +3,21 @@ package ai;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.Test;
 
 import shared.model.AbstractSingleArea;
 import shared.model.Card;
+import shared.Configuration;
 import shared.model.CardDeck;
+import shared.model.LogicCardCreator;
+import shared.model.Meeple;
+import shared.model.Player;
 import shared.model.Position;
 import shared.model.SingleAreaMeadow;
 import shared.model.SingleAreaRoad;
@@ -34,7 +41,7 @@ public class AILogicTest {
 				.checkForLegalPlacements(newCard);
 		List<PossiblePlacement> expectedPossiblePlacement = new ArrayList<>();
 
-		PossiblePlacement pp1 = new PossiblePlacement(2, new Position(1, 0));
+		PossiblePlacement pp1 = new PossiblePlacement(2, new Position(0, -1));
 		PossiblePlacement pp2 = new PossiblePlacement(0, new Position(0, 1));
 		PossiblePlacement pp3 = new PossiblePlacement(2, new Position(0, 1));
 		PossiblePlacement pp4 = new PossiblePlacement(0, new Position(0, -1));
@@ -126,6 +133,42 @@ public class AILogicTest {
 		assertEquals(24, possibleMeeple.size());
 	}
 	
+	@Test
+	public void checkForGoodPlacements_ownTownAbsorbed_prioritized() {
+
+		// Initialization
+		Player player = new Player("ai", "red");
+		Map<String, Player> players = new HashMap<>();
+		players.put(player.getNick(), player);
+		AI ai = new AI(player, players, 0, new Random(0));
+		AIGame game = ai.getAiLogic().getAIGame();
+		Position start = new Position(0, 0);
+		game.getGameField().getCard(start).getSingleArea(0).getMeeples()
+				.add(new Meeple(start, 0, player, null));
+		// a town of nobody north of the position, its town faces south
+		Card north = CardDeck.createStartCard();
+		north.rotate(1);
+		game.placeCard(new Position(1, -1), north);
+
+		// the corner town joins the town in the north first, so the town of
+		// the AI in the west is the smaller one and is absorbed
+		Card corner = null;
+		for (Card card : LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH)) {
+			if (card.getEdges().toString().equals("[[0], [0], [3, 2, 1], [1, 2, 3]]")
+					&& card.getBonus().isEmpty()) {
+				corner = card;
+			}
+		}
+		PossiblePlacement placement = new PossiblePlacement(0, new Position(1, 0));
+		ai.getAiLogic().checkForGoodPlacements(game, placement, corner);
+
+		assertEquals(9, placement.getPriority());
+		assertEquals(-1, placement.getMeeplePlacements());
+		// the move was taken back
+		assertNull(game.getGameField().getCard(new Position(1, 0)));
+		assertEquals(1, game.getGameField().getCard(start).getSingleArea(0).getMeeples().size());
+	}
+	
 	public Card createStartCard(){
 		Card firstCard = CardDeck.createStartCard();
 		
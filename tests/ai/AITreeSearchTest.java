@@ -0,0 +1,159 @@
+package ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import shared.Configuration;
+import shared.enums.CapabilitiesType;
+import shared.model.AbstractSingleArea;
+import shared.model.AreaTracker;
+import shared.model.Card;
+import shared.model.LogicCardCreator;
+import shared.model.Meeple;
+import shared.model.Player;
+import shared.model.Position;
+
+public class AITreeSearchTest {
+
+	/**
+	 * a town with one edge, it completes the town of the startCard
+	 */
+	private static final String TOWN_CAP = "[Town, Meadow] [[0], [1], [1], [1]] []";
+
+	/**
+	 * a straight road
+	 */
+	private static final String ROAD = "[Meadow, Road, Meadow] [[0], [2, 1, 0], [0, 1, 2], [0]] []";
+
+	private Player player;
+
+	private AI createAI() {
+		player = new Player("ai", "red");
+		Map<String, Player> players = new HashMap<>();
+		players.put(player.getNick(), player);
+		players.put("other", new Player("other", "blue"));
+		AI ai = new AI(player, players, 100, new Random(0));
+		// the town of the startCard is held by the AI
+		Position start = new Position(0, 0);
+		ai.getAiLogic().getAIGame().getGameField().getCard(start).getSingleArea(0)
+				.getMeeples().add(new Meeple(start, 0, player, null));
+		return ai;
+	}
+
+	private AITreeSearch createSearch(AI ai, long seed) {
+		return new AITreeSearch(ai.getAiLogic(), EnumSet.of(CapabilitiesType.CHAT),
+				new Random(seed));
+	}
+
+	private static Card findCard(String description) {
+		for (Card card : LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH)) {
+			if ((card.getAreas() + " " + card.getEdges() + " " + card.getBonus())
+					.equals(description)) {
+				return card;
+			}
+		}
+		throw new IllegalArgumentException(description);
+	}
+
+	private static Set<PossiblePlacement> placements(AI ai, Card card) {
+		Set<PossiblePlacement> legal = ai.getAiLogic().checkForLegalPlacements(card.deepCopy());
+		return ai.getAiLogic().checkForMeeplePlacement(card.deepCopy(), legal);
+	}
+
+	/**
+	 * Describes the cards, the areas and the meeples of the game.
+	 */
+	private static List<String> describe(AIGame game) {
+		List<String> state = new ArrayList<>();
+		state.add(new HashSet<>(game.getGameField().getGameField().keySet()).toString());
+		state.add(String.valueOf(game.getGameField().getFrontier().size()));
+		for (AbstractSingleArea area : game.getSingleAreas()) {
+			AbstractSingleArea root = AreaTracker.find(area);
+			state.add(System.identityHashCode(area) + "->" + System.identityHashCode(root)
+					+ " " + root.getMeeples().size() + " " + root.calculatePoints()
+					+ " " + root.isFinished());
+		}
+		return state;
+	}
+
+	@Test
+	public void getRootPlacements_everyChildIsLegal() {
+		AI ai = createAI();
+		Card card = findCard(ROAD);
+		Set<PossiblePlacement> placements = placements(ai, card);
+		// a placement that doesn't fit anywhere near the startCard
+		placements.add(new PossiblePlacement(0, new Position(5, 5)));
+
+		Set<PossiblePlacement> legal = ai.getAiLogic().checkForLegalPlacements(card.deepCopy());
+		List<PossiblePlacement> children = createSearch(ai, 1).getRootPlacements(card, placements);
+
+		assertFalse(children.isEmpty());
+		for (PossiblePlacement child : children) {
+			assertTrue(child.toString(), legal.contains(
+					new PossiblePlacement(child.getRotation(), child.getPos())));
+		}
+	}
+
+	@Test
+	public void search_gameRestored() {
+		AI ai = createAI();
+		AIGame game = ai.getAiLogic().getAIGame();
+		Card card = findCard(ROAD);
+		List<String> before = describe(game);
+
+		assertNotNull(createSearch(ai, 2).search(card, placements(ai, card), 200, 60000));
+
+		assertEquals(before, describe(game));
+	}
+
+	@Test
+	public void search_sameSeed_samePlacement() {
+		AI first = createAI();
+		AI second = createAI();
+		Card card = findCard(ROAD);
+
+		PossiblePlacement a = createSearch(first, 3).search(card, placements(first, card), 300, 60000);
+		PossiblePlacement b = createSearch(second, 3).search(card, placements(second, card), 300, 60000);
+
+		assertEquals(a, b);
+		assertEquals(a.getMeeplePlacements(), b.getMeeplePlacements());
+	}
+
+	@Test
+	public void search_townCanBeCompleted_completes() {
+		AI ai = createAI();
+		Card card = findCard(TOWN_CAP);
+
+		PossiblePlacement best = createSearch(ai, 4).search(card, placements(ai, card), 400, 60000);
+
+		// the town of the startCard faces east, every card there completes it
+		assertEquals(new Position(1, 0), best.getPos());
+	}
+
+	@Test
+	public void timeBudget_epochSeconds_shareOfTimeLeft() {
+		long now = 1792000000123L;
+		int timeout = (int) (now / 1000) + 10;
+
+		// 9877 ms are left, half of it is taken
+		assertEquals(4938, AI.timeBudget(timeout, now));
+		// less than the reserve is left
+		assertEquals(0, AI.timeBudget((int) (now / 1000) + 1, now));
+		assertEquals(0, AI.timeBudget((int) (now / 1000) - 5, now));
+		// no timeout was sent
+		assertEquals(2000, AI.timeBudget(0, now));
+	}
+}
@@ -0,0 +1,209 @@
+package ai;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import shared.Configuration;
+import shared.model.AbstractSingleArea;
+import shared.model.Card;
+import shared.model.LogicCardCreator;
+import shared.model.Meeple;
+import shared.model.Player;
+import shared.model.Position;
+
+public class AIWorkerGamesTest {
+
+	private static final String[] NICKS = { "ai", "other" };
+
+	/**
+	 * A move of the seeded game.
+	 */
+	private static final class Move {
+
+		private final PossiblePlacement placement;
+
+		private final String nick;
+
+		private final Card card;
+
+		private Move(PossiblePlacement placement, String nick, Card card) {
+			this.placement = placement;
+			this.nick = nick;
+			this.card = card;
+		}
+	}
+
+	private List<Card> deck;
+
+	private int next;
+
+	private final List<Move> moves = new ArrayList<>();
+
+	@Before
+	public void setup() {
+		deck = LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH);
+		Collections.shuffle(deck, new Random(42));
+		next = 0;
+	}
+
+	private static AILogic createLogic(ForkJoinPool pool) {
+		Map<String, Player> players = new HashMap<>();
+		players.put(NICKS[0], new Player(NICKS[0], "red"));
+		players.put(NICKS[1], new Player(NICKS[1], "blue"));
+		AI ai = new AI(players.get(NICKS[0]), players, 0, new Random(0));
+		return new AILogic(ai, pool);
+	}
+
+	private static Set<PossiblePlacement> placements(AILogic logic, Card card) {
+		Set<PossiblePlacement> legal = logic.checkForLegalPlacements(card.deepCopy());
+		return logic.checkForMeeplePlacement(card.deepCopy(), legal);
+	}
+
+	private static List<PossiblePlacement> sorted(Set<PossiblePlacement> placements) {
+		List<PossiblePlacement> list = new ArrayList<>(placements);
+		Collections.sort(list, new Comparator<PossiblePlacement>() {
+			@Override
+			public int compare(PossiblePlacement a, PossiblePlacement b) {
+				return a.toString().compareTo(b.toString());
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * Plays the next cards of the deck on a random placement.
+	 */
+	private void playSeeded(AILogic logic, int count, Random random) {
+		for (int i = 0; i < count && next < deck.size(); next++) {
+			Card card = deck.get(next);
+			List<PossiblePlacement> placements = sorted(placements(logic, card));
+			if (placements.isEmpty()) {
+				continue;
+			}
+			Move move = new Move(placements.get(random.nextInt(placements.size())),
+					NICKS[moves.size() % 2], card);
+			moves.add(move);
+			play(logic, move);
+			i++;
+		}
+	}
+
+	private static void play(AILogic logic, Move move) {
+		logic.getAIGame().checkCardPlacement(move.placement.getPos(),
+				move.placement.getRotation(), move.placement.getMeeplePlacements(),
+				logic.getPlayerList().get(move.nick), move.card.deepCopy());
+	}
+
+	private static AILogic replay(List<Move> moves, ForkJoinPool pool) {
+		AILogic logic = createLogic(pool);
+		for (Move move : moves) {
+			play(logic, move);
+		}
+		return logic;
+	}
+
+	/**
+	 * Returns the next card of the deck that has enough placements to be
+	 * split among the workers.
+	 */
+	private Card nextCardWithManyPlacements(AILogic logic) {
+		while (placements(logic, deck.get(next)).size() < 16) {
+			next++;
+		}
+		return deck.get(next);
+	}
+
+	/**
+	 * Describes every area of every card by its root: the meeples, the points
+	 * and whether it is finished.
+	 */
+	private static Map<String, String> describe(AIGame game) {
+		Map<String, String> state = new TreeMap<>();
+		for (Map.Entry<Position, Card> entry : game.getGameField().getGameField().entrySet()) {
+			Card card = entry.getValue();
+			for (int i = 0; i < card.getAreas().size(); i++) {
+				AbstractSingleArea root = card.getSingleArea(i);
+				List<String> meeples = new ArrayList<>();
+				for (Meeple meeple : root.getMeeples()) {
+					meeples.add(meeple.getOwner().getNick() + " " + meeple.getMeepleInformation());
+				}
+				Collections.sort(meeples);
+				state.put(entry.getKey() + "/" + i, card.getAreas().get(i) + " " + meeples
+						+ " " + root.calculatePoints() + " " + root.isFinished());
+			}
+		}
+		state.put("areas", String.valueOf(game.getSingleAreas().size()));
+		return state;
+	}
+
+	@Test
+	public void getBestPlacement_parallelism_samePlacement() {
+		AILogic generator = createLogic(ForkJoinPool.commonPool());
+		Random random = new Random(7);
+		playSeeded(generator, 20, random);
+		Card first = nextCardWithManyPlacements(generator);
+		next++;
+		// a second round, so the workers have to catch up with moves
+		List<Move> firstMoves = new ArrayList<>(moves);
+		playSeeded(generator, 5, random);
+		Card second = nextCardWithManyPlacements(generator);
+
+		List<String> expected = null;
+		for (int parallelism : new int[] { 1, 2, 4 }) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				AILogic logic = replay(firstMoves, pool);
+				List<String> chosen = new ArrayList<>();
+				PossiblePlacement best = logic.getBestPlacement(first.deepCopy(),
+						placements(logic, first));
+				chosen.add(best + " priority: " + best.getPriority());
+				for (Move move : moves.subList(firstMoves.size(), moves.size())) {
+					play(logic, move);
+				}
+				best = logic.getBestPlacementEasy(second.deepCopy(), placements(logic, second));
+				chosen.add(best + " priority: " + best.getPriority());
+
+				if (expected == null) {
+					expected = chosen;
+				}
+				assertEquals("parallelism " + parallelism, expected, chosen);
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void catchUp_sameAreasAndMeeples() {
+		AILogic logic = createLogic(ForkJoinPool.commonPool());
+		playSeeded(logic, 40, new Random(11));
+		int scored = 0;
+		for (Player player : logic.getPlayerList().values()) {
+			scored += player.getScore();
+		}
+		assertTrue("no area was finished", scored > 0);
+
+		AIGame worker = new AIGame(logic);
+		worker.catchUp(logic.getAIGame());
+		assertEquals(describe(logic.getAIGame()), describe(worker));
+
+		// catching up again only replays the new moves
+		playSeeded(logic, 10, new Random(12));
+		worker.catchUp(logic.getAIGame());
+		assertEquals(describe(logic.getAIGame()), describe(worker));
+	}
+}
@@ -0,0 +1,103 @@
+package client;
+
+import static org.junit.Assert.*;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import client.model.clientCommunication.ClientMessageBuilder;
+import client.model.game.ClientGame;
+import shared.enums.CapabilitiesType;
+import shared.enums.JsonType;
+import shared.model.Player;
+import shared.model.Spectator;
+
+public class GameDeltaTest {
+	private ClientGame game;
+
+	@Before
+	public void setUp() {
+		Map<String, Player> players = new HashMap<>();
+		players.put("alice", new Player("alice", "red"));
+		Map<String, Spectator> spectators = new HashMap<>();
+		spectators.put("carol", new Spectator("carol"));
+		game = new ClientGame("deltaGame", 3, "alice", players, spectators, EnumSet.noneOf(CapabilitiesType.class));
+		game.setVersion(4);
+	}
+
+	@Test
+	public void follows_nextVersion_true() {
+		assertTrue(game.follows(5));
+		assertEquals(4, game.getVersion());
+	}
+
+	@Test
+	public void follows_versionGap_marksResyncing() {
+		assertFalse(game.follows(6));
+		assertEquals(ClientGame.RESYNCING, game.getVersion());
+	}
+
+	@Test
+	public void follows_oldVersion_marksResyncing() {
+		assertFalse(game.follows(4));
+		assertEquals(ClientGame.RESYNCING, game.getVersion());
+	}
+
+	@Test
+	public void follows_unknownVersion_marksResyncing() {
+		game.setVersion(ClientGame.UNKNOWN);
+		assertFalse(game.follows(0));
+		assertEquals(ClientGame.RESYNCING, game.getVersion());
+	}
+
+	@Test
+	public void follows_whileResyncing_ignoresChanges() {
+		game.follows(9);
+		assertFalse(game.follows(10));
+		assertEquals(ClientGame.RESYNCING, game.getVersion());
+	}
+
+	@Test
+	public void follows_afterGameUpdate_acceptsChanges() {
+		game.follows(9);
+		game.setVersion(9);
+		assertTrue(game.follows(10));
+	}
+
+	@Test
+	public void getPlayersAfter_playerJoined_addsPlayer() {
+		Map<String, Player> joined = new HashMap<>();
+		joined.put("bob", new Player("bob", "blue"));
+		Map<String, Player> players = game.getPlayersAfter(JsonType.PLAYERJOINED, joined, "");
+		assertEquals(2, players.size());
+		assertTrue(players.containsKey("bob"));
+		assertEquals(1, game.getPlayerList().size());
+	}
+
+	@Test
+	public void getPlayersAfter_playerQuit_removesPlayer() {
+		Map<String, Player> players = game.getPlayersAfter(JsonType.PLAYERQUIT,
+				new HashMap<String, Player>(), "alice");
+		assertTrue(players.isEmpty());
+		assertTrue(game.getPlayerList().containsKey("alice"));
+	}
+
+	@Test
+	public void getSpectatorsAfter_addedAndRemoved() {
+		assertTrue(game.getSpectatorsAfter(JsonType.SPECTATORADDED, "dave").containsKey("dave"));
+		assertTrue(game.getSpectatorsAfter(JsonType.SPECTATORREMOVED, "carol").isEmpty());
+		assertEquals(1, game.getSpectatorList().size());
+	}
+
+	@Test
+	public void resync_containsGameID() {
+		JSONObject msg = ClientMessageBuilder.resync(3);
+		assertEquals(JsonType.RESYNC.toString(), msg.optString("type"));
+		assertEquals(3, msg.optInt("game id"));
+	}
+}
@@ -0,0 +1,60 @@
+package server;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.EnumSet;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import server.model.game.ServerGame;
+import server.model.serverCommunication.execution.ServerControl;
+import server.model.serverCommunication.utility.ServerMessageBuilder;
+import shared.enums.CapabilitiesType;
+import shared.enums.JsonType;
+import shared.model.Player;
+
+public class GameVersionTest {
+	private ServerGame game;
+
+	@Before
+	public void setUp() {
+		ServerControl serverControl = null;
+		try {
+			serverControl = ServerControl.getInstance(new ServerSocket());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		game = new ServerGame("versionGame", new Player("host", "red"), 7, serverControl, 0, EnumSet.noneOf(CapabilitiesType.class));
+	}
+
+	@Test
+	public void getVersion_newGame_isZero() {
+		assertEquals(0, game.getVersion());
+	}
+
+	@Test
+	public void nextVersion_countsUpByOne() {
+		assertEquals(1, game.nextVersion());
+		assertEquals(2, game.nextVersion());
+		assertEquals(2, game.getVersion());
+	}
+
+	@Test
+	public void playerJoined_carriesVersion() {
+		JSONObject msg = ServerMessageBuilder.playerJoined(7, game.nextVersion(), new JSONObject());
+		assertEquals(JsonType.PLAYERJOINED.toString(), msg.optString("type"));
+		assertEquals(7, msg.optInt("game id"));
+		assertEquals(1, msg.optInt("version"));
+	}
+
+	@Test
+	public void gameUpdate_carriesCurrentVersion() {
+		game.nextVersion();
+		JSONObject msg = ServerMessageBuilder.gameUpdate(game.getGameInformation(), game.getVersion());
+		assertEquals(1, msg.optInt("version"));
+	}
+}
@@ -0,0 +1,38 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import server.model.metrics.Histogram;
+import server.model.metrics.Metrics;
+
+public class HistogramTest {
+
+	@Test
+	public void getPercentile_smallValues_exact() {
+		Histogram histogram = Metrics.histogram("test.small");
+		for (int i = 1; i <= 10; i++) {
+			histogram.record(i);
+		}
+
+		assertEquals(10, histogram.getCount());
+		assertEquals(5, histogram.getPercentile(50));
+		assertEquals(10, histogram.getPercentile(99));
+		assertEquals(5.5, histogram.getMean(), 0.001);
+	}
+
+	@Test
+	public void getPercentile_largeValues_withinOneEighth() {
+		Histogram histogram = Metrics.histogram("test.large");
+		for (long i = 1; i <= 100000; i++) {
+			histogram.record(i * 1000);
+		}
+
+		long p90 = histogram.getPercentile(90);
+		assertTrue(String.valueOf(p90), p90 >= 90000000L && p90 <= 90000000L * 9 / 8);
+		assertEquals(100000000L, histogram.getMax());
+		assertEquals(100000000L, histogram.getPercentile(100));
+	}
+}
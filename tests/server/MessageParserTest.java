@@ -0,0 +1,118 @@
+package server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONException;
+import org.junit.Test;
+
+import server.model.serverCommunication.commands.ChatCommand;
+import server.model.serverCommunication.commands.Command;
+import server.model.serverCommunication.commands.JoinGameCommand;
+import server.model.serverCommunication.commands.LoginCommand;
+import server.model.serverCommunication.commands.MessageParser;
+import server.model.serverCommunication.commands.MoveCommand;
+import shared.enums.CapabilitiesType;
+import shared.enums.SpecialMeepleType;
+
+public class MessageParserTest {
+
+	@Test
+	public void parse_move_allFields() {
+		Command command = MessageParser.parse("{\"type\": \"move\", \"game id\": 4, \"action\": "
+				+ "{\"x\": -1, \"y\": 2, \"rotation\": 3, \"placement\": 5, \"special meeple\": \"Bishop\"}}");
+
+		assertTrue(command instanceof MoveCommand);
+		MoveCommand move = (MoveCommand) command;
+		assertEquals(3, move.getFieldCount());
+		assertTrue(move.isValid());
+		assertEquals(4, move.getGameID());
+		assertEquals(-1, move.getX());
+		assertEquals(2, move.getY());
+		assertEquals(3, move.getRotation());
+		assertEquals(5, move.getPlacement());
+		assertEquals(SpecialMeepleType.BISHOP, move.getSpecialMeeple());
+	}
+
+	@Test
+	public void parse_moveWithoutPlacement_minusOne() {
+		MoveCommand move = (MoveCommand) MessageParser
+				.parse("{\"type\":\"move\",\"game id\":\"4\",\"action\":{\"x\":0,\"y\":0,\"rotation\":0}}");
+
+		assertEquals(4, move.getGameID());
+		assertEquals(-1, move.getPlacement());
+		assertNull(move.getSpecialMeeple());
+	}
+
+	@Test
+	public void parse_chatWithEscapes_sameText() {
+		ChatCommand chat = (ChatCommand) MessageParser.parse("{\"type\": \"chat\", \"sender id\": \"a\", "
+				+ "\"message\": \"h\\u00e9 \\\"x\\\"\", \"game id\": 0, \"receiver id\": \"b\"}");
+
+		assertEquals(5, chat.getFieldCount());
+		assertEquals("h\u00e9 \"x\"", chat.getMessage());
+		assertEquals("b", chat.getReceiverID());
+	}
+
+	@Test
+	public void parse_login_unknownCapabilitiesLeftOut() {
+		LoginCommand login = (LoginCommand) MessageParser
+				.parse("{\"type\": \"login\", \"nick\": \"a\", \"capabilities\": [\"Chat\", \"Unknown\"]}");
+
+		assertEquals("a", login.getNick());
+		assertEquals(1, login.getCapabilities().size());
+		assertTrue(login.getCapabilities().contains(CapabilitiesType.CHAT));
+	}
+
+	@Test
+	public void parse_loginWithTileCatalog_valid() {
+		LoginCommand login = (LoginCommand) MessageParser
+				.parse("{\"type\": \"login\", \"nick\": \"a\", \"capabilities\": [\"Binary frames\"], \"tile catalog\": -42}");
+
+		assertTrue(login.isValid());
+		assertEquals(Integer.valueOf(-42), login.getTileCatalog());
+	}
+
+	@Test
+	public void parse_loginWithOtherField_invalid() {
+		LoginCommand login = (LoginCommand) MessageParser
+				.parse("{\"type\": \"login\", \"nick\": \"a\", \"capabilities\": [], \"color\": \"red\"}");
+
+		assertFalse(login.isValid());
+		assertNull(login.getTileCatalog());
+	}
+
+	@Test
+	public void parse_unknownType_noType() {
+		Command command = MessageParser.parse("{\"type\": \"dance\", \"other\": {\"a\": [1, 2]}}");
+
+		assertNull(command.getType());
+		assertEquals(2, command.getFieldCount());
+		assertFalse(command.isValid());
+	}
+
+	@Test
+	public void parse_joinGame_validOnlyWithColor() {
+		Command join = MessageParser.parse("{\"type\": \"join game\", \"game id\": 2, \"color\": \"red\"}");
+		Command noColor = MessageParser.parse("{\"type\": \"join game\", \"game id\": 2}");
+
+		assertTrue(join.isValid());
+		assertEquals("red", ((JoinGameCommand) join).getColor());
+		assertFalse(noColor.isValid());
+	}
+
+	@Test
+	public void parse_moveWithoutAction_notValid() {
+		Command move = MessageParser.parse("{\"type\": \"move\", \"game id\": 2, \"x\": 0}");
+
+		assertTrue(move instanceof MoveCommand);
+		assertFalse(move.isValid());
+	}
+
+	@Test(expected = JSONException.class)
+	public void parse_duplicateField_rejected() {
+		MessageParser.parse("{\"type\": \"chat\", \"type\": \"chat\"}");
+	}
+}
@@ -0,0 +1,76 @@
+package server;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Test;
+
+import server.model.serverCommunication.queues.ServerMoveMadeStorage;
+import server.model.serverCommunication.utility.ServerMessageBuilder;
+import shared.Configuration;
+import shared.model.Card;
+import shared.model.LogicCardCreator;
+import shared.model.Placement;
+import shared.model.Position;
+
+public class MoveMadeStorageTest {
+	private static final int GAME = 4711;
+
+	private final List<JSONObject> moves = new ArrayList<>();
+
+	@After
+	public void tearDown() {
+		ServerMoveMadeStorage.deleteQueue(GAME);
+	}
+
+	@Test
+	public void getAllMoveMade_noMoves_empty() {
+		assertEquals(0, ServerMoveMadeStorage.getAllMoveMade(GAME).length);
+	}
+
+	@Test
+	public void getAllMoveMade_sameMessages_afterSnapshots() {
+		List<Card> cards = LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH);
+		for (int i = 0; i < 40; i++) {
+			if (i == 17 || i == 35) {
+				assertReplay();
+			}
+			Placement placement = new Placement(i % 3 - 1);
+			placement.setCommunicationPlacement(i % 3 - 1);
+			add(ServerMessageBuilder.moveMade(GAME, "player" + i % 2, cards.get(i),
+					ServerMessageBuilder.createAction(new Position(i, -i), i % 4, placement)));
+		}
+		assertReplay();
+		assertReplay();
+	}
+
+	@Test
+	public void getAllMoveMade_tileNotInCatalog_sameMessage() {
+		JSONObject move = ServerMessageBuilder.moveMade(GAME, "alice",
+				LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH).get(0),
+				ServerMessageBuilder.createAction(new Position(1, 0), 0));
+		move.getJSONObject("tile").put("areas", new JSONArray().put("Unknown"));
+		add(move);
+		assertReplay();
+	}
+
+	private void add(JSONObject move) {
+		moves.add(new JSONObject(move.toString()));
+		ServerMoveMadeStorage.addMoveToQueue(GAME, move);
+	}
+
+	private void assertReplay() {
+		String text = new String(ServerMoveMadeStorage.getAllMoveMade(GAME), Charset.forName("UTF-8"));
+		String[] lines = text.split("\n");
+		assertEquals(moves.size(), lines.length);
+		for (int i = 0; i < lines.length; i++) {
+			assertTrue(lines[i], moves.get(i).similar(new JSONObject(lines[i])));
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package server;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import server.model.serverCommunication.clientHandling.ProtocolTrace;
+import shared.enums.JsonType;
+
+public class ProtocolTraceTest {
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	@Test
+	public void decode_writtenRecords_sameMessages() throws IOException {
+		ByteArrayOutputStream trace = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(trace);
+		ProtocolTrace.writeHeader(out);
+		ProtocolTrace.writeRecord(out, 0, ProtocolTrace.IN, JsonType.MOVE, "alice", bytes("{\"type\": \"move\"}\n"));
+		ProtocolTrace.writeRecord(out, 0, ProtocolTrace.OUT, JsonType.CHAT, "bob", bytes("{\"type\": \"chat\"}\n"));
+		ProtocolTrace.writeRecord(out, 0, ProtocolTrace.IN, null, "", bytes("garbage"));
+
+		String[] lines = decode(trace.toByteArray(), null);
+		assertEquals(3, lines.length);
+		assertTrue(lines[0], lines[0].endsWith("[alice] CLIENT ---> SERVER : {\"type\": \"move\"}"));
+		assertTrue(lines[1], lines[1].endsWith("[bob] SERVER ---> CLIENT : {\"type\": \"chat\"}"));
+		assertTrue(lines[2], lines[2].endsWith("[] CLIENT ---> SERVER : garbage"));
+	}
+
+	@Test
+	public void decode_onlyType_otherTypesLeftOut() throws IOException {
+		ByteArrayOutputStream trace = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(trace);
+		ProtocolTrace.writeHeader(out);
+		ProtocolTrace.writeRecord(out, 0, ProtocolTrace.IN, JsonType.MOVE, "alice", bytes("move"));
+		ProtocolTrace.writeRecord(out, 0, ProtocolTrace.IN, JsonType.CHAT, "alice", bytes("chat"));
+
+		String[] lines = decode(trace.toByteArray(), JsonType.CHAT);
+		assertEquals(1, lines.length);
+		assertTrue(lines[0].endsWith("chat"));
+	}
+
+	@Test
+	public void decode_typeTableOfOtherVersion_typesByName() throws IOException {
+		ByteArrayOutputStream trace = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(trace);
+		out.writeInt(ProtocolTrace.MAGIC);
+		out.writeShort(ProtocolTrace.VERSION);
+		out.writeShort(2);
+		out.writeUTF("REMOVEDTYPE");
+		out.writeUTF("MOVE");
+		out.writeLong(0);
+		out.writeByte(ProtocolTrace.IN);
+		out.writeByte(1);
+		out.writeUTF("alice");
+		out.writeInt(4);
+		out.write(bytes("move"));
+
+		assertEquals(1, decode(trace.toByteArray(), JsonType.MOVE).length);
+		assertEquals(0, decode(trace.toByteArray(), JsonType.values()[1]).length);
+	}
+
+	@Test(expected = IOException.class)
+	public void decode_noTrace_fails() throws IOException {
+		decode(bytes("{\"type\": \"move\"}"), null);
+	}
+
+	@Test
+	public void parseRates_noSpec_everyMessage() {
+		for (int rate : ProtocolTrace.parseRates(null)) {
+			assertEquals(1, rate);
+		}
+		assertEquals(JsonType.values().length + 1, ProtocolTrace.parseRates("").length);
+	}
+
+	@Test
+	public void parseRates_spec_ratesByType() {
+		int[] rates = ProtocolTrace.parseRates("MOVE:1, CHAT:10,*:100,LOGIN:0");
+		assertEquals(1, rates[JsonType.MOVE.ordinal()]);
+		assertEquals(10, rates[JsonType.CHAT.ordinal()]);
+		assertEquals(0, rates[JsonType.LOGIN.ordinal()]);
+		assertEquals(100, rates[JsonType.TILEDRAWN.ordinal()]);
+		assertEquals(100, rates[rates.length - 1]);
+	}
+
+	@Test
+	public void parseRates_unknownType_ignored() {
+		int[] rates = ProtocolTrace.parseRates("DANCE:5,MOVE:2");
+		assertEquals(2, rates[JsonType.MOVE.ordinal()]);
+		assertEquals(1, rates[JsonType.CHAT.ordinal()]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parseRates_noNumber_fails() {
+		ProtocolTrace.parseRates("MOVE");
+	}
+
+	private static byte[] bytes(String text) {
+		return text.getBytes(UTF8);
+	}
+
+	private static String[] decode(byte[] trace, JsonType only) throws IOException {
+		ByteArrayOutputStream text = new ByteArrayOutputStream();
+		ProtocolTraceDecoder.decode(new ByteArrayInputStream(trace), only, new PrintStream(text, true, "UTF-8"));
+		String printed = new String(text.toByteArray(), UTF8);
+		return printed.isEmpty() ? new String[0] : printed.split("\n");
+	}
+}
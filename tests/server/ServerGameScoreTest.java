@@ -0,0 +1,142 @@
+package server;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.EnumSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import server.model.game.ServerGame;
+import server.model.serverCommunication.execution.ServerControl;
+import shared.Configuration;
+import shared.enums.CapabilitiesType;
+import shared.model.Card;
+import shared.model.LogicCardCreator;
+import shared.model.Placement;
+import shared.model.Player;
+import shared.model.Position;
+
+public class ServerGameScoreTest {
+
+	/**
+	 * a town with one edge, the other edges are meadows
+	 */
+	private static final String TOWN_CAP = "[Town, Meadow] [[0], [1], [1], [1]] []";
+
+	/**
+	 * a town in the east and three roads that end on the card
+	 */
+	private static final String JUNCTION = "[Town, Meadow, Road, Meadow, Road, Meadow, Road] [[1, 2, 3], [5, 4, 1], [3, 6, 5], [0]] []";
+
+	/**
+	 * a road from north to south
+	 */
+	private static final String STRAIGHT = "[Meadow, Road, Meadow] [[0, 1, 2], [0], [2, 1, 0], [2]] []";
+
+	/**
+	 * a cloister with meadows on all edges
+	 */
+	private static final String CLOISTER = "[Cloister, Meadow] [[1], [1], [1], [1]] []";
+
+	private ServerGame game;
+
+	private Player first;
+
+	private Player second;
+
+	@Before
+	public void setUp() {
+		ServerControl serverControl = null;
+		try {
+			serverControl = ServerControl.getInstance(new ServerSocket());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		first = new Player("first", "red");
+		second = new Player("second", "blue");
+		game = new ServerGame("scoreGame", first, 11, serverControl, 0, EnumSet.noneOf(CapabilitiesType.class));
+		game.getPlayerList().put(second.getNick(), second);
+	}
+
+	private static Card findCard(String description) {
+		for (Card card : LogicCardCreator.buildDeck(Configuration.GAMECARDSPATH)) {
+			if ((card.getAreas() + " " + card.getEdges() + " " + card.getBonus()).equals(description)) {
+				return card;
+			}
+		}
+		throw new IllegalArgumentException(description);
+	}
+
+	/**
+	 * Puts the card on top of the deck and plays it.
+	 *
+	 * @param area
+	 *            index of the area the meeple is put on, -1 for none
+	 */
+	private void move(String card, int x, int y, int rotation, int area, Player player) {
+		game.getCardDeck().getCardDeck().push(findCard(card));
+		Placement placement = new Placement(-1);
+		placement.setCommunicationPlacement(area);
+		assertEquals("legal", game.makeMove(new Position(x, y), rotation, placement, player));
+	}
+
+	@Test
+	public void makeMove_townAndRoadCompletedAtOnce_bothScored() {
+		int meeples = first.getMeeplesLeft();
+		// the road of the startCard ends in the south, the first player holds it
+		move(JUNCTION, 0, 1, 0, 2, first);
+		// a town of the second player north of the town of the startCard
+		move(TOWN_CAP, 1, 0, 3, -1, second);
+		move(TOWN_CAP, 1, -1, 3, 0, second);
+		assertEquals(0, first.getScore());
+		assertEquals(0, second.getScore());
+
+		// ends the road in the north and closes the town of the second player
+		move(JUNCTION, 0, -1, 0, -1, first);
+
+		assertEquals(3, first.getScore());
+		assertEquals(4, second.getScore());
+		assertEquals(meeples, first.getMeeplesLeft());
+		assertEquals(meeples, second.getMeeplesLeft());
+	}
+
+	@Test
+	public void makeMove_twoCloistersSurroundedByOneMove_bothScored() {
+		int meeples = first.getMeeplesLeft();
+		move(STRAIGHT, 0, -1, 0, -1, first);
+		move(STRAIGHT, 0, 1, 0, -1, first);
+		move(CLOISTER, -1, 0, 0, 0, first);
+		move(CLOISTER, -2, 0, 0, 0, second);
+		move(CLOISTER, -1, -1, 0, -1, first);
+		move(CLOISTER, -1, 1, 0, -1, first);
+		move(CLOISTER, -2, 1, 0, -1, first);
+		move(CLOISTER, -3, 0, 0, -1, first);
+		move(CLOISTER, -3, -1, 0, -1, first);
+		move(CLOISTER, -3, 1, 0, -1, first);
+		assertEquals(0, first.getScore());
+		assertEquals(0, second.getScore());
+
+		// the last card around both cloisters
+		move(CLOISTER, -2, -1, 0, -1, first);
+
+		assertEquals(9, first.getScore());
+		assertEquals(9, second.getScore());
+		assertEquals(meeples, first.getMeeplesLeft());
+		assertEquals(meeples, second.getMeeplesLeft());
+	}
+
+	@Test
+	public void checkCompletion_finishedAreaOfNobody_notReturnedNorScored() {
+		// closes the town of the startCard, nobody is on it
+		move(TOWN_CAP, 1, 0, 3, -1, first);
+
+		assertTrue(game.getGameField().getCard(new Position(0, 0)).getSingleArea(0).isFinished());
+		assertTrue(game.checkCompletion(new Position(1, 0)).isEmpty());
+		game.checkScore(game.checkCompletion(new Position(1, 0)));
+		assertEquals(0, first.getScore());
+		assertEquals(0, second.getScore());
+	}
+}
@@ -0,0 +1,139 @@
+package server.model;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.EnumSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import server.model.game.ServerGame;
+import server.model.metrics.Metrics;
+import server.model.serverCommunication.execution.ServerControl;
+import shared.enums.CapabilitiesType;
+import shared.enums.GameStatus;
+import shared.model.Player;
+
+public class TurnTimerTest {
+
+	/**
+	 * Milliseconds a move may arrive after the time ran out
+	 */
+	private static final long GRACE = 200;
+
+	private final AtomicLong timeouts = Metrics.counter("turn.timeouts");
+
+	private ServerGame game;
+
+	private ExecutorService lane;
+
+	private TurnTimer timer;
+
+	/**
+	 * The 'tile drawn' messages as "nick time"
+	 */
+	private final BlockingQueue<String> drawn = new LinkedBlockingQueue<>();
+
+	private final TurnTimer.TileSender sender = new TurnTimer.TileSender() {
+		@Override
+		public void tileDrawn(ServerGame game, String nick, int turnTime) {
+			drawn.add(nick + " " + turnTime);
+		}
+	};
+
+	@Before
+	public void setUp() {
+		ServerControl serverControl = null;
+		try {
+			serverControl = ServerControl.getInstance(new ServerSocket());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		Player first = new Player("first", "red");
+		game = new ServerGame("timerGame", first, 31, serverControl, 0,
+				EnumSet.noneOf(CapabilitiesType.class));
+		game.getPlayerList().put("second", new Player("second", "blue"));
+		game.setState(GameStatus.ONGOING);
+		lane = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() {
+		if (timer != null) {
+			timer.remove();
+		}
+		lane.shutdownNow();
+	}
+
+	private String nextDrawn(long millis) throws InterruptedException {
+		return drawn.poll(millis, TimeUnit.MILLISECONDS);
+	}
+
+	private static String other(String nick) {
+		return nick.equals("first") ? "second" : "first";
+	}
+
+	@Test
+	public void moveMade_legalMove_nextTurnAtOnce() throws InterruptedException {
+		timer = new TurnTimer(game, 1, GRACE, lane, sender);
+		String tile = nextDrawn(1000);
+		assertNotNull(tile);
+		Player current = timer.getCurrentPlayer();
+		assertEquals(current.getNick() + " 1", tile);
+		long before = timeouts.get();
+
+		timer.moveMade(current);
+
+		// long before the time of the turn ran out
+		assertEquals(other(current.getNick()) + " 1", nextDrawn(500));
+		assertEquals(before, timeouts.get());
+		// a second move of the same turn doesn't end the next turn
+		timer.moveMade(current);
+		assertNull(nextDrawn(300));
+
+		// only the time of the next turn runs out, then the first player again
+		assertEquals(current.getNick() + " 1", nextDrawn(2000));
+		assertEquals(before + 1, timeouts.get());
+		assertNull(nextDrawn(300));
+	}
+
+	@Test
+	public void moveFailed_illegalMove_tileResentWithTimeLeft() throws InterruptedException {
+		timer = new TurnTimer(game, 3, GRACE, lane, sender);
+		String tile = nextDrawn(1000);
+		Player current = timer.getCurrentPlayer();
+		assertEquals(current.getNick() + " 3", tile);
+		Thread.sleep(1100);
+
+		timer.moveFailed();
+
+		// 1.9 seconds are left
+		assertEquals(current.getNick() + " 1", nextDrawn(500));
+		assertSame(current, timer.getCurrentPlayer());
+	}
+
+	@Test
+	public void remove_removedGame_noMoreTurns() throws InterruptedException {
+		timer = new TurnTimer(game, 0, GRACE, lane, sender);
+		assertNotNull(nextDrawn(1000));
+		Player current = timer.getCurrentPlayer();
+
+		timer.remove();
+		drawn.clear();
+
+		assertNull(nextDrawn(3 * GRACE));
+		assertNull(timer.getCurrentPlayer());
+		timer.moveMade(current);
+		timer.moveFailed();
+		assertNull(nextDrawn(GRACE));
+	}
+}
@@ -0,0 +1,224 @@
+package server.model.serverCommunication.clientHandling;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import server.model.serverCommunication.clientHandling.Outbox.Backpressure;
+import server.model.serverCommunication.utility.EncodedMessage;
+import shared.enums.JsonType;
+import shared.model.User;
+
+public class OutboxTest {
+
+	/**
+	 * The socket of a client that reads only after it is released. It counts
+	 * the messages the client got.
+	 */
+	private static final class StubSocket extends Socket {
+
+		private final CountDownLatch release = new CountDownLatch(1);
+
+		private final CountDownLatch blocked = new CountDownLatch(1);
+
+		private final AtomicInteger received = new AtomicInteger();
+
+		private volatile boolean closed;
+
+		private final OutputStream out = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] bytes, int offset, int length) throws IOException {
+				blocked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new InterruptedIOException();
+				}
+				if (closed) {
+					throw new IOException("closed by the test");
+				}
+				for (int i = offset; i < offset + length; i++) {
+					if (bytes[i] == '\n') {
+						received.incrementAndGet();
+					}
+				}
+			}
+		};
+
+		private StubSocket(boolean reading) {
+			if (reading) {
+				release.countDown();
+			}
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return out;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public boolean isClosed() {
+			return closed;
+		}
+
+		@Override
+		public synchronized void close() {
+			closed = true;
+			release.countDown();
+		}
+	}
+
+	private final List<StubSocket> sockets = new ArrayList<>();
+
+	@After
+	public void tearDown() {
+		Outbox.setBackpressure(Backpressure.DISCONNECT);
+		Outbox.setWriteTimeout(TimeUnit.SECONDS.toMillis(Outbox.WRITE_TIMEOUT));
+		for (StubSocket socket : sockets) {
+			socket.close();
+		}
+	}
+
+	private ClientHandler createHandler(StubSocket socket) {
+		sockets.add(socket);
+		ClientHandler handler = new ClientHandler(socket, null);
+		handler.setUser(new User("outboxTest"));
+		return handler;
+	}
+
+	private static EncodedMessage message() {
+		return new EncodedMessage("{\"type\":\"chat\"}\n".getBytes(StandardCharsets.UTF_8),
+				JsonType.CHAT);
+	}
+
+	/**
+	 * Adds a message the writer blocks on and fills the Outbox behind it.
+	 */
+	private static void fill(StubSocket socket, Outbox outbox) throws InterruptedException {
+		outbox.offer(message());
+		assertTrue(socket.blocked.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < Outbox.CAPACITY; i++) {
+			outbox.offer(message());
+		}
+		assertEquals(Outbox.CAPACITY, outbox.size());
+	}
+
+	private static void awaitReceived(StubSocket socket, int count) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (socket.received.get() < count && System.currentTimeMillis() < deadline) {
+			Thread.yield();
+		}
+		assertEquals(count, socket.received.get());
+	}
+
+	@Test
+	public void offer_fullOutboxDisconnect_clientDropped() throws InterruptedException {
+		StubSocket socket = new StubSocket(false);
+		Outbox outbox = createHandler(socket).getOutbox();
+		long queued = Outbox.getQueuedMessages();
+		long dropped = Outbox.getDroppedMessages();
+		long disconnected = Outbox.getDisconnectedClients();
+		fill(socket, outbox);
+		assertEquals(queued + Outbox.CAPACITY, Outbox.getQueuedMessages());
+
+		outbox.offer(message());
+
+		assertEquals(disconnected + 1, Outbox.getDisconnectedClients());
+		assertEquals(dropped, Outbox.getDroppedMessages());
+		assertEquals(0, outbox.size());
+		assertEquals(queued, Outbox.getQueuedMessages());
+		assertTrue(socket.isClosed());
+		// nothing is added after the client was dropped
+		outbox.offer(message());
+		assertEquals(0, outbox.size());
+	}
+
+	@Test
+	public void offer_fullOutboxDrop_messageDropped() throws InterruptedException {
+		Outbox.setBackpressure(Backpressure.DROP);
+		StubSocket socket = new StubSocket(false);
+		Outbox outbox = createHandler(socket).getOutbox();
+		long queued = Outbox.getQueuedMessages();
+		long dropped = Outbox.getDroppedMessages();
+		long disconnected = Outbox.getDisconnectedClients();
+		fill(socket, outbox);
+
+		for (int i = 0; i < 3; i++) {
+			outbox.offer(message());
+		}
+
+		assertEquals(dropped + 3, Outbox.getDroppedMessages());
+		assertEquals(disconnected, Outbox.getDisconnectedClients());
+		assertEquals(Outbox.CAPACITY, outbox.size());
+		assertEquals(queued + Outbox.CAPACITY, Outbox.getQueuedMessages());
+		assertFalse(socket.isClosed());
+
+		// the client reads again and gets every message that wasn't dropped
+		socket.release.countDown();
+		awaitReceived(socket, Outbox.CAPACITY + 1);
+		assertEquals(0, outbox.size());
+		assertEquals(queued, Outbox.getQueuedMessages());
+	}
+
+	@Test
+	public void offer_rightAfterDrain_writerRescheduled() {
+		StubSocket socket = new StubSocket(true);
+		Outbox outbox = createHandler(socket).getOutbox();
+		long queued = Outbox.getQueuedMessages();
+
+		// every message is added as soon as the one before was written, so
+		// the writer often finds the Outbox empty just before it is added
+		for (int i = 1; i <= 2000; i++) {
+			outbox.offer(message());
+			awaitReceived(socket, i);
+		}
+
+		assertEquals(queued, Outbox.getQueuedMessages());
+		assertFalse(socket.isClosed());
+	}
+
+	@Test
+	public void stalled_clientDoesNotRead_clientDropped() throws InterruptedException {
+		Outbox.setWriteTimeout(100);
+		StubSocket socket = new StubSocket(false);
+		Outbox outbox = createHandler(socket).getOutbox();
+		long disconnected = Outbox.getDisconnectedClients();
+
+		outbox.offer(message());
+		assertTrue(socket.blocked.await(5, TimeUnit.SECONDS));
+		outbox.offer(message());
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!socket.isClosed() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertTrue(socket.isClosed());
+		assertEquals(disconnected + 1, Outbox.getDisconnectedClients());
+		assertEquals(0, outbox.size());
+		assertEquals(0, socket.received.get());
+	}
+}
@@ -0,0 +1,124 @@
+package server.model.serverCommunication.execution;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import server.model.game.ServerGame;
+import shared.enums.CapabilitiesType;
+import shared.model.Player;
+
+public class GameRegistryTest {
+
+	private ServerControl serverControl;
+
+	private GameRegistry registry;
+
+	private ServerGame plain;
+
+	private ServerGame bigMeeple;
+
+	@Before
+	public void setUp() {
+		try {
+			serverControl = ServerControl.getInstance(new ServerSocket());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		registry = new GameRegistry();
+		plain = new ServerGame("plain", new Player("alice", "red"), 1, serverControl, 0,
+				EnumSet.noneOf(CapabilitiesType.class));
+		bigMeeple = new ServerGame("bigMeeple", new Player("bob", "blue"), 2, serverControl, 0,
+				EnumSet.of(CapabilitiesType.BIGMEEPLE));
+		registry.add(plain);
+		registry.add(bigMeeple);
+	}
+
+	@Test
+	public void add_indexesKnowTheGame() {
+		assertSame(plain, registry.get(1));
+		assertTrue(registry.contains(2));
+		assertSame(plain, registry.getHostedBy("alice"));
+		assertSame(bigMeeple, registry.getHostedBy("bob"));
+		assertEquals(Collections.singletonList(bigMeeple), registry.getGamesOf("bob"));
+		assertEquals(Collections.singleton(1),
+				registry.getVisibleFor(EnumSet.of(CapabilitiesType.CHAT)).keySet());
+		assertEquals(new HashSet<>(Arrays.asList(1, 2)),
+				registry.getVisibleFor(EnumSet.of(CapabilitiesType.BIGMEEPLE)).keySet());
+	}
+
+	@Test
+	public void joinAndLeave_gamesOfPlayer() {
+		registry.join("carol", 1);
+		registry.join("carol", 2);
+		assertEquals(new HashSet<>(Arrays.asList(plain, bigMeeple)),
+				new HashSet<>(registry.getGamesOf("carol")));
+
+		registry.leave("carol", 1);
+		assertEquals(Collections.singletonList(bigMeeple), registry.getGamesOf("carol"));
+		registry.leave("carol", 2);
+		assertTrue(registry.getGamesOf("carol").isEmpty());
+		// the host doesn't lose its game by a leave of somebody else
+		assertSame(plain, registry.getHostedBy("alice"));
+	}
+
+	@Test
+	public void remove_removedFromEveryIndex() {
+		bigMeeple.getPlayerList().put("carol", new Player("carol", "green"));
+		registry.join("carol", 2);
+		registry.join("carol", 1);
+
+		assertSame(bigMeeple, registry.remove(2));
+
+		assertNull(registry.get(2));
+		assertFalse(registry.contains(2));
+		assertNull(registry.getHostedBy("bob"));
+		assertTrue(registry.getGamesOf("bob").isEmpty());
+		assertEquals(Collections.singletonList(plain), registry.getGamesOf("carol"));
+		assertEquals(Collections.singleton(1),
+				registry.getVisibleFor(EnumSet.of(CapabilitiesType.BIGMEEPLE)).keySet());
+		assertEquals(Collections.singleton(1), registry.asMap().keySet());
+		assertNull(registry.remove(2));
+	}
+
+	@Test
+	public void remove_newHostOfSameNick_keptAsHost() {
+		registry.remove(1);
+		ServerGame second = new ServerGame("plain2", new Player("alice", "red"), 3, serverControl,
+				0, EnumSet.noneOf(CapabilitiesType.class));
+		registry.add(second);
+
+		// the old game is gone already, its host index doesn't touch the new one
+		assertNull(registry.remove(1));
+		assertSame(second, registry.getHostedBy("alice"));
+	}
+
+	@Test
+	public void asMap_readOnlyView() {
+		Map<Integer, ServerGame> games = registry.asMap();
+		try {
+			games.remove(1);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertSame(plain, registry.get(1));
+
+		registry.remove(1);
+		assertFalse(games.containsKey(1));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getGames_readOnly() {
+		serverControl.getGames().clear();
+	}
+}
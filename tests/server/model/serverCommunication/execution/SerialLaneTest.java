@@ -0,0 +1,195 @@
+package server.model.serverCommunication.execution;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SerialLaneTest {
+
+	private ExecutorService pool;
+
+	@Before
+	public void setUp() {
+		pool = Executors.newFixedThreadPool(4);
+	}
+
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	private static void awaitNoWaitingTasks() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2000;
+		while (SerialLane.getWaitingTasks() != 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	private static void awaitIdle(SerialLane lane) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 2000;
+		while (!lane.isIdle() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	public void execute_tasksOfOneLane_inOrderAndNeverAtOnce() throws InterruptedException {
+		SerialLane lane = new SerialLane(pool);
+		final int count = 200;
+		final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+		final AtomicBoolean running = new AtomicBoolean();
+		final AtomicBoolean overlapped = new AtomicBoolean();
+		final CountDownLatch done = new CountDownLatch(count);
+		for (int i = 0; i < count; i++) {
+			final int index = i;
+			lane.execute(new Runnable() {
+				@Override
+				public void run() {
+					if (!running.compareAndSet(false, true)) {
+						overlapped.set(true);
+					}
+					order.add(index);
+					Thread.yield();
+					running.set(false);
+					done.countDown();
+				}
+			});
+		}
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertFalse(overlapped.get());
+		for (int i = 0; i < count; i++) {
+			assertEquals(Integer.valueOf(i), order.get(i));
+		}
+	}
+
+	@Test
+	public void execute_taskThrows_laneGoesOn() throws InterruptedException {
+		SerialLane lane = new SerialLane(pool);
+		final CountDownLatch done = new CountDownLatch(1);
+		lane.execute(new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("thrown by the test");
+			}
+		});
+		lane.execute(new Runnable() {
+			@Override
+			public void run() {
+				done.countDown();
+			}
+		});
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void getWaitingTasks_allTasksRun_backToZero() throws InterruptedException {
+		awaitNoWaitingTasks();
+		SerialLane first = new SerialLane(pool);
+		SerialLane second = new SerialLane(pool);
+		final CountDownLatch release = new CountDownLatch(1);
+		Runnable blocked = new Runnable() {
+			@Override
+			public void run() {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		for (int i = 0; i < 3; i++) {
+			first.execute(blocked);
+			second.execute(blocked);
+		}
+		second.execute(new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("thrown by the test");
+			}
+		});
+		assertEquals(7, SerialLane.getWaitingTasks());
+
+		release.countDown();
+		awaitNoWaitingTasks();
+
+		assertEquals(0, SerialLane.getWaitingTasks());
+		awaitIdle(first);
+		awaitIdle(second);
+		assertTrue(first.isIdle());
+		assertTrue(second.isIdle());
+	}
+
+	@Test
+	public void execute_withLock_heldWhileTaskRuns() throws InterruptedException {
+		final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		SerialLane lane = new SerialLane(pool, lock.readLock());
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		lane.execute(new Runnable() {
+			@Override
+			public void run() {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertFalse(lock.writeLock().tryLock());
+		release.countDown();
+		assertTrue(lock.writeLock().tryLock(5, TimeUnit.SECONDS));
+		lock.writeLock().unlock();
+	}
+
+	@Test
+	public void pruneLanes_removedGames_onlyIdleLanesDropped() throws InterruptedException {
+		Map<Integer, SerialLane> lanes = new HashMap<>();
+		SerialLane lobby = new SerialLane(pool);
+		SerialLane busy = new SerialLane(pool);
+		lanes.put(0, lobby);
+		lanes.put(1, new SerialLane(pool));
+		lanes.put(2, busy);
+		lanes.put(3, new SerialLane(pool));
+		final CountDownLatch release = new CountDownLatch(1);
+		busy.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+
+		// only game 3 still exists
+		MessageClassification.pruneLanes(lanes, new HashSet<>(Collections.singleton(3)));
+		assertEquals(new HashSet<>(Arrays.asList(0, 2, 3)), lanes.keySet());
+
+		release.countDown();
+		awaitIdle(busy);
+		MessageClassification.pruneLanes(lanes, new HashSet<>(Collections.singleton(3)));
+		assertEquals(new HashSet<>(Arrays.asList(0, 3)), lanes.keySet());
+	}
+}
@@ -0,0 +1,140 @@
+package shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import shared.model.AbstractSingleArea;
+import shared.model.AreaTracker;
+import shared.model.Meeple;
+import shared.model.Position;
+import shared.model.SingleAreaMeadow;
+import shared.model.SingleAreaRoad;
+import shared.model.SingleAreaTown;
+
+public class AreaTrackerTest {
+
+	private List<AbstractSingleArea> singleAreas;
+
+	private AreaTracker tracker;
+
+	@Before
+	public void setUp() {
+		singleAreas = new ArrayList<>();
+		tracker = new AreaTracker(singleAreas);
+	}
+
+	@Test
+	public void union_twoTowns_countersAreAdded() {
+		SingleAreaTown first = new SingleAreaTown(1, false, new Position(0, 0), 2);
+		SingleAreaTown second = new SingleAreaTown(new Meeple(new Position(0, 1), 0, null, null), 2, true,
+				new Position(0, 1), 3);
+		tracker.add(first);
+		tracker.add(second);
+
+		SingleAreaTown root = (SingleAreaTown) tracker.union(first, second);
+
+		assertEquals(1, singleAreas.size());
+		assertSame(root, singleAreas.get(0));
+		assertEquals(3, root.getPointCounter());
+		assertEquals(1, root.getOpenEdgesCounter());
+		assertEquals(3, root.getMultiplier());
+		assertEquals(1, root.getMeeples().size());
+		assertEquals(2, root.getTownPosition().size());
+		assertFalse(root.isFinished());
+	}
+
+	@Test
+	public void union_sameRoadTwice_roadIsClosed() {
+		SingleAreaRoad first = new SingleAreaRoad(false, new Position(0, 0), 1);
+		SingleAreaRoad second = new SingleAreaRoad(false, new Position(1, 0), 1);
+		tracker.add(first);
+		tracker.add(second);
+
+		tracker.union(first, second);
+		AbstractSingleArea root = tracker.union(second, first);
+
+		assertTrue(root.isFinished());
+		assertEquals(1, singleAreas.size());
+	}
+
+	@Test
+	public void find_longChain_allAreasShareOneRoot() {
+		List<SingleAreaMeadow> meadows = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			SingleAreaMeadow meadow = new SingleAreaMeadow(null, null, new Position(i, 0));
+			tracker.add(meadow);
+			meadows.add(meadow);
+			if (i > 0) {
+				tracker.union(meadows.get(i - 1), meadow);
+			}
+		}
+		AbstractSingleArea root = AreaTracker.find(meadows.get(0));
+		for (SingleAreaMeadow meadow : meadows) {
+			assertSame(root, AreaTracker.find(meadow));
+		}
+		assertEquals(1, singleAreas.size());
+		assertEquals(50, ((SingleAreaMeadow) root).getMeadowPositions().size());
+	}
+
+	@Test
+	public void getTowns_mergedTown_returnsRoot() {
+		SingleAreaTown first = new SingleAreaTown(1, false, new Position(0, 0), 2);
+		SingleAreaTown second = new SingleAreaTown(1, false, new Position(0, 1), 2);
+		SingleAreaMeadow meadow = new SingleAreaMeadow(null, null, new Position(0, 1));
+		tracker.add(first);
+		tracker.add(second);
+		tracker.add(meadow);
+		meadow.getTowns().add(second);
+		meadow.getTowns().add(first);
+
+		AbstractSingleArea root = tracker.union(first, second);
+
+		assertTrue(root.isFinished());
+		assertSame(root, meadow.getTowns().get(0));
+		assertSame(root, meadow.getTowns().get(1));
+		assertEquals(6, meadow.calculatePoints());
+		assertEquals(2, singleAreas.size());
+	}
+
+	@Test
+	public void rollback_mergedTowns_stateIsRestored() {
+		SingleAreaTown first = new SingleAreaTown(1, false, new Position(0, 0), 2);
+		SingleAreaTown second = new SingleAreaTown(new Meeple(new Position(0, 1), 0, null, null), 1, false,
+				new Position(0, 1), 2);
+		SingleAreaMeadow meadow = new SingleAreaMeadow(null, null, new Position(0, 1));
+		tracker.add(first);
+		tracker.add(second);
+		tracker.add(meadow);
+		meadow.getTowns().add(second);
+
+		int mark = tracker.mark();
+		SingleAreaTown third = new SingleAreaTown(2, false, new Position(0, 2), 2);
+		tracker.add(third);
+		tracker.union(first, third);
+		AbstractSingleArea root = tracker.union(third, second);
+		assertTrue(root.isFinished());
+		assertSame(root, meadow.getTowns().get(0));
+		assertSame(root, AreaTracker.find(second));
+		tracker.rollback(mark);
+
+		assertEquals(3, singleAreas.size());
+		assertSame(first, singleAreas.get(0));
+		assertSame(second, singleAreas.get(1));
+		assertSame(meadow, singleAreas.get(2));
+		assertSame(second, AreaTracker.find(second));
+		assertSame(second, meadow.getTowns().get(0));
+		assertFalse(first.isFinished());
+		assertEquals(1, first.getOpenEdgesCounter());
+		assertEquals(1, first.getTownPosition().size());
+		assertEquals(0, first.getMeeples().size());
+		assertEquals(1, second.getMeeples().size());
+	}
+}
@@ -0,0 +1,96 @@
+package shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import server.model.serverCommunication.utility.EncodedMessage;
+import server.model.serverCommunication.utility.ServerMessageBuilder;
+import shared.communication.BinaryProtocol;
+import shared.communication.TileCatalog;
+import shared.enums.SpecialMeepleType;
+import shared.model.Card;
+import shared.model.CardDeck;
+import shared.model.Placement;
+import shared.model.Position;
+
+public class BinaryProtocolTest {
+
+	@Test
+	public void tileDrawn_sameMessage_afterFrame() throws IOException {
+		JSONObject msg = ServerMessageBuilder.tileDrawn(3, "alice",
+				CardDeck.createStartCard(), 71, 60);
+		EncodedMessage frames = new EncodedMessage(msg).toFrames();
+
+		assertTrue(frames.length() < 30);
+		assertSame(msg, BinaryProtocol.readMessage(streamOf(frames)));
+	}
+
+	@Test
+	public void moveMade_sameMessage_afterFrame() throws IOException {
+		Card card = CardDeck.createStartCard();
+		card.rotate(3);
+		Placement placement = new Placement(2);
+		placement.setSpecialMeeple(SpecialMeepleType.BIGMEEPLE);
+		JSONObject msg = ServerMessageBuilder.moveMade(3, "bob", card,
+				ServerMessageBuilder.createAction(new Position(-2, 5), 3,
+						placement));
+		EncodedMessage frames = new EncodedMessage(msg).toFrames();
+
+		assertTrue(frames.length() < 30);
+		assertSame(msg, BinaryProtocol.readMessage(streamOf(frames)));
+	}
+
+	@Test
+	public void readMessage_linesAndFrames_inOneStream() throws IOException {
+		EncodedMessage chat = new EncodedMessage(ServerMessageBuilder.chatToGame("bob", "hi", 3));
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		chat.writeTo(stream);
+		chat.toFrames().writeTo(stream);
+		InputStream in = new ByteArrayInputStream(stream.toByteArray());
+
+		assertEquals("hi", BinaryProtocol.readMessage(in).optString("message"));
+		assertEquals("hi", BinaryProtocol.readMessage(in).optString("message"));
+		assertNull(BinaryProtocol.readMessage(in));
+	}
+
+	@Test
+	public void getID_everyTile_sameTile() {
+		TileCatalog catalog = TileCatalog.getInstance();
+		for (int id = 0; id < catalog.size(); id++) {
+			assertEquals(id, catalog.getID(catalog.getTile(id)));
+		}
+		assertTrue(catalog.size() > 4);
+	}
+
+	@Test
+	public void getTile_changedCopy_catalogUnchanged() {
+		TileCatalog catalog = TileCatalog.getInstance();
+		catalog.getTile(0).put("areas", new JSONArray());
+		assertEquals(0, catalog.getID(catalog.getTile(0)));
+	}
+
+	private static InputStream streamOf(EncodedMessage message)
+			throws IOException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		message.writeTo(stream);
+		return new ByteArrayInputStream(stream.toByteArray());
+	}
+
+	/**
+	 * The frame gives the same message as the line.
+	 */
+	private static void assertSame(JSONObject expected, JSONObject actual) {
+		assertTrue(actual.toString(), new JSONObject(expected.toString())
+				.similar(new JSONObject(actual.toString())));
+	}
+}
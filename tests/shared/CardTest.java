@@ -8,10 +8,10 @@ import java.util.Stack;
 
 import org.junit.Test;
 
-import server.model.game.LogicCardCreator;
 import shared.Configuration;
 import shared.enums.CardAreaType;
 import shared.model.Card;
+import shared.model.LogicCardCreator;
 
 public class CardTest {
 
@@ -94,4 +94,19 @@ public class CardTest {
 		assertEquals(expectedEdges, realEdges);
 
 	}
+
+	@Test
+	public void getEdgeSignature_matchesRotatedCard_OnWholeDeck() {
+		Stack<Card> cardTestDeck = LogicCardCreator
+				.buildDeck(Configuration.GAMECARDSPATH);
+		for (Card card : cardTestDeck) {
+			for (int rotation = 1; rotation < 4; rotation++) {
+				int expected = card.getEdgeSignature(rotation);
+				Card rotated = card.deepCopy();
+				rotated.rotate(rotation);
+				assertEquals(expected, rotated.getEdgeSignature());
+				assertEquals(expected, rotated.deepCopy().getEdgeSignature());
+			}
+		}
+	}
 }
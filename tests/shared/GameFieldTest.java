@@ -0,0 +1,121 @@
+package shared;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import shared.enums.CardAreaType;
+import shared.model.Card;
+import shared.model.CardDeck;
+import shared.model.FrontierCell;
+import shared.model.GameField;
+import shared.model.Position;
+
+public class GameFieldTest {
+
+	private GameField gameField;
+
+	private Card startCard;
+
+	@Before
+	public void setUp() {
+		gameField = new GameField();
+		startCard = CardDeck.createStartCard();
+		gameField.addCard(new Position(0, 0), startCard);
+	}
+
+	@Test
+	public void getCardNeighbours_findCardAroundStartCard() {
+		assertSame(startCard, gameField.getCardNorth(new Position(0, 1)));
+		assertSame(startCard, gameField.getCardSouth(new Position(0, -1)));
+		assertSame(startCard, gameField.getCardWest(new Position(1, 0)));
+		assertSame(startCard, gameField.getCardEast(new Position(-1, 0)));
+		assertNull(gameField.getCardEast(new Position(0, 0)));
+	}
+
+	@Test
+	public void addCard_manyCards_allCardsAreFound() {
+		for (int x = -30; x <= 30; x++) {
+			for (int y = -30; y <= 30; y++) {
+				if (x != 0 || y != 0) {
+					gameField.addCard(new Position(x, y), CardDeck.createStartCard());
+				}
+			}
+		}
+		assertEquals(61 * 61, gameField.getGameField().size());
+		assertSame(startCard, gameField.getCard(0, 0));
+		assertTrue(gameField.checkSurroundingCards(new Position(29, -29)));
+		assertEquals(5, gameField.countSurroundingCards(new Position(30, 0)));
+		assertFalse(gameField.isPositionTaken(31, 0));
+	}
+
+	@Test
+	public void deleteCard_otherCardsAreStillFound() {
+		for (int x = 1; x < 50; x++) {
+			gameField.addCard(new Position(x, 0), CardDeck.createStartCard());
+		}
+		for (int x = 1; x < 50; x += 2) {
+			gameField.deleteCard(new Position(x, 0));
+		}
+		for (int x = 1; x < 50; x++) {
+			assertEquals(x % 2 == 0, gameField.isPositionTaken(new Position(x, 0)));
+		}
+		assertEquals(25, gameField.getGameField().size());
+	}
+
+	@Test
+	public void deepCopy_containsSamePositions() {
+		gameField.addCard(new Position(0, 1), CardDeck.createStartCard());
+		GameField copy = gameField.deepCopy();
+		assertEquals(gameField.getGameField().keySet(), copy.getGameField().keySet());
+		assertEquals(gameField.getPositionsFromSetCards(), copy.getPositionsFromSetCards());
+	}
+
+	@Test
+	public void getFrontier_startCard_fourCellsWithOneConstraint() {
+		assertEquals(4, gameField.getFrontier().size());
+		FrontierCell east = gameField.getFrontierCell(new Position(1, 0));
+		assertEquals(1, east.getNeighbours());
+		assertEquals(CardAreaType.TOWN, east.getConstraint(1));
+		assertNull(east.getConstraint(3));
+		FrontierCell north = gameField.getFrontierCell(new Position(0, -1));
+		assertEquals(CardAreaType.ROAD, north.getConstraint(2));
+	}
+
+	@Test
+	public void addCard_frontierIsUpdated() {
+		gameField.addCard(new Position(1, 0), CardDeck.createStartCard());
+		assertNull(gameField.getFrontierCell(new Position(1, 0)));
+		assertEquals(6, gameField.getFrontier().size());
+		assertEquals(gameField.getPositionsFromSetCards().size(), gameField.getFrontier().size());
+		gameField.addCard(new Position(1, 1), CardDeck.createStartCard());
+		FrontierCell between = gameField.getFrontierCell(new Position(0, 1));
+		assertEquals(2, between.getNeighbours());
+		assertEquals(CardAreaType.ROAD, between.getConstraint(0));
+		assertEquals(CardAreaType.MEADOW, between.getConstraint(3));
+	}
+
+	@Test
+	public void deleteCard_frontierIsRestored() {
+		gameField.addCard(new Position(1, 0), CardDeck.createStartCard());
+		gameField.deleteCard(new Position(1, 0));
+		assertEquals(4, gameField.getFrontier().size());
+		assertNotNull(gameField.getFrontierCell(new Position(1, 0)));
+		assertNull(gameField.getFrontierCell(new Position(2, 0)));
+		assertEquals(CardAreaType.TOWN, gameField.getFrontierCell(new Position(1, 0)).getConstraint(1));
+	}
+
+	@Test
+	public void fits_startCardNextToStartCard() {
+		Card card = CardDeck.createStartCard();
+		assertFalse(gameField.getFrontierCell(new Position(1, 0)).fits(card));
+		card.rotate(2);
+		assertTrue(gameField.getFrontierCell(new Position(1, 0)).fits(card));
+	}
+}